@@ -30,6 +30,7 @@ public class GlobalBindingRTCClient implements RTCClient {
     private final RpcbenchPayloadService service;
     private final AtomicLong rpcOk = new AtomicLong(0);
     private final AtomicLong rpcError = new AtomicLong(0);
+    private final LatencyHistogram latencies = new LatencyHistogram();
     private final GlobalRpcBenchInput inVal;
     private final int inSize;
 
@@ -41,6 +42,10 @@ public class GlobalBindingRTCClient implements RTCClient {
         return rpcError.get();
     }
 
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
     public GlobalBindingRTCClient(RpcConsumerRegistry registry, int inSize) {
         if (registry != null) {
             this.service = registry.getRpcService(RpcbenchPayloadService.class);
@@ -61,9 +66,11 @@ public class GlobalBindingRTCClient implements RTCClient {
         int rpcError = 0;
 
         for (int i = 0; i < iterations; i++) {
+            long startTime = System.nanoTime();
             Future<RpcResult<GlobalRpcBenchOutput>> output = service.globalRpcBench(inVal);
             try {
                 RpcResult<GlobalRpcBenchOutput> rpcResult = output.get();
+                latencies.record(System.nanoTime() - startTime);
 
                 if (rpcResult.isSuccessful()) {
                     List<Payload> retVal = rpcResult.getResult().getPayload();
@@ -11,6 +11,7 @@ package rpcbenchmark.impl;
 public interface RTCClient {
     long getRpcOk();
     long getRpcError();
+    LatencyHistogram getLatencies();
     void runTest(int iterations);
     void close();
 }
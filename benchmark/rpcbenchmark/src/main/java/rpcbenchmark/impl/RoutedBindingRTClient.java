@@ -32,6 +32,7 @@ public class RoutedBindingRTClient implements RTCClient {
     private final RpcbenchPayloadService service;
     private final AtomicLong rpcOk = new AtomicLong(0);
     private final AtomicLong rpcError = new AtomicLong(0);
+    private final LatencyHistogram latencies = new LatencyHistogram();
     private final List<RoutedRpcBenchInput> inVal;
     private final int inSize;
 
@@ -43,6 +44,10 @@ public class RoutedBindingRTClient implements RTCClient {
         return rpcError.get();
     }
 
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
     public RoutedBindingRTClient(RpcConsumerRegistry registry, int inSize, List<InstanceIdentifier<?>> routeIid) {
         if (registry != null) {
             this.service = registry.getRpcService(RpcbenchPayloadService.class);
@@ -70,9 +75,11 @@ public class RoutedBindingRTClient implements RTCClient {
         int rpcServerCnt = inVal.size();
         for (int i = 0; i < iterations; i++) {
             RoutedRpcBenchInput input = inVal.get(ThreadLocalRandom.current().nextInt(rpcServerCnt));
+            long startTime = System.nanoTime();
             Future<RpcResult<RoutedRpcBenchOutput>> output = service.routedRpcBench(input);
             try {
                 RpcResult<RoutedRpcBenchOutput> rpcResult = output.get();
+                latencies.record(System.nanoTime() - startTime);
 
                 if (rpcResult.isSuccessful()) {
                     List<Payload> retVal = rpcResult.getResult().getPayload();
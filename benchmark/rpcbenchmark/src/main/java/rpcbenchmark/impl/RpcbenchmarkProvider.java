@@ -9,6 +9,7 @@
 package rpcbenchmark.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -26,6 +27,7 @@ import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.RpcbenchPayloadSe
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.RpcbenchRpcRoutes;
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.rpcbench.rpc.routes.RpcRoute;
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.rpcbench.rpc.routes.RpcRouteKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.RegisterServersInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.RpcbenchmarkService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.StartTestInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.StartTestOutput;
@@ -33,6 +35,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbench
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.TestStatusOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.TestStatusOutput.ExecStatus;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.TestStatusOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.start.test.output.Run;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.start.test.output.RunBuilder;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.RpcResult;
@@ -46,6 +50,7 @@ public class RpcbenchmarkProvider implements BindingAwareProvider, AutoCloseable
     private static final GlobalBindingRTCServer gServer = new GlobalBindingRTCServer();
     private static final int testTimeout = 5;
     private final AtomicReference<ExecStatus> execStatus = new AtomicReference<>(ExecStatus.Idle);
+    private final List<RoutedRpcRegistration<?>> registeredServers = new ArrayList<>();
     private RpcConsumerRegistry consumerRegistry;
     private RpcProviderRegistry providerRegistry;
 
@@ -63,6 +68,9 @@ public class RpcbenchmarkProvider implements BindingAwareProvider, AutoCloseable
 
     @Override
     public void close() throws Exception {
+        synchronized (registeredServers) {
+            closeRegisteredServers();
+        }
         LOG.info("RpcbenchmarkProvider Closed");
     }
 
@@ -70,35 +78,108 @@ public class RpcbenchmarkProvider implements BindingAwareProvider, AutoCloseable
     public Future<RpcResult<StartTestOutput>> startTest(final StartTestInput input) {
         LOG.info("startTest {}", input);
 
+        final List<Long> payloadSizes = input.getPayloadSizes() != null && !input.getPayloadSizes().isEmpty()
+                ? input.getPayloadSizes() : Collections.singletonList(input.getPayloadSize());
+        final List<Long> serverCounts;
+        switch (input.getOperation()) {
+        case ROUTEDRTC:
+            serverCounts = input.getServerCounts() != null && !input.getServerCounts().isEmpty()
+                    ? input.getServerCounts() : Collections.singletonList(input.getNumServers());
+            break;
+
+        case GLOBALRTC:
+            if (input.getServerCounts() != null && !input.getServerCounts().isEmpty()
+                    || Boolean.TRUE.equals(input.isUseRegisteredServers())) {
+                throw new IllegalArgumentException("Server counts and registered servers apply only to routed RPCs");
+            }
+            serverCounts = Collections.singletonList(input.getNumServers());
+            break;
+
+        default:
+            LOG.error("Unsupported server/client type {}", input.getOperation());
+            throw new IllegalArgumentException("Unsupported server/client type" + input.getOperation());
+        }
+
+        if (!execStatus.compareAndSet(ExecStatus.Idle, ExecStatus.Executing)) {
+            throw new IllegalStateException("Another test is already executing");
+        }
+
+        try {
+            final LatencyHistogram latencies = new LatencyHistogram();
+            final List<Run> runs = new ArrayList<>(payloadSizes.size() * serverCounts.size());
+            long rpcOk = 0;
+            long rpcError = 0;
+            long elapsedTime = 0;
+
+            for (Long payloadSize : payloadSizes) {
+                for (Long numServers : serverCounts) {
+                    final long startTime = System.nanoTime();
+                    final RTCClient client = executeRun(input, payloadSize.intValue(), numServers.intValue());
+                    final long runTime = System.nanoTime() - startTime;
+
+                    final long calls = client.getRpcOk() + client.getRpcError();
+                    runs.add(new RunBuilder()
+                                .setPayloadSize(payloadSize)
+                                .setNumServers(numServers)
+                                .setGlobalRtcClientOk(client.getRpcOk())
+                                .setGlobalRtcClientError(client.getRpcError())
+                                .setExecTime(TimeUnit.NANOSECONDS.toMillis(runTime))
+                                .setRate(calls * 1000000000 / runTime)
+                                .setLatencyP50(client.getLatencies().percentileMicros(0.5))
+                                .setLatencyP99(client.getLatencies().percentileMicros(0.99))
+                                .setLatencyP999(client.getLatencies().percentileMicros(0.999))
+                                .build());
+
+                    latencies.add(client.getLatencies());
+                    rpcOk += client.getRpcOk();
+                    rpcError += client.getRpcError();
+                    elapsedTime += runTime;
+                }
+            }
+
+            StartTestOutput output = new StartTestOutputBuilder()
+                                            .setGlobalRtcClientError(rpcError)
+                                            .setGlobalRtcClientOk(rpcOk)
+                                            .setExecTime(TimeUnit.NANOSECONDS.toMillis(elapsedTime))
+                                            .setRate(((rpcOk + rpcError) * 1000000000) / elapsedTime)
+                                            .setLatencyP50(latencies.percentileMicros(0.5))
+                                            .setLatencyP99(latencies.percentileMicros(0.99))
+                                            .setLatencyP999(latencies.percentileMicros(0.999))
+                                            .setRun(runs)
+                                            .build();
+            return RpcResultBuilder.success(output).buildFuture();
+        } finally {
+            execStatus.set(ExecStatus.Idle);
+        }
+    }
+
+    private RTCClient executeRun(final StartTestInput input, final int payloadSize, final int numServers) {
         final RTCClient client;
         final List<RoutedRpcRegistration<?>> rpcRegs = new ArrayList<>();
 
         switch (input.getOperation()) {
         case ROUTEDRTC:
             List<InstanceIdentifier<?>> routeIid = new ArrayList<>();
-            for (int i = 0; i < input.getNumServers().intValue(); i++) {
-                GlobalBindingRTCServer server = new GlobalBindingRTCServer();
-                RoutedRpcRegistration<RpcbenchPayloadService> routedReg =
-                        providerRegistry.addRoutedRpcImplementation(RpcbenchPayloadService.class, server);
-
-                KeyedInstanceIdentifier<RpcRoute, RpcRouteKey> iid =
-                        InstanceIdentifier
-                            .create(RpcbenchRpcRoutes.class)
-                            .child(RpcRoute.class, new RpcRouteKey(Integer.toString(i)));
-                routeIid.add(iid);
-                routedReg.registerPath(NodeContext.class, iid);
-                rpcRegs.add(routedReg);
+            if (Boolean.TRUE.equals(input.isUseRegisteredServers())) {
+                // The servers may be registered on another cluster member, hence we cannot check the actual count
+                // here, invocations targeting missing contexts will be reported as errors.
+                for (int i = 0; i < numServers; i++) {
+                    routeIid.add(createRouteIid(i));
+                }
+            } else {
+                for (int i = 0; i < numServers; i++) {
+                    routeIid.add(registerServer(i, rpcRegs));
+                }
             }
 
-            client = new RoutedBindingRTClient(consumerRegistry, input.getPayloadSize().intValue(), routeIid);
+            client = new RoutedBindingRTClient(consumerRegistry, payloadSize, routeIid);
             break;
 
         case GLOBALRTC:
-            client = new GlobalBindingRTCClient(consumerRegistry, input.getPayloadSize().intValue());
+            client = new GlobalBindingRTCClient(consumerRegistry, payloadSize);
             break;
 
         default:
-            LOG.error("Unsupported server/client type {}", input.getOperation());
             throw new IllegalArgumentException("Unsupported server/client type" + input.getOperation());
         }
 
@@ -112,8 +193,7 @@ public class RpcbenchmarkProvider implements BindingAwareProvider, AutoCloseable
                 }
             };
 
-            LOG.info("Test Started");
-            long startTime = System.nanoTime();
+            LOG.info("Test Started, payload size {} servers {}", payloadSize, numServers);
 
             for (int i = 0; i < input.getNumClients().intValue(); i++ ) {
                 executor.submit(testRun);
@@ -123,22 +203,11 @@ public class RpcbenchmarkProvider implements BindingAwareProvider, AutoCloseable
             try {
                 executor.awaitTermination(testTimeout, TimeUnit.MINUTES);
             } catch (InterruptedException e) {
-                LOG.error("Out of time: test did not finish within the {} min deadline ", testTimeout); 
+                LOG.error("Out of time: test did not finish within the {} min deadline ", testTimeout);
             }
 
-            long endTime = System.nanoTime();
             LOG.info("Test Done");
-
-            long elapsedTime = endTime - startTime;
-
-            StartTestOutput output = new StartTestOutputBuilder()
-                                            .setRate((long)0)
-                                            .setGlobalRtcClientError(client.getRpcError())
-                                            .setGlobalRtcClientOk(client.getRpcOk())
-                                            .setExecTime(TimeUnit.NANOSECONDS.toMillis(elapsedTime))
-                                            .setRate(((client.getRpcOk() + client.getRpcError()) * 1000000000) / elapsedTime)
-                                            .build();
-            return RpcResultBuilder.success(output).buildFuture();
+            return client;
         } finally {
             for (RoutedRpcRegistration<?> routedRpcRegistration : rpcRegs) {
                 routedRpcRegistration.close();
@@ -146,6 +215,53 @@ public class RpcbenchmarkProvider implements BindingAwareProvider, AutoCloseable
         }
     }
 
+    @Override
+    public Future<RpcResult<Void>> registerServers(final RegisterServersInput input) {
+        LOG.info("registerServers {}", input);
+
+        synchronized (registeredServers) {
+            closeRegisteredServers();
+            for (int i = 0; i < input.getNumServers().intValue(); i++) {
+                registerServer(i, registeredServers);
+            }
+        }
+        return RpcResultBuilder.<Void>success().buildFuture();
+    }
+
+    @Override
+    public Future<RpcResult<Void>> unregisterServers() {
+        LOG.info("unregisterServers");
+
+        synchronized (registeredServers) {
+            closeRegisteredServers();
+        }
+        return RpcResultBuilder.<Void>success().buildFuture();
+    }
+
+    private InstanceIdentifier<?> registerServer(final int index, final List<RoutedRpcRegistration<?>> rpcRegs) {
+        GlobalBindingRTCServer server = new GlobalBindingRTCServer();
+        RoutedRpcRegistration<RpcbenchPayloadService> routedReg =
+                providerRegistry.addRoutedRpcImplementation(RpcbenchPayloadService.class, server);
+
+        KeyedInstanceIdentifier<RpcRoute, RpcRouteKey> iid = createRouteIid(index);
+        routedReg.registerPath(NodeContext.class, iid);
+        rpcRegs.add(routedReg);
+        return iid;
+    }
+
+    private void closeRegisteredServers() {
+        for (RoutedRpcRegistration<?> routedRpcRegistration : registeredServers) {
+            routedRpcRegistration.close();
+        }
+        registeredServers.clear();
+    }
+
+    private static KeyedInstanceIdentifier<RpcRoute, RpcRouteKey> createRouteIid(final int index) {
+        return InstanceIdentifier
+                .create(RpcbenchRpcRoutes.class)
+                .child(RpcRoute.class, new RpcRouteKey(Integer.toString(index)));
+    }
+
     @Override
     public Future<RpcResult<TestStatusOutput>> testStatus() {
         LOG.info("testStatus");
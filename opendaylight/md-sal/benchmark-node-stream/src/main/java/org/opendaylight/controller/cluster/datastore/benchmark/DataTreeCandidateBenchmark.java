@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendType;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.benchmark.StreamBenchmarkModel.DataShape;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.DataTreeCandidateInputOutput;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of {@link DataTreeCandidateInputOutput} and {@link CommitTransactionPayload}, using a candidate which
+ * writes the data of a {@link DataShape}. Both use the stream version persisted in the journal, hence their results
+ * should be compared with the {@link StreamVersion#LITHIUM} results of {@link NormalizedNodeStreamBenchmark}. Run with
+ * {@code -prof gc} to see allocation rates. The size of the encoded data is logged when each trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DataTreeCandidateBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(DataTreeCandidateBenchmark.class);
+    private static final TransactionIdentifier TRANSACTION_ID = new TransactionIdentifier(new LocalHistoryIdentifier(
+        ClientIdentifier.create(FrontendIdentifier.create(MemberName.forName("member-1"),
+            FrontendType.forName("benchmark")), 0), 0), 0);
+
+    @Param
+    public DataShape shape;
+
+    private DataTreeCandidate candidate;
+    private byte[] serialized;
+    private CommitTransactionPayload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final ContainerNode node = shape.createNode();
+        candidate = DataTreeCandidates.fromNormalizedNode(shape.getPath(), node);
+        serialized = writeDataTreeCandidate();
+        payload = createPayload();
+
+        final int nodes = StreamBenchmarkModel.countNodes(node);
+        LOG.info("{}: candidate {} bytes, payload {} bytes, {} nodes, {} bytes per node", shape, serialized.length,
+            payload.size(), nodes, (double) serialized.length / nodes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        payload = null;
+        serialized = null;
+        candidate = null;
+    }
+
+    @Benchmark
+    public byte[] writeDataTreeCandidate() throws IOException {
+        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public DataTreeCandidate readDataTreeCandidate() throws IOException {
+        return DataTreeCandidateInputOutput.readDataTreeCandidate(ByteStreams.newDataInput(serialized));
+    }
+
+    @Benchmark
+    public CommitTransactionPayload createPayload() throws IOException {
+        return CommitTransactionPayload.create(TRANSACTION_ID, candidate);
+    }
+
+    @Benchmark
+    public Entry<TransactionIdentifier, DataTreeCandidate> getPayloadCandidate() throws IOException {
+        return payload.getCandidate();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.benchmark.StreamBenchmarkModel.DataShape;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of encoding and decoding a {@link NormalizedNode} for each combination of {@link DataShape} and
+ * {@link StreamVersion}. Run with {@code -prof gc} to see allocation rates. The size of the encoded data, both in total
+ * and per node, is logged when each trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NormalizedNodeStreamBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(NormalizedNodeStreamBenchmark.class);
+
+    @Param
+    public DataShape shape;
+
+    @Param
+    public StreamVersion version;
+
+    private SchemaContext schemaContext;
+    private QNameDictionary dictionary;
+    private ContainerNode node;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        schemaContext = StreamBenchmarkModel.createTestContext();
+        dictionary = QNameDictionary.forSchemaContext(schemaContext);
+        node = shape.createNode();
+        serialized = write();
+
+        final int nodes = StreamBenchmarkModel.countNodes(node);
+        LOG.info("{}/{}: {} bytes, {} nodes, {} bytes per node", shape, version, serialized.length, nodes,
+            (double) serialized.length / nodes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serialized = null;
+        node = null;
+        dictionary = null;
+        schemaContext = null;
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = version.newDataOutput(ByteStreams.newDataOutput(bos), dictionary)) {
+            out.writeNormalizedNode(node);
+        }
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> read() throws IOException {
+        return NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(serialized)).readNormalizedNode();
+    }
+}
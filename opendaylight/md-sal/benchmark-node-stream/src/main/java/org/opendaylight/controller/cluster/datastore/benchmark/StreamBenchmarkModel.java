@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+/**
+ * Data used by the stream benchmarks. Loads the stream-benchmark.yang model from resources and builds data conforming
+ * to it, each {@link DataShape} exercising a different part of the encoding.
+ */
+public final class StreamBenchmarkModel {
+    public static final QName FLAT_QNAME = QName.create(
+        "urn:opendaylight:params:xml:ns:yang:controller:stream:benchmark", "2017-05-01", "flat");
+    public static final QName DEEP_QNAME = QName.create(FLAT_QNAME, "deep");
+    public static final QName VALUES_QNAME = QName.create(FLAT_QNAME, "values");
+    public static final QName BINARIES_QNAME = QName.create(FLAT_QNAME, "binaries");
+    public static final QName ITEM_QNAME = QName.create(FLAT_QNAME, "item");
+    public static final QName BLOB_QNAME = QName.create(FLAT_QNAME, "blob");
+    public static final QName LEVEL_QNAME = QName.create(FLAT_QNAME, "level");
+    public static final QName ID_QNAME = QName.create(FLAT_QNAME, "id");
+    public static final QName NAME_QNAME = QName.create(FLAT_QNAME, "name");
+    public static final QName ENABLED_QNAME = QName.create(FLAT_QNAME, "enabled");
+    public static final QName VALUE_QNAME = QName.create(FLAT_QNAME, "value");
+    public static final QName DATA_QNAME = QName.create(FLAT_QNAME, "data");
+
+    private static final String STREAM_BENCHMARK_YANG = "/stream-benchmark.yang";
+
+    private static final int FLAT_ITEMS = 10000;
+    private static final int DEEP_ITEMS = 1000;
+    private static final int DEEP_LEVELS = 8;
+    private static final int LEAF_SET_VALUES = 10000;
+    private static final int BLOBS = 64;
+    private static final int BLOB_SIZE = 16 * 1024;
+
+    /**
+     * Shapes of benchmark data.
+     */
+    public enum DataShape {
+        /**
+         * A single list with many small entries.
+         */
+        FLAT_LIST(FLAT_QNAME) {
+            @Override
+            ContainerNode createNode() {
+                final CollectionNodeBuilder<MapEntryNode, MapNode> list = mapNodeBuilder(ITEM_QNAME);
+                for (int i = 0; i < FLAT_ITEMS; ++i) {
+                    list.withChild(ImmutableNodes.mapEntryBuilder(ITEM_QNAME, ID_QNAME, (long) i)
+                        .withChild(ImmutableNodes.leafNode(NAME_QNAME, "item-" + i))
+                        .withChild(ImmutableNodes.leafNode(ENABLED_QNAME, i % 2 == 0))
+                        .build());
+                }
+                return createContainer(FLAT_QNAME, list.build());
+            }
+        },
+        /**
+         * A list whose entries each contain a chain of nested containers.
+         */
+        DEEP_CONTAINERS(DEEP_QNAME) {
+            @Override
+            ContainerNode createNode() {
+                final CollectionNodeBuilder<MapEntryNode, MapNode> list = mapNodeBuilder(ITEM_QNAME);
+                for (int i = 0; i < DEEP_ITEMS; ++i) {
+                    list.withChild(ImmutableNodes.mapEntryBuilder(ITEM_QNAME, ID_QNAME, (long) i)
+                        .withChild(createLevel(1, i)).build());
+                }
+                return createContainer(DEEP_QNAME, list.build());
+            }
+        },
+        /**
+         * A single leaf-list with many values.
+         */
+        LEAF_LIST(VALUES_QNAME) {
+            @Override
+            ContainerNode createNode() {
+                final ListNodeBuilder<Object, LeafSetEntryNode<Object>> leafSet = Builders.leafSetBuilder()
+                        .withNodeIdentifier(new NodeIdentifier(VALUE_QNAME));
+                for (int i = 0; i < LEAF_SET_VALUES; ++i) {
+                    final String value = "value-" + i;
+                    leafSet.withChild(Builders.leafSetEntryBuilder()
+                        .withNodeIdentifier(new NodeWithValue<>(VALUE_QNAME, value)).withValue(value).build());
+                }
+                return createContainer(VALUES_QNAME, leafSet.build());
+            }
+        },
+        /**
+         * A list whose entries carry large binary leaves.
+         */
+        BINARY_LEAVES(BINARIES_QNAME) {
+            @Override
+            ContainerNode createNode() {
+                final CollectionNodeBuilder<MapEntryNode, MapNode> list = mapNodeBuilder(BLOB_QNAME);
+                for (int i = 0; i < BLOBS; ++i) {
+                    final byte[] data = new byte[BLOB_SIZE];
+                    for (int j = 0; j < data.length; ++j) {
+                        data[j] = (byte) (i + j);
+                    }
+
+                    list.withChild(ImmutableNodes.mapEntryBuilder(BLOB_QNAME, ID_QNAME, (long) i)
+                        .withChild(ImmutableNodes.leafNode(DATA_QNAME, data)).build());
+                }
+                return createContainer(BINARIES_QNAME, list.build());
+            }
+        };
+
+        private final YangInstanceIdentifier path;
+
+        DataShape(final QName qname) {
+            this.path = YangInstanceIdentifier.of(qname);
+        }
+
+        /**
+         * Return the path at which the data created by {@link #createNode()} resides.
+         *
+         * @return Data path
+         */
+        public final YangInstanceIdentifier getPath() {
+            return path;
+        }
+
+        abstract ContainerNode createNode();
+    }
+
+    private StreamBenchmarkModel() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static InputStream getInputStream() {
+        return StreamBenchmarkModel.class.getResourceAsStream(STREAM_BENCHMARK_YANG);
+    }
+
+    public static SchemaContext createTestContext() {
+        final SchemaContext schemaContext;
+        final List<InputStream> streams = Collections.singletonList(getInputStream());
+
+        try {
+            schemaContext = YangParserTestUtils.parseYangStreams(streams);
+        } catch (ReactorException e) {
+            throw new RuntimeException("Unable to build schema context from " + streams, e);
+        }
+        return schemaContext;
+    }
+
+    /**
+     * Count the nodes in a tree, including the root and all leaves.
+     *
+     * @param node Tree root
+     * @return Number of nodes
+     */
+    public static int countNodes(final NormalizedNode<?, ?> node) {
+        int count = 1;
+        if (node instanceof NormalizedNodeContainer) {
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    private static ContainerNode createContainer(final QName qname, final DataContainerChild<?, ?> child) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(qname)).withChild(child).build();
+    }
+
+    private static ContainerNode createLevel(final int level, final int item) {
+        final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(LEVEL_QNAME))
+                .withChild(ImmutableNodes.leafNode(VALUE_QNAME, "item-" + item + "-level-" + level));
+        if (level < DEEP_LEVELS) {
+            builder.withChild(createLevel(level + 1, item));
+        }
+        return builder.build();
+    }
+}
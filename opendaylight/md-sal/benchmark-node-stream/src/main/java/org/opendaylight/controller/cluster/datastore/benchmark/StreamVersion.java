@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
+
+/**
+ * NormalizedNode stream versions which can be benchmarked. Readers are selected by the stream header, hence only
+ * writers need to be distinguished.
+ */
+public enum StreamVersion {
+    /**
+     * The original stream format.
+     */
+    LITHIUM {
+        @Override
+        NormalizedNodeDataOutput newDataOutput(final DataOutput output, final QNameDictionary dictionary)
+                throws IOException {
+            return NormalizedNodeInputOutput.newDataOutput(output);
+        }
+    },
+    /**
+     * Schema-derived QName dictionary.
+     */
+    CARBON {
+        @Override
+        NormalizedNodeDataOutput newDataOutput(final DataOutput output, final QNameDictionary dictionary)
+                throws IOException {
+            return NormalizedNodeInputOutput.newDataOutput(output, dictionary);
+        }
+    },
+    /**
+     * Compact value encoding on top of the QName dictionary.
+     */
+    CARBON_SR1 {
+        @Override
+        NormalizedNodeDataOutput newDataOutput(final DataOutput output, final QNameDictionary dictionary)
+                throws IOException {
+            return NormalizedNodeInputOutput.newCompactDataOutput(output, dictionary);
+        }
+    },
+    /**
+     * Indexed layout, allowing lazy access.
+     */
+    CARBON_SR2 {
+        @Override
+        NormalizedNodeDataOutput newDataOutput(final DataOutput output, final QNameDictionary dictionary)
+                throws IOException {
+            return NormalizedNodeInputOutput.newIndexedDataOutput(output, dictionary);
+        }
+    };
+
+    abstract NormalizedNodeDataOutput newDataOutput(DataOutput output, QNameDictionary dictionary)
+            throws IOException;
+}
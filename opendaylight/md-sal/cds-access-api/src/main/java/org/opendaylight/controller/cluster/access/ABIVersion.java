@@ -39,6 +39,12 @@ public enum ABIVersion implements WritableObject {
     // We seed the initial version to be the same as DataStoreVersions.BORON-VERSION for compatibility reasons.
     BORON(5),
 
+    /**
+     * Revised ABI version, as shipped with Carbon Simultaneous release. Adds {@code ModifyTransactionBatchRequest}
+     * and {@code ModifyTransactionBatchSuccess}.
+     */
+    CARBON(6),
+
     /**
      * Version which is newer than any other version. This version exists purely for testing purposes.
      */
@@ -71,7 +77,7 @@ public enum ABIVersion implements WritableObject {
      */
     @Nonnull
     public static ABIVersion current() {
-        return BORON;
+        return CARBON;
     }
 
     /**
@@ -94,8 +100,10 @@ public enum ABIVersion implements WritableObject {
                 throw new PastVersionException(value, BORON);
             case 5:
                 return BORON;
+            case 6:
+                return CARBON;
             default:
-                throw new FutureVersionException(value, BORON);
+                throw new FutureVersionException(value, CARBON);
         }
     }
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.commands;
+
+import akka.actor.ActorRef;
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+
+/**
+ * A request packing multiple {@link ModifyTransactionRequest}s, each targeting a transaction of the same local
+ * history, into a single message. The backend processes the contained requests in order and responds with
+ * a {@link ModifyTransactionBatchSuccess}, which holds a response for each of them.
+ *
+ * <p>
+ * Only requests which are acknowledged immediately by the backend, i.e. those which either do not specify
+ * a {@link PersistenceProtocol} or specify {@link PersistenceProtocol#READY}, can be part of a batch.
+ *
+ * <p>
+ * This request is available since {@link ABIVersion#CARBON} and must not be sent to backends which negotiated
+ * an older version.
+ */
+@Beta
+public final class ModifyTransactionBatchRequest extends LocalHistoryRequest<ModifyTransactionBatchRequest> {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final List<ModifyTransactionRequest> requests;
+
+    public ModifyTransactionBatchRequest(final LocalHistoryIdentifier target, final long sequence,
+            final ActorRef replyTo, final List<ModifyTransactionRequest> requests) {
+        super(target, sequence, replyTo);
+        this.requests = ImmutableList.copyOf(requests);
+        for (ModifyTransactionRequest request : this.requests) {
+            Preconditions.checkArgument(target.equals(request.getTarget().getHistoryId()),
+                "Request %s does not belong to history %s", request, target);
+            Preconditions.checkArgument(isBatchable(request), "Request %s cannot be batched", request);
+        }
+    }
+
+    private ModifyTransactionBatchRequest(final ModifyTransactionBatchRequest request, final ABIVersion version) {
+        super(request, version);
+        this.requests = ImmutableList.copyOf(request.requests.stream().map(req -> req.toVersion(version))
+            .iterator());
+    }
+
+    /**
+     * Check whether a {@link ModifyTransactionRequest} can be made part of a batch.
+     *
+     * @param request Request to check
+     * @return True if the request can be batched
+     */
+    public static boolean isBatchable(final ModifyTransactionRequest request) {
+        return request.getPersistenceProtocol().map(PersistenceProtocol.READY::equals).orElse(Boolean.TRUE);
+    }
+
+    public List<ModifyTransactionRequest> getRequests() {
+        return requests;
+    }
+
+    @Override
+    protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
+        return super.addToStringAttributes(toStringHelper).add("requests", requests);
+    }
+
+    @Override
+    protected AbstractLocalHistoryRequestProxy<ModifyTransactionBatchRequest> externalizableProxy(
+            final ABIVersion version) {
+        return new ModifyTransactionBatchRequestProxyV1(this);
+    }
+
+    @Override
+    protected ModifyTransactionBatchRequest cloneAsVersion(final ABIVersion version) {
+        Preconditions.checkArgument(version.compareTo(ABIVersion.CARBON) >= 0, "Batches are not supported by %s",
+            version);
+        return new ModifyTransactionBatchRequest(this, version);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.commands;
+
+import akka.actor.ActorRef;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+
+/**
+ * Externalizable proxy for use with {@link ModifyTransactionBatchRequest}. It implements the initial (Boron)
+ * serialization format.
+ */
+final class ModifyTransactionBatchRequestProxyV1
+        extends AbstractLocalHistoryRequestProxy<ModifyTransactionBatchRequest> {
+    private static final long serialVersionUID = 1L;
+    private List<ModifyTransactionRequest> requests;
+
+    // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
+    // be able to create instances via reflection.
+    @SuppressWarnings("checkstyle:RedundantModifier")
+    public ModifyTransactionBatchRequestProxyV1() {
+        // For Externalizable
+    }
+
+    ModifyTransactionBatchRequestProxyV1(final ModifyTransactionBatchRequest request) {
+        super(request);
+        this.requests = Preconditions.checkNotNull(request.getRequests());
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+
+        final int size = in.readInt();
+        requests = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            requests.add((ModifyTransactionRequest) in.readObject());
+        }
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+
+        out.writeInt(requests.size());
+        for (ModifyTransactionRequest request : requests) {
+            out.writeObject(request);
+        }
+    }
+
+    @Override
+    protected ModifyTransactionBatchRequest createRequest(final LocalHistoryIdentifier target, final long sequence,
+            final ActorRef replyTo) {
+        return new ModifyTransactionBatchRequest(target, sequence, replyTo, requests);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.commands;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.base.Preconditions;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.concepts.AbstractSuccessProxy;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.RequestSuccess;
+import org.opendaylight.controller.cluster.access.concepts.Response;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+
+/**
+ * Successful reply to a {@link ModifyTransactionBatchRequest}. It contains a {@link TransactionSuccess} or
+ * a {@link TransactionFailure} for each of the batched requests, in the order in which they were requested.
+ *
+ * <p>
+ * A null response indicates the backend could not answer the corresponding request immediately, for example because
+ * it is a retransmit of a request whose response is still being computed. The frontend is expected to send such
+ * a request again on its own, at which point the backend replays the response.
+ *
+ * <p>
+ * This response is available since {@link ABIVersion#CARBON}.
+ */
+@Beta
+public final class ModifyTransactionBatchSuccess
+        extends RequestSuccess<LocalHistoryIdentifier, ModifyTransactionBatchSuccess> {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final List<Response<TransactionIdentifier, ?>> responses;
+
+    public ModifyTransactionBatchSuccess(final LocalHistoryIdentifier target, final long sequence,
+            final List<? extends Response<TransactionIdentifier, ?>> responses) {
+        super(target, sequence);
+        this.responses = Collections.unmodifiableList(new ArrayList<>(responses));
+        for (Response<TransactionIdentifier, ?> response : this.responses) {
+            Preconditions.checkArgument(response == null || response instanceof TransactionSuccess
+                || response instanceof TransactionFailure, "Unsupported response %s", response);
+        }
+    }
+
+    private ModifyTransactionBatchSuccess(final ModifyTransactionBatchSuccess success, final ABIVersion version) {
+        super(success, version);
+        final List<Response<TransactionIdentifier, ?>> converted = new ArrayList<>(success.responses.size());
+        for (Response<TransactionIdentifier, ?> response : success.responses) {
+            converted.add(response == null ? null : response.toVersion(version));
+        }
+        this.responses = Collections.unmodifiableList(converted);
+    }
+
+    /**
+     * Return responses to individual requests, in the order in which the requests were batched.
+     *
+     * @return List of responses, which may contain nulls for requests which have not been answered
+     */
+    public List<Response<TransactionIdentifier, ?>> getResponses() {
+        return responses;
+    }
+
+    @Override
+    protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
+        return super.addToStringAttributes(toStringHelper).add("responses", responses);
+    }
+
+    @Override
+    protected ModifyTransactionBatchSuccess cloneAsVersion(final ABIVersion version) {
+        Preconditions.checkArgument(version.compareTo(ABIVersion.CARBON) >= 0, "Batches are not supported by %s",
+            version);
+        return new ModifyTransactionBatchSuccess(this, version);
+    }
+
+    @Override
+    protected AbstractSuccessProxy<LocalHistoryIdentifier, ModifyTransactionBatchSuccess> externalizableProxy(
+            final ABIVersion version) {
+        return new ModifyTransactionBatchSuccessProxyV1(this);
+    }
+}
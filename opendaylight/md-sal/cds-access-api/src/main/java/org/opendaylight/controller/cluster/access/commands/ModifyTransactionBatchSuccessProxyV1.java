@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.commands;
+
+import com.google.common.base.Preconditions;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.controller.cluster.access.concepts.AbstractSuccessProxy;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.Response;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+
+/**
+ * Externalizable proxy for use with {@link ModifyTransactionBatchSuccess}. It implements the initial (Boron)
+ * serialization format.
+ */
+final class ModifyTransactionBatchSuccessProxyV1
+        extends AbstractSuccessProxy<LocalHistoryIdentifier, ModifyTransactionBatchSuccess> {
+    private static final long serialVersionUID = 1L;
+    private List<Response<TransactionIdentifier, ?>> responses;
+
+    // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
+    // be able to create instances via reflection.
+    @SuppressWarnings("checkstyle:RedundantModifier")
+    public ModifyTransactionBatchSuccessProxyV1() {
+        // For Externalizable
+    }
+
+    ModifyTransactionBatchSuccessProxyV1(final ModifyTransactionBatchSuccess success) {
+        super(success);
+        this.responses = Preconditions.checkNotNull(success.getResponses());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+
+        final int size = in.readInt();
+        responses = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            responses.add((Response<TransactionIdentifier, ?>) in.readObject());
+        }
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+
+        out.writeInt(responses.size());
+        for (Response<TransactionIdentifier, ?> response : responses) {
+            out.writeObject(response);
+        }
+    }
+
+    @Override
+    protected LocalHistoryIdentifier readTarget(final DataInput in) throws IOException {
+        return LocalHistoryIdentifier.readFrom(in);
+    }
+
+    @Override
+    protected ModifyTransactionBatchSuccess createSuccess(final LocalHistoryIdentifier target, final long sequence) {
+        return new ModifyTransactionBatchSuccess(target, sequence, responses);
+    }
+}
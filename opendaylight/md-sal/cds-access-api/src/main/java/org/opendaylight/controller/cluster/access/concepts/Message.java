@@ -114,6 +114,7 @@ public abstract class Message<T extends WritableIdentifier, C extends Message<T,
 
         switch (toVersion) {
             case BORON:
+            case CARBON:
                 return Verify.verifyNotNull(cloneAsVersion(toVersion));
             case TEST_PAST_VERSION:
             case TEST_FUTURE_VERSION:
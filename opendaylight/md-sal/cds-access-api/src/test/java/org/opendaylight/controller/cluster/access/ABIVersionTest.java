@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.access;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.opendaylight.controller.cluster.access.ABIVersion.BORON;
+import static org.opendaylight.controller.cluster.access.ABIVersion.CARBON;
 import static org.opendaylight.controller.cluster.access.ABIVersion.TEST_FUTURE_VERSION;
 import static org.opendaylight.controller.cluster.access.ABIVersion.TEST_PAST_VERSION;
 
@@ -24,6 +25,7 @@ public class ABIVersionTest {
         assertTrue(TEST_PAST_VERSION.compareTo(TEST_FUTURE_VERSION) < 0);
         assertTrue(TEST_PAST_VERSION.compareTo(BORON) < 0);
         assertTrue(TEST_FUTURE_VERSION.compareTo(BORON) > 0);
+        assertTrue(TEST_FUTURE_VERSION.compareTo(CARBON) > 0);
     }
 
     @Test
@@ -33,6 +35,15 @@ public class ABIVersionTest {
         assertEquals(BORON, ABIVersion.readFrom(ByteStreams.newDataInput(writeVersion(BORON))));
     }
 
+    @Test
+    public void testCarbonVersion() throws Exception {
+        assertEquals((short)6, CARBON.shortValue());
+        assertEquals(CARBON, ABIVersion.valueOf(CARBON.shortValue()));
+        assertEquals(CARBON, ABIVersion.readFrom(ByteStreams.newDataInput(writeVersion(CARBON))));
+        assertTrue(CARBON.compareTo(BORON) > 0);
+        assertEquals(CARBON, ABIVersion.current());
+    }
+
     @Test(expected = PastVersionException.class)
     public void testInvalidPastVersion() throws Exception {
         ABIVersion.valueOf(TEST_PAST_VERSION.shortValue());
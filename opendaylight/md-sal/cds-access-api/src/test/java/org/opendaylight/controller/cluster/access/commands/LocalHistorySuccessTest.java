@@ -26,7 +26,7 @@ public class LocalHistorySuccessTest extends AbstractRequestSuccessTest<LocalHis
         final LocalHistorySuccess clone = OBJECT.cloneAsVersion(ABIVersion.BORON);
         Assert.assertEquals(OBJECT.getSequence(), clone.getSequence());
         Assert.assertEquals(OBJECT.getTarget(), clone.getTarget());
-        Assert.assertEquals(OBJECT.getVersion(), clone.getVersion());
+        Assert.assertEquals(ABIVersion.BORON, clone.getVersion());
     }
 
     @Override
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.commands;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.concepts.AbstractRequestTest;
+import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendType;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+public class ModifyTransactionBatchRequestTest extends AbstractRequestTest<ModifyTransactionBatchRequest> {
+    private static final FrontendIdentifier FRONTEND_IDENTIFIER = FrontendIdentifier.create(
+            MemberName.forName("test"), FrontendType.forName("one"));
+    private static final ClientIdentifier CLIENT_IDENTIFIER = ClientIdentifier.create(FRONTEND_IDENTIFIER, 0);
+    private static final LocalHistoryIdentifier HISTORY_IDENTIFIER = new LocalHistoryIdentifier(
+            CLIENT_IDENTIFIER, 1);
+    private static final LocalHistoryIdentifier OTHER_HISTORY_IDENTIFIER = new LocalHistoryIdentifier(
+            CLIENT_IDENTIFIER, 2);
+
+    private static final List<ModifyTransactionRequest> REQUESTS = ImmutableList.of(
+        request(new TransactionIdentifier(HISTORY_IDENTIFIER, 0), false),
+        request(new TransactionIdentifier(HISTORY_IDENTIFIER, 1), true));
+
+    private static final ModifyTransactionBatchRequest OBJECT = new ModifyTransactionBatchRequest(
+            HISTORY_IDENTIFIER, 0, ACTOR_REF, REQUESTS);
+
+    private static ModifyTransactionRequest request(final TransactionIdentifier txId, final boolean ready) {
+        final ModifyTransactionRequestBuilder builder = new ModifyTransactionRequestBuilder(txId, ACTOR_REF);
+        builder.setSequence(0);
+        builder.addModification(new TransactionDelete(YangInstanceIdentifier.EMPTY));
+        if (ready) {
+            builder.setReady();
+        }
+        return builder.build();
+    }
+
+    @Override
+    protected ModifyTransactionBatchRequest object() {
+        return OBJECT;
+    }
+
+    @Test
+    public void getRequestsTest() {
+        Assert.assertEquals(REQUESTS, OBJECT.getRequests());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void foreignHistoryTest() {
+        new ModifyTransactionBatchRequest(OTHER_HISTORY_IDENTIFIER, 0, ACTOR_REF, REQUESTS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unbatchableRequestTest() {
+        final ModifyTransactionRequestBuilder builder = new ModifyTransactionRequestBuilder(
+            new TransactionIdentifier(HISTORY_IDENTIFIER, 2), ACTOR_REF);
+        builder.setSequence(0);
+        builder.setCommit(true);
+        new ModifyTransactionBatchRequest(HISTORY_IDENTIFIER, 0, ACTOR_REF, ImmutableList.of(builder.build()));
+    }
+
+    @Test
+    public void addToStringAttributesTest() {
+        final MoreObjects.ToStringHelper result = OBJECT.addToStringAttributes(MoreObjects.toStringHelper(OBJECT));
+        Assert.assertTrue(result.toString().contains("requests=" + REQUESTS));
+    }
+
+    @Test
+    public void cloneAsVersionTest() {
+        final ModifyTransactionBatchRequest clone = OBJECT.cloneAsVersion(ABIVersion.CARBON);
+        Assert.assertEquals(OBJECT.getTarget(), clone.getTarget());
+        Assert.assertEquals(OBJECT.getSequence(), clone.getSequence());
+        Assert.assertEquals(OBJECT.getRequests(), clone.getRequests());
+        Assert.assertEquals(ABIVersion.CARBON, clone.getVersion());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toBoronVersionTest() {
+        OBJECT.toVersion(ABIVersion.BORON);
+    }
+
+    @Override
+    protected void doAdditionalAssertions(final Object deserialize) {
+        Assert.assertTrue(deserialize instanceof ModifyTransactionBatchRequest);
+        final ModifyTransactionBatchRequest casted = (ModifyTransactionBatchRequest) deserialize;
+
+        Assert.assertEquals(OBJECT.getReplyTo(), casted.getReplyTo());
+        Assert.assertEquals(REQUESTS.size(), casted.getRequests().size());
+        for (int i = 0; i < REQUESTS.size(); ++i) {
+            final ModifyTransactionRequest expected = REQUESTS.get(i);
+            final ModifyTransactionRequest actual = casted.getRequests().get(i);
+            Assert.assertEquals(expected.getTarget(), actual.getTarget());
+            Assert.assertEquals(expected.getPersistenceProtocol(), actual.getPersistenceProtocol());
+            Assert.assertEquals(expected.getModifications().size(), actual.getModifications().size());
+        }
+    }
+}
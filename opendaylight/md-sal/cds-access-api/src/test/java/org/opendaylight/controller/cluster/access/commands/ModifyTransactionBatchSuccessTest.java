@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.commands;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.concepts.RuntimeRequestException;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+
+public class ModifyTransactionBatchSuccessTest extends AbstractRequestSuccessTest<ModifyTransactionBatchSuccess> {
+    private static final TransactionIdentifier TRANSACTION_IDENTIFIER = new TransactionIdentifier(
+            HISTORY_IDENTIFIER, 0);
+
+    private static final ModifyTransactionBatchSuccess OBJECT = new ModifyTransactionBatchSuccess(
+            HISTORY_IDENTIFIER, 0, Arrays.asList(new ModifyTransactionSuccess(TRANSACTION_IDENTIFIER, 0),
+                new TransactionFailure(TRANSACTION_IDENTIFIER, 1, new RuntimeRequestException("fail",
+                    new Throwable())), null));
+
+    @Override
+    protected ModifyTransactionBatchSuccess object() {
+        return OBJECT;
+    }
+
+    @Test
+    public void cloneAsVersionTest() throws Exception {
+        final ModifyTransactionBatchSuccess clone = OBJECT.cloneAsVersion(ABIVersion.CARBON);
+        Assert.assertEquals(OBJECT.getSequence(), clone.getSequence());
+        Assert.assertEquals(OBJECT.getTarget(), clone.getTarget());
+        Assert.assertEquals(ABIVersion.CARBON, clone.getVersion());
+        Assert.assertEquals(OBJECT.getResponses().size(), clone.getResponses().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toBoronVersionTest() {
+        OBJECT.toVersion(ABIVersion.BORON);
+    }
+
+    @Override
+    protected void doAdditionalAssertions(final Object deserialize) {
+        Assert.assertTrue(deserialize instanceof ModifyTransactionBatchSuccess);
+        final ModifyTransactionBatchSuccess casted = (ModifyTransactionBatchSuccess) deserialize;
+        Assert.assertEquals(3, casted.getResponses().size());
+        Assert.assertTrue(casted.getResponses().get(0) instanceof ModifyTransactionSuccess);
+        Assert.assertTrue(casted.getResponses().get(1) instanceof TransactionFailure);
+        Assert.assertEquals(1, casted.getResponses().get(1).getSequence());
+        Assert.assertNull(casted.getResponses().get(2));
+    }
+}
@@ -23,7 +23,7 @@ public class ModifyTransactionSuccessTest extends AbstractTransactionSuccessTest
     @Test
     public void cloneAsVersionTest() throws Exception {
         final ModifyTransactionSuccess clone = OBJECT.cloneAsVersion(ABIVersion.BORON);
-        Assert.assertEquals(OBJECT.getVersion(), clone.getVersion());
+        Assert.assertEquals(ABIVersion.BORON, clone.getVersion());
         Assert.assertEquals(OBJECT.getSequence(), clone.getSequence());
         Assert.assertEquals(OBJECT.getTarget(), clone.getTarget());
     }
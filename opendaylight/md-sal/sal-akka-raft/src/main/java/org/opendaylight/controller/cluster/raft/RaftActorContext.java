@@ -17,6 +17,7 @@ import com.google.common.annotations.VisibleForTesting;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -109,6 +110,39 @@ public interface RaftActorContext {
      */
     void setLastApplied(long lastApplied);
 
+    /**
+     * Returns the commit index last reported by the leader. This is maintained only while this actor is a follower
+     * and can be used to estimate how far behind the leader the local state machine is. Unlike most other methods
+     * in this interface, this method and {@link #getLastApplied()} may be invoked from threads other than the actor.
+     *
+     * @return the leader's commit index, or -1 if it is not known.
+     */
+    long getLeaderCommitIndex();
+
+    /**
+     * Sets the commit index last reported by the leader.
+     *
+     * @param leaderCommitIndex the leader's commit index
+     */
+    void setLeaderCommitIndex(long leaderCommitIndex);
+
+    /**
+     * Returns the consumer notified of the time, in nanoseconds, it took to persist each replicated log entry
+     * appended via {@link ReplicatedLog#appendAndPersist(ReplicatedLogEntry, akka.japi.Procedure, boolean)}.
+     *
+     * @return the journal persist latency consumer
+     */
+    @Nonnull
+    LongConsumer getJournalPersistLatencyConsumer();
+
+    /**
+     * Sets the consumer notified of the time, in nanoseconds, it took to persist each replicated log entry. It is
+     * invoked from the actor, hence it should be cheap.
+     *
+     * @param consumer the journal persist latency consumer
+     */
+    void setJournalPersistLatencyConsumer(@Nonnull LongConsumer consumer);
+
     /**
      * Sets the ReplicatedLog instance.
      *
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -56,7 +57,12 @@ public class RaftActorContextImpl implements RaftActorContext {
 
     private long commitIndex;
 
-    private long lastApplied;
+    // Accessed from other threads to estimate the lag of a follower, hence volatile
+    private volatile long lastApplied;
+
+    private volatile long leaderCommitIndex = -1;
+
+    private LongConsumer journalPersistLatencyConsumer = latency -> { };
 
     private ReplicatedLog replicatedLog;
 
@@ -186,6 +192,26 @@ public class RaftActorContextImpl implements RaftActorContext {
         this.lastApplied = lastApplied;
     }
 
+    @Override
+    public long getLeaderCommitIndex() {
+        return leaderCommitIndex;
+    }
+
+    @Override
+    public void setLeaderCommitIndex(long leaderCommitIndex) {
+        this.leaderCommitIndex = leaderCommitIndex;
+    }
+
+    @Override
+    public LongConsumer getJournalPersistLatencyConsumer() {
+        return journalPersistLatencyConsumer;
+    }
+
+    @Override
+    public void setJournalPersistLatencyConsumer(@Nonnull LongConsumer consumer) {
+        this.journalPersistLatencyConsumer = Preconditions.checkNotNull(consumer);
+    }
+
     @Override
     public void setReplicatedLog(ReplicatedLog replicatedLog) {
         this.replicatedLog = replicatedLog;
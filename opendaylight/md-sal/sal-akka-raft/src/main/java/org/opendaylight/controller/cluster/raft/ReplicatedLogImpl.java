@@ -102,7 +102,9 @@ class ReplicatedLogImpl extends AbstractReplicatedLogImpl {
             return false;
         }
 
+        final long startNanos = System.nanoTime();
         Procedure<ReplicatedLogEntry> persistCallback = persistedLogEntry -> {
+            context.getJournalPersistLatencyConsumer().accept(System.nanoTime() - startNanos);
             context.getLogger().debug("{}: persist complete {}", context.getId(), persistedLogEntry);
 
             dataSizeSinceLastSnapshot += persistedLogEntry.size();
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.cluster.raft;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.reset;
@@ -16,6 +17,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import akka.japi.Procedure;
 import java.util.Collections;
+import java.util.function.LongConsumer;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -103,6 +105,23 @@ public class ReplicatedLogImplTest {
         assertEquals("size", 2, log.size());
     }
 
+    @Test
+    public void testAppendAndPersistReportsPersistLatency() throws Exception {
+        final LongConsumer mockLatencyConsumer = Mockito.mock(LongConsumer.class);
+        context.setJournalPersistLatencyConsumer(mockLatencyConsumer);
+
+        ReplicatedLog log = ReplicatedLogImpl.newInstance(context);
+
+        ReplicatedLogEntry logEntry = new SimpleReplicatedLogEntry(1, 1, new MockPayload("1"));
+        log.appendAndPersist(logEntry, null, true);
+
+        verifyNoMoreInteractions(mockLatencyConsumer);
+
+        verifyPersist(logEntry);
+
+        verify(mockLatencyConsumer).accept(anyLong());
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testAppendAndPersisWithDuplicateEntry() throws Exception {
@@ -234,6 +234,7 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest<Follower> {
 
         assertFalse(syncStatus.isInitialSyncDone());
         assertTrue("append entries reply should be true", reply.isSuccess());
+        assertEquals("getLeaderCommitIndex", 101, context.getLeaderCommitIndex());
     }
 
     @Test
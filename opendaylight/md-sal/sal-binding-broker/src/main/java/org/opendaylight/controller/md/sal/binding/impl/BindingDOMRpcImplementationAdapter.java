@@ -10,6 +10,7 @@ package org.opendaylight.controller.md.sal.binding.impl;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -42,6 +43,7 @@ public class BindingDOMRpcImplementationAdapter implements DOMRpcImplementation
     private final RpcServiceInvoker invoker;
     private final RpcService delegate;
     private final QName inputQname;
+    private final Map<SchemaPath, SchemaPath> inputPaths;
 
     <T extends RpcService> BindingDOMRpcImplementationAdapter(final BindingNormalizedNodeSerializer codec, final Class<T> type, final Map<SchemaPath, Method> localNameToMethod, final T delegate) {
         try {
@@ -60,6 +62,12 @@ public class BindingDOMRpcImplementationAdapter implements DOMRpcImplementation
         this.codec = Preconditions.checkNotNull(codec);
         this.delegate = Preconditions.checkNotNull(delegate);
         inputQname = QName.create(BindingReflections.getQNameModule(type), "input").intern();
+
+        final ImmutableMap.Builder<SchemaPath, SchemaPath> b = ImmutableMap.builder();
+        for (SchemaPath rpc : localNameToMethod.keySet()) {
+            b.put(rpc, rpc.createChild(inputQname));
+        }
+        inputPaths = b.build();
     }
 
     @Nonnull
@@ -73,9 +81,11 @@ public class BindingDOMRpcImplementationAdapter implements DOMRpcImplementation
 
     private DataObject deserialize(final SchemaPath rpcPath, final NormalizedNode<?, ?> input) {
         if (input instanceof LazySerializedContainerNode) {
+            // Invoked through the binding layer on this node, no need to go through the codec
             return ((LazySerializedContainerNode) input).bindingData();
         }
-        final SchemaPath inputSchemaPath = rpcPath.createChild(inputQname);
+        final SchemaPath knownPath = inputPaths.get(rpcPath);
+        final SchemaPath inputSchemaPath = knownPath != null ? knownPath : rpcPath.createChild(inputQname);
         return codec.fromNormalizedNodeRpcData(inputSchemaPath, (ContainerNode) input);
     }
 
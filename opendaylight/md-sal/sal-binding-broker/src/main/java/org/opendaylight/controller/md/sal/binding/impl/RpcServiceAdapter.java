@@ -17,12 +17,12 @@ import com.google.common.util.concurrent.ListenableFuture;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.List;
 import java.util.Map.Entry;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.md.sal.dom.broker.spi.rpc.RpcRoutingStrategy;
-import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -39,8 +39,28 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Implementation of a binding {@link RpcService} on top of a {@link DOMRpcService}.
+ *
+ * <p>
+ * Everything which depends only on the invoked method, such as the RPC schema path, whether the method takes
+ * an input and the schema path of the output, is resolved once when the adapter is created into an
+ * {@link RpcInvocationStrategy} for the method. The service is exposed through a class generated by
+ * {@link RpcServiceFrontendGenerator}, whose methods call their strategy directly. Should the class fail to generate,
+ * the service is exposed as a {@link Proxy}, which looks up the strategy on each invocation.
+ *
+ * <p>
+ * Inputs are passed down as {@link LazySerializedContainerNode}s, which carry the binding input and serialize it only
+ * when accessed. When the call is routed to a binding implementation on the same node, that implementation picks up
+ * the binding input directly and returns a {@link LazyDOMRpcResultFuture}, whose binding result is returned to
+ * the caller as is. Local calls therefore do not go through the codec, except for translating the context
+ * reference of routed RPCs, which the DOM router needs for routing.
+ */
 class RpcServiceAdapter implements InvocationHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(RpcServiceAdapter.class);
 
     private final ImmutableMap<Method, RpcInvocationStrategy> rpcNames;
     private final Class<? extends RpcService> type;
@@ -58,16 +78,31 @@ class RpcServiceAdapter implements InvocationHandler {
             rpcBuilder.put(rpc.getKey(), createStrategy(rpc.getKey(), rpc.getValue()));
         }
         rpcNames = rpcBuilder.build();
-        proxy = (RpcService) Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, this);
+        proxy = createFrontend();
     }
 
-    private ListenableFuture<RpcResult<?>> invoke0(final SchemaPath schemaPath, final NormalizedNode<?, ?> input) {
-        final CheckedFuture<DOMRpcResult, DOMRpcException> result = delegate.invokeRpc(schemaPath, input);
-        if(result instanceof LazyDOMRpcResultFuture) {
-            return ((LazyDOMRpcResultFuture) result).getBindingFuture();
+    @SuppressWarnings("unchecked")
+    private RpcService createFrontend() {
+        final List<Method> methods = RpcServiceFrontendGenerator.methodsOf(type);
+        final java.util.function.Function<Object, Object>[] invokers = new java.util.function.Function[methods.size()];
+        for (int i = 0; i < invokers.length; ++i) {
+            final Method method = methods.get(i);
+            final RpcInvocationStrategy rpc = rpcNames.get(method);
+            invokers[i] = rpc != null ? rpc.invoker() : input -> {
+                throw new UnsupportedOperationException("Method " + method.toString() + "is unsupported.");
+            };
+        }
+
+        try {
+            return RpcServiceFrontendGenerator.newInstance(type, invokers, adapterName());
+        } catch (IllegalStateException e) {
+            LOG.warn("Failed to generate frontend for {}, falling back to a proxy", type, e);
+            return (RpcService) Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, this);
         }
+    }
 
-        return transformFuture(schemaPath, result, codec.getCodecFactory());
+    private String adapterName() {
+        return type.getName() + "$Adapter{delegate=" + delegate.toString() + "}";
     }
 
     private RpcInvocationStrategy createStrategy(final Method method, final RpcDefinition schema) {
@@ -75,7 +110,7 @@ class RpcServiceAdapter implements InvocationHandler {
         if (strategy.isContextBasedRouted()) {
             return new RoutedStrategy(schema.getPath(), method, strategy.getLeaf());
         }
-        return new NonRoutedStrategy(schema.getPath());
+        return new NonRoutedStrategy(schema.getPath(), method);
     }
 
     RpcService getProxy() {
@@ -87,10 +122,10 @@ class RpcServiceAdapter implements InvocationHandler {
 
         final RpcInvocationStrategy rpc = rpcNames.get(method);
         if (rpc != null) {
-            if (method.getParameterTypes().length == 0) {
+            if (!rpc.hasInput()) {
                 return rpc.invokeEmpty();
             }
-            if (args.length != 1) {
+            if (args == null || args.length != 1) {
                 throw new IllegalArgumentException("Input must be provided.");
             }
             return rpc.invoke((DataObject) args[0]);
@@ -119,7 +154,7 @@ class RpcServiceAdapter implements InvocationHandler {
     private Object callObjectMethod(final Object self, final Method m, final Object[] args) {
         switch (m.getName()) {
             case "toString":
-                return type.getName() + "$Adapter{delegate=" + delegate.toString() + "}";
+                return adapterName();
             case "hashCode":
                 return System.identityHashCode(self);
             case "equals":
@@ -129,52 +164,71 @@ class RpcServiceAdapter implements InvocationHandler {
         }
     }
 
-    private static ListenableFuture<RpcResult<?>> transformFuture(final SchemaPath rpc,
-            final ListenableFuture<DOMRpcResult> domFuture, final BindingNormalizedNodeSerializer codec) {
-        return Futures.transform(domFuture, new Function<DOMRpcResult, RpcResult<?>>() {
-            @Override
-            public RpcResult<?> apply(final DOMRpcResult input) {
-                final NormalizedNode<?, ?> domData = input.getResult();
-                final DataObject bindingResult;
-                if (domData != null) {
-                    final SchemaPath rpcOutput = rpc.createChild(QName.create(rpc.getLastComponent(), "output"));
-                    bindingResult = codec.fromNormalizedNodeRpcData(rpcOutput, (ContainerNode) domData);
-                } else {
-                    bindingResult = null;
-                }
-                return RpcResult.class.cast(RpcResultBuilder.success(bindingResult).build());
-            }
-        });
-    }
-
-    private abstract class RpcInvocationStrategy {
+    private abstract class RpcInvocationStrategy implements Function<DOMRpcResult, RpcResult<?>> {
 
         private final SchemaPath rpcName;
+        private final SchemaPath outputName;
+        private final boolean hasInput;
 
-        protected RpcInvocationStrategy(final SchemaPath path) {
+        protected RpcInvocationStrategy(final SchemaPath path, final Method method) {
             rpcName = path;
+            outputName = path.createChild(QName.create(path.getLastComponent(), "output").intern());
+            hasInput = method.getParameterTypes().length != 0;
         }
 
         final ListenableFuture<RpcResult<?>> invoke(final DataObject input) {
-            return invoke0(rpcName, serialize(input));
+            return invoke0(serialize(input));
         }
 
         abstract NormalizedNode<?, ?> serialize(DataObject input);
 
         final ListenableFuture<RpcResult<?>> invokeEmpty() {
-            return invoke0(rpcName, null);
+            return invoke0(null);
+        }
+
+        /**
+         * Return an invoker bound to this strategy, as used by generated frontends.
+         */
+        final java.util.function.Function<Object, Object> invoker() {
+            return hasInput ? input -> invoke((DataObject) input) : input -> invokeEmpty();
         }
 
         final SchemaPath getRpcName() {
             return rpcName;
         }
 
+        final boolean hasInput() {
+            return hasInput;
+        }
+
+        private ListenableFuture<RpcResult<?>> invoke0(final NormalizedNode<?, ?> input) {
+            final CheckedFuture<DOMRpcResult, DOMRpcException> result = delegate.invokeRpc(rpcName, input);
+            if (result instanceof LazyDOMRpcResultFuture) {
+                // Local binding implementation, its result needs no translation
+                return ((LazyDOMRpcResultFuture) result).getBindingFuture();
+            }
+
+            return Futures.transform(result, this);
+        }
+
+        @Override
+        public final RpcResult<?> apply(final DOMRpcResult input) {
+            final NormalizedNode<?, ?> domData = input.getResult();
+            final DataObject bindingResult;
+            if (domData != null) {
+                bindingResult = codec.getCodecFactory().fromNormalizedNodeRpcData(outputName,
+                    (ContainerNode) domData);
+            } else {
+                bindingResult = null;
+            }
+            return RpcResult.class.cast(RpcResultBuilder.success(bindingResult).build());
+        }
     }
 
     private final class NonRoutedStrategy extends RpcInvocationStrategy {
 
-        protected NonRoutedStrategy(final SchemaPath path) {
-            super(path);
+        protected NonRoutedStrategy(final SchemaPath path, final Method rpcMethod) {
+            super(path, rpcMethod);
         }
 
         @Override
@@ -190,7 +244,7 @@ class RpcServiceAdapter implements InvocationHandler {
         private final NodeIdentifier contextName;
 
         protected RoutedStrategy(final SchemaPath path, final Method rpcMethod, final QName leafName) {
-            super(path);
+            super(path, rpcMethod);
             final Class<? extends DataContainer> inputType = BindingReflections.resolveRpcInputClass(rpcMethod).get();
             refExtractor = ContextReferenceExtractor.from(inputType);
             this.contextName = new NodeIdentifier(leafName);
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.binding.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+import org.opendaylight.controller.sal.binding.codegen.impl.SingletonHolder;
+import org.opendaylight.yangtools.yang.binding.RpcService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generator of classes implementing {@link RpcService} interfaces, which dispatch each method directly to an invoker
+ * bound to that method. Compared to a {@link java.lang.reflect.Proxy}, an invocation does not involve a method lookup,
+ * nor packing of arguments into an array.
+ *
+ * <p>
+ * A generated class has a constructor taking an array of {@link Function}s and a description. Each abstract method
+ * of the interface, in the order given by {@link #methodsOf(Class)}, passes its argument, or null if it does not take
+ * one, to the corresponding function and returns its result. The class is defined in the class loader of the
+ * interface and refers only to the interface and to JDK classes, hence it does not require any class loader wiring.
+ */
+final class RpcServiceFrontendGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(RpcServiceFrontendGenerator.class);
+    private static final String CLASS_SUFFIX = "$$BindingRpcFrontend";
+
+    private static final LoadingCache<Class<?>, Constructor<?>> CONSTRUCTORS = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<Class<?>, Constructor<?>>() {
+                @Override
+                public Constructor<?> load(final Class<?> key) throws Exception {
+                    return generateClass(key).getConstructor(Function[].class, String.class);
+                }
+            });
+
+    private RpcServiceFrontendGenerator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Return the methods a generated class implements, in the order in which it expects their invokers.
+     *
+     * @param type RpcService interface
+     * @return List of abstract methods of the interface
+     */
+    static List<Method> methodsOf(final Class<? extends RpcService> type) {
+        return Arrays.stream(type.getMethods()).filter(m -> Modifier.isAbstract(m.getModifiers()))
+                .sorted(Comparator.comparing(Method::toString)).collect(Collectors.toList());
+    }
+
+    /**
+     * Instantiate a generated class implementing an RpcService interface.
+     *
+     * @param type RpcService interface
+     * @param invokers Invokers of the methods returned by {@link #methodsOf(Class)}, in the same order
+     * @param description String returned from {@link Object#toString()}
+     * @return A new RpcService instance
+     * @throws IllegalStateException if the class cannot be generated
+     */
+    static <T extends RpcService> T newInstance(final Class<T> type, final Function<Object, Object>[] invokers,
+            final String description) {
+        Preconditions.checkArgument(type.isInterface(), "%s is not an interface", type);
+        try {
+            return type.cast(CONSTRUCTORS.getUnchecked(type).newInstance(invokers, description));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Failed to instantiate frontend of " + type, e);
+        }
+    }
+
+    private static Class<?> generateClass(final Class<?> type) throws CannotCompileException, NotFoundException {
+        final ClassLoader loader = type.getClassLoader();
+        final String name = type.getName() + CLASS_SUFFIX;
+        try {
+            // Already defined, for example by a previous instance of this bundle
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException e) {
+            LOG.trace("Generating {}", name, e);
+        }
+
+        synchronized (SingletonHolder.JAVASSIST) {
+            SingletonHolder.JAVASSIST.appendClassLoaderIfMissing(loader);
+
+            final ClassPool pool = SingletonHolder.CLASS_POOL;
+            final CtClass ctClass = pool.makeClass(name);
+            try {
+                ctClass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+                ctClass.addInterface(pool.get(type.getName()));
+                ctClass.addField(CtField.make("private final java.util.function.Function[] invokers;", ctClass));
+                ctClass.addField(CtField.make("private final java.lang.String description;", ctClass));
+                final CtConstructor ctor = new CtConstructor(new CtClass[] {
+                    pool.get("java.util.function.Function[]"), pool.get("java.lang.String") }, ctClass);
+                ctor.setModifiers(Modifier.PUBLIC);
+                ctor.setBody("{ super(); this.invokers = $1; this.description = $2; }");
+                ctClass.addConstructor(ctor);
+
+                int index = 0;
+                for (Method method : methodsOf(type.asSubclass(RpcService.class))) {
+                    final CtMethod ctMethod = new CtMethod(pool.get(method.getReturnType().getName()),
+                        method.getName(), toCtClasses(pool, method.getParameterTypes()), ctClass);
+                    ctMethod.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+                    ctMethod.setBody("{ return ($r) this.invokers[" + index + "].apply("
+                        + (method.getParameterTypes().length == 0 ? "null" : "($w) $1") + "); }");
+                    ctClass.addMethod(ctMethod);
+                    index++;
+                }
+
+                ctClass.addMethod(CtMethod.make(
+                    "public java.lang.String toString() { return this.description; }", ctClass));
+
+                final Class<?> ret = ctClass.toClass(loader, type.getProtectionDomain());
+                LOG.debug("Generated {} implementing {} methods", ret, index);
+                return ret;
+            } finally {
+                ctClass.detach();
+            }
+        }
+    }
+
+    private static CtClass[] toCtClasses(final ClassPool pool, final Class<?>[] classes) throws NotFoundException {
+        final CtClass[] ret = new CtClass[classes.length];
+        for (int i = 0; i < classes.length; ++i) {
+            ret[i] = pool.get(classes[i].getName());
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.binding.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.util.concurrent.Futures;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.bi.ba.rpcservice.rev140701.RockTheHouseInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.bi.ba.rpcservice.rev140701.RockTheHouseInputBuilder;
+import org.opendaylight.yangtools.yang.binding.RpcService;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+
+public class RpcServiceFrontendGeneratorTest {
+
+    public interface TestService extends RpcService {
+        Future<RpcResult<Void>> rockTheHouse(RockTheHouseInput input);
+
+        Future<RpcResult<Void>> noInput();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDispatch() throws Exception {
+        final List<Method> methods = RpcServiceFrontendGenerator.methodsOf(TestService.class);
+        assertEquals(2, methods.size());
+
+        final List<Object> received = new ArrayList<>();
+        final Future<?>[] results = new Future<?>[methods.size()];
+        final Function<Object, Object>[] invokers = new Function[methods.size()];
+        for (int i = 0; i < invokers.length; ++i) {
+            final Future<?> result = Futures.immediateFuture(null);
+            results[i] = result;
+            invokers[i] = input -> {
+                received.add(input);
+                return result;
+            };
+        }
+
+        final TestService service = RpcServiceFrontendGenerator.newInstance(TestService.class, invokers, "test");
+        assertFalse(Proxy.isProxyClass(service.getClass()));
+        assertEquals("test", service.toString());
+
+        final RockTheHouseInput input = new RockTheHouseInputBuilder().build();
+        final int inputIndex = methods.indexOf(TestService.class.getMethod("rockTheHouse", RockTheHouseInput.class));
+        assertSame(results[inputIndex], service.rockTheHouse(input));
+        assertSame(input, received.get(0));
+
+        final int noInputIndex = methods.indexOf(TestService.class.getMethod("noInput"));
+        assertSame(results[noInputIndex], service.noInput());
+        assertNull(received.get(1));
+
+        // The generated class is reused
+        assertSame(service.getClass(),
+            RpcServiceFrontendGenerator.newInstance(TestService.class, invokers, "other").getClass());
+    }
+}
@@ -8,13 +8,16 @@
 package org.opendaylight.controller.sal.binding.test.connect.dom;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.lang.reflect.Proxy;
 import java.util.concurrent.Future;
 import org.junit.After;
 import org.junit.Before;
@@ -135,6 +138,33 @@ public class CrossBrokerRpcTest {
         assertEquals(output, baResult.get().getResult());
     }
 
+    @Test
+    public void bindingRpcInvoker_BindingRoutedProviderTest() throws Exception {
+        final KnockKnockOutput output = new KnockKnockOutputBuilder().setAnswer("open").build();
+        knockService.registerPath(TestContext.class, BA_NODE_A_ID)
+                .setKnockKnockResult(Futures.immediateFuture(RpcResultBuilder.success(output).build()));
+
+        OpendaylightOfMigrationTestModelService baKnockInvoker =
+                providerRegistry.getRpcService(OpendaylightOfMigrationTestModelService.class);
+        final KnockKnockInput input = knockKnock(BA_NODE_A_ID).setQuestion("Who's there?").build();
+        final RpcResult<KnockKnockOutput> baResult = baKnockInvoker.knockKnock(input).get();
+
+        // Local binding calls pass the binding objects through without translating them
+        assertSame(input, knockService.getReceivedKnocks().get(BA_NODE_A_ID).iterator().next());
+        assertSame(output, baResult.getResult());
+    }
+
+    @Test
+    public void bindingRpcInvokerIsGeneratedTest() {
+        OpendaylightOfMigrationTestModelService baKnockInvoker =
+                providerRegistry.getRpcService(OpendaylightOfMigrationTestModelService.class);
+
+        // Invocations are dispatched by a generated class rather than through a reflection proxy
+        assertFalse(Proxy.isProxyClass(baKnockInvoker.getClass()));
+        assertTrue(baKnockInvoker.toString().startsWith(
+            OpendaylightOfMigrationTestModelService.class.getName() + "$Adapter"));
+    }
+
     private ContainerNode toDomRpcInput(final DataObject addFlowA) {
         return testContext.getCodec().getCodecFactory().toNormalizedNodeRpcData(addFlowA);
     }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+
+/**
+ * Interning factory for {@link AugmentationIdentifier}s. The number of distinct augmentations is bounded by the models,
+ * while the number of augmentation nodes is bounded only by the data, hence sharing identifiers between nodes saves
+ * both allocation and retained heap.
+ */
+public final class AugmentationIdentifierFactory {
+    private static final int MAX_AUGMENTATION_ID_CACHE_SIZE = 10000;
+
+    private static final LoadingCache<ImmutableSet<QName>, AugmentationIdentifier> CACHE = CacheBuilder.newBuilder()
+        .maximumSize(MAX_AUGMENTATION_ID_CACHE_SIZE)
+        .softValues()
+        .build(new CacheLoader<ImmutableSet<QName>, AugmentationIdentifier>() {
+            @Override
+            public AugmentationIdentifier load(final ImmutableSet<QName> key) {
+                return new AugmentationIdentifier(key);
+            }
+        });
+
+    private AugmentationIdentifierFactory() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static AugmentationIdentifier create(final ImmutableSet<QName> childNames) {
+        return CACHE.getUnchecked(childNames);
+    }
+}
@@ -54,13 +54,88 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
             output.writeByte(TokenTypes.SIGNATURE_MARKER);
             output.writeShort(streamVersion());
             headerWritten = true;
+            writeHeaderExtension();
         }
     }
 
     protected abstract short streamVersion();
 
+    /**
+     * Write any version-specific header fields. Invoked once, after the signature marker and stream version have been
+     * written. Default implementation does nothing.
+     *
+     * @throws IOException if an error occurs
+     */
+    protected void writeHeaderExtension() throws IOException {
+        // No-op
+    }
+
     protected abstract void writeQName(QName qname) throws IOException;
 
+    /**
+     * Invoked just before the type of a node is written. Default implementation does nothing.
+     *
+     * @param nodeType Node type, as defined in {@link NodeTypes}
+     * @throws IOException if an error occurs
+     */
+    protected void nodeStarting(final byte nodeType) throws IOException {
+        // No-op
+    }
+
+    /**
+     * Invoked just after the end of a node with children has been written. Default implementation does nothing.
+     *
+     * @throws IOException if an error occurs
+     */
+    protected void nodeEnded() throws IOException {
+        // No-op
+    }
+
+    /**
+     * Write the size of a collection or a length of a value.
+     *
+     * @param size Size to write
+     * @throws IOException if an error occurs
+     */
+    protected void writeSize(final int size) throws IOException {
+        output.writeInt(size);
+    }
+
+    /**
+     * Write an unsigned variable-length integer, seven bits per byte, least significant group first. The most
+     * significant bit of each byte indicates whether more bytes follow.
+     *
+     * @param value Value to write, interpreted as unsigned
+     * @throws IOException if an error occurs
+     */
+    protected final void writeVarInt(final int value) throws IOException {
+        ensureHeaderWritten();
+
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte(remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    /**
+     * Write an unsigned variable-length long, using the same encoding as {@link #writeVarInt(int)}.
+     *
+     * @param value Value to write, interpreted as unsigned
+     * @throws IOException if an error occurs
+     */
+    protected final void writeVarLong(final long value) throws IOException {
+        ensureHeaderWritten();
+
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
     protected abstract void writeString(String string) throws IOException;
 
     @Override
@@ -195,6 +270,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
     public void leafSetEntryNode(final QName name, final Object value) throws IOException, IllegalArgumentException {
         LOG.debug("Writing a new leaf set entry node");
 
+        nodeStarting(NodeTypes.LEAF_SET_ENTRY_NODE);
         output.writeByte(NodeTypes.LEAF_SET_ENTRY_NODE);
 
         // lastLeafSetQName is set if the parent LeafSetNode was previously written. Otherwise this is a
@@ -288,6 +364,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         Preconditions.checkNotNull(identifier, "Node identifier should not be null");
         LOG.debug("Starting a new augmentation node");
 
+        nodeStarting(NodeTypes.AUGMENTATION_NODE);
         output.writeByte(NodeTypes.AUGMENTATION_NODE);
         writeQNameSet(identifier.getPossibleChildNames());
     }
@@ -313,6 +390,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         LOG.debug("Ending the node");
 
         output.writeByte(NodeTypes.END_NODE);
+        nodeEnded();
     }
 
     @Override
@@ -331,6 +409,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         Preconditions.checkNotNull(qname, "QName of node identifier should not be null.");
 
         ensureHeaderWritten();
+        nodeStarting(nodeType);
 
         // First write the type of node
         output.writeByte(nodeType);
@@ -339,7 +418,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
     }
 
     private void writeObjSet(final Set<?> set) throws IOException {
-        output.writeInt(set.size());
+        writeSize(set.size());
         for (Object o : set) {
             Preconditions.checkArgument(o instanceof String, "Expected value type to be String but was %s (%s)",
                 o.getClass(), o);
@@ -354,7 +433,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         output.writeBoolean(path.isAbsolute());
 
         final Collection<QName> qnames = path.getPath();
-        output.writeInt(qnames.size());
+        writeSize(qnames.size());
         for (QName qname : qnames) {
             writeQName(qname);
         }
@@ -368,7 +447,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
 
     private void writeYangInstanceIdentifierInternal(final YangInstanceIdentifier identifier) throws IOException {
         Collection<PathArgument> pathArguments = identifier.getPathArguments();
-        output.writeInt(pathArguments.size());
+        writeSize(pathArguments.size());
 
         for (PathArgument pathArgument : pathArguments) {
             writePathArgument(pathArgument);
@@ -424,27 +503,27 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
 
     private void writeKeyValueMap(final Map<QName, Object> keyValueMap) throws IOException {
         if (keyValueMap != null && !keyValueMap.isEmpty()) {
-            output.writeInt(keyValueMap.size());
+            writeSize(keyValueMap.size());
 
             for (Map.Entry<QName, Object> entry : keyValueMap.entrySet()) {
                 writeQName(entry.getKey());
                 writeObject(entry.getValue());
             }
         } else {
-            output.writeInt(0);
+            writeSize(0);
         }
     }
 
     private void writeQNameSet(final Set<QName> children) throws IOException {
         // Write each child's qname separately, if list is empty send count as 0
         if (children != null && !children.isEmpty()) {
-            output.writeInt(children.size());
+            writeSize(children.size());
             for (QName qname : children) {
                 writeQName(qname);
             }
         } else {
             LOG.debug("augmentation node does not have any child");
-            output.writeInt(0);
+            writeSize(0);
         }
     }
 
@@ -453,7 +532,17 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         byte type = ValueTypes.getSerializableType(value);
         // Write object type first
         output.writeByte(type);
+        writeValue(type, value);
+    }
 
+    /**
+     * Write the value of an object, whose type has already been written.
+     *
+     * @param type Value type, as determined by {@link ValueTypes#getSerializableType(Object)}
+     * @param value Value to write
+     * @throws IOException if an error occurs
+     */
+    protected void writeValue(final byte type, final Object value) throws IOException {
         switch (type) {
             case ValueTypes.BOOL_TYPE:
                 output.writeBoolean((Boolean) value);
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Reader implementing {@link TokenTypes#CARBON_SR1_VERSION}. The stream header is expected to have been consumed and
+ * the {@link QNameDictionary} resolved from its fingerprint.
+ */
+class CompactNormalizedNodeInputStreamReader extends DictionaryNormalizedNodeInputStreamReader {
+    CompactNormalizedNodeInputStreamReader(final DataInput input, final QNameDictionary dictionary) {
+        super(input, dictionary);
+    }
+
+    @Override
+    int readSize() throws IOException {
+        return readVarInt();
+    }
+
+    @Override
+    Object readValue(final byte objectType) throws IOException {
+        switch (objectType) {
+            case ValueTypes.SHORT_TYPE:
+                return Short.valueOf((short) unZigZag(readVarInt()));
+            case ValueTypes.INT_TYPE:
+                return Integer.valueOf(unZigZag(readVarInt()));
+            case ValueTypes.LONG_TYPE:
+                final long longValue = readVarLong();
+                return Long.valueOf(longValue >>> 1 ^ -(longValue & 1));
+            case ValueTypes.STRING_TYPE:
+            case ValueTypes.STRING_BYTES_TYPE:
+                return readString();
+            case ValueTypes.BINARY_TYPE:
+                return readLengthPrefixed();
+            case ValueTypes.BIG_INTEGER_TYPE:
+                return new BigInteger(readLengthPrefixed());
+            case ValueTypes.BIG_DECIMAL_TYPE:
+                final int scale = unZigZag(readVarInt());
+                return new BigDecimal(new BigInteger(readLengthPrefixed()), scale);
+            default:
+                return super.readValue(objectType);
+        }
+    }
+
+    // Inverse of CompactNormalizedNodeOutputStreamWriter.writeString()
+    private String readString() throws IOException {
+        final byte[] bytes = readLengthPrefixed();
+        final char[] chars = new char[bytes.length];
+        int count = 0;
+        int pos = 0;
+        while (pos < bytes.length) {
+            final int first = bytes[pos++] & 0xFF;
+            if (first < 0x80) {
+                chars[count++] = (char) first;
+            } else if ((first & 0xE0) == 0xC0) {
+                chars[count++] = (char) ((first & 0x1F) << 6 | continuation(bytes, pos++));
+            } else if ((first & 0xF0) == 0xE0) {
+                final int second = continuation(bytes, pos++);
+                chars[count++] = (char) ((first & 0x0F) << 12 | second << 6 | continuation(bytes, pos++));
+            } else {
+                throw new InvalidNormalizedNodeStreamException(String.format("Invalid string byte %02x at offset %s",
+                    first, pos - 1));
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static int continuation(final byte[] bytes, final int pos) throws InvalidNormalizedNodeStreamException {
+        if (pos >= bytes.length) {
+            throw new InvalidNormalizedNodeStreamException("Truncated string");
+        }
+
+        final int value = bytes[pos] & 0xFF;
+        if ((value & 0xC0) != 0x80) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid string byte %02x at offset %s",
+                value, pos));
+        }
+        return value & 0x3F;
+    }
+
+    private byte[] readLengthPrefixed() throws IOException {
+        final byte[] bytes = new byte[readVarInt()];
+        readFully(bytes);
+        return bytes;
+    }
+
+    private static int unZigZag(final int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Writer implementing {@link TokenTypes#CARBON_SR1_VERSION}. It extends the {@link TokenTypes#CARBON_VERSION} format
+ * with variable-length encoding of sizes and primitive values.
+ *
+ * <p>
+ * Strings are encoded in modified UTF-8, like {@link DataOutput#writeUTF(String)} does, but with a varint length
+ * prefix, hence they are not limited to 64KiB. Unlike {@link java.nio.charset.StandardCharsets#UTF_8}, this encoding
+ * preserves unpaired surrogates, which are valid in a Java {@link String}.
+ */
+class CompactNormalizedNodeOutputStreamWriter extends DictionaryNormalizedNodeOutputStreamWriter {
+    CompactNormalizedNodeOutputStreamWriter(final DataOutput output, final QNameDictionary dictionary) {
+        super(output, dictionary);
+    }
+
+    @Override
+    protected short streamVersion() {
+        return TokenTypes.CARBON_SR1_VERSION;
+    }
+
+    @Override
+    protected void writeSize(final int size) throws IOException {
+        writeVarInt(size);
+    }
+
+    @Override
+    protected void writeValue(final byte type, final Object value) throws IOException {
+        switch (type) {
+            case ValueTypes.SHORT_TYPE:
+                writeVarInt(zigZag((Short) value));
+                break;
+            case ValueTypes.INT_TYPE:
+                writeVarInt(zigZag((Integer) value));
+                break;
+            case ValueTypes.LONG_TYPE:
+                final long longValue = (Long) value;
+                writeVarLong(longValue << 1 ^ longValue >> 63);
+                break;
+            case ValueTypes.STRING_TYPE:
+            case ValueTypes.STRING_BYTES_TYPE:
+                writeString(value.toString());
+                break;
+            case ValueTypes.BINARY_TYPE:
+                writeLengthPrefixed((byte[]) value);
+                break;
+            case ValueTypes.BIG_INTEGER_TYPE:
+                writeLengthPrefixed(((BigInteger) value).toByteArray());
+                break;
+            case ValueTypes.BIG_DECIMAL_TYPE:
+                final BigDecimal decimal = (BigDecimal) value;
+                writeVarInt(zigZag(decimal.scale()));
+                writeLengthPrefixed(decimal.unscaledValue().toByteArray());
+                break;
+            default:
+                super.writeValue(type, value);
+                break;
+        }
+    }
+
+    private void writeString(final String str) throws IOException {
+        final int length = str.length();
+        int utfLength = length;
+        for (int i = 0; i < length; ++i) {
+            final char ch = str.charAt(i);
+            if (ch >= 0x800) {
+                utfLength += 2;
+            } else if (ch >= 0x80 || ch == 0) {
+                utfLength++;
+            }
+        }
+
+        final byte[] bytes = new byte[utfLength];
+        int pos = 0;
+        for (int i = 0; i < length; ++i) {
+            final char ch = str.charAt(i);
+            if (ch >= 0x800) {
+                bytes[pos++] = (byte) (0xE0 | ch >> 12);
+                bytes[pos++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                bytes[pos++] = (byte) (0x80 | ch & 0x3F);
+            } else if (ch >= 0x80 || ch == 0) {
+                bytes[pos++] = (byte) (0xC0 | ch >> 6);
+                bytes[pos++] = (byte) (0x80 | ch & 0x3F);
+            } else {
+                bytes[pos++] = (byte) ch;
+            }
+        }
+        writeLengthPrefixed(bytes);
+    }
+
+    private void writeLengthPrefixed(final byte[] bytes) throws IOException {
+        writeVarInt(bytes.length);
+        write(bytes);
+    }
+
+    private static int zigZag(final int value) {
+        return value << 1 ^ value >> 31;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.base.Preconditions;
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+
+/**
+ * Reader implementing {@link TokenTypes#CARBON_VERSION}. The stream header is expected to have been consumed and
+ * the {@link QNameDictionary} resolved from its fingerprint.
+ */
+class DictionaryNormalizedNodeInputStreamReader extends NormalizedNodeInputStreamReader {
+    private final List<QName> codedQNames = new ArrayList<>();
+    private final QNameDictionary dictionary;
+
+    DictionaryNormalizedNodeInputStreamReader(final DataInput input, final QNameDictionary dictionary) {
+        super(input, true);
+        this.dictionary = Preconditions.checkNotNull(dictionary);
+    }
+
+    @Override
+    public Optional<QNameDictionary> getDictionary() {
+        return dictionary == QNameDictionary.EMPTY ? Optional.empty() : Optional.of(dictionary);
+    }
+
+    @Override
+    QName readQName() throws IOException {
+        final int code = readVarInt();
+        final int index = code - 1;
+        return index >= 0 && index < dictionary.size() ? dictionary.get(index) : readStreamQName(code);
+    }
+
+    @Override
+    NodeIdentifier readInternedNodeIdentifier() throws IOException {
+        final int code = readVarInt();
+        final int index = code - 1;
+        return index >= 0 && index < dictionary.size() ? dictionary.getNodeIdentifier(index)
+                : NodeIdentifier.create(readStreamQName(code));
+    }
+
+    private QName readStreamQName(final int code) throws IOException {
+        if (code == 0) {
+            final QName qname = super.readQName();
+            codedQNames.add(qname);
+            return qname;
+        }
+
+        final int streamIndex = code - 1 - dictionary.size();
+        if (streamIndex >= codedQNames.size()) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid QName code %s", code));
+        }
+        return codedQNames.get(streamIndex);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.base.Preconditions;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * Writer implementing {@link TokenTypes#CARBON_VERSION}. QNames found in the shared {@link QNameDictionary} are
+ * written as their dictionary index, others are written once in full and then referenced by a per-stream code.
+ */
+class DictionaryNormalizedNodeOutputStreamWriter extends NormalizedNodeOutputStreamWriter {
+    private final Map<QName, Integer> qnameCodeMap = new HashMap<>();
+    private final QNameDictionary dictionary;
+
+    DictionaryNormalizedNodeOutputStreamWriter(final DataOutput output, final QNameDictionary dictionary) {
+        super(output);
+        this.dictionary = Preconditions.checkNotNull(dictionary);
+    }
+
+    final QNameDictionary dictionary() {
+        return dictionary;
+    }
+
+    @Override
+    protected short streamVersion() {
+        return TokenTypes.CARBON_VERSION;
+    }
+
+    @Override
+    protected void writeHeaderExtension() throws IOException {
+        writeLong(dictionary.getFingerprint());
+    }
+
+    @Override
+    protected void writeQName(final QName qname) throws IOException {
+        final int index = dictionary.indexOf(qname);
+        if (index >= 0) {
+            writeVarInt(index + 1);
+            return;
+        }
+
+        final Integer code = qnameCodeMap.get(qname);
+        if (code != null) {
+            writeVarInt(dictionary.size() + code + 1);
+            return;
+        }
+
+        qnameCodeMap.put(qname, qnameCodeMap.size());
+        writeVarInt(0);
+        super.writeQName(qname);
+    }
+}
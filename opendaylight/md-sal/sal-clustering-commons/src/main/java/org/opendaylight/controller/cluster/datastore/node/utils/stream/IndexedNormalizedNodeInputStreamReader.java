@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * Reader implementing {@link TokenTypes#CARBON_SR2_VERSION} sequentially. Child indices are skipped, as all children
+ * are decoded anyway. See {@link LazyNormalizedNode} for random access to the nodes.
+ */
+final class IndexedNormalizedNodeInputStreamReader extends CompactNormalizedNodeInputStreamReader {
+    IndexedNormalizedNodeInputStreamReader(final DataInput input, final QNameDictionary dictionary) {
+        super(input, dictionary);
+    }
+
+    @Override
+    void childrenEnded() throws IOException {
+        final int count = readVarInt();
+        for (int i = 0; i < count; ++i) {
+            readVarInt();
+        }
+        readInt();
+    }
+}
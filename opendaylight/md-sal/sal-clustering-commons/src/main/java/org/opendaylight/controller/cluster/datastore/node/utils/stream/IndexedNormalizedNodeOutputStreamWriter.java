@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.base.Verify;
+import com.google.common.io.CountingOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * Writer implementing {@link TokenTypes#CARBON_SR2_VERSION}. It tracks the position of each node as it is written
+ * and emits the child index when a node with children ends.
+ */
+final class IndexedNormalizedNodeOutputStreamWriter extends CompactNormalizedNodeOutputStreamWriter {
+    private static final class Frame {
+        final List<Integer> childOffsets = new ArrayList<>();
+        final long start;
+
+        Frame(final long start) {
+            this.start = start;
+        }
+    }
+
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final CountingOutputStream counter;
+
+    private IndexedNormalizedNodeOutputStreamWriter(final CountingOutputStream counter,
+            final QNameDictionary dictionary) {
+        super(new DataOutputStream(counter), dictionary);
+        this.counter = counter;
+    }
+
+    IndexedNormalizedNodeOutputStreamWriter(final DataOutput output, final QNameDictionary dictionary) {
+        this(new CountingOutputStream(asOutputStream(output)), dictionary);
+    }
+
+    private static OutputStream asOutputStream(final DataOutput output) {
+        if (output instanceof OutputStream) {
+            return (OutputStream) output;
+        }
+
+        return new OutputStream() {
+            @Override
+            public void write(final int value) throws IOException {
+                output.write(value);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int off, final int len) throws IOException {
+                output.write(bytes, off, len);
+            }
+        };
+    }
+
+    @Override
+    protected short streamVersion() {
+        return TokenTypes.CARBON_SR2_VERSION;
+    }
+
+    @Override
+    protected void writeQName(final QName qname) throws IOException {
+        final int index = dictionary().indexOf(qname);
+        if (index >= 0) {
+            writeVarInt(index + 1);
+        } else {
+            writeVarInt(0);
+            writeString(qname.getLocalName());
+            writeString(qname.getNamespace().toString());
+            writeString(qname.getFormattedRevision());
+        }
+    }
+
+    @Override
+    protected void writeString(final String string) throws IOException {
+        // Per-stream codes would make nodes depend on preceding siblings, always write the string
+        if (string != null) {
+            writeByte(TokenTypes.IS_STRING_VALUE);
+            writeUTF(string);
+        } else {
+            writeByte(TokenTypes.IS_NULL_VALUE);
+        }
+    }
+
+    @Override
+    protected void nodeStarting(final byte nodeType) {
+        final long position = counter.getCount();
+        final Frame parent = frames.peek();
+        if (parent != null) {
+            parent.childOffsets.add(relativeOffset(parent, position));
+        }
+
+        switch (nodeType) {
+            case NodeTypes.LEAF_NODE:
+            case NodeTypes.LEAF_SET_ENTRY_NODE:
+            case NodeTypes.ANY_XML_NODE:
+                break;
+            default:
+                frames.push(new Frame(position));
+        }
+    }
+
+    @Override
+    protected void nodeEnded() throws IOException {
+        final Frame frame = frames.pop();
+        final int indexOffset = relativeOffset(frame, counter.getCount());
+
+        writeVarInt(frame.childOffsets.size());
+        for (Integer offset : frame.childOffsets) {
+            writeVarInt(offset);
+        }
+        writeInt(indexOffset);
+    }
+
+    private static int relativeOffset(final Frame frame, final long position) {
+        final long offset = position - frame.start;
+        Verify.verify(offset <= Integer.MAX_VALUE, "Node starting at %s is too large to be indexed", frame.start);
+        return (int) offset;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A view of a {@link NormalizedNode} serialized via {@link NormalizedNodeInputOutput#newIndexedDataOutput(
+ * java.io.DataOutput, QNameDictionary)}, which decodes only the parts of the tree which are accessed. Locating a child
+ * requires decoding the identifiers of its siblings, but not their contents, so lookups of a single leaf or checking
+ * for existence of a node do not materialize any of the untouched subtrees.
+ */
+@Beta
+@NotThreadSafe
+public final class LazyNormalizedNode {
+    // Signature marker, version and dictionary fingerprint
+    private static final int HEADER_SIZE = 1 + Short.BYTES + Long.BYTES;
+
+    private final QNameDictionary dictionary;
+    private final QName leafSetQName;
+    private final byte[] bytes;
+    private final int start;
+    private final int end;
+
+    private PathArgument identifier;
+    private List<LazyNormalizedNode> children;
+
+    private LazyNormalizedNode(final byte[] bytes, final QNameDictionary dictionary, final QName leafSetQName,
+            final int start, final int end) {
+        this.bytes = bytes;
+        this.dictionary = dictionary;
+        this.leafSetQName = leafSetQName;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Create a view of a buffer holding a single serialized node. The buffer is not copied and must not be modified
+     * while the view is in use.
+     *
+     * @param bytes Serialized node
+     * @return A lazy view of the node
+     * @throws IOException if the buffer does not hold an indexed stream or its dictionary is not available
+     */
+    public static LazyNormalizedNode create(@Nonnull final byte[] bytes) throws IOException {
+        final ByteArrayDataInput input = ByteStreams.newDataInput(bytes);
+        final byte marker = input.readByte();
+        if (marker != TokenTypes.SIGNATURE_MARKER) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid signature marker: %d", marker));
+        }
+        final short version = input.readShort();
+        if (version != TokenTypes.CARBON_SR2_VERSION) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Stream version %s is not indexed",
+                version));
+        }
+
+        return new LazyNormalizedNode(bytes, NormalizedNodeInputOutput.readDictionary(input), null, HEADER_SIZE,
+            bytes.length);
+    }
+
+    /**
+     * Return the identifier of this node.
+     *
+     * @return Node identifier
+     * @throws IOException if an error occurs while decoding the identifier
+     */
+    public PathArgument getIdentifier() throws IOException {
+        if (identifier == null) {
+            final NormalizedNodeInputStreamReader reader = newReader(start);
+            identifier = reader.readNodeIdentifier(reader.readByte());
+        }
+        return identifier;
+    }
+
+    /**
+     * Return the children of this node. Only the positions of the children are decoded.
+     *
+     * @return Child nodes, empty if this node cannot have children
+     * @throws IOException if an error occurs while decoding the index
+     */
+    public List<LazyNormalizedNode> getChildren() throws IOException {
+        if (children == null) {
+            children = readChildren();
+        }
+        return children;
+    }
+
+    /**
+     * Find a child of this node.
+     *
+     * @param childId Child identifier
+     * @return Optional child node
+     * @throws IOException if an error occurs while decoding the children
+     */
+    public Optional<LazyNormalizedNode> getChild(@Nonnull final PathArgument childId) throws IOException {
+        Preconditions.checkNotNull(childId);
+        for (LazyNormalizedNode child : getChildren()) {
+            if (childId.equals(child.getIdentifier())) {
+                return Optional.of(child);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find a descendant of this node.
+     *
+     * @param path Path to the descendant, relative to this node
+     * @return Optional descendant node
+     * @throws IOException if an error occurs while decoding the nodes on the path
+     */
+    public Optional<LazyNormalizedNode> getDescendant(@Nonnull final Iterable<PathArgument> path) throws IOException {
+        LazyNormalizedNode current = this;
+        for (PathArgument arg : path) {
+            final Optional<LazyNormalizedNode> child = current.getChild(arg);
+            if (!child.isPresent()) {
+                return child;
+            }
+            current = child.get();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * Decode this node, including all of its descendants.
+     *
+     * @return Decoded node
+     * @throws IOException if an error occurs while decoding
+     */
+    public NormalizedNode<?, ?> materialize() throws IOException {
+        return newReader(start).readNormalizedNode();
+    }
+
+    private List<LazyNormalizedNode> readChildren() throws IOException {
+        final byte nodeType = bytes[start];
+        switch (nodeType) {
+            case NodeTypes.LEAF_NODE:
+            case NodeTypes.LEAF_SET_ENTRY_NODE:
+            case NodeTypes.ANY_XML_NODE:
+                return ImmutableList.of();
+            default:
+                break;
+        }
+
+        final QName childLeafSetQName = nodeType == NodeTypes.LEAF_SET || nodeType == NodeTypes.ORDERED_LEAF_SET
+                ? getIdentifier().getNodeType() : null;
+
+        final int indexStart = start + newReader(end - Integer.BYTES).readInt();
+        final NormalizedNodeInputStreamReader index = newReader(indexStart);
+        final int count = index.readVarInt();
+        if (count == 0) {
+            return ImmutableList.of();
+        }
+
+        final ImmutableList.Builder<LazyNormalizedNode> builder = ImmutableList.builder();
+        int childStart = start + index.readVarInt();
+        for (int i = 1; i < count; ++i) {
+            final int nextStart = start + index.readVarInt();
+            builder.add(new LazyNormalizedNode(bytes, dictionary, childLeafSetQName, childStart, nextStart));
+            childStart = nextStart;
+        }
+
+        // The last child is followed by END_NODE
+        builder.add(new LazyNormalizedNode(bytes, dictionary, childLeafSetQName, childStart, indexStart - 1));
+        return builder.build();
+    }
+
+    private NormalizedNodeInputStreamReader newReader(final int offset) {
+        final NormalizedNodeInputStreamReader reader = new IndexedNormalizedNodeInputStreamReader(
+            ByteStreams.newDataInput(bytes, offset), dictionary);
+        if (leafSetQName != null) {
+            reader.setLastLeafSetQName(leafSetQName);
+        }
+        return reader;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("start", start).add("end", end).toString();
+    }
+}
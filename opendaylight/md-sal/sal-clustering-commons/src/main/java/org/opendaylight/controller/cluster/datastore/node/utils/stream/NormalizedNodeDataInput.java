@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore.node.utils.stream;
 import com.google.common.annotations.Beta;
 import java.io.DataInput;
 import java.io.IOException;
+import java.util.Optional;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -35,4 +36,14 @@ public interface NormalizedNodeDataInput extends DataInput {
     PathArgument readPathArgument() throws IOException;
 
     SchemaPath readSchemaPath() throws IOException;
+
+    /**
+     * Return the {@link QNameDictionary} the stream has been encoded with. A peer which receives such a stream can
+     * use the dictionary to encode its response, as the sender is known to have it.
+     *
+     * @return Optional QNameDictionary, empty if the stream does not use a shared dictionary
+     */
+    default Optional<QNameDictionary> getDictionary() {
+        return Optional.empty();
+    }
 }
@@ -12,6 +12,11 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 @Beta
 public final class NormalizedNodeInputOutput {
@@ -20,6 +25,38 @@ public final class NormalizedNodeInputOutput {
     }
 
     public static NormalizedNodeDataInput newDataInput(@Nonnull final DataInput input) throws IOException {
+        return newReader(input);
+    }
+
+    /**
+     * Create a new {@link NormalizedNodeDataInput} which removes nodes not present in a {@link SchemaContext} while
+     * decoding them, so that data written with a different SchemaContext can be adapted without materializing it
+     * twice. Pruning applies to {@link NormalizedNodeDataInput#readNormalizedNode()}, which returns null if the node
+     * itself does not have a schema.
+     *
+     * @param input Input to read from
+     * @param rootPath Path at which the nodes read from the stream reside
+     * @param schemaContext SchemaContext to prune against
+     * @return A NormalizedNodeDataInput
+     * @throws IOException if an error occurs
+     */
+    public static NormalizedNodeDataInput newPruningDataInput(@Nonnull final DataInput input,
+            @Nonnull final YangInstanceIdentifier rootPath, @Nonnull final SchemaContext schemaContext)
+                    throws IOException {
+        DataSchemaContextNode<?> rootSchema = DataSchemaContextTree.from(schemaContext).getRoot();
+        for (PathArgument arg : rootPath.getPathArguments()) {
+            rootSchema = rootSchema.getChild(arg);
+            if (rootSchema == null) {
+                break;
+            }
+        }
+
+        final NormalizedNodeInputStreamReader reader = newReader(input);
+        reader.enablePruning(rootSchema);
+        return reader;
+    }
+
+    private static NormalizedNodeInputStreamReader newReader(final DataInput input) throws IOException {
         final byte marker = input.readByte();
         if (marker != TokenTypes.SIGNATURE_MARKER) {
             throw new InvalidNormalizedNodeStreamException(String.format("Invalid signature marker: %d", marker));
@@ -29,12 +66,89 @@ public final class NormalizedNodeInputOutput {
         switch (version) {
             case TokenTypes.LITHIUM_VERSION:
                 return new NormalizedNodeInputStreamReader(input, true);
+            case TokenTypes.CARBON_VERSION:
+                return new DictionaryNormalizedNodeInputStreamReader(input, readDictionary(input));
+            case TokenTypes.CARBON_SR1_VERSION:
+                return new CompactNormalizedNodeInputStreamReader(input, readDictionary(input));
+            case TokenTypes.CARBON_SR2_VERSION:
+                return new IndexedNormalizedNodeInputStreamReader(input, readDictionary(input));
             default:
                 throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s", version));
         }
     }
 
+    static QNameDictionary readDictionary(final DataInput input) throws IOException {
+        final long fingerprint = input.readLong();
+        return QNameDictionary.forFingerprint(fingerprint).orElseThrow(
+            () -> new InvalidNormalizedNodeStreamException(String.format("Unknown QName dictionary %016x",
+                fingerprint)));
+    }
+
     public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output) throws IOException {
         return new NormalizedNodeOutputStreamWriter(output);
     }
+
+    /**
+     * Create a new {@link NormalizedNodeDataOutput} which encodes QNames using a shared {@link QNameDictionary}.
+     * The resulting stream can only be read by peers which have a dictionary with the same
+     * {@link QNameDictionary#getFingerprint()}, hence callers should use this method only after they have established
+     * the recipient agrees on the dictionary, for example by comparing fingerprints.
+     *
+     * @param output Output to write to
+     * @param dictionary Shared QName dictionary
+     * @return A NormalizedNodeDataOutput
+     * @throws IOException if an error occurs
+     */
+    public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output,
+            @Nonnull final QNameDictionary dictionary) throws IOException {
+        return new DictionaryNormalizedNodeOutputStreamWriter(output, dictionary);
+    }
+
+    /**
+     * Create a new {@link NormalizedNodeDataOutput} which uses variable-length encoding for sizes and primitive values.
+     * The resulting stream cannot be read by peers running a version which does not support it.
+     *
+     * @param output Output to write to
+     * @return A NormalizedNodeDataOutput
+     * @throws IOException if an error occurs
+     */
+    public static NormalizedNodeDataOutput newCompactDataOutput(@Nonnull final DataOutput output) throws IOException {
+        return new CompactNormalizedNodeOutputStreamWriter(output, QNameDictionary.EMPTY);
+    }
+
+    /**
+     * Create a new {@link NormalizedNodeDataOutput} which uses variable-length encoding for sizes and primitive values
+     * and encodes QNames using a shared {@link QNameDictionary}. The same restrictions as with
+     * {@link #newDataOutput(DataOutput, QNameDictionary)} apply.
+     *
+     * @param output Output to write to
+     * @param dictionary Shared QName dictionary
+     * @return A NormalizedNodeDataOutput
+     * @throws IOException if an error occurs
+     */
+    public static NormalizedNodeDataOutput newCompactDataOutput(@Nonnull final DataOutput output,
+            @Nonnull final QNameDictionary dictionary) throws IOException {
+        return new CompactNormalizedNodeOutputStreamWriter(output, dictionary);
+    }
+
+    /**
+     * Create a new {@link NormalizedNodeDataOutput} which, in addition to the encoding used by
+     * {@link #newCompactDataOutput(DataOutput, QNameDictionary)}, emits a child index for each node with children.
+     * A buffer holding a single node written this way can be accessed through {@link LazyNormalizedNode}, which
+     * decodes only the nodes it is asked for. The same restrictions as with
+     * {@link #newDataOutput(DataOutput, QNameDictionary)} apply.
+     *
+     * @param output Output to write to
+     * @param dictionary Shared QName dictionary
+     * @return A NormalizedNodeDataOutput
+     * @throws IOException if an error occurs
+     */
+    public static NormalizedNodeDataOutput newIndexedDataOutput(@Nonnull final DataOutput output,
+            @Nonnull final QNameDictionary dictionary) throws IOException {
+        return new IndexedNormalizedNodeOutputStreamWriter(output, dictionary);
+    }
+
+    public static NormalizedNodeDataOutput newIndexedDataOutput(@Nonnull final DataOutput output) throws IOException {
+        return newIndexedDataOutput(output, QNameDictionary.EMPTY);
+    }
 }
@@ -10,6 +10,8 @@ package org.opendaylight.controller.cluster.datastore.node.utils.stream;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.io.DataInput;
 import java.io.IOException;
 import java.io.StringReader;
@@ -26,6 +28,7 @@ import java.util.Set;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.controller.cluster.datastore.node.utils.AugmentationIdentifierFactory;
 import org.opendaylight.controller.cluster.datastore.node.utils.QNameFactory;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -40,6 +43,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeAttrBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +78,12 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
 
     private boolean readSignatureMarker = true;
 
+    // Schema-aware pruning state, see enablePruning()
+    private boolean pruning;
+    private DataSchemaContextNode<?> pruningRoot;
+    private DataSchemaContextNode<?> parentSchema;
+    private int depth;
+
     /**
      * Constructs an instance.
      *
@@ -121,40 +131,70 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
             return null;
         }
 
+        return readNormalizedNodeInternal(nodeType);
+    }
+
+    private NormalizedNode<?, ?> readNormalizedNodeInternal(final byte nodeType) throws IOException {
+        final PathArgument identifier = readNodeIdentifier(nodeType);
+        if (!pruning) {
+            return readNodeContents(nodeType, identifier);
+        }
+
+        // The node has to be decoded even if it is pruned, as the stream does not allow skipping it. Its children are
+        // not retained, though, as they do not have a schema either.
+        final DataSchemaContextNode<?> parent = parentSchema;
+        final DataSchemaContextNode<?> schema;
+        if (depth == 0) {
+            schema = pruningRoot;
+        } else {
+            schema = parent != null ? parent.getChild(identifier) : null;
+        }
+
+        parentSchema = schema;
+        depth++;
+        final NormalizedNode<?, ?> node;
+        try {
+            node = readNodeContents(nodeType, identifier);
+        } finally {
+            depth--;
+            parentSchema = parent;
+        }
+
+        if (schema == null) {
+            if (depth == 0 || parent != null) {
+                LOG.debug("Schema not found for {}", identifier);
+            }
+            return null;
+        }
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private NormalizedNode<?, ?> readNodeContents(final byte nodeType, final PathArgument identifier)
+            throws IOException {
         switch (nodeType) {
             case NodeTypes.AUGMENTATION_NODE :
-                YangInstanceIdentifier.AugmentationIdentifier augIdentifier =
-                    new YangInstanceIdentifier.AugmentationIdentifier(readQNameSet());
-
-                LOG.debug("Reading augmentation node {} ", augIdentifier);
+                LOG.debug("Reading augmentation node {} ", identifier);
 
                 return addDataContainerChildren(Builders.augmentationBuilder()
-                        .withNodeIdentifier(augIdentifier)).build();
+                        .withNodeIdentifier((YangInstanceIdentifier.AugmentationIdentifier) identifier)).build();
 
             case NodeTypes.LEAF_SET_ENTRY_NODE :
-                QName name = lastLeafSetQName;
-                if (name == null) {
-                    name = readQName();
-                }
-
-                Object value = readObject();
-                NodeWithValue<Object> leafIdentifier = new NodeWithValue<>(name, value);
+                final NodeWithValue<Object> leafIdentifier = (NodeWithValue<Object>) identifier;
 
-                LOG.debug("Reading leaf set entry node {}, value {}", leafIdentifier, value);
+                LOG.debug("Reading leaf set entry node {}, value {}", leafIdentifier, leafIdentifier.getValue());
 
-                return leafSetEntryBuilder().withNodeIdentifier(leafIdentifier).withValue(value).build();
+                return leafSetEntryBuilder().withNodeIdentifier(leafIdentifier).withValue(leafIdentifier.getValue())
+                        .build();
 
             case NodeTypes.MAP_ENTRY_NODE :
-                NodeIdentifierWithPredicates entryIdentifier = new NodeIdentifierWithPredicates(
-                        readQName(), readKeyValueMap());
-
-                LOG.debug("Reading map entry node {} ", entryIdentifier);
+                LOG.debug("Reading map entry node {} ", identifier);
 
                 return addDataContainerChildren(Builders.mapEntryBuilder()
-                        .withNodeIdentifier(entryIdentifier)).build();
+                        .withNodeIdentifier((NodeIdentifierWithPredicates) identifier)).build();
 
             default :
-                return readNodeIdentifierDependentNode(nodeType, new NodeIdentifier(readQName()));
+                return readNodeIdentifierDependentNode(nodeType, (NodeIdentifier) identifier);
         }
     }
 
@@ -245,7 +285,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
         }
     }
 
-    private QName readQName() throws IOException {
+    QName readQName() throws IOException {
         // Read in the same sequence of writing
         String localName = readCodedString();
         String namespace = readCodedString();
@@ -264,6 +304,108 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
 
+    /**
+     * Enable pruning of nodes which do not have a corresponding schema node. Each top-level node read from the stream
+     * is matched against the specified schema node, its descendants against the corresponding children. Nodes without
+     * a schema are decoded, as the stream has to be consumed, but are not included in their parent. A top-level node
+     * without a schema is returned as null.
+     *
+     * @param rootSchema Schema node of top-level nodes, null if they do not have a schema
+     */
+    void enablePruning(final DataSchemaContextNode<?> rootSchema) {
+        pruning = true;
+        pruningRoot = rootSchema;
+    }
+
+    /**
+     * Set the name of the leaf set whose entries are about to be read, as those do not carry their own name.
+     *
+     * @param leafSetQName Leaf set name
+     */
+    void setLastLeafSetQName(final QName leafSetQName) {
+        lastLeafSetQName = leafSetQName;
+    }
+
+    /**
+     * Invoked after the end of a node with children has been read. Default implementation does nothing.
+     *
+     * @throws IOException if an error occurs
+     */
+    void childrenEnded() throws IOException {
+        // No-op
+    }
+
+    /**
+     * Read the identifier of a node, whose type has already been read. Children of the node are not read.
+     *
+     * @param nodeType Node type, as defined in {@link NodeTypes}
+     * @return Node identifier
+     * @throws IOException if an error occurs
+     */
+    PathArgument readNodeIdentifier(final byte nodeType) throws IOException {
+        switch (nodeType) {
+            case NodeTypes.AUGMENTATION_NODE:
+                return readAugmentationIdentifier();
+            case NodeTypes.MAP_ENTRY_NODE:
+                return readNodeIdentifierWithPredicates();
+            case NodeTypes.LEAF_SET_ENTRY_NODE:
+                final QName name = lastLeafSetQName != null ? lastLeafSetQName : readQName();
+                return new NodeWithValue<>(name, readObject());
+            default:
+                return readInternedNodeIdentifier();
+        }
+    }
+
+    /**
+     * Read the size of a collection or a length of a value.
+     *
+     * @return Size read
+     * @throws IOException if an error occurs
+     */
+    int readSize() throws IOException {
+        return input.readInt();
+    }
+
+    /**
+     * Read an unsigned variable-length integer, as written by
+     * {@link AbstractNormalizedNodeDataOutput#writeVarInt(int)}.
+     *
+     * @return Integer value
+     * @throws IOException if an error occurs
+     */
+    final int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final byte b = input.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length integer");
+    }
+
+    /**
+     * Read an unsigned variable-length long, as written by
+     * {@link AbstractNormalizedNodeDataOutput#writeVarLong(long)}.
+     *
+     * @return Long value
+     * @throws IOException if an error occurs
+     */
+    final long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final byte b = input.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length long");
+    }
+
     private String readCodedString() throws IOException {
         byte valueType = input.readByte();
         if (valueType == TokenTypes.IS_CODE_VALUE) {
@@ -277,29 +419,57 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
         return null;
     }
 
-    private Set<QName> readQNameSet() throws IOException {
+    /**
+     * Read a QName and return the corresponding {@link NodeIdentifier}. Default implementation returns the globally
+     * interned instance.
+     *
+     * @return Node identifier
+     * @throws IOException if an error occurs
+     */
+    NodeIdentifier readInternedNodeIdentifier() throws IOException {
+        return NodeIdentifier.create(readQName());
+    }
+
+    private YangInstanceIdentifier.AugmentationIdentifier readAugmentationIdentifier() throws IOException {
         // Read the children count
-        int count = input.readInt();
-        Set<QName> children = new HashSet<>(count);
+        int count = readSize();
+        ImmutableSet.Builder<QName> children = ImmutableSet.builder();
         for (int i = 0; i < count; i++) {
             children.add(readQName());
         }
-        return children;
-    }
-
-    private Map<QName, Object> readKeyValueMap() throws IOException {
-        int count = input.readInt();
-        Map<QName, Object> keyValueMap = new HashMap<>(count);
-
-        for (int i = 0; i < count; i++) {
-            keyValueMap.put(readQName(), readObject());
+        return AugmentationIdentifierFactory.create(children.build());
+    }
+
+    private NodeIdentifierWithPredicates readNodeIdentifierWithPredicates() throws IOException {
+        final QName qname = readQName();
+        final int count = readSize();
+        switch (count) {
+            case 0:
+                return new NodeIdentifierWithPredicates(qname, ImmutableMap.of());
+            case 1:
+                // Single-key predicates, which are the vast majority, are stored in a compact singleton map
+                return new NodeIdentifierWithPredicates(qname, readQName(), readObject());
+            default:
+                final Map<QName, Object> keyValueMap = new HashMap<>(count);
+                for (int i = 0; i < count; i++) {
+                    keyValueMap.put(readQName(), readObject());
+                }
+                return new NodeIdentifierWithPredicates(qname, keyValueMap);
         }
-
-        return keyValueMap;
     }
 
     private Object readObject() throws IOException {
-        byte objectType = input.readByte();
+        return readValue(input.readByte());
+    }
+
+    /**
+     * Read the value of an object, whose type has already been read.
+     *
+     * @param objectType Value type, as defined in {@link ValueTypes}
+     * @return Value read
+     * @throws IOException if an error occurs
+     */
+    Object readValue(final byte objectType) throws IOException {
         switch (objectType) {
             case ValueTypes.BITS_TYPE:
                 return readObjSet();
@@ -358,7 +528,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
         readSignatureMarkerAndVersionIfNeeded();
 
         final boolean absolute = input.readBoolean();
-        final int size = input.readInt();
+        final int size = readSize();
         final Collection<QName> qnames = new ArrayList<>(size);
         for (int i = 0; i < size; ++i) {
             qnames.add(readQName());
@@ -374,7 +544,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private YangInstanceIdentifier readYangInstanceIdentifierInternal() throws IOException {
-        int size = input.readInt();
+        int size = readSize();
 
         List<PathArgument> pathArguments = new ArrayList<>(size);
 
@@ -385,7 +555,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private Set<String> readObjSet() throws IOException {
-        int count = input.readInt();
+        int count = readSize();
         Set<String> children = new HashSet<>(count);
         for (int i = 0; i < count; i++) {
             children.add(readCodedString());
@@ -401,13 +571,13 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
         switch (type) {
 
             case PathArgumentTypes.AUGMENTATION_IDENTIFIER :
-                return new YangInstanceIdentifier.AugmentationIdentifier(readQNameSet());
+                return readAugmentationIdentifier();
 
             case PathArgumentTypes.NODE_IDENTIFIER :
-                return new NodeIdentifier(readQName());
+                return readInternedNodeIdentifier();
 
             case PathArgumentTypes.NODE_IDENTIFIER_WITH_PREDICATES :
-                return new NodeIdentifierWithPredicates(readQName(), readKeyValueMap());
+                return readNodeIdentifierWithPredicates();
 
             case PathArgumentTypes.NODE_IDENTIFIER_WITH_VALUE :
                 return new NodeWithValue<>(readQName(), readObject());
@@ -425,12 +595,13 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
 
         lastLeafSetQName = nodeType;
 
-        LeafSetEntryNode<Object> child = (LeafSetEntryNode<Object>)readNormalizedNodeInternal();
-
-        while (child != null) {
-            builder.withChild(child);
-            child = (LeafSetEntryNode<Object>)readNormalizedNodeInternal();
+        for (byte nodeType = input.readByte(); nodeType != NodeTypes.END_NODE; nodeType = input.readByte()) {
+            final LeafSetEntryNode<Object> child = (LeafSetEntryNode<Object>) readNormalizedNodeInternal(nodeType);
+            if (child != null) {
+                builder.withChild(child);
+            }
         }
+        childrenEnded();
         return builder;
     }
 
@@ -439,12 +610,13 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
             final NormalizedNodeContainerBuilder builder) throws IOException {
         LOG.debug("Reading data container (leaf nodes) nodes");
 
-        NormalizedNode<?, ?> child = readNormalizedNodeInternal();
-
-        while (child != null) {
-            builder.addChild(child);
-            child = readNormalizedNodeInternal();
+        for (byte nodeType = input.readByte(); nodeType != NodeTypes.END_NODE; nodeType = input.readByte()) {
+            final NormalizedNode<?, ?> child = readNormalizedNodeInternal(nodeType);
+            if (child != null) {
+                builder.addChild(child);
+            }
         }
+        childrenEnded();
         return builder;
     }
 
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A dictionary of {@link QName}s derived from a {@link SchemaContext}. It assigns each QName defined by the schema
+ * a dense index, which allows {@link TokenTypes#CARBON_VERSION} streams to encode QNames as small varints instead of
+ * three strings.
+ *
+ * <p>
+ * The dictionary content depends only on the set of QNames in the schema, hence two peers with the same set of models
+ * end up with equal dictionaries. This is captured by {@link #getFingerprint()}, which is transmitted in the stream
+ * header and can be exchanged between peers to agree on a dictionary before using it. A reader can only decode
+ * a stream if it has a dictionary with the same fingerprint available through {@link #forFingerprint(long)}.
+ */
+@Beta
+@ThreadSafe
+public final class QNameDictionary {
+    private static final LoadingCache<SchemaContext, QNameDictionary> CACHE = CacheBuilder.newBuilder().weakKeys()
+            .build(new CacheLoader<SchemaContext, QNameDictionary>() {
+                @Override
+                public QNameDictionary load(final SchemaContext key) {
+                    return register(new QNameDictionary(collectQNames(key)));
+                }
+            });
+
+    // Weak values: a dictionary is retained by the SchemaContext it was derived from
+    private static final ConcurrentMap<Long, QNameDictionary> FINGERPRINTS = CacheBuilder.newBuilder().weakValues()
+            .<Long, QNameDictionary>build().asMap();
+
+    static final QNameDictionary EMPTY = register(new QNameDictionary(ImmutableList.of()));
+
+    private final ImmutableList<QName> qnames;
+    private final ImmutableList<NodeIdentifier> nodeIdentifiers;
+    private final ImmutableMap<QName, Integer> indices;
+    private final long fingerprint;
+
+    QNameDictionary(final Collection<QName> qnames) {
+        this.qnames = ImmutableList.copyOf(qnames);
+
+        final ImmutableList.Builder<NodeIdentifier> identifiers = ImmutableList.builder();
+        final ImmutableMap.Builder<QName, Integer> builder = ImmutableMap.builder();
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (int i = 0; i < this.qnames.size(); ++i) {
+            final QName qname = this.qnames.get(i);
+            identifiers.add(NodeIdentifier.create(qname));
+            builder.put(qname, i);
+            hasher.putString(qname.toString(), StandardCharsets.UTF_8);
+        }
+
+        this.nodeIdentifiers = identifiers.build();
+        this.indices = builder.build();
+        this.fingerprint = hasher.hash().asLong();
+    }
+
+    /**
+     * Return the dictionary corresponding to a {@link SchemaContext}. The dictionary is computed once and cached
+     * for as long as the SchemaContext is reachable. It is also made available for lookup via
+     * {@link #forFingerprint(long)}, so streams using it can be decoded.
+     *
+     * @param schemaContext SchemaContext to derive the dictionary from
+     * @return A QNameDictionary
+     */
+    public static QNameDictionary forSchemaContext(@Nonnull final SchemaContext schemaContext) {
+        return CACHE.getUnchecked(Preconditions.checkNotNull(schemaContext));
+    }
+
+    /**
+     * Look up a previously-created dictionary by its fingerprint.
+     *
+     * @param fingerprint Dictionary fingerprint
+     * @return Optional QNameDictionary, empty if no dictionary with that fingerprint is known
+     */
+    public static Optional<QNameDictionary> forFingerprint(final long fingerprint) {
+        return Optional.ofNullable(FINGERPRINTS.get(fingerprint));
+    }
+
+    static QNameDictionary register(final QNameDictionary dictionary) {
+        final QNameDictionary existing = FINGERPRINTS.putIfAbsent(dictionary.fingerprint, dictionary);
+        return existing != null ? existing : dictionary;
+    }
+
+    /**
+     * Return the fingerprint of this dictionary. Two dictionaries with the same fingerprint assign the same indices
+     * to the same QNames.
+     *
+     * @return Dictionary fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int size() {
+        return qnames.size();
+    }
+
+    /**
+     * Return the index of a QName in this dictionary.
+     *
+     * @param qname QName to look up
+     * @return QName index, or -1 if the QName is not part of this dictionary
+     */
+    int indexOf(final QName qname) {
+        final Integer index = indices.get(qname);
+        return index != null ? index : -1;
+    }
+
+    QName get(final int index) {
+        return qnames.get(index);
+    }
+
+    /**
+     * Return the {@link NodeIdentifier} of a QName in this dictionary. Identifiers are created once, when the dictionary
+     * is created, so decoding does not allocate them for each node.
+     *
+     * @param index QName index
+     * @return Node identifier
+     */
+    NodeIdentifier getNodeIdentifier(final int index) {
+        return nodeIdentifiers.get(index);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("fingerprint", String.format("%016x", fingerprint))
+                .add("size", qnames.size()).toString();
+    }
+
+    private static Collection<QName> collectQNames(final SchemaContext schemaContext) {
+        // QName is Comparable, hence the resulting order does not depend on model iteration order
+        final TreeSet<QName> qnames = new TreeSet<>();
+        for (Module module : schemaContext.getModules()) {
+            collectChildren(qnames, module);
+
+            for (RpcDefinition rpc : module.getRpcs()) {
+                qnames.add(rpc.getQName());
+                if (rpc.getInput() != null) {
+                    qnames.add(rpc.getInput().getQName());
+                    collectChildren(qnames, rpc.getInput());
+                }
+                if (rpc.getOutput() != null) {
+                    qnames.add(rpc.getOutput().getQName());
+                    collectChildren(qnames, rpc.getOutput());
+                }
+            }
+            for (NotificationDefinition notification : module.getNotifications()) {
+                qnames.add(notification.getQName());
+                collectChildren(qnames, notification);
+            }
+            for (IdentitySchemaNode identity : module.getIdentities()) {
+                qnames.add(identity.getQName());
+            }
+        }
+
+        return qnames;
+    }
+
+    private static void collectChildren(final Collection<QName> qnames, final DataNodeContainer container) {
+        for (DataSchemaNode child : container.getChildNodes()) {
+            collectNode(qnames, child);
+        }
+    }
+
+    private static void collectNode(final Collection<QName> qnames, final DataSchemaNode node) {
+        qnames.add(node.getQName());
+        if (node instanceof DataNodeContainer) {
+            collectChildren(qnames, (DataNodeContainer) node);
+        } else if (node instanceof ChoiceSchemaNode) {
+            for (ChoiceCaseNode caseNode : ((ChoiceSchemaNode) node).getCases()) {
+                collectNode(qnames, caseNode);
+            }
+        }
+    }
+}
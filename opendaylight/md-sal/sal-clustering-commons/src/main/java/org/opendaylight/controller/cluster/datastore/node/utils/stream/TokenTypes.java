@@ -19,6 +19,28 @@ final class TokenTypes {
      */
     static final short LITHIUM_VERSION = 1;
 
+    /**
+     * Adds a shared {@link QNameDictionary}, whose fingerprint is written as a long after the version. QNames are
+     * encoded as a single varint: zero is followed by a LITHIUM_VERSION-encoded QName, which is then assigned the next
+     * per-stream code. Non-zero values refer to dictionary entries, followed by the per-stream QNames.
+     */
+    static final short CARBON_VERSION = 2;
+
+    /**
+     * Same as CARBON_VERSION, but sizes, lengths and integer values are encoded as variable-length integers, using
+     * zig-zag encoding for signed values. Strings are written as UTF-8 bytes and BigInteger/BigDecimal values in their
+     * two's-complement form. Streams which do not use a dictionary refer to an empty {@link QNameDictionary}.
+     */
+    static final short CARBON_SR1_VERSION = 3;
+
+    /**
+     * Same as CARBON_SR1_VERSION, but each node with children is followed by an index, which allows its children to be
+     * located without decoding them. The index is a varint child count, varint offsets of each child relative to the
+     * start of the node and a 4-byte offset of the index itself, again relative to the start of the node. No per-stream
+     * codes are used, hence any node can be decoded without decoding the nodes preceding it.
+     */
+    static final short CARBON_SR2_VERSION = 4;
+
     // Tokens supported in LITHIUM_VERSION
     static final byte IS_CODE_VALUE = 1;
     static final byte IS_STRING_VALUE = 2;
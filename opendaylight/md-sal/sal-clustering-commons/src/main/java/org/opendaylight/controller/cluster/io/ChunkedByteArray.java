@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An immutable sequence of bytes stored in a list of byte arrays, as produced by {@link ChunkedOutputStream}. Callers
+ * must not modify the arrays returned by {@link #getChunks()}.
+ */
+@Beta
+@ThreadSafe
+public final class ChunkedByteArray {
+    private final List<byte[]> chunks;
+    private final int size;
+
+    ChunkedByteArray(final int size, final List<byte[]> chunks) {
+        this.size = size;
+        this.chunks = Preconditions.checkNotNull(chunks);
+    }
+
+    /**
+     * Read a specified number of bytes from a {@link DataInput}, storing them in chunks of at most specified size.
+     *
+     * @param in Input to read from
+     * @param size Number of bytes to read
+     * @param chunkSize Maximum chunk size
+     * @return A ChunkedByteArray
+     * @throws IOException if an error occurs
+     */
+    public static ChunkedByteArray readFrom(final DataInput in, final int size, final int chunkSize)
+            throws IOException {
+        Preconditions.checkArgument(size >= 0, "Invalid size %s", size);
+        Preconditions.checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+
+        final ImmutableList.Builder<byte[]> chunks = ImmutableList.builder();
+        int remaining = size;
+        while (remaining != 0) {
+            final byte[] chunk = new byte[Math.min(remaining, chunkSize)];
+            in.readFully(chunk);
+            chunks.add(chunk);
+            remaining -= chunk.length;
+        }
+
+        return new ChunkedByteArray(size, chunks.build());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<byte[]> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Open a new {@link InputStream} over the contents of this array.
+     *
+     * @return An InputStream
+     */
+    public InputStream openStream() {
+        return new SequenceInputStream(Iterators.asEnumeration(Iterators.transform(chunks.iterator(),
+            ByteArrayInputStream::new)));
+    }
+
+    /**
+     * Write the contents of this array to a {@link DataOutput}, one chunk at a time.
+     *
+     * @param output Output to write to
+     * @throws IOException if an error occurs
+     */
+    public void copyTo(final DataOutput output) throws IOException {
+        for (byte[] chunk : chunks) {
+            output.write(chunk);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("size", size).add("chunks", chunks.size()).toString();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An {@link OutputStream} which stores data in a list of byte arrays (chunks), unlike a
+ * {@link java.io.ByteArrayOutputStream}, which keeps a single array. Chunk sizes start at a requested initial size and
+ * double up to a maximum size, hence large amounts of data neither need a single contiguous array, nor are copied when
+ * the stream grows. Once all data has been written, it can be accessed via {@link #toChunkedByteArray()}.
+ */
+@Beta
+@NotThreadSafe
+public final class ChunkedOutputStream extends OutputStream {
+    private static final int MIN_CHUNK_SIZE = 32;
+
+    private final ImmutableList.Builder<byte[]> chunks = ImmutableList.builder();
+    private final int maxChunkSize;
+
+    private byte[] currentChunk;
+    private int currentOffset;
+    private int size;
+    private boolean closed;
+
+    public ChunkedOutputStream(final int initialChunkSize, final int maxChunkSize) {
+        Preconditions.checkArgument(maxChunkSize >= MIN_CHUNK_SIZE, "Maximum chunk size %s is less than %s",
+            maxChunkSize, MIN_CHUNK_SIZE);
+        this.maxChunkSize = maxChunkSize;
+        currentChunk = new byte[Math.min(Math.max(initialChunkSize, MIN_CHUNK_SIZE), maxChunkSize)];
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        ensureOneByte();
+        currentChunk[currentOffset++] = (byte) value;
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) throws IOException {
+        Preconditions.checkPositionIndexes(off, off + len, bytes.length);
+        checkNotClosed();
+        if (len > Integer.MAX_VALUE - size) {
+            throw new IOException("Stream size would exceed " + Integer.MAX_VALUE + " bytes");
+        }
+
+        int fromOffset = off;
+        int remaining = len;
+        while (remaining != 0) {
+            if (currentOffset == currentChunk.length) {
+                nextChunk();
+            }
+
+            final int count = Math.min(remaining, currentChunk.length - currentOffset);
+            System.arraycopy(bytes, fromOffset, currentChunk, currentOffset, count);
+            currentOffset += count;
+            fromOffset += count;
+            remaining -= count;
+        }
+
+        size += len;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            if (currentOffset != 0) {
+                chunks.add(currentOffset == currentChunk.length ? currentChunk
+                        : Arrays.copyOf(currentChunk, currentOffset));
+            }
+            currentChunk = null;
+        }
+    }
+
+    /**
+     * Return the number of bytes written to this stream.
+     *
+     * @return Number of bytes written
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Close this stream and return its contents.
+     *
+     * @return A ChunkedByteArray
+     */
+    public ChunkedByteArray toChunkedByteArray() {
+        close();
+        return new ChunkedByteArray(size, chunks.build());
+    }
+
+    private void ensureOneByte() throws IOException {
+        checkNotClosed();
+        if (size == Integer.MAX_VALUE) {
+            throw new IOException("Stream size would exceed " + Integer.MAX_VALUE + " bytes");
+        }
+        if (currentOffset == currentChunk.length) {
+            nextChunk();
+        }
+    }
+
+    private void nextChunk() {
+        chunks.add(currentChunk);
+        currentChunk = new byte[Math.min(currentChunk.length * 2, maxChunkSize)];
+        currentOffset = 0;
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+    }
+}
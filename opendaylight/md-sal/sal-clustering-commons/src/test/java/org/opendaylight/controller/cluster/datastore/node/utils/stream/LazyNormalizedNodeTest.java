@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.util.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+
+public class LazyNormalizedNodeTest {
+    private final ContainerNode testContainer = TestModel.createTestContainer();
+    private byte[] bytes;
+
+    @Before
+    public void setUp() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newIndexedDataOutput(
+                ByteStreams.newDataOutput(bos), QNameDictionary.forSchemaContext(TestModel.createTestContext()))) {
+            nnout.writeNormalizedNode(testContainer);
+        }
+        bytes = bos.toByteArray();
+    }
+
+    @Test
+    public void testMaterialize() throws IOException {
+        final LazyNormalizedNode lazy = LazyNormalizedNode.create(bytes);
+        assertEquals(testContainer.getIdentifier(), lazy.getIdentifier());
+        assertEquals(testContainer.getValue().size(), lazy.getChildren().size());
+        assertEquals(testContainer, lazy.materialize());
+    }
+
+    @Test
+    public void testSequentialRead() throws IOException {
+        assertEquals(testContainer, NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(bytes))
+            .readNormalizedNode());
+    }
+
+    @Test
+    public void testGetDescendant() throws IOException {
+        final LazyNormalizedNode lazy = LazyNormalizedNode.create(bytes);
+
+        assertDescendant(lazy, new NodeIdentifier(TestModel.OUTER_LIST_QNAME),
+            new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1));
+        assertDescendant(lazy, new NodeIdentifier(TestModel.SHOE_QNAME),
+            new NodeWithValue<>(TestModel.SHOE_QNAME, "puma"));
+        assertDescendant(lazy, new NodeIdentifier(TestModel.TWO_THREE_QNAME), new NodeIdentifier(TestModel.TWO_QNAME));
+        assertDescendant(lazy, new NodeIdentifier(TestModel.DESC_QNAME));
+    }
+
+    @Test
+    public void testMissingDescendant() throws IOException {
+        final LazyNormalizedNode lazy = LazyNormalizedNode.create(bytes);
+
+        assertFalse(lazy.getDescendant(ImmutableList.of(new NodeIdentifier(TestModel.OUTER_LIST_QNAME),
+            new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 42))).isPresent());
+        assertFalse(lazy.getChild(new NodeIdentifier(TestModel.INNER_LIST_QNAME)).isPresent());
+        assertTrue(lazy.getChild(new NodeIdentifier(TestModel.DESC_QNAME)).get().getChildren().isEmpty());
+    }
+
+    @Test(expected = InvalidNormalizedNodeStreamException.class)
+    public void testNotIndexed() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newCompactDataOutput(
+                ByteStreams.newDataOutput(bos))) {
+            nnout.writeNormalizedNode(testContainer);
+        }
+
+        LazyNormalizedNode.create(bos.toByteArray());
+    }
+
+    private void assertDescendant(final LazyNormalizedNode lazy, final PathArgument... path) throws IOException {
+        final Optional<LazyNormalizedNode> descendant = lazy.getDescendant(ImmutableList.copyOf(path));
+        assertTrue(descendant.isPresent());
+
+        final NormalizedNode<?, ?> expected = NormalizedNodes.findNode(testContainer, ImmutableList.copyOf(path)).get();
+        assertEquals(expected.getIdentifier(), descendant.get().getIdentifier());
+        assertEquals(expected, descendant.get().materialize());
+    }
+}
@@ -11,11 +11,17 @@ package org.opendaylight.controller.cluster.datastore.node.utils.stream;
 import static org.junit.Assert.assertEquals;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteStreams;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
@@ -25,9 +31,11 @@ import javax.xml.transform.stream.StreamResult;
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.node.utils.transformer.NormalizedNodePruner;
 import org.opendaylight.controller.cluster.datastore.util.TestModel;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -36,6 +44,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
@@ -147,6 +156,233 @@ public class NormalizedNodeStreamReaderWriterTest {
         writer.close();
     }
 
+    @Test
+    public void testQNameDictionaryStreaming() throws IOException {
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(TestModel.createTestContext());
+        final NormalizedNode<?, ?> testContainer = TestModel.createTestContainer();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH)
+                .node(TestModel.OUTER_LIST_QNAME).nodeWithKey(TestModel.INNER_LIST_QNAME, TestModel.ID_QNAME, 10)
+                .build();
+
+        final ByteArrayOutputStream lithium = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(
+                ByteStreams.newDataOutput(lithium))) {
+            nnout.writeNormalizedNode(testContainer);
+            nnout.writeYangInstanceIdentifier(path);
+        }
+
+        final ByteArrayOutputStream carbon = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(
+                ByteStreams.newDataOutput(carbon), dictionary)) {
+            nnout.writeNormalizedNode(testContainer);
+            nnout.writeYangInstanceIdentifier(path);
+        }
+
+        Assert.assertTrue("Expected " + carbon.size() + " to be less than " + lithium.size(),
+            carbon.size() < lithium.size());
+
+        final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(
+            carbon.toByteArray()));
+        Assert.assertEquals(testContainer, nnin.readNormalizedNode());
+        Assert.assertEquals(path, nnin.readYangInstanceIdentifier());
+    }
+
+    @Test
+    public void testInternedPathArguments() throws IOException {
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH)
+                .node(TestModel.OUTER_LIST_QNAME).nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 10)
+                .node(new AugmentationIdentifier(ImmutableSet.of(TestModel.DESC_QNAME, TestModel.NAME_QNAME)))
+                .build();
+
+        assertInternedPathArguments(path, NormalizedNodeInputOutput::newDataOutput);
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(TestModel.createTestContext());
+        assertInternedPathArguments(path, output -> NormalizedNodeInputOutput.newDataOutput(output, dictionary));
+    }
+
+    private interface DataOutputFactory {
+        NormalizedNodeDataOutput create(DataOutput output) throws IOException;
+    }
+
+    private static void assertInternedPathArguments(final YangInstanceIdentifier path, final DataOutputFactory factory)
+            throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = factory.create(ByteStreams.newDataOutput(bos))) {
+            nnout.writeYangInstanceIdentifier(path);
+            nnout.writeYangInstanceIdentifier(path);
+        }
+
+        final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(
+            bos.toByteArray()));
+        final List<PathArgument> first = nnin.readYangInstanceIdentifier().getPathArguments();
+        final List<PathArgument> second = nnin.readYangInstanceIdentifier().getPathArguments();
+        assertEquals(path.getPathArguments(), first);
+        assertEquals(path.getPathArguments(), second);
+
+        // Node and augmentation identifiers are shared, predicates are not
+        Assert.assertSame(first.get(0), second.get(0));
+        Assert.assertSame(first.get(1), second.get(1));
+        Assert.assertNotSame(first.get(2), second.get(2));
+        Assert.assertSame(first.get(3), second.get(3));
+    }
+
+    @Test
+    public void testPruningDataInput() throws IOException {
+        final NormalizedNode<?, ?> testContainer = TestModel.createTestContainer();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos))) {
+            nnout.writeNormalizedNode(testContainer);
+        }
+
+        assertEquals(testContainer, readPruned(bos.toByteArray(), TestModel.createTestContext()));
+
+        final SchemaContext noAugSchema = TestModel.createTestContextWithoutAugmentationSchema();
+        final NormalizedNodePruner pruner = new NormalizedNodePruner(TestModel.TEST_PATH, noAugSchema);
+        NormalizedNodeWriter.forStreamWriter(pruner).write(testContainer);
+        final NormalizedNode<?, ?> pruned = readPruned(bos.toByteArray(), noAugSchema);
+        Assert.assertNotEquals(testContainer, pruned);
+        assertEquals(pruner.normalizedNode(), pruned);
+
+        Assert.assertNull(readPruned(bos.toByteArray(), TestModel.createTestContextWithoutTestSchema()));
+    }
+
+    @Test
+    public void testPruningIndexedDataInput() throws IOException {
+        final NormalizedNode<?, ?> testContainer = TestModel.createTestContainer();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newIndexedDataOutput(
+                ByteStreams.newDataOutput(bos), QNameDictionary.forSchemaContext(TestModel.createTestContext()))) {
+            nnout.writeNormalizedNode(testContainer);
+            nnout.writeNormalizedNode(testContainer);
+        }
+
+        final SchemaContext noAugSchema = TestModel.createTestContextWithoutAugmentationSchema();
+        final NormalizedNodePruner pruner = new NormalizedNodePruner(TestModel.TEST_PATH, noAugSchema);
+        NormalizedNodeWriter.forStreamWriter(pruner).write(testContainer);
+
+        final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newPruningDataInput(
+            ByteStreams.newDataInput(bos.toByteArray()), TestModel.TEST_PATH, noAugSchema);
+        assertEquals(pruner.normalizedNode(), nnin.readNormalizedNode());
+        assertEquals(pruner.normalizedNode(), nnin.readNormalizedNode());
+    }
+
+    private static NormalizedNode<?, ?> readPruned(final byte[] bytes, final SchemaContext schemaContext)
+            throws IOException {
+        return NormalizedNodeInputOutput.newPruningDataInput(ByteStreams.newDataInput(bytes), TestModel.TEST_PATH,
+            schemaContext).readNormalizedNode();
+    }
+
+    @Test
+    public void testQNameDictionaryStreamingUnknownQName() throws IOException {
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(TestModel.createTestContext());
+        final QName toaster = QName.create("http://netconfcentral.org/ns/toaster", "2009-11-20", "toaster");
+        final YangInstanceIdentifier path = YangInstanceIdentifier.of(toaster).node(TestModel.TEST_QNAME)
+                .node(toaster);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(
+                ByteStreams.newDataOutput(bos), dictionary)) {
+            nnout.writeYangInstanceIdentifier(path);
+        }
+
+        Assert.assertEquals(path, NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(bos.toByteArray()))
+            .readYangInstanceIdentifier());
+    }
+
+    @Test(expected = InvalidNormalizedNodeStreamException.class)
+    public void testQNameDictionaryNotAvailable() throws IOException {
+        final QNameDictionary dictionary = new QNameDictionary(ImmutableList.of(TestModel.TEST_QNAME));
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(
+                ByteStreams.newDataOutput(bos), dictionary)) {
+            nnout.writeYangInstanceIdentifier(TestModel.TEST_PATH);
+        }
+
+        NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(bos.toByteArray()));
+    }
+
+    @Test
+    public void testCompactStreaming() throws IOException {
+        final ContainerNode primitives = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "short"), (short) -3))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "int"), Integer.MIN_VALUE))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "small-int"), 42))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "long"), Long.MAX_VALUE))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "small-long"), -1L))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "uint64"),
+                    new BigInteger("18446744073709551615")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "decimal"),
+                    new BigDecimal("-12.345")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "string"),
+                    "\u017elu\u0165ou\u010dk\u00fd"))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "large-string"),
+                    largeString(20)))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "binary"), new byte[] {1, 2, 3}))
+                .build();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH)
+                .node(TestModel.OUTER_LIST_QNAME).nodeWithKey(TestModel.INNER_LIST_QNAME, TestModel.ID_QNAME, 10)
+                .build();
+
+        final ByteArrayOutputStream lithium = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(
+                ByteStreams.newDataOutput(lithium))) {
+            nnout.writeNormalizedNode(primitives);
+            nnout.writeYangInstanceIdentifier(path);
+        }
+
+        final ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newCompactDataOutput(
+                ByteStreams.newDataOutput(compact))) {
+            nnout.writeNormalizedNode(primitives);
+            nnout.writeYangInstanceIdentifier(path);
+        }
+
+        Assert.assertTrue("Expected " + compact.size() + " to be less than " + lithium.size(),
+            compact.size() < lithium.size());
+
+        final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(
+            compact.toByteArray()));
+        Assert.assertEquals(primitives, nnin.readNormalizedNode());
+        Assert.assertEquals(path, nnin.readYangInstanceIdentifier());
+    }
+
+    @Test
+    public void testCompactStreamingWithDictionary() throws IOException {
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(TestModel.createTestContext());
+        final NormalizedNode<?, ?> testContainer = TestModel.createTestContainer();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newCompactDataOutput(
+                ByteStreams.newDataOutput(bos), dictionary)) {
+            nnout.writeNormalizedNode(testContainer);
+        }
+
+        Assert.assertEquals(testContainer, NormalizedNodeInputOutput.newDataInput(
+            ByteStreams.newDataInput(bos.toByteArray())).readNormalizedNode());
+    }
+
+    @Test
+    public void testCompactStreamingUnpairedSurrogates() throws IOException {
+        final ContainerNode surrogates = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "high"), "a\ud800b"))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "low"), "\udc00"))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "pair"), "\ud83d\ude00\u0000"))
+                .withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "large"),
+                    largeString(20) + "\udbff"))
+                .build();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newCompactDataOutput(
+                ByteStreams.newDataOutput(bos))) {
+            nnout.writeNormalizedNode(surrogates);
+        }
+
+        Assert.assertEquals(surrogates, NormalizedNodeInputOutput.newDataInput(
+            ByteStreams.newDataInput(bos.toByteArray())).readNormalizedNode());
+    }
+
     @Test(expected = InvalidNormalizedNodeStreamException.class, timeout = 10000)
     public void testInvalidNormalizedNodeStream() throws IOException {
         byte[] invalidBytes = {1,2,3};
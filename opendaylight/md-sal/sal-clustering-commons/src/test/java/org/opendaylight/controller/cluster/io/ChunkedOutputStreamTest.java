@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Test;
+
+public class ChunkedOutputStreamTest {
+    private static final int INITIAL_SIZE = 32;
+    private static final int MAX_SIZE = 128;
+
+    @Test
+    public void testChunking() throws IOException {
+        final byte[] expected = createBytes(1000);
+        final ChunkedOutputStream out = new ChunkedOutputStream(INITIAL_SIZE, MAX_SIZE);
+        out.write(expected[0]);
+        out.write(expected, 1, expected.length - 1);
+        assertEquals(expected.length, out.size());
+
+        final ChunkedByteArray array = out.toChunkedByteArray();
+        assertEquals(expected.length, array.size());
+
+        final List<byte[]> chunks = array.getChunks();
+        assertEquals(32, chunks.get(0).length);
+        assertEquals(64, chunks.get(1).length);
+        for (int i = 2; i < chunks.size(); ++i) {
+            assertEquals(i == chunks.size() - 1 ? (1000 - 96) % MAX_SIZE : MAX_SIZE, chunks.get(i).length);
+        }
+        int total = 0;
+        for (byte[] chunk : chunks) {
+            total += chunk.length;
+        }
+        assertEquals(expected.length, total);
+
+        assertArrayEquals(expected, ByteStreams.toByteArray(array.openStream()));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final ChunkedByteArray array = new ChunkedOutputStream(INITIAL_SIZE, MAX_SIZE).toChunkedByteArray();
+        assertEquals(0, array.size());
+        assertEquals(0, array.getChunks().size());
+        assertEquals(0, ByteStreams.toByteArray(array.openStream()).length);
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteAfterClose() throws IOException {
+        final ChunkedOutputStream out = new ChunkedOutputStream(INITIAL_SIZE, MAX_SIZE);
+        out.close();
+        out.write(1);
+    }
+
+    @Test
+    public void testCopyToAndReadFrom() throws IOException {
+        final byte[] expected = createBytes(300);
+        final ChunkedOutputStream out = new ChunkedOutputStream(INITIAL_SIZE, MAX_SIZE);
+        out.write(expected);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        out.toChunkedByteArray().copyTo(ByteStreams.newDataOutput(bos));
+        assertArrayEquals(expected, bos.toByteArray());
+
+        final ChunkedByteArray read = ChunkedByteArray.readFrom(ByteStreams.newDataInput(bos.toByteArray()),
+            expected.length, 100);
+        assertEquals(3, read.getChunks().size());
+        assertArrayEquals(expected, ByteStreams.toByteArray(read.openStream()));
+    }
+
+    private static byte[] createBytes(final int size) {
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; ++i) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
@@ -178,6 +178,11 @@ public abstract class AbstractClientHistory extends LocalAbortable implements Id
         return ensureHistoryProxy(transactionId, shard).createTransactionProxy(transactionId, true);
     }
 
+    final AbstractProxyTransaction createFollowerSnapshotProxy(final TransactionIdentifier transactionId,
+            final Long shard) {
+        return ensureHistoryProxy(transactionId, shard).createFollowerSnapshotProxy(transactionId);
+    }
+
     final AbstractProxyTransaction createTransactionProxy(final TransactionIdentifier transactionId, final Long shard) {
         return ensureHistoryProxy(transactionId, shard).createTransactionProxy(transactionId, false);
     }
@@ -213,17 +218,36 @@ public abstract class AbstractClientHistory extends LocalAbortable implements Id
      * @throws IllegalStateException if a previous dependent transaction has not been closed
      */
     public ClientSnapshot takeSnapshot() {
+        return takeSnapshot(false);
+    }
+
+    /**
+     * Create a new {@link ClientSnapshot}, optionally allowing it to be served from local follower replicas. Data read
+     * from a follower replica may lag behind the shard leader by up to
+     * {@link org.opendaylight.controller.cluster.datastore.DatastoreContext#getFollowerReadMaxLag()} entries.
+     *
+     * <p>
+     * Follower reads are exposed only through {@link DataStoreClient#createSnapshot(boolean)}, as a snapshot served
+     * from a follower could miss writes made earlier in a chained history, which have not been replicated yet.
+     *
+     * @param allowFollowerReads True if reads may be served from local follower replicas
+     * @return A new {@link ClientSnapshot}
+     * @throws TransactionChainClosedException if this history is closed
+     * @throws IllegalStateException if a previous dependent transaction has not been closed
+     * @throws IllegalArgumentException if follower reads are requested, but not supported by this history
+     */
+    final ClientSnapshot takeSnapshot(final boolean allowFollowerReads) {
         checkNotClosed();
 
         synchronized (this) {
-            final ClientSnapshot ret = doCreateSnapshot();
+            final ClientSnapshot ret = doCreateSnapshot(allowFollowerReads);
             openTransactions.put(ret.getIdentifier(), ret);
             return ret;
         }
     }
 
     @GuardedBy("this")
-    abstract ClientSnapshot doCreateSnapshot();
+    abstract ClientSnapshot doCreateSnapshot(boolean allowFollowerReads);
 
     @GuardedBy("this")
     abstract ClientTransaction doCreateTransaction();
@@ -210,6 +210,11 @@ abstract class AbstractDataStoreClientBehavior extends ClientActorBehavior<Shard
         return singleHistory.takeSnapshot();
     }
 
+    @Override
+    public final ClientSnapshot createSnapshot(final boolean allowFollowerReads) {
+        return singleHistory.takeSnapshot(allowFollowerReads);
+    }
+
     @Override
     public final void close() {
         context().executeInActor(this::shutdown);
@@ -28,6 +28,7 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.cluster.access.client.ConnectionEntry;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchRequest;
 import org.opendaylight.controller.cluster.access.commands.TransactionAbortRequest;
 import org.opendaylight.controller.cluster.access.commands.TransactionAbortSuccess;
 import org.opendaylight.controller.cluster.access.commands.TransactionCanCommitSuccess;
@@ -511,9 +512,23 @@ abstract class AbstractProxyTransaction implements Identifiable<TransactionIdent
                 LOG.debug("Forwarding queued request{} to successor {}", req, successor);
                 successor.handleForwardedRemoteRequest((TransactionRequest<?>) req, e.getCallback());
                 it.remove();
+            } else if (req instanceof ModifyTransactionBatchRequest) {
+                // Batches are removed by the history once all transactions have replayed their part
+                final Consumer<Response<?, ?>> callback = e.getCallback();
+                Verify.verify(callback instanceof ModifyTransactionBatch, "Unexpected callback %s", callback);
+                ((ModifyTransactionBatch) callback).forEachRequest(getIdentifier(), (request, cb) -> {
+                    LOG.debug("Forwarding batched request {} to successor {}", request, successor);
+                    successor.handleForwardedRemoteRequest(request, cb);
+                });
             }
         }
 
+        // Requests held back by the history have not reached the connection yet, hence they come last
+        parent.replayHeldRequests(getIdentifier(), (request, cb) -> {
+            LOG.debug("Forwarding held request {} to successor {}", request, successor);
+            successor.handleForwardedRemoteRequest(request, cb);
+        });
+
         /*
          * Check the state at which we have started the reconnect attempt. State transitions triggered while we were
          * reconnecting have been forced to slow paths, which will be unlocked once we unblock the state latch
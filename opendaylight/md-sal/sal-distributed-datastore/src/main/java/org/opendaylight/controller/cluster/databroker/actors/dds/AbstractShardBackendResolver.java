@@ -11,6 +11,7 @@ import akka.actor.ActorRef;
 import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.UnsignedLong;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
@@ -26,9 +27,13 @@ import org.opendaylight.controller.cluster.access.commands.ConnectClientSuccess;
 import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.RequestFailure;
 import org.opendaylight.controller.cluster.common.actor.ExplicitAsk;
+import org.opendaylight.controller.cluster.datastore.ShardReadReplica;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.exceptions.NotInitializedException;
 import org.opendaylight.controller.cluster.datastore.exceptions.PrimaryNotFoundException;
+import org.opendaylight.controller.cluster.datastore.messages.FindLocalShard;
+import org.opendaylight.controller.cluster.datastore.messages.GetShardReadReplica;
+import org.opendaylight.controller.cluster.datastore.messages.LocalShardFound;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.slf4j.Logger;
@@ -146,9 +151,37 @@ abstract class AbstractShardBackendResolver extends BackendInfoResolver<ShardBac
                 Preconditions.checkArgument(response instanceof ConnectClientSuccess, "Unhandled response {}",
                     response);
                 final ConnectClientSuccess success = (ConnectClientSuccess) response;
-                future.complete(new ShardBackendInfo(success.getBackend(), nextSessionId.getAndIncrement(),
-                    success.getVersion(), shardName, UnsignedLong.fromLongBits(cookie), success.getDataTree(),
-                    success.getMaxMessages()));
+                if (success.getDataTree().isPresent()) {
+                    future.complete(new ShardBackendInfo(success.getBackend(), nextSessionId.getAndIncrement(),
+                        success.getVersion(), shardName, UnsignedLong.fromLongBits(cookie), success.getDataTree(),
+                        success.getMaxMessages()));
+                    return;
+                }
+
+                // The leader is remote, check if we have a local replica which can serve follower reads
+                resolveReadReplica(shardName).thenAccept(replica -> future.complete(new ShardBackendInfo(
+                    success.getBackend(), nextSessionId.getAndIncrement(), success.getVersion(), shardName,
+                    UnsignedLong.fromLongBits(cookie), success.getDataTree(), success.getMaxMessages(), replica,
+                    actorContext.getDatastoreContext().getFollowerReadMaxLag())));
             });
     }
+
+    private CompletionStage<Optional<ShardReadReplica>> resolveReadReplica(final String shardName) {
+        final CompletionStage<Object> findLocal = FutureConverters.toJava(actorContext.executeOperationAsync(
+            actorContext.getShardManager(), new FindLocalShard(shardName, false), CONNECT_TIMEOUT));
+
+        return findLocal.<Optional<ShardReadReplica>>thenCompose(response -> {
+            if (!(response instanceof LocalShardFound)) {
+                LOG.debug("Shard {} does not have a usable local replica: {}", shardName, response);
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            return FutureConverters.toJava(actorContext.executeOperationAsync(((LocalShardFound) response).getPath(),
+                GetShardReadReplica.INSTANCE, CONNECT_TIMEOUT)).thenApply(replica -> Optional.of(
+                    (ShardReadReplica) replica));
+        }).exceptionally(failure -> {
+            LOG.debug("Failed to resolve local replica of shard {}", shardName, failure);
+            return Optional.empty();
+        });
+    }
 }
@@ -42,9 +42,12 @@ public class ClientLocalHistory extends AbstractClientHistory implements AutoClo
     }
 
     @Override
-    ClientSnapshot doCreateSnapshot() {
+    ClientSnapshot doCreateSnapshot(final boolean allowFollowerReads) {
+        // A follower may not have seen previous transactions of this chain yet
+        Preconditions.checkArgument(!allowFollowerReads, "Follower reads are not supported by chained history %s",
+            this);
         ensureIdleState();
-        return new ClientSnapshot(this, new TransactionIdentifier(getIdentifier(), nextTx()));
+        return new ClientSnapshot(this, new TransactionIdentifier(getIdentifier(), nextTx()), allowFollowerReads);
     }
 
     @Override
@@ -23,13 +23,18 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  */
 @Beta
 public class ClientSnapshot extends AbstractClientHandle<AbstractProxyTransaction> {
+    private final boolean allowFollowerReads;
+
     // Hidden to prevent outside instantiation
-    ClientSnapshot(final AbstractClientHistory parent, final TransactionIdentifier transactionId) {
+    ClientSnapshot(final AbstractClientHistory parent, final TransactionIdentifier transactionId,
+            final boolean allowFollowerReads) {
         super(parent, transactionId);
+        this.allowFollowerReads = allowFollowerReads;
     }
 
     private AbstractProxyTransaction createProxy(final Long shard) {
-        return parent().createSnapshotProxy(getIdentifier(), shard);
+        return allowFollowerReads ? parent().createFollowerSnapshotProxy(getIdentifier(), shard)
+                : parent().createSnapshotProxy(getIdentifier(), shard);
     }
 
     private AbstractProxyTransaction ensureSnapshotProxy(final YangInstanceIdentifier path) {
@@ -43,6 +43,16 @@ public interface DataStoreClient extends Identifiable<ClientIdentifier>, AutoClo
      */
     @Nonnull ClientSnapshot createSnapshot();
 
+    /**
+     * Create a new free-standing snapshot with bounded staleness. Reads from shards whose leader is not local may be
+     * served from a local follower replica, provided it does not lag behind the leader by more than the configured
+     * number of entries. Such reads avoid a round-trip to the leader, but may not observe most recent commits.
+     *
+     * @param allowFollowerReads True if reads may be served from local follower replicas
+     * @return Client snapshot handle
+     */
+    @Nonnull ClientSnapshot createSnapshot(boolean allowFollowerReads);
+
     /**
      * Create a new free-standing transaction.
      *
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.databroker.actors.dds;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link LocalReadOnlyProxyTransaction} operating on a snapshot of a local follower replica. The shard leader is
+ * not aware of this transaction, hence it is never communicated to the backend.
+ */
+@NotThreadSafe
+final class FollowerReadOnlyProxyTransaction extends LocalReadOnlyProxyTransaction {
+    private static final Logger LOG = LoggerFactory.getLogger(FollowerReadOnlyProxyTransaction.class);
+
+    FollowerReadOnlyProxyTransaction(final ProxyHistory parent, final TransactionIdentifier identifier,
+        final DataTreeSnapshot snapshot) {
+        super(parent, identifier, snapshot);
+    }
+
+    @Override
+    void doAbort() {
+        LOG.debug("Transaction {} aborted without involving the backend", getIdentifier());
+    }
+}
@@ -82,7 +82,7 @@ abstract class LocalProxyTransaction extends AbstractProxyTransaction {
     }
 
     @Override
-    final void doAbort() {
+    void doAbort() {
         sendAbort(new AbortLocalTransactionRequest(identifier, localActor()), response -> {
             LOG.debug("Transaction {} abort completed with {}", identifier, response);
         });
@@ -26,7 +26,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
  * @author Robert Varga
  */
 @NotThreadSafe
-final class LocalReadOnlyProxyTransaction extends LocalProxyTransaction {
+class LocalReadOnlyProxyTransaction extends LocalProxyTransaction {
 
     private final DataTreeSnapshot snapshot;
 
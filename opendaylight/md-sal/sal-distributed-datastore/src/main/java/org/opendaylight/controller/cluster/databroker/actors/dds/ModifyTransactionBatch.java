@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.databroker.actors.dds;
+
+import akka.actor.ActorRef;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchSuccess;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequest;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.RequestFailure;
+import org.opendaylight.controller.cluster.access.concepts.Response;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A set of {@link ModifyTransactionRequest}s originating from transactions of a single {@link ProxyHistory}, which
+ * are to be sent to the backend in a single {@link ModifyTransactionBatchRequest}. It also acts as the callback
+ * for that request, dispatching individual responses to the callbacks of the original requests.
+ */
+@NotThreadSafe
+final class ModifyTransactionBatch implements Consumer<Response<?, ?>> {
+    private static final Logger LOG = LoggerFactory.getLogger(ModifyTransactionBatch.class);
+
+    private final List<Consumer<Response<?, ?>>> callbacks = new ArrayList<>();
+    private final List<ModifyTransactionRequest> requests = new ArrayList<>();
+
+    // Used to send requests which the backend has not answered as part of the batch
+    private BiConsumer<? super ModifyTransactionRequest, Consumer<Response<?, ?>>> resender;
+
+    void add(final ModifyTransactionRequest request, final Consumer<Response<?, ?>> callback) {
+        requests.add(Preconditions.checkNotNull(request));
+        callbacks.add(Preconditions.checkNotNull(callback));
+    }
+
+    int size() {
+        return requests.size();
+    }
+
+    boolean isEmpty() {
+        return requests.isEmpty();
+    }
+
+    /**
+     * Send the contents of this batch using specified sender. A single request is sent as is, multiple requests are
+     * packed into a {@link ModifyTransactionBatchRequest}, whose callback is this object.
+     *
+     * @param historyId History identifier
+     * @param sequence Sequence to use for the batch request
+     * @param replyTo Actor which should receive the response
+     * @param singleSender Sender to use when there is only a single request, also used to send requests again
+     *                     if the backend does not answer them as part of the batch
+     * @param batchSender Sender to use when there are multiple requests
+     */
+    void send(final LocalHistoryIdentifier historyId, final long sequence, final ActorRef replyTo,
+            final BiConsumer<? super ModifyTransactionRequest, Consumer<Response<?, ?>>> singleSender,
+            final BiConsumer<? super ModifyTransactionBatchRequest, Consumer<Response<?, ?>>> batchSender) {
+        switch (requests.size()) {
+            case 0:
+                break;
+            case 1:
+                singleSender.accept(requests.get(0), callbacks.get(0));
+                break;
+            default:
+                resender = singleSender;
+                final ModifyTransactionBatchRequest request = new ModifyTransactionBatchRequest(historyId, sequence,
+                    replyTo, requests);
+                LOG.debug("Sending {} requests in batch {}", requests.size(), request);
+                batchSender.accept(request, this);
+        }
+    }
+
+    /**
+     * Invoke specified consumer for each batched request targeted at a particular transaction, along with its original
+     * callback. This is used to replay requests when the batch needs to be retransmitted to a different backend.
+     *
+     * @param txId Transaction identifier
+     * @param consumer Consumer to invoke
+     */
+    void forEachRequest(final TransactionIdentifier txId,
+            final BiConsumer<ModifyTransactionRequest, Consumer<Response<?, ?>>> consumer) {
+        for (int i = 0; i < requests.size(); ++i) {
+            final ModifyTransactionRequest request = requests.get(i);
+            if (txId.equals(request.getTarget())) {
+                consumer.accept(request, callbacks.get(i));
+            }
+        }
+    }
+
+    /**
+     * Remove all requests targeted at a particular transaction from this batch. This is used to replay requests which
+     * have not been sent yet when the connection is being reconnected.
+     *
+     * @param txId Transaction identifier
+     * @return A batch containing removed requests
+     */
+    ModifyTransactionBatch removeRequests(final TransactionIdentifier txId) {
+        final ModifyTransactionBatch ret = new ModifyTransactionBatch();
+        int index = 0;
+        while (index < requests.size()) {
+            if (txId.equals(requests.get(index).getTarget())) {
+                ret.add(requests.remove(index), callbacks.remove(index));
+            } else {
+                index++;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Invoke specified consumer for each batched request, along with its original callback.
+     *
+     * @param consumer Consumer to invoke
+     */
+    void forEachRequest(final BiConsumer<ModifyTransactionRequest, Consumer<Response<?, ?>>> consumer) {
+        for (int i = 0; i < requests.size(); ++i) {
+            consumer.accept(requests.get(i), callbacks.get(i));
+        }
+    }
+
+    @Override
+    public void accept(final Response<?, ?> response) {
+        if (response instanceof ModifyTransactionBatchSuccess) {
+            final List<Response<TransactionIdentifier, ?>> responses =
+                    ((ModifyTransactionBatchSuccess) response).getResponses();
+            Verify.verify(responses.size() == requests.size(), "Batch response %s does not match %s requests",
+                response, requests.size());
+
+            for (int i = 0; i < responses.size(); ++i) {
+                final Response<TransactionIdentifier, ?> resp = responses.get(i);
+                if (resp != null) {
+                    callbacks.get(i).accept(resp);
+                } else {
+                    LOG.debug("Request {} was not answered in batch, sending it again", requests.get(i));
+                    Verify.verifyNotNull(resender).accept(requests.get(i), callbacks.get(i));
+                }
+            }
+        } else if (response instanceof RequestFailure) {
+            LOG.debug("Batch of {} requests failed with {}", requests.size(), response);
+            final RequestFailure<?, ?> failure = (RequestFailure<?, ?>) response;
+            for (int i = 0; i < requests.size(); ++i) {
+                callbacks.get(i).accept(requests.get(i).toRequestFailure(failure.getCause()));
+            }
+        } else {
+            throw new IllegalArgumentException("Unhandled response " + response);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("requests", requests).toString();
+    }
+}
@@ -8,10 +8,14 @@
 package org.opendaylight.controller.cluster.databroker.actors.dds;
 
 import akka.actor.ActorRef;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -20,12 +24,15 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.cluster.access.ABIVersion;
 import org.opendaylight.controller.cluster.access.client.AbstractClientConnection;
 import org.opendaylight.controller.cluster.access.client.ConnectedClientConnection;
 import org.opendaylight.controller.cluster.access.client.ConnectionEntry;
 import org.opendaylight.controller.cluster.access.commands.CreateLocalHistoryRequest;
 import org.opendaylight.controller.cluster.access.commands.DestroyLocalHistoryRequest;
 import org.opendaylight.controller.cluster.access.commands.LocalHistoryRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequest;
 import org.opendaylight.controller.cluster.access.commands.PurgeLocalHistoryRequest;
 import org.opendaylight.controller.cluster.access.commands.TransactionRequest;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
@@ -155,9 +162,70 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
     }
 
     private static final class Remote extends AbstractRemote {
+        // Batches can only be sent to backends which negotiated a version supporting them
+        private final boolean batchingSupported;
+
+        // Requests which are ready to be sent, but are held back so they can be packed together with requests from
+        // subsequent transactions. The batch is flushed from the actor thread, or before any other request is sent.
+        @GuardedBy("this")
+        private ModifyTransactionBatch batch = new ModifyTransactionBatch();
+        @GuardedBy("this")
+        private long nextBatchSequence = FIRST_BATCH_SEQUENCE;
+
         Remote(final AbstractClientHistory parent, final AbstractClientConnection<ShardBackendInfo> connection,
             final LocalHistoryIdentifier identifier) {
             super(parent, connection, identifier);
+            batchingSupported = connection.getBackendInfo()
+                    .map(info -> info.getVersion().compareTo(ABIVersion.CARBON) >= 0).orElse(Boolean.FALSE);
+        }
+
+        @Override
+        synchronized void sendRequest(final TransactionRequest<?> request, final Consumer<Response<?, ?>> callback) {
+            if (batchingSupported && request instanceof ModifyTransactionRequest
+                    && ModifyTransactionBatchRequest.isBatchable((ModifyTransactionRequest) request)) {
+                if (batch.isEmpty()) {
+                    connection().context().executeInActor(behavior -> {
+                        flushBatch();
+                        return behavior;
+                    });
+                }
+
+                batch.add((ModifyTransactionRequest) request, callback);
+                if (batch.size() >= BATCH_MAX_REQUESTS) {
+                    flushBatch();
+                }
+                return;
+            }
+
+            // Make sure any batched requests are sent before this request, so ordering is retained
+            flushBatch();
+            super.sendRequest(request, callback);
+        }
+
+        @Override
+        void replayHeldRequests(final TransactionIdentifier txId,
+                final BiConsumer<ModifyTransactionRequest, Consumer<Response<?, ?>>> consumer) {
+            final ModifyTransactionBatch held;
+            synchronized (this) {
+                held = batch.removeRequests(txId);
+            }
+            held.forEachRequest(consumer);
+        }
+
+        @Override
+        synchronized void sendHistoryRequest(final LocalHistoryRequest<?> request,
+                final Consumer<Response<?, ?>> callback) {
+            flushBatch();
+            super.sendHistoryRequest(request, callback);
+        }
+
+        private synchronized void flushBatch() {
+            if (!batch.isEmpty()) {
+                final ModifyTransactionBatch toSend = batch;
+                batch = new ModifyTransactionBatch();
+                toSend.send(getIdentifier(), nextBatchSequence++, localActor(), connection()::sendRequest,
+                    connection()::sendRequest);
+            }
         }
 
         @Override
@@ -233,11 +301,18 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
             }
 
             // Now look for any finalizing messages
-            for (ConnectionEntry e : previousEntries) {
+            final Iterator<ConnectionEntry> it = previousEntries.iterator();
+            while (it.hasNext()) {
+                final ConnectionEntry e = it.next();
                 final Request<?, ?> req = e.getRequest();
                 if (identifier.equals(req.getTarget())) {
                     Verify.verify(req instanceof LocalHistoryRequest);
-                    successor.connection.sendRequest(req, e.getCallback());
+                    if (req instanceof ModifyTransactionBatchRequest) {
+                        // Batched requests have already been replayed by their respective transactions
+                        it.remove();
+                    } else {
+                        successor.connection.sendRequest(req, e.getCallback());
+                    }
                 }
             }
         }
@@ -261,6 +336,17 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
                 final BiConsumer<Request<?, ?>, Consumer<Response<?, ?>>> replayTo) throws RequestException {
             if (request instanceof TransactionRequest) {
                 replayTransactionRequest((TransactionRequest<?>) request, callback);
+            } else if (request instanceof ModifyTransactionBatchRequest) {
+                Verify.verify(callback instanceof ModifyTransactionBatch, "Unexpected callback %s", callback);
+                final List<ModifyTransactionRequest> requests = new ArrayList<>();
+                final List<Consumer<Response<?, ?>>> callbacks = new ArrayList<>();
+                ((ModifyTransactionBatch) callback).forEachRequest((req, cb) -> {
+                    requests.add(req);
+                    callbacks.add(cb);
+                });
+                for (int i = 0; i < requests.size(); ++i) {
+                    replayTransactionRequest(requests.get(i), callbacks.get(i));
+                }
             } else if (request instanceof LocalHistoryRequest) {
                 replayTo.accept(request, callback);
             } else {
@@ -288,6 +374,16 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
 
     private static final Logger LOG = LoggerFactory.getLogger(ProxyHistory.class);
 
+    // Sequences of requests targeting the history itself. Responses are matched to requests by their target and
+    // sequence, hence sequences of ModifyTransactionBatchRequests start after those used by the history lifecycle.
+    private static final long DESTROY_SEQUENCE = 1;
+    private static final long PURGE_SEQUENCE = 2;
+    private static final long FIRST_BATCH_SEQUENCE = PURGE_SEQUENCE + 1;
+
+    // Maximum number of requests packed into a single ModifyTransactionBatchRequest
+    @VisibleForTesting
+    static final int BATCH_MAX_REQUESTS = 128;
+
     private final Lock lock = new ReentrantLock();
     private final LocalHistoryIdentifier identifier;
     private final AbstractClientConnection<ShardBackendInfo> connection;
@@ -329,6 +425,10 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
         return connection.localActor();
     }
 
+    final AbstractClientConnection<ShardBackendInfo> connection() {
+        return connection;
+    }
+
     final AbstractClientHistory parent() {
         return parent;
     }
@@ -351,6 +451,36 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
         }
     }
 
+    /**
+     * Create a snapshot-only transaction proxy, which is backed by a local follower replica if it is available and
+     * sufficiently up-to-date. Otherwise this method is equivalent to {@code createTransactionProxy(txId, true)}.
+     * Since the shard leader is not aware of transactions backed by a follower replica, they are not tracked
+     * in this history and do not participate in reconnection.
+     *
+     * @param txId Transaction identifier
+     * @return A snapshot-only transaction proxy
+     */
+    final AbstractProxyTransaction createFollowerSnapshotProxy(final TransactionIdentifier txId) {
+        lock.lock();
+        try {
+            if (successor != null) {
+                return successor.createFollowerSnapshotProxy(txId);
+            }
+
+            final Optional<DataTreeSnapshot> snapshot = connection.getBackendInfo()
+                    .flatMap(ShardBackendInfo::takeReplicaSnapshot);
+            if (!snapshot.isPresent()) {
+                return createTransactionProxy(txId, true);
+            }
+
+            final TransactionIdentifier proxyId = new TransactionIdentifier(identifier, txId.getTransactionId());
+            LOG.debug("Allocated follower proxy {} for transaction {}", proxyId, txId);
+            return new FollowerReadOnlyProxyTransaction(this, proxyId, snapshot.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
     final void abortTransaction(final AbstractProxyTransaction tx) {
         lock.lock();
         try {
@@ -382,17 +512,34 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
             }
 
             LOG.debug("Proxy {} invoking destroy", this);
-            connection.sendRequest(new DestroyLocalHistoryRequest(getIdentifier(), 1, localActor()),
+            sendHistoryRequest(new DestroyLocalHistoryRequest(getIdentifier(), DESTROY_SEQUENCE, localActor()),
                 this::onDestroyComplete);
         } finally {
             lock.unlock();
         }
     }
 
-    final void sendRequest(final TransactionRequest<?> request, final Consumer<Response<?, ?>> callback) {
+    void sendRequest(final TransactionRequest<?> request, final Consumer<Response<?, ?>> callback) {
         connection.sendRequest(request, callback);
     }
 
+    void sendHistoryRequest(final LocalHistoryRequest<?> request, final Consumer<Response<?, ?>> callback) {
+        connection.sendRequest(request, callback);
+    }
+
+    /**
+     * Replay requests of a transaction which this history has held back and which have not reached the connection,
+     * removing them from this history. Invoked while the transaction is being reconnected, after the requests queued
+     * in the connection have been replayed.
+     *
+     * @param txId Transaction identifier
+     * @param consumer Consumer to invoke for each request and its callback
+     */
+    void replayHeldRequests(final TransactionIdentifier txId,
+            final BiConsumer<ModifyTransactionRequest, Consumer<Response<?, ?>>> consumer) {
+        // No-op for most implementations
+    }
+
     @GuardedBy("lock")
     abstract AbstractProxyTransaction doCreateTransactionProxy(AbstractClientConnection<ShardBackendInfo> connection,
             TransactionIdentifier txId, boolean snapshotOnly);
@@ -423,7 +570,7 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
         lock.lock();
         try {
             parent.onProxyDestroyed(this);
-            connection.sendRequest(new PurgeLocalHistoryRequest(getIdentifier(), 2, localActor()),
+            sendHistoryRequest(new PurgeLocalHistoryRequest(getIdentifier(), PURGE_SEQUENCE, localActor()),
                 this::onPurgeComplete);
         } finally {
             lock.unlock();
@@ -16,26 +16,41 @@ import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.controller.cluster.access.ABIVersion;
 import org.opendaylight.controller.cluster.access.client.BackendInfo;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.datastore.ShardReadReplica;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 
 /**
  * Combined backend tracking. Aside from usual {@link BackendInfo}, this object also tracks the cookie assigned
- * to the shard. This assignment remains constant for as long as the client is not restarted.
+ * to the shard. This assignment remains constant for as long as the client is not restarted. If the shard leader
+ * is not local, but there is a local follower replica, this object also tracks that replica, so it can be used
+ * to serve snapshots which allow follower reads.
  *
  * @author Robert Varga
  */
 @ThreadSafe
 final class ShardBackendInfo extends BackendInfo {
+    private final Optional<ShardReadReplica> readReplica;
     private final Optional<DataTree> dataTree;
     private final UnsignedLong cookie;
     private final String shardName;
+    private final long readReplicaMaxLag;
 
     ShardBackendInfo(final ActorRef actor, final long sessionId, final ABIVersion version, final String shardName,
         final UnsignedLong cookie, final Optional<DataTree> dataTree, final int maxMessages) {
+        this(actor, sessionId, version, shardName, cookie, dataTree, maxMessages, Optional.empty(), 0);
+    }
+
+    ShardBackendInfo(final ActorRef actor, final long sessionId, final ABIVersion version, final String shardName,
+        final UnsignedLong cookie, final Optional<DataTree> dataTree, final int maxMessages,
+        final Optional<ShardReadReplica> readReplica, final long readReplicaMaxLag) {
         super(actor, sessionId, version, maxMessages);
         this.shardName = Preconditions.checkNotNull(shardName);
         this.cookie = Preconditions.checkNotNull(cookie);
         this.dataTree = Preconditions.checkNotNull(dataTree);
+        this.readReplica = Preconditions.checkNotNull(readReplica);
+        Preconditions.checkArgument(readReplicaMaxLag >= 0, "Invalid maximum replica lag %s", readReplicaMaxLag);
+        this.readReplicaMaxLag = readReplicaMaxLag;
     }
 
     UnsignedLong getCookie() {
@@ -46,6 +61,15 @@ final class ShardBackendInfo extends BackendInfo {
         return dataTree;
     }
 
+    /**
+     * Take a snapshot of the local follower replica, if there is one and it is not lagging behind the leader too much.
+     *
+     * @return A {@link DataTreeSnapshot}, or empty if the replica cannot be used
+     */
+    Optional<DataTreeSnapshot> takeReplicaSnapshot() {
+        return readReplica.flatMap(replica -> replica.takeSnapshot(readReplicaMaxLag));
+    }
+
     String getShardName() {
         return shardName;
     }
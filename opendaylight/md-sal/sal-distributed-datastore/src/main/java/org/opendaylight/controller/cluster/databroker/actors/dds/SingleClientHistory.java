@@ -26,11 +26,11 @@ final class SingleClientHistory extends AbstractClientHistory {
     }
 
     @Override
-    ClientSnapshot doCreateSnapshot() {
+    ClientSnapshot doCreateSnapshot(final boolean allowFollowerReads) {
         final TransactionIdentifier txId = new TransactionIdentifier(getIdentifier(), nextTx());
         LOG.debug("{}: creating a new snapshot {}", this, txId);
 
-        return new ClientSnapshot(this, txId);
+        return new ClientSnapshot(this, txId, allowFollowerReads);
     }
 
     @Override
@@ -11,6 +11,7 @@ package org.opendaylight.controller.cluster.datastore;
 import akka.util.Timeout;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
 import com.google.common.collect.Sets;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -23,6 +24,8 @@ import org.opendaylight.controller.cluster.raft.PeerAddressResolver;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreConfigProperties;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import scala.concurrent.duration.Duration;
 import scala.concurrent.duration.FiniteDuration;
 
@@ -55,7 +58,11 @@ public class DatastoreContext {
     public static final long DEFAULT_SHARD_COMMIT_QUEUE_EXPIRY_TIMEOUT_IN_MS =
             TimeUnit.MILLISECONDS.convert(2, TimeUnit.MINUTES);
     public static final int DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE = 2048000;
+    public static final long DEFAULT_FOLLOWER_READ_MAX_LAG = 10;
+    public static final long DEFAULT_SHARD_SPLIT_WRITE_RATE_THRESHOLD = 0;
+    public static final boolean DEFAULT_SECTIONED_SNAPSHOTS_ENABLED = false;
 
+    private static final Logger LOG = LoggerFactory.getLogger(DatastoreContext.class);
     private static final Set<String> GLOBAL_DATASTORE_NAMES = Sets.newConcurrentHashSet();
 
     private InMemoryDOMDataStoreConfigProperties dataStoreProperties;
@@ -77,6 +84,10 @@ public class DatastoreContext {
     private boolean writeOnlyTransactionOptimizationsEnabled = true;
     private long shardCommitQueueExpiryTimeoutInMillis = DEFAULT_SHARD_COMMIT_QUEUE_EXPIRY_TIMEOUT_IN_MS;
     private boolean useTellBasedProtocol = false;
+    private long followerReadMaxLag = DEFAULT_FOLLOWER_READ_MAX_LAG;
+    private long shardSplitWriteRateThreshold = DEFAULT_SHARD_SPLIT_WRITE_RATE_THRESHOLD;
+    private String shardDataTreeFactoryImplementation;
+    private boolean sectionedSnapshotsEnabled = DEFAULT_SECTIONED_SNAPSHOTS_ENABLED;
     private boolean transactionDebugContextEnabled = false;
     private String shardManagerPersistenceId;
 
@@ -115,6 +126,10 @@ public class DatastoreContext {
         this.transactionDebugContextEnabled = other.transactionDebugContextEnabled;
         this.shardManagerPersistenceId = other.shardManagerPersistenceId;
         this.useTellBasedProtocol = other.useTellBasedProtocol;
+        this.followerReadMaxLag = other.followerReadMaxLag;
+        this.shardSplitWriteRateThreshold = other.shardSplitWriteRateThreshold;
+        this.shardDataTreeFactoryImplementation = other.shardDataTreeFactoryImplementation;
+        this.sectionedSnapshotsEnabled = other.sectionedSnapshotsEnabled;
 
         setShardJournalRecoveryLogBatchSize(other.raftConfig.getJournalRecoveryLogBatchSize());
         setSnapshotBatchCount(other.raftConfig.getSnapshotBatchCount());
@@ -282,6 +297,63 @@ public class DatastoreContext {
         return useTellBasedProtocol;
     }
 
+    /**
+     * Returns the maximum number of journal entries a local follower replica may lag behind the shard leader for it to
+     * be used to serve snapshots which allow follower reads.
+     *
+     * @return maximum number of entries
+     */
+    public long getFollowerReadMaxLag() {
+        return followerReadMaxLag;
+    }
+
+    /**
+     * Returns the rate of writes, in writes per second, issued into a subtree of a prefix-based shard by local
+     * producers, above which the subtree is reported as a candidate for splitting off into its own shard.
+     *
+     * @return write rate threshold, 0 if write rates are not tracked
+     */
+    public long getShardSplitWriteRateThreshold() {
+        return shardSplitWriteRateThreshold;
+    }
+
+    public String getShardDataTreeFactoryImplementation() {
+        return shardDataTreeFactoryImplementation;
+    }
+
+    /**
+     * Returns a new instance of the {@link ShardDataTreeFactory} configured via
+     * {@link Builder#shardDataTreeFactoryImplementation(String)}. If none is configured, or the configured class cannot
+     * be instantiated, {@link InMemoryShardDataTreeFactory} is returned.
+     *
+     * @return A ShardDataTreeFactory
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public ShardDataTreeFactory getShardDataTreeFactory() {
+        if (Strings.isNullOrEmpty(shardDataTreeFactoryImplementation)) {
+            return InMemoryShardDataTreeFactory.INSTANCE;
+        }
+
+        try {
+            LOG.info("Trying to use custom ShardDataTreeFactory {}", shardDataTreeFactoryImplementation);
+            return (ShardDataTreeFactory) Class.forName(shardDataTreeFactoryImplementation).newInstance();
+        } catch (Exception e) {
+            LOG.error("Could not create custom ShardDataTreeFactory {}, will use the in-memory data tree",
+                shardDataTreeFactoryImplementation, e);
+        }
+        return InMemoryShardDataTreeFactory.INSTANCE;
+    }
+
+    /**
+     * Returns whether large shard snapshots may be serialized in sections, which are encoded and decoded concurrently.
+     * Members running older releases cannot read snapshots serialized this way.
+     *
+     * @return True if sectioned snapshots are enabled
+     */
+    public boolean isSectionedSnapshotsEnabled() {
+        return sectionedSnapshotsEnabled;
+    }
+
     public int getShardSnapshotChunkSize() {
         return raftConfig.getSnapshotChunkSize();
     }
@@ -500,6 +572,26 @@ public class DatastoreContext {
             return this;
         }
 
+        public Builder followerReadMaxLag(long value) {
+            datastoreContext.followerReadMaxLag = value;
+            return this;
+        }
+
+        public Builder shardSplitWriteRateThreshold(long value) {
+            datastoreContext.shardSplitWriteRateThreshold = value;
+            return this;
+        }
+
+        public Builder shardDataTreeFactoryImplementation(String className) {
+            datastoreContext.shardDataTreeFactoryImplementation = className;
+            return this;
+        }
+
+        public Builder sectionedSnapshotsEnabled(boolean value) {
+            datastoreContext.sectionedSnapshotsEnabled = value;
+            return this;
+        }
+
         /**
          * For unit tests only.
          */
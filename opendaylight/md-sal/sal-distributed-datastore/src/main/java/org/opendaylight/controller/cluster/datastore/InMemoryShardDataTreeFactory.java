@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.annotations.Beta;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+
+/**
+ * Default {@link ShardDataTreeFactory}, which keeps the tree on the Java heap.
+ */
+@Beta
+public final class InMemoryShardDataTreeFactory implements ShardDataTreeFactory {
+    public static final InMemoryShardDataTreeFactory INSTANCE = new InMemoryShardDataTreeFactory();
+
+    @Override
+    public TipProducingDataTree create(final TreeType treeType, final YangInstanceIdentifier rootPath) {
+        return InMemoryDataTreeFactory.getInstance().create(treeType, rootPath);
+    }
+}
@@ -13,7 +13,9 @@ import com.google.common.collect.Range;
 import com.google.common.collect.RangeSet;
 import com.google.common.collect.TreeRangeSet;
 import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -22,6 +24,9 @@ import org.opendaylight.controller.cluster.access.commands.DeadHistoryException;
 import org.opendaylight.controller.cluster.access.commands.DestroyLocalHistoryRequest;
 import org.opendaylight.controller.cluster.access.commands.LocalHistoryRequest;
 import org.opendaylight.controller.cluster.access.commands.LocalHistorySuccess;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchSuccess;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequest;
 import org.opendaylight.controller.cluster.access.commands.OutOfOrderRequestException;
 import org.opendaylight.controller.cluster.access.commands.PurgeLocalHistoryRequest;
 import org.opendaylight.controller.cluster.access.commands.TransactionRequest;
@@ -31,6 +36,10 @@ import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.RequestEnvelope;
 import org.opendaylight.controller.cluster.access.concepts.RequestException;
+import org.opendaylight.controller.cluster.access.concepts.RequestSuccess;
+import org.opendaylight.controller.cluster.access.concepts.Response;
+import org.opendaylight.controller.cluster.access.concepts.RuntimeRequestException;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.UnsupportedRequestException;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.slf4j.Logger;
@@ -101,12 +110,14 @@ final class LeaderFrontendState implements Identifiable<ClientIdentifier> {
         expectedTxSequence++;
     }
 
-    @Nullable LocalHistorySuccess handleLocalHistoryRequest(final LocalHistoryRequest<?> request,
+    @Nullable RequestSuccess<?, ?> handleLocalHistoryRequest(final LocalHistoryRequest<?> request,
             final RequestEnvelope envelope, final long now) throws RequestException {
         checkRequestSequence(envelope);
 
         try {
-            if (request instanceof CreateLocalHistoryRequest) {
+            if (request instanceof ModifyTransactionBatchRequest) {
+                return handleModifyTransactionBatch((ModifyTransactionBatchRequest) request, envelope, now);
+            } else if (request instanceof CreateLocalHistoryRequest) {
                 return handleCreateHistory((CreateLocalHistoryRequest) request);
             } else if (request instanceof DestroyLocalHistoryRequest) {
                 return handleDestroyHistory((DestroyLocalHistoryRequest) request, envelope, now);
@@ -176,30 +187,64 @@ final class LeaderFrontendState implements Identifiable<ClientIdentifier> {
         return null;
     }
 
+    private ModifyTransactionBatchSuccess handleModifyTransactionBatch(final ModifyTransactionBatchRequest request,
+            final RequestEnvelope envelope, final long now) {
+        final List<ModifyTransactionRequest> requests = request.getRequests();
+        LOG.debug("{}: processing batch of {} requests for history {}", persistenceId, requests.size(),
+            request.getTarget());
+
+        // Requests are unpacked in order and a failure of one of them does not affect the others. The batch occupies
+        // a single envelope sequence, hence individual requests do not have an envelope the frontend could match a
+        // response to. A request which is not answered immediately, such as a retransmit whose response is still
+        // in flight, is reported as a null response and the frontend sends it again on its own.
+        final List<Response<TransactionIdentifier, ?>> responses = new ArrayList<>(requests.size());
+        for (ModifyTransactionRequest req : requests) {
+            Response<TransactionIdentifier, ?> response;
+            try {
+                response = findHistory(req).handleTransactionRequest(req, envelope, now);
+                if (response == null) {
+                    LOG.debug("{}: batched request {} not answered immediately, expecting a retransmit",
+                        persistenceId, req);
+                }
+            } catch (RequestException e) {
+                LOG.debug("{}: batched request {} failed", persistenceId, req, e);
+                response = req.toRequestFailure(e);
+            } catch (RuntimeException e) {
+                LOG.debug("{}: batched request {} caused failure", persistenceId, req, e);
+                response = req.toRequestFailure(new RuntimeRequestException("Request failed to process", e));
+            }
+
+            responses.add(response);
+        }
+
+        return new ModifyTransactionBatchSuccess(request.getTarget(), request.getSequence(), responses);
+    }
+
     @Nullable TransactionSuccess<?> handleTransactionRequest(final TransactionRequest<?> request,
             final RequestEnvelope envelope, final long now) throws RequestException {
         checkRequestSequence(envelope);
 
         try {
-            final LocalHistoryIdentifier lhId = request.getTarget().getHistoryId();
-            final AbstractFrontendHistory history;
-
-            if (lhId.getHistoryId() != 0) {
-                history = localHistories.get(lhId);
-                if (history == null) {
-                    LOG.debug("{}: rejecting unknown history request {}", persistenceId, request);
-                    throw new UnknownHistoryException(lastSeenHistory);
-                }
-            } else {
-                history = standaloneHistory;
-            }
-
-            return history.handleTransactionRequest(request, envelope, now);
+            return findHistory(request).handleTransactionRequest(request, envelope, now);
         } finally {
             expectNextRequest();
         }
     }
 
+    private AbstractFrontendHistory findHistory(final TransactionRequest<?> request) throws RequestException {
+        final LocalHistoryIdentifier lhId = request.getTarget().getHistoryId();
+        if (lhId.getHistoryId() == 0) {
+            return standaloneHistory;
+        }
+
+        final AbstractFrontendHistory history = localHistories.get(lhId);
+        if (history == null) {
+            LOG.debug("{}: rejecting unknown history request {}", persistenceId, request);
+            throw new UnknownHistoryException(lastSeenHistory);
+        }
+        return history;
+    }
+
     void reconnect() {
         expectedTxSequence = 0;
     }
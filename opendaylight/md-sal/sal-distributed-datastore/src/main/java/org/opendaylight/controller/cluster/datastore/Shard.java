@@ -54,6 +54,7 @@ import org.opendaylight.controller.cluster.common.actor.MessageTracker.Error;
 import org.opendaylight.controller.cluster.common.actor.MeteringBehavior;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.identifiers.ShardIdentifier;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardCommitStats;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardMBeanFactory;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
 import org.opendaylight.controller.cluster.datastore.messages.AbortTransaction;
@@ -66,6 +67,7 @@ import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.GetShardDataTree;
+import org.opendaylight.controller.cluster.datastore.messages.GetShardReadReplica;
 import org.opendaylight.controller.cluster.datastore.messages.MakeLeaderLocal;
 import org.opendaylight.controller.cluster.datastore.messages.OnDemandShardState;
 import org.opendaylight.controller.cluster.datastore.messages.PeerAddressResolved;
@@ -84,6 +86,7 @@ import org.opendaylight.controller.cluster.notifications.RegisterRoleChangeListe
 import org.opendaylight.controller.cluster.notifications.RoleChangeNotifier;
 import org.opendaylight.controller.cluster.raft.LeadershipTransferFailedException;
 import org.opendaylight.controller.cluster.raft.RaftActor;
+import org.opendaylight.controller.cluster.raft.RaftActorContext;
 import org.opendaylight.controller.cluster.raft.RaftActorRecoveryCohort;
 import org.opendaylight.controller.cluster.raft.RaftActorSnapshotCohort;
 import org.opendaylight.controller.cluster.raft.RaftState;
@@ -142,11 +145,15 @@ public class Shard extends RaftActor {
     // The state of this Shard
     private final ShardDataTree store;
 
+    private final ShardReadReplica readReplica;
+
     /// The name of this shard
     private final String name;
 
     private final ShardStats shardMBean;
 
+    private final ShardCommitStats commitStats;
+
     private DatastoreContext datastoreContext;
 
     private final ShardCommitCoordinator commitCoordinator;
@@ -195,12 +202,22 @@ public class Shard extends RaftActor {
             store = new ShardDataTree(this, builder.getSchemaContext(), builder.getDataTree(),
                     treeChangeListenerPublisher, dataChangeListenerPublisher, name, frontendMetadata);
         } else {
-            store = new ShardDataTree(this, builder.getSchemaContext(), builder.getTreeType(),
-                    builder.getDatastoreContext().getStoreRoot(), treeChangeListenerPublisher,
-                    dataChangeListenerPublisher, name, frontendMetadata);
+            store = new ShardDataTree(this, builder.getSchemaContext(),
+                    datastoreContext.getShardDataTreeFactory().create(builder.getTreeType(),
+                        datastoreContext.getStoreRoot()),
+                    treeChangeListenerPublisher, dataChangeListenerPublisher, name, frontendMetadata);
         }
 
+        // The lag is evaluated by frontend threads, hence we capture the context rather than going through the actor
+        final RaftActorContext raftContext = getRaftActorContext();
+        readReplica = new ShardReadReplica(name, store.getDataTree(), () -> {
+            final long leaderCommit = raftContext.getLeaderCommitIndex();
+            return leaderCommit < 0 ? Long.MAX_VALUE : leaderCommit - raftContext.getLastApplied();
+        });
+
         shardMBean = ShardMBeanFactory.getShardStatsMBean(name, datastoreContext.getDataStoreMXBeanType(), this);
+        commitStats = ShardMBeanFactory.getShardCommitStatsMBean(name, datastoreContext.getDataStoreMXBeanType());
+        raftContext.setJournalPersistLatencyConsumer(commitStats::recordJournalPersist);
 
         if (isMetricsCaptureEnabled()) {
             getContext().become(new MeteringBehavior(this));
@@ -252,6 +269,7 @@ public class Shard extends RaftActor {
         commitCoordinator.abortPendingTransactions("Transaction aborted due to shutdown.", this);
 
         shardMBean.unregisterMBean();
+        commitStats.unregisterMBean();
     }
 
     @Override
@@ -333,6 +351,8 @@ public class Shard extends RaftActor {
                 sender().tell(getShardMBean(), self());
             } else if (message instanceof GetShardDataTree) {
                 sender().tell(store.getDataTree(), self());
+            } else if (message instanceof GetShardReadReplica) {
+                sender().tell(readReplica, self());
             } else if (message instanceof ServerRemoved) {
                 context().parent().forward(message, context());
             } else if (ShardTransactionMessageRetrySupport.TIMER_MESSAGE_CLASS.isInstance(message)) {
@@ -763,6 +783,7 @@ public class Shard extends RaftActor {
         boolean hasLeader = hasLeader();
         changeSupport.onLeadershipChange(isLeader, hasLeader);
         treeChangeSupport.onLeadershipChange(isLeader, hasLeader);
+        updateReadReplica();
 
         // If this actor is no longer the leader close all the transaction chains
         if (!isLeader) {
@@ -780,9 +801,16 @@ public class Shard extends RaftActor {
         }
     }
 
+    private void updateReadReplica() {
+        // A follower which loses contact with the leader becomes a candidate after an election timeout, which bounds
+        // the staleness of the replica even if the leader's commit index stops being updated.
+        readReplica.setActive(getRaftState() == RaftState.Follower && hasLeader());
+    }
+
     @Override
     protected void onLeaderChanged(final String oldLeader, final String newLeader) {
         shardMBean.incrementLeadershipChangeCount();
+        updateReadReplica();
 
         final boolean hasLeader = hasLeader();
         if (!hasLeader) {
@@ -872,6 +900,10 @@ public class Shard extends RaftActor {
         return shardMBean;
     }
 
+    ShardCommitStats getCommitStats() {
+        return commitStats;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -36,7 +36,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
-import java.util.function.UnaryOperator;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -44,6 +44,7 @@ import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifie
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.DataTreeCohortActorRegistry.CohortRegistryCommand;
 import org.opendaylight.controller.cluster.datastore.ShardDataTreeCohort.State;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardCommitStats;
 import org.opendaylight.controller.cluster.datastore.persisted.AbortTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.AbstractIdentifiablePayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CloseLocalHistoryPayload;
@@ -95,10 +96,13 @@ import scala.concurrent.duration.Duration;
 public class ShardDataTree extends ShardDataTreeTransactionParent {
     private static final class CommitEntry {
         final SimpleShardDataTreeCohort cohort;
+        final long readyTime;
         long lastAccess;
+        long persistTime;
 
         CommitEntry(final SimpleShardDataTreeCohort cohort, final long now) {
             this.cohort = Preconditions.checkNotNull(cohort);
+            readyTime = now;
             lastAccess = now;
         }
     }
@@ -174,6 +178,12 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         return shard.ticker();
     }
 
+    private long recordPhase(final ShardCommitStats.Phase phase, final long start) {
+        final long now = ticker().read();
+        shard.getCommitStats().record(phase, now - start);
+        return now;
+    }
+
     public TipProducingDataTree getDataTree() {
         return dataTree;
     }
@@ -204,7 +214,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             }
         }
 
-        return new MetadataShardDataTreeSnapshot(rootNode, metaBuilder.build());
+        return new MetadataShardDataTreeSnapshot(rootNode, metaBuilder.build(),
+            shard.getDatastoreContext().isSectionedSnapshotsEnabled());
     }
 
     private boolean anyPendingTransactions() {
@@ -212,7 +223,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     }
 
     private void applySnapshot(@Nonnull final ShardDataTreeSnapshot snapshot,
-            final UnaryOperator<DataTreeModification> wrapper) throws DataValidationFailedException {
+            final Function<ShardDataTreeSnapshot, java.util.Optional<NormalizedNode<?, ?>>> rootNode)
+                    throws DataValidationFailedException {
         final Stopwatch elapsed = Stopwatch.createStarted();
 
         if (anyPendingTransactions()) {
@@ -235,20 +247,19 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             }
         }
 
-        final DataTreeModification mod = wrapper.apply(dataTree.takeSnapshot().newModification());
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
         // delete everything first
         mod.delete(YangInstanceIdentifier.EMPTY);
 
-        final java.util.Optional<NormalizedNode<?, ?>> maybeNode = snapshot.getRootNode();
+        final java.util.Optional<NormalizedNode<?, ?>> maybeNode = rootNode.apply(snapshot);
         if (maybeNode.isPresent()) {
             // Add everything from the remote node back
             mod.write(YangInstanceIdentifier.EMPTY, maybeNode.get());
         }
         mod.ready();
 
-        final DataTreeModification unwrapped = unwrap(mod);
-        dataTree.validate(unwrapped);
-        DataTreeCandidateTip candidate = dataTree.prepare(unwrapped);
+        dataTree.validate(mod);
+        DataTreeCandidateTip candidate = dataTree.prepare(mod);
         dataTree.commit(candidate);
         notifyListeners(candidate);
 
@@ -263,29 +274,23 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
      * @throws DataValidationFailedException when the snapshot fails to apply
      */
     void applySnapshot(@Nonnull final ShardDataTreeSnapshot snapshot) throws DataValidationFailedException {
-        applySnapshot(snapshot, UnaryOperator.identity());
+        applySnapshot(snapshot, ShardDataTreeSnapshot::getRootNode);
     }
 
     private PruningDataTreeModification wrapWithPruning(final DataTreeModification delegate) {
         return new PruningDataTreeModification(delegate, dataTree, schemaContext);
     }
 
-    private static DataTreeModification unwrap(final DataTreeModification modification) {
-        if (modification instanceof PruningDataTreeModification) {
-            return ((PruningDataTreeModification)modification).delegate();
-        }
-        return modification;
-    }
-
     /**
      * Apply a snapshot coming from recovery. This method does not assume the SchemaContexts match and performs data
-     * pruning in an attempt to adjust the state to our current SchemaContext.
+     * pruning in an attempt to adjust the state to our current SchemaContext. The root node is pruned as it is
+     * obtained from the snapshot, hence it is written without a PruningDataTreeModification.
      *
      * @param snapshot Snapshot that needs to be applied
      * @throws DataValidationFailedException when the snapshot fails to apply
      */
     void applyRecoverySnapshot(final @Nonnull ShardDataTreeSnapshot snapshot) throws DataValidationFailedException {
-        applySnapshot(snapshot, this::wrapWithPruning);
+        applySnapshot(snapshot, s -> s.getRootNode(schemaContext));
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -452,7 +457,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             return;
         }
 
-        finishCommit(current.cohort);
+        finishCommit(current);
     }
 
     private void allMetadataAbortedTransaction(final TransactionIdentifier txId) {
@@ -709,10 +714,11 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             try {
                 cohort.throwCanCommitFailure();
 
+                final long start = recordPhase(ShardCommitStats.Phase.QUEUE, entry.readyTime);
                 tip.validate(modification);
                 LOG.debug("{}: Transaction {} validated", logContext, cohort.getIdentifier());
+                entry.lastAccess = recordPhase(ShardCommitStats.Phase.CAN_COMMIT, start);
                 cohort.successfulCanCommit();
-                entry.lastAccess = ticker().read();
                 return;
             } catch (ConflictingModificationAppliedException e) {
                 LOG.warn("{}: Store Tx {}: Conflicting modification for path {}.", logContext, cohort.getIdentifier(),
@@ -800,6 +806,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
         LOG.debug("{}: Preparing transaction {}", logContext, current.getIdentifier());
 
+        // PRE_COMMIT covers both preparing the candidate and the user cohorts which are consulted on it
+        final long start = ticker().read();
         final DataTreeCandidateTip candidate;
         try {
             candidate = tip.prepare(cohort.getDataTreeModification());
@@ -812,7 +820,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         // Set the tip of the data tree.
         tip = Verify.verifyNotNull(candidate);
 
-        entry.lastAccess = ticker().read();
+        entry.lastAccess = recordPhase(ShardCommitStats.Phase.PRE_COMMIT, start);
 
         pendingTransactions.remove();
         pendingCommits.add(entry);
@@ -831,9 +839,11 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
-    private void finishCommit(final SimpleShardDataTreeCohort cohort) {
+    private void finishCommit(final CommitEntry entry) {
+        final SimpleShardDataTreeCohort cohort = entry.cohort;
         final TransactionIdentifier txId = cohort.getIdentifier();
         final DataTreeCandidate candidate = cohort.getCandidate();
+        final long start = recordPhase(ShardCommitStats.Phase.REPLICATION, entry.persistTime);
 
         LOG.debug("{}: Resuming commit of transaction {}", logContext, txId);
 
@@ -850,14 +860,17 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             return;
         }
 
+        final long committed = recordPhase(ShardCommitStats.Phase.COMMIT, start);
         shard.getShardMBean().incrementCommittedTransactionCount();
         shard.getShardMBean().setLastCommittedTransactionTime(System.currentTimeMillis());
 
         // FIXME: propagate journal index
         pendingFinishCommits.poll().cohort.successfulCommit(UnsignedLong.ZERO);
+        shard.getCommitStats().record(ShardCommitStats.Phase.TOTAL, committed - entry.readyTime);
 
         LOG.trace("{}: Transaction {} committed, proceeding to notify", logContext, txId);
         notifyListeners(candidate);
+        recordPhase(ShardCommitStats.Phase.NOTIFICATION, committed);
 
         processNextPending();
     }
@@ -904,6 +917,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         boolean replicationBatchHint = peekNextPendingCommit();
 
         // Once completed, we will continue via payloadReplicationComplete
+        entry.persistTime = shard.ticker().read();
         shard.persistPayload(txId, payload, replicationBatchHint);
 
         entry.lastAccess = shard.ticker().read();
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+
+/**
+ * Factory for the {@link TipProducingDataTree} backing a shard. Implementations can store the tree outside of the Java
+ * heap, but have to retain the read, modify, validate and commit semantics of the default in-memory implementation.
+ * An implementation is selected through {@link DatastoreContext#getShardDataTreeFactory()}, which instantiates it
+ * via its public no-argument constructor.
+ */
+@Beta
+public interface ShardDataTreeFactory {
+    /**
+     * Create a new, empty data tree.
+     *
+     * @param treeType Type of the tree
+     * @param rootPath Path at which the tree is rooted
+     * @return A new data tree
+     */
+    @Nonnull
+    TipProducingDataTree create(@Nonnull TreeType treeType, @Nonnull YangInstanceIdentifier rootPath);
+}
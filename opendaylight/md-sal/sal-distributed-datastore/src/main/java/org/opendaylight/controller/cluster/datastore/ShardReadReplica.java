@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+
+/**
+ * Handle to the {@link DataTree} of a local {@link Shard} replica, which allows frontends co-located with a follower
+ * to take read-only snapshots without going through the shard leader. Snapshots are handed out only while the shard
+ * is a follower with a known leader and the number of entries committed by the leader, but not yet applied locally,
+ * does not exceed the bound requested by the caller.
+ *
+ * <p>
+ * This object is shared with frontend threads, hence it can only ever be passed around in the local JVM.
+ */
+@Beta
+@ThreadSafe
+public final class ShardReadReplica {
+    private final LongSupplier lagSupplier;
+    private final DataTree dataTree;
+    private final String shardName;
+
+    private volatile boolean active;
+
+    ShardReadReplica(final String shardName, final DataTree dataTree, final LongSupplier lagSupplier) {
+        this.shardName = Preconditions.checkNotNull(shardName);
+        this.dataTree = Preconditions.checkNotNull(dataTree);
+        this.lagSupplier = Preconditions.checkNotNull(lagSupplier);
+    }
+
+    void setActive(final boolean active) {
+        this.active = active;
+    }
+
+    /**
+     * Take a snapshot of the replica, if it is not lagging behind the leader by more than specified number of entries.
+     *
+     * @param maxLag Maximum number of entries committed by the leader, which are not reflected in the snapshot
+     * @return A {@link DataTreeSnapshot}, or empty if the replica is not usable or is lagging too much
+     */
+    public Optional<DataTreeSnapshot> takeSnapshot(final long maxLag) {
+        Preconditions.checkArgument(maxLag >= 0, "Invalid maximum lag %s", maxLag);
+        return active && lagSupplier.getAsLong() <= maxLag ? Optional.of(dataTree.takeSnapshot()) : Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("shard", shardName).add("active", active).toString();
+    }
+}
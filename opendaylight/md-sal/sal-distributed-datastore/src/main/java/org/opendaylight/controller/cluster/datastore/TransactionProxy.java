@@ -64,6 +64,7 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
     private final AbstractTransactionContextFactory<?> txContextFactory;
     private final TransactionType type;
     private TransactionState state = TransactionState.OPEN;
+    private TransactionReadCache readCache;
 
     @VisibleForTesting
     public TransactionProxy(final AbstractTransactionContextFactory<?> txContextFactory, final TransactionType type) {
@@ -77,7 +78,18 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
     @Override
     public CheckedFuture<Boolean, ReadFailedException> exists(final YangInstanceIdentifier path) {
-        return executeRead(shardNameFromIdentifier(path), new DataExists(path, DataStoreVersions.CURRENT_VERSION));
+        if (readCache != null) {
+            final CheckedFuture<Boolean, ReadFailedException> cached = readCache.lookupExists(path);
+            if (cached != null) {
+                LOG.debug("Tx {} exists {} served from cache", getIdentifier(), path);
+                return cached;
+            }
+        }
+
+        final CheckedFuture<Boolean, ReadFailedException> ret = executeRead(shardNameFromIdentifier(path),
+            new DataExists(path, DataStoreVersions.CURRENT_VERSION));
+        ensureReadCache().recordExists(path, ret);
+        return ret;
     }
 
     private <T> CheckedFuture<T, ReadFailedException> executeRead(String shardName, final AbstractRead<T> readCmd) {
@@ -105,11 +117,31 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} read {}", getIdentifier(), path);
 
+        if (readCache != null) {
+            final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> cached =
+                    readCache.lookupRead(path);
+            if (cached != null) {
+                LOG.debug("Tx {} read {} served from cache", getIdentifier(), path);
+                return cached;
+            }
+        }
+
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> ret;
         if (YangInstanceIdentifier.EMPTY.equals(path)) {
-            return readAllData();
+            ret = readAllData();
         } else {
-            return singleShardRead(shardNameFromIdentifier(path), path);
+            ret = singleShardRead(shardNameFromIdentifier(path), path);
         }
+
+        ensureReadCache().recordRead(path, ret);
+        return ret;
+    }
+
+    private TransactionReadCache ensureReadCache() {
+        if (readCache == null) {
+            readCache = new TransactionReadCache();
+        }
+        return readCache;
     }
 
     private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> singleShardRead(
@@ -164,6 +196,10 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         LOG.debug("Tx {} executeModification {} {}", getIdentifier(), modification.getClass().getSimpleName(),
                 modification.getPath());
 
+        if (readCache != null) {
+            readCache.invalidate(modification.getPath());
+        }
+
         TransactionContextWrapper contextWrapper = getContextWrapper(modification.getPath());
         contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
             @Override
@@ -209,6 +245,9 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
 
         txContextWrappers.clear();
+        if (readCache != null) {
+            readCache.clear();
+        }
     }
 
     @Override
@@ -218,6 +257,11 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         final boolean success = seal(TransactionState.READY);
         Preconditions.checkState(success, "Transaction %s is %s, it cannot be readied", getIdentifier(), state);
 
+        // No further reads can be issued, do not hold on to cached data until the transaction is committed
+        if (readCache != null) {
+            readCache.clear();
+        }
+
         LOG.debug("Tx {} Readying {} components for commit", getIdentifier(), txContextWrappers.size());
 
         final AbstractThreePhaseCommitCohort<?> ret;
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.yangtools.util.concurrent.MappingCheckedFuture;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+
+/**
+ * Per-transaction cache of read() and exists() results, used by {@link TransactionProxy} to avoid sending repeated
+ * requests to the backend. Reads of a path are answered from an earlier read of the same path or any of its ancestors,
+ * exists checks are additionally answered from an earlier exists check of the same path. Results are cached as soon
+ * as the request is issued, so concurrent requests for the same path share the backend response. Failed results are
+ * evicted when they are encountered.
+ *
+ * <p>
+ * Modifications of a path invalidate all cached results for that path, its ancestors and its descendants. Responses
+ * to requests issued before the modification remain valid for their callers, as the backend processes requests of
+ * a transaction in order.
+ */
+@NotThreadSafe
+final class TransactionReadCache {
+    private final Map<YangInstanceIdentifier, CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>>
+        reads = new HashMap<>();
+    private final Map<YangInstanceIdentifier, CheckedFuture<Boolean, ReadFailedException>> exists = new HashMap<>();
+
+    @Nullable CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> lookupRead(
+            final YangInstanceIdentifier path) {
+        if (reads.isEmpty()) {
+            return null;
+        }
+
+        // Walk towards the root, so that we find the most specific cached subtree
+        YangInstanceIdentifier current = path;
+        while (current != null) {
+            final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> cached = reads.get(current);
+            if (cached != null) {
+                if (isFailed(cached)) {
+                    reads.remove(current);
+                } else if (current.equals(path)) {
+                    return cached;
+                } else {
+                    return childRead(cached, path.relativeTo(current).get());
+                }
+            }
+
+            current = current.getParent();
+        }
+
+        return null;
+    }
+
+    @Nullable CheckedFuture<Boolean, ReadFailedException> lookupExists(final YangInstanceIdentifier path) {
+        final CheckedFuture<Boolean, ReadFailedException> cached = exists.get(path);
+        if (cached != null) {
+            if (!isFailed(cached)) {
+                return cached;
+            }
+
+            exists.remove(path);
+        }
+
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read = lookupRead(path);
+        if (read == null) {
+            return null;
+        }
+
+        return MappingCheckedFuture.create(Futures.transform(read,
+            (Function<Optional<NormalizedNode<?, ?>>, Boolean>) Optional::isPresent), ReadFailedException.MAPPER);
+    }
+
+    void recordRead(final YangInstanceIdentifier path,
+            final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> future) {
+        reads.put(path, future);
+    }
+
+    void recordExists(final YangInstanceIdentifier path, final CheckedFuture<Boolean, ReadFailedException> future) {
+        exists.put(path, future);
+    }
+
+    void invalidate(final YangInstanceIdentifier path) {
+        if (!reads.isEmpty()) {
+            reads.keySet().removeIf(cached -> overlaps(cached, path));
+        }
+        if (!exists.isEmpty()) {
+            exists.keySet().removeIf(cached -> overlaps(cached, path));
+        }
+    }
+
+    void clear() {
+        reads.clear();
+        exists.clear();
+    }
+
+    private static boolean overlaps(final YangInstanceIdentifier first, final YangInstanceIdentifier second) {
+        return first.contains(second) || second.contains(first);
+    }
+
+    private static boolean isFailed(final Future<?> future) {
+        if (!future.isDone()) {
+            return false;
+        }
+
+        try {
+            future.get();
+            return false;
+        } catch (InterruptedException | ExecutionException e) {
+            return true;
+        }
+    }
+
+    private static CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> childRead(
+            final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> ancestor,
+            final YangInstanceIdentifier relativePath) {
+        final ListenableFuture<Optional<NormalizedNode<?, ?>>> child = Futures.transform(ancestor,
+            (Function<Optional<NormalizedNode<?, ?>>, Optional<NormalizedNode<?, ?>>>) input ->
+                input.isPresent() ? NormalizedNodes.findNode(input.get(), relativePath.getPathArguments())
+                        : Optional.absent());
+        return MappingCheckedFuture.create(child, ReadFailedException.MAPPER);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A bean class containing a snapshot of the latency distribution of a single commit phase, as reported by
+ * {@link ShardCommitStatsMXBean}. All times are in microseconds.
+ */
+public class CommitPhaseLatency {
+    private final String phase;
+    private final long count;
+    private final double mean;
+    private final double median;
+    private final double percentile95;
+    private final double percentile99;
+    private final long max;
+
+    @ConstructorProperties({"phase", "count", "mean", "median", "percentile95", "percentile99", "max"})
+    public CommitPhaseLatency(final String phase, final long count, final double mean, final double median,
+            final double percentile95, final double percentile99, final long max) {
+        this.phase = phase;
+        this.count = count;
+        this.mean = mean;
+        this.median = median;
+        this.percentile95 = percentile95;
+        this.percentile99 = percentile99;
+        this.max = max;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public double getPercentile95() {
+        return percentile95;
+    }
+
+    public double getPercentile99() {
+        return percentile99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+}
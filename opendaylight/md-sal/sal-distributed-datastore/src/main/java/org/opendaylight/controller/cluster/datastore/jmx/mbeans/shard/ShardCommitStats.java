@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
+
+/**
+ * Maintains latency histograms for the phases a transaction goes through while being committed by a shard. The
+ * histograms are backed by {@link Timer}s registered with the datastore {@link MetricRegistry}, hence they are also
+ * published through any reporters attached to it.
+ *
+ * <p>
+ * Recording is performed by the shard actor and amounts to a single {@link Timer#update(long, TimeUnit)} call.
+ */
+public class ShardCommitStats extends AbstractMXBean implements ShardCommitStatsMXBean {
+    public static final String JMX_CATEGORY_SHARD_COMMIT = "ShardCommitStats";
+
+    private static final String METRIC_PREFIX = "distributed-data-store";
+
+    /**
+     * Commit phases tracked by {@link ShardCommitStats}.
+     */
+    public enum Phase {
+        /**
+         * Time between a transaction being readied and its validation being started.
+         */
+        QUEUE("queue"),
+        /**
+         * Time taken to validate a transaction against the current data tree tip. User cohorts are not consulted
+         * in this phase.
+         */
+        CAN_COMMIT("can-commit"),
+        /**
+         * Time taken to prepare a transaction's candidate on the data tree tip and to run the canCommit and preCommit
+         * steps of registered user cohorts on that candidate.
+         */
+        PRE_COMMIT("pre-commit"),
+        /**
+         * Time taken to persist a replicated log entry into the local journal.
+         */
+        JOURNAL_PERSIST("journal-persist"),
+        /**
+         * Time between a transaction's payload being submitted for persistence and consensus being reached on it.
+         */
+        REPLICATION("replication"),
+        /**
+         * Time taken to apply a transaction's candidate to the data tree.
+         */
+        COMMIT("commit"),
+        /**
+         * Time taken to dispatch change notifications for a committed transaction.
+         */
+        NOTIFICATION("notification"),
+        /**
+         * Time between a transaction being readied and being committed.
+         */
+        TOTAL("total");
+
+        private final String metricName;
+
+        Phase(final String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final Timer[] timers = new Timer[PHASES.length];
+    private final MetricRegistry registry;
+    private final String metricPrefix;
+    private final String shardName;
+
+    public ShardCommitStats(final String shardName, final String mxBeanType, final MetricRegistry registry) {
+        super(shardName, mxBeanType, JMX_CATEGORY_SHARD_COMMIT);
+        this.shardName = Preconditions.checkNotNull(shardName);
+        this.registry = Preconditions.checkNotNull(registry);
+        this.metricPrefix = MetricRegistry.name(METRIC_PREFIX, mxBeanType, shardName, "commit");
+
+        for (Phase phase : PHASES) {
+            timers[phase.ordinal()] = registry.timer(metricName(phase));
+        }
+    }
+
+    private String metricName(final Phase phase) {
+        return MetricRegistry.name(metricPrefix, phase.metricName);
+    }
+
+    /**
+     * Record the duration of a commit phase.
+     *
+     * @param phase Commit phase
+     * @param nanos Duration, in nanoseconds
+     */
+    public void record(final Phase phase, final long nanos) {
+        timers[phase.ordinal()].update(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the duration of a {@link Phase#JOURNAL_PERSIST} phase.
+     *
+     * @param nanos Duration, in nanoseconds
+     */
+    public void recordJournalPersist(final long nanos) {
+        record(Phase.JOURNAL_PERSIST, nanos);
+    }
+
+    @Override
+    public String getShardName() {
+        return shardName;
+    }
+
+    @Override
+    public List<CommitPhaseLatency> getCommitPhaseLatencies() {
+        final List<CommitPhaseLatency> ret = new ArrayList<>(PHASES.length);
+        for (Phase phase : PHASES) {
+            final Timer timer = timers[phase.ordinal()];
+            final Snapshot snapshot = timer.getSnapshot();
+            ret.add(new CommitPhaseLatency(phase.metricName, timer.getCount(), toMicros(snapshot.getMean()),
+                toMicros(snapshot.getMedian()), toMicros(snapshot.get95thPercentile()),
+                toMicros(snapshot.get99thPercentile()), TimeUnit.NANOSECONDS.toMicros(snapshot.getMax())));
+        }
+        return ret;
+    }
+
+    private static double toMicros(final double nanos) {
+        return nanos / 1000;
+    }
+
+    @Override
+    public boolean unregisterMBean() {
+        for (Phase phase : PHASES) {
+            registry.remove(metricName(phase));
+        }
+        return super.unregisterMBean();
+    }
+}
@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+import java.util.List;
+
+/**
+ * MXBean interface exposing the latency of individual phases of the shard commit path.
+ */
+public interface ShardCommitStatsMXBean {
+
+    String getShardName();
+
+    List<CommitPhaseLatency> getCommitPhaseLatencies();
+}
@@ -8,7 +8,9 @@
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
 
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
 import org.opendaylight.controller.cluster.datastore.Shard;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 
 /**
  * Factory for creating ShardStats mbeans.
@@ -24,4 +26,12 @@ public class ShardMBeanFactory {
         shardStatsMBeanImpl.registerMBean();
         return shardStatsMBeanImpl;
     }
+
+    public static ShardCommitStats getShardCommitStatsMBean(final String shardName, final String mxBeanType) {
+        String finalMXBeanType = mxBeanType != null ? mxBeanType : "DistDataStore";
+        ShardCommitStats commitStatsMBeanImpl = new ShardCommitStats(shardName, finalMXBeanType,
+            MetricsReporter.getInstance(DatastoreContext.METRICS_DOMAIN).getMetricsRegistry());
+        commitStatsMBeanImpl.registerMBean();
+        return commitStatsMBeanImpl;
+    }
 }
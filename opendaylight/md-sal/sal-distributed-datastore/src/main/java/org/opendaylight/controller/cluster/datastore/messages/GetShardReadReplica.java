@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+/**
+ * Local message sent to a Shard to retrieve its
+ * {@link org.opendaylight.controller.cluster.datastore.ShardReadReplica}.
+ */
+public final class GetShardReadReplica {
+    public static final GetShardReadReplica INSTANCE = new GetShardReadReplica();
+
+    private GetShardReadReplica() {
+    }
+}
@@ -9,9 +9,9 @@ package org.opendaylight.controller.cluster.datastore.persisted;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
 import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -20,6 +20,8 @@ import java.io.Serializable;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Map.Entry;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.io.ChunkedByteArray;
+import org.opendaylight.controller.cluster.io.ChunkedOutputStream;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
@@ -33,7 +35,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 public final class CommitTransactionPayload extends Payload implements Serializable {
     private static final class Proxy implements Externalizable {
         private static final long serialVersionUID = 1L;
-        private byte[] serialized;
+        private ChunkedByteArray serialized;
 
         // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
         // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
@@ -42,21 +44,20 @@ public final class CommitTransactionPayload extends Payload implements Serializa
             // For Externalizable
         }
 
-        Proxy(final byte[] serialized) {
+        Proxy(final ChunkedByteArray serialized) {
             this.serialized = Preconditions.checkNotNull(serialized);
         }
 
         @Override
         public void writeExternal(final ObjectOutput out) throws IOException {
-            out.writeInt(serialized.length);
-            out.write(serialized);
+            out.writeInt(serialized.size());
+            serialized.copyTo(out);
         }
 
         @Override
         public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
             final int length = in.readInt();
-            serialized = new byte[length];
-            in.readFully(serialized);
+            serialized = ChunkedByteArray.readFrom(in, length, MAX_CHUNK_SIZE);
         }
 
         private Object readResolve() {
@@ -66,29 +67,45 @@ public final class CommitTransactionPayload extends Payload implements Serializa
 
     private static final long serialVersionUID = 1L;
 
-    private final byte[] serialized;
+    // Most transactions are small, hence the first chunk is kept small. Chunks double in size up to a limit which
+    // keeps them clear of the large object allocation path.
+    private static final int INITIAL_CHUNK_SIZE = 512;
+    private static final int MAX_CHUNK_SIZE = 256 * 1024;
 
-    CommitTransactionPayload(final byte[] serialized) {
+    private final ChunkedByteArray serialized;
+
+    CommitTransactionPayload(final ChunkedByteArray serialized) {
         this.serialized = Preconditions.checkNotNull(serialized);
     }
 
+    /**
+     * Create a payload for a committed transaction. The candidate is compacted before it is serialized, hence
+     * {@link #getCandidate()} returns a candidate with the same effect, but not necessarily the same structure.
+     *
+     * @param transactionId Transaction identifier
+     * @param candidate Candidate produced by the transaction
+     * @return A CommitTransactionPayload
+     * @throws IOException if the candidate cannot be serialized
+     */
     public static CommitTransactionPayload create(final TransactionIdentifier transactionId,
             final DataTreeCandidate candidate) throws IOException {
-        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        transactionId.writeTo(out);
-        DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
-        return new CommitTransactionPayload(out.toByteArray());
+        final ChunkedOutputStream cos = new ChunkedOutputStream(INITIAL_CHUNK_SIZE, MAX_CHUNK_SIZE);
+        try (DataOutputStream out = new DataOutputStream(cos)) {
+            transactionId.writeTo(out);
+            DataTreeCandidateInputOutput.writeDataTreeCandidate(out, DataTreeCandidateCompaction.compact(candidate));
+        }
+        return new CommitTransactionPayload(cos.toChunkedByteArray());
     }
 
     public Entry<TransactionIdentifier, DataTreeCandidate> getCandidate() throws IOException {
-        final DataInput in = ByteStreams.newDataInput(serialized);
+        final DataInput in = new DataInputStream(serialized.openStream());
         return new SimpleImmutableEntry<>(TransactionIdentifier.readFrom(in),
                 DataTreeCandidateInputOutput.readDataTreeCandidate(in));
     }
 
     @Override
     public int size() {
-        return serialized.length;
+        return serialized.size();
     }
 
     private Object writeReplace() {
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.persisted;
+
+import com.google.common.base.Optional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Utility for reducing a {@link DataTreeCandidate} to the minimal set of changes which need to be replicated. It
+ * removes unmodified nodes, collapses modified nodes which do not have any remaining changes and turns writes which
+ * replace an existing subtree into per-child deltas, as long as that does not result in the entire subtree being
+ * written anyway.
+ *
+ * <p>
+ * The resulting candidate is only suitable for serialization via {@link DataTreeCandidateInputOutput}, as it does not
+ * provide before-images and it may report writes as subtree modifications. Applying it to a tree which is in the
+ * before-state of the original candidate results in the same after-state.
+ */
+final class DataTreeCandidateCompaction {
+    private DataTreeCandidateCompaction() {
+        throw new UnsupportedOperationException();
+    }
+
+    static DataTreeCandidate compact(final DataTreeCandidate candidate) {
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        final DataTreeCandidateNode compacted;
+        switch (root.getModificationType()) {
+            case APPEARED:
+            case DISAPPEARED:
+            case SUBTREE_MODIFIED:
+                final Collection<DataTreeCandidateNode> children = compactChildren(root.getChildNodes());
+                compacted = children.isEmpty() ? AbstractDataTreeCandidateNode.createUnmodified()
+                        : ModifiedDataTreeCandidateNode.create(root.getModificationType(), children);
+                break;
+            case WRITE:
+                final Optional<NormalizedNode<?, ?>> before = root.getDataBefore();
+                if (!before.isPresent() || !canDelta(before.get(), root.getDataAfter().get())) {
+                    return candidate;
+                }
+
+                final Collection<DataTreeCandidateNode> delta = writeDelta(before.get(), root.getDataAfter().get());
+                if (delta == null) {
+                    return candidate;
+                }
+                compacted = delta.isEmpty() ? AbstractDataTreeCandidateNode.createUnmodified()
+                        : ModifiedDataTreeCandidateNode.create(ModificationType.SUBTREE_MODIFIED, delta);
+                break;
+            default:
+                return candidate;
+        }
+
+        return DataTreeCandidates.newDataTreeCandidate(candidate.getRootPath(), compacted);
+    }
+
+    private static Collection<DataTreeCandidateNode> compactChildren(final Collection<DataTreeCandidateNode> nodes) {
+        final List<DataTreeCandidateNode> ret = new ArrayList<>(nodes.size());
+        for (DataTreeCandidateNode node : nodes) {
+            final DataTreeCandidateNode compacted = compactNode(node);
+            if (compacted != null) {
+                ret.add(compacted);
+            }
+        }
+        return ret;
+    }
+
+    @Nullable
+    private static DataTreeCandidateNode compactNode(final DataTreeCandidateNode node) {
+        switch (node.getModificationType()) {
+            case APPEARED:
+            case DISAPPEARED:
+            case SUBTREE_MODIFIED:
+                final Collection<DataTreeCandidateNode> children = compactChildren(node.getChildNodes());
+                return children.isEmpty() ? null
+                        : ModifiedDataTreeCandidateNode.create(node.getIdentifier(), node.getModificationType(),
+                            children);
+            case UNMODIFIED:
+                return null;
+            case WRITE:
+                final Optional<NormalizedNode<?, ?>> before = node.getDataBefore();
+                return before.isPresent() ? compactWrite(node.getIdentifier(), before.get(),
+                    node.getDataAfter().get()) : node;
+            default:
+                return node;
+        }
+    }
+
+    @Nullable
+    private static DataTreeCandidateNode compactWrite(final PathArgument identifier, final NormalizedNode<?, ?> before,
+            final NormalizedNode<?, ?> after) {
+        if (before == after) {
+            // Unchanged subtrees are usually shared between the before and after trees
+            return null;
+        }
+        if (!canDelta(before, after)) {
+            // This is the only place this subtree is compared, as it is not recursed into
+            return before.equals(after) ? null : DataTreeCandidateNodes.fromNormalizedNode(after);
+        }
+
+        // Identical children are found by the per-child recursion, hence the nodes are not compared as a whole
+        final Collection<DataTreeCandidateNode> delta = writeDelta(before, after);
+        if (delta == null) {
+            return DataTreeCandidateNodes.fromNormalizedNode(after);
+        }
+        return delta.isEmpty() ? null
+                : ModifiedDataTreeCandidateNode.create(identifier, ModificationType.SUBTREE_MODIFIED, delta);
+    }
+
+    private static boolean canDelta(final NormalizedNode<?, ?> before, final NormalizedNode<?, ?> after) {
+        final Class<?> kind = deltaKind(after);
+        return kind != null && kind == deltaKind(before);
+    }
+
+    /**
+     * Compute the changes needed to turn one node into another. Both nodes need to be of the same kind, as checked by
+     * {@link #canDelta(NormalizedNode, NormalizedNode)}.
+     *
+     * @param before Node being replaced
+     * @param after Replacement node
+     * @return Changes to children, or null if the node needs to be written as a whole
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Collection<DataTreeCandidateNode> writeDelta(final NormalizedNode<?, ?> before,
+            final NormalizedNode<?, ?> after) {
+        final NormalizedNodeContainer<?, PathArgument, ?> beforeContainer =
+                (NormalizedNodeContainer<?, PathArgument, ?>) before;
+        final NormalizedNodeContainer<?, PathArgument, ?> afterContainer =
+                (NormalizedNodeContainer<?, PathArgument, ?>) after;
+        if (afterContainer.getValue().isEmpty()) {
+            // Let the data tree deal with the empty node, unless there is no change at all
+            return beforeContainer.getValue().isEmpty() ? Collections.emptyList() : null;
+        }
+
+        // Deletes go first, so that a replayed modification never sees both the old and the new children
+        final List<DataTreeCandidateNode> ret = new ArrayList<>();
+        for (NormalizedNode<?, ?> child : beforeContainer.getValue()) {
+            if (!afterContainer.getChild(child.getIdentifier()).isPresent()) {
+                ret.add(DeletedDataTreeCandidateNode.create(child.getIdentifier()));
+            }
+        }
+
+        int fullWrites = 0;
+        for (NormalizedNode<?, ?> child : afterContainer.getValue()) {
+            final Optional<? extends NormalizedNode<?, ?>> beforeChild =
+                    beforeContainer.getChild(child.getIdentifier());
+            final DataTreeCandidateNode childDelta = beforeChild.isPresent()
+                    ? compactWrite(child.getIdentifier(), beforeChild.get(), child)
+                            : DataTreeCandidateNodes.fromNormalizedNode(child);
+            if (childDelta != null) {
+                if (childDelta.getModificationType() == ModificationType.WRITE) {
+                    fullWrites++;
+                }
+                ret.add(childDelta);
+            }
+        }
+
+        // If every child is written in full, the delta is no smaller than writing the node itself
+        return fullWrites == afterContainer.getValue().size() ? null : ret;
+    }
+
+    /**
+     * Return the kind of a node, if the node can be replicated as a delta. Ordered collections cannot, as the delta
+     * does not convey ordering. Choices are not handled either, as changing the case is not a simple delta.
+     */
+    @Nullable
+    private static Class<?> deltaKind(final NormalizedNode<?, ?> node) {
+        if (node instanceof OrderedMapNode || node instanceof OrderedLeafSetNode) {
+            return null;
+        }
+        if (node instanceof ContainerNode) {
+            return ContainerNode.class;
+        }
+        if (node instanceof MapEntryNode) {
+            return MapEntryNode.class;
+        }
+        if (node instanceof MapNode) {
+            return MapNode.class;
+        }
+        if (node instanceof LeafSetNode) {
+            return LeafSetNode.class;
+        }
+        if (node instanceof AugmentationNode) {
+            return AugmentationNode.class;
+        }
+        return null;
+    }
+}
@@ -8,20 +8,49 @@
 package org.opendaylight.controller.cluster.datastore.persisted;
 
 import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.collect.Iterables;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.controller.cluster.io.ChunkedByteArray;
+import org.opendaylight.controller.cluster.io.ChunkedOutputStream;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,10 +64,10 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
         implements Serializable {
     private static final class Proxy implements Externalizable {
         private static final long serialVersionUID = 1L;
-        private static final Logger LOG = LoggerFactory.getLogger(MetadataShardDataTreeSnapshot.class);
 
         private Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata;
         private NormalizedNode<?, ?> rootNode;
+        private ChunkedByteArray serializedRoot;
 
         // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
         // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
@@ -48,7 +77,10 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
         }
 
         Proxy(final MetadataShardDataTreeSnapshot snapshot) {
-            this.rootNode = snapshot.getRootNode().get();
+            this.serializedRoot = snapshot.serializedRoot();
+            if (serializedRoot == null) {
+                this.rootNode = snapshot.getRootNode().get();
+            }
             this.metadata = snapshot.getMetadata();
         }
 
@@ -59,36 +91,172 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
                 out.writeObject(m);
             }
 
-            SerializationUtils.serializeNormalizedNode(rootNode, out);
+            if (serializedRoot != null) {
+                // Not decoded yet, pass the stream through as it was read
+                out.writeBoolean(true);
+                serializedRoot.copyTo(out);
+            } else {
+                SerializationUtils.serializeNormalizedNode(rootNode, out);
+            }
         }
 
         @Override
         public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
-            final int metaSize = in.readInt();
-            Preconditions.checkArgument(metaSize >= 0, "Invalid negative metadata map length %s", metaSize);
-
-            // Default pre-allocate is 4, which should be fine
-            final Builder<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>>
-                    metaBuilder = ImmutableMap.builder();
-            for (int i = 0; i < metaSize; ++i) {
-                final ShardDataTreeSnapshotMetadata<?> m = (ShardDataTreeSnapshotMetadata<?>) in.readObject();
-                if (m != null) {
-                    metaBuilder.put(m.getType(), m);
-                } else {
-                    LOG.warn("Skipping null metadata");
-                }
+            metadata = readMetadata(in);
+            Verify.verify(in.readBoolean(), "Snapshot does not contain a root node");
+
+            // The root node stream is the last item, hence it extends to the end of our data. We retain it in its
+            // serialized form, so that the root node can be decoded directly against a SchemaContext when needed.
+            final ChunkedOutputStream cos = new ChunkedOutputStream(INITIAL_CHUNK_SIZE, MAX_CHUNK_SIZE);
+            final byte[] buf = new byte[INITIAL_CHUNK_SIZE];
+            for (int read = in.read(buf); read != -1; read = in.read(buf)) {
+                cos.write(buf, 0, read);
+            }
+            cos.close();
+            serializedRoot = cos.toChunkedByteArray();
+        }
+
+        private Object readResolve() {
+            return new MetadataShardDataTreeSnapshot(serializedRoot, metadata);
+        }
+    }
+
+    /**
+     * Serialized form used when sections are allowed and the root node is a large container with multiple children.
+     * The children are split into sections, each of which is an independent NormalizedNode stream, so that sections
+     * can be encoded and decoded concurrently. Sections are buffered in memory before being written, hence this form
+     * trades some transient memory for wall-clock time. Releases which do not know this form cannot read it.
+     */
+    private static final class SectionedProxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata;
+        private ContainerNode rootNode;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public SectionedProxy() {
+            // For Externalizable
+        }
+
+        SectionedProxy(final MetadataShardDataTreeSnapshot snapshot) {
+            this.rootNode = (ContainerNode) snapshot.getRootNode().get();
+            this.metadata = snapshot.getMetadata();
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeInt(metadata.size());
+            for (ShardDataTreeSnapshotMetadata<?> m : metadata.values()) {
+                out.writeObject(m);
             }
 
-            metadata = metaBuilder.build();
-            rootNode = Verify.verifyNotNull(SerializationUtils.deserializeNormalizedNode(in));
+            NormalizedNodeInputOutput.newDataOutput(out).writeYangInstanceIdentifier(
+                YangInstanceIdentifier.create(rootNode.getIdentifier()));
+
+            final Collection<DataContainerChild<? extends PathArgument, ?>> children = rootNode.getValue();
+            final int sectionSize = (children.size() + MAX_SECTIONS - 1) / MAX_SECTIONS;
+            final List<Callable<ChunkedByteArray>> tasks = new ArrayList<>();
+            for (List<DataContainerChild<? extends PathArgument, ?>> section
+                    : Iterables.partition(children, sectionSize)) {
+                tasks.add(() -> writeSection(section));
+            }
+
+            final List<ChunkedByteArray> sections = invokeAll(tasks);
+            LOG.debug("Serialized {} children into {} sections", children.size(), sections.size());
+
+            out.writeInt(sections.size());
+            for (ChunkedByteArray section : sections) {
+                out.writeInt(section.size());
+                section.copyTo(out);
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            metadata = readMetadata(in);
+
+            final PathArgument rootId = NormalizedNodeInputOutput.newDataInput(in).readYangInstanceIdentifier()
+                    .getLastPathArgument();
+            Verify.verify(rootId instanceof NodeIdentifier, "Unexpected root identifier %s", rootId);
+
+            final int sectionCount = in.readInt();
+            Preconditions.checkArgument(sectionCount >= 0, "Invalid negative section count %s", sectionCount);
+            final List<Callable<List<DataContainerChild<? extends PathArgument, ?>>>> tasks =
+                    new ArrayList<>(sectionCount);
+            for (int i = 0; i < sectionCount; ++i) {
+                final ChunkedByteArray section = ChunkedByteArray.readFrom(in, in.readInt(), MAX_CHUNK_SIZE);
+                tasks.add(() -> readSection(section));
+            }
+
+            final ImmutableList.Builder<DataContainerChild<? extends PathArgument, ?>> children =
+                    ImmutableList.builder();
+            for (List<DataContainerChild<? extends PathArgument, ?>> section : invokeAll(tasks)) {
+                children.addAll(section);
+            }
+
+            rootNode = Builders.containerBuilder().withNodeIdentifier((NodeIdentifier) rootId)
+                    .withValue(children.build()).build();
         }
 
         private Object readResolve() {
             return new MetadataShardDataTreeSnapshot(rootNode, metadata);
         }
+
+        private static ChunkedByteArray writeSection(final List<DataContainerChild<? extends PathArgument, ?>> nodes)
+                throws IOException {
+            final ChunkedOutputStream cos = new ChunkedOutputStream(INITIAL_CHUNK_SIZE, MAX_CHUNK_SIZE);
+            try (DataOutputStream dos = new DataOutputStream(cos)) {
+                dos.writeInt(nodes.size());
+                try (NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(dos)) {
+                    for (NormalizedNode<?, ?> node : nodes) {
+                        nnout.writeNormalizedNode(node);
+                    }
+                }
+            }
+            return cos.toChunkedByteArray();
+        }
+
+        private static List<DataContainerChild<? extends PathArgument, ?>> readSection(final ChunkedByteArray section)
+                throws IOException {
+            final DataInputStream dis = new DataInputStream(section.openStream());
+            final int size = dis.readInt();
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(dis);
+            final List<DataContainerChild<? extends PathArgument, ?>> nodes = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                nodes.add((DataContainerChild<? extends PathArgument, ?>) Verify.verifyNotNull(
+                    nnin.readNormalizedNode()));
+            }
+            return nodes;
+        }
+
+        private static <T> List<T> invokeAll(final List<Callable<T>> tasks) throws IOException {
+            final List<T> ret = new ArrayList<>(tasks.size());
+            try {
+                for (Future<T> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                    ret.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while processing snapshot sections", e);
+            } catch (ExecutionException e) {
+                Throwables.propagateIfPossible(e.getCause(), IOException.class);
+                throw new IOException("Failed to process snapshot section", e.getCause());
+            }
+            return ret;
+        }
     }
 
     private static final long serialVersionUID = 1L;
+    private static final Logger LOG = LoggerFactory.getLogger(MetadataShardDataTreeSnapshot.class);
+
+    // Smaller trees are serialized as a single stream, as dispatching and buffering sections does not pay off for them
+    @VisibleForTesting
+    static final int MIN_SECTIONED_NODES = 16 * 1024;
+    private static final int MAX_SECTIONS = 4 * Runtime.getRuntime().availableProcessors();
+    private static final int INITIAL_CHUNK_SIZE = 4096;
+    private static final int MAX_CHUNK_SIZE = 256 * 1024;
 
     @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
             + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
@@ -96,7 +264,15 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
     private final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata;
 
     @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "See above justification.")
-    private final NormalizedNode<?, ?> rootNode;
+    @GuardedBy("this")
+    private NormalizedNode<?, ?> rootNode;
+
+    // Serialized form of rootNode, retained until rootNode is needed
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "See above justification.")
+    @GuardedBy("this")
+    private ChunkedByteArray serializedRoot;
+
+    private final boolean allowSections;
 
     public MetadataShardDataTreeSnapshot(final NormalizedNode<?, ?> rootNode) {
         this(rootNode, ImmutableMap.of());
@@ -104,8 +280,30 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
 
     public MetadataShardDataTreeSnapshot(final NormalizedNode<?, ?> rootNode,
             final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata) {
+        this(rootNode, metadata, false);
+    }
+
+    /**
+     * Create a new snapshot.
+     *
+     * @param rootNode Root node of the data tree
+     * @param metadata Snapshot metadata
+     * @param allowSections True if a large root container may be serialized in sections, which releases not knowing
+     *                      that form cannot read
+     */
+    public MetadataShardDataTreeSnapshot(final NormalizedNode<?, ?> rootNode,
+            final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata,
+            final boolean allowSections) {
         this.rootNode = Preconditions.checkNotNull(rootNode);
         this.metadata = ImmutableMap.copyOf(metadata);
+        this.allowSections = allowSections;
+    }
+
+    private MetadataShardDataTreeSnapshot(final ChunkedByteArray serializedRoot,
+            final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata) {
+        this.serializedRoot = Preconditions.checkNotNull(serializedRoot);
+        this.metadata = ImmutableMap.copyOf(metadata);
+        this.allowSections = false;
     }
 
     public Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> getMetadata() {
@@ -113,19 +311,101 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
     }
 
     @Override
-    NormalizedNode<?, ?> rootNode() {
+    synchronized NormalizedNode<?, ?> rootNode() {
+        if (rootNode == null) {
+            rootNode = readRoot(NormalizedNodeInputOutput::newDataInput);
+            serializedRoot = null;
+        }
         return rootNode;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If this snapshot has been deserialized and its root node has not been accessed yet, the root node is pruned while
+     * it is being decoded, so that it is not materialized twice.
+     */
+    @Override
+    public synchronized Optional<NormalizedNode<?, ?>> getRootNode(final SchemaContext schemaContext) {
+        if (rootNode != null) {
+            return super.getRootNode(schemaContext);
+        }
+
+        return Optional.ofNullable(readRoot(in -> NormalizedNodeInputOutput.newPruningDataInput(in,
+            YangInstanceIdentifier.EMPTY, schemaContext)));
+    }
+
+    private synchronized ChunkedByteArray serializedRoot() {
+        return serializedRoot;
+    }
+
+    @GuardedBy("this")
+    private NormalizedNode<?, ?> readRoot(final ReaderFactory factory) {
+        try {
+            return factory.newDataInput(new DataInputStream(serializedRoot.openStream())).readNormalizedNode();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode snapshot root node", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReaderFactory {
+        NormalizedNodeDataInput newDataInput(DataInput input) throws IOException;
+    }
+
     @Override
     PayloadVersion version() {
         return PayloadVersion.BORON;
     }
 
+    private static Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>>
+            readMetadata(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final int metaSize = in.readInt();
+        Preconditions.checkArgument(metaSize >= 0, "Invalid negative metadata map length %s", metaSize);
+
+        // Default pre-allocate is 4, which should be fine
+        final Builder<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>>
+                metaBuilder = ImmutableMap.builder();
+        for (int i = 0; i < metaSize; ++i) {
+            final ShardDataTreeSnapshotMetadata<?> m = (ShardDataTreeSnapshotMetadata<?>) in.readObject();
+            if (m != null) {
+                metaBuilder.put(m.getType(), m);
+            } else {
+                LOG.warn("Skipping null metadata");
+            }
+        }
+
+        return metaBuilder.build();
+    }
+
     private Object writeReplace() {
+        if (allowSections) {
+            final NormalizedNode<?, ?> root = rootNode();
+            if (root instanceof ContainerNode && ((ContainerNode) root).getValue().size() > 1
+                    && countNodes(root, MIN_SECTIONED_NODES) >= MIN_SECTIONED_NODES) {
+                return new SectionedProxy(this);
+            }
+        }
         return new Proxy(this);
     }
 
+    /**
+     * Count the nodes of a tree, stopping once the limit has been reached, so that large trees are not walked fully.
+     */
+    private static int countNodes(final NormalizedNode<?, ?> node, final int limit) {
+        int count = 1;
+        if (node instanceof NormalizedNodeContainer) {
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                if (count >= limit) {
+                    break;
+                }
+                count += countNodes(child, limit - count);
+            }
+        }
+        return count;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("metadata", metadata).toString();
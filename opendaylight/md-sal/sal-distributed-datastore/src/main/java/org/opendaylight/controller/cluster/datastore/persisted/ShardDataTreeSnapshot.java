@@ -15,8 +15,13 @@ import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Optional;
+import javax.annotation.Nonnull;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.controller.cluster.datastore.node.utils.transformer.NormalizedNodePruner;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,8 +96,29 @@ public abstract class ShardDataTreeSnapshot {
      */
     public abstract Optional<NormalizedNode<?, ?>> getRootNode();
 
+    /**
+     * Get the root data node contained in this snapshot, without any nodes which are not present in specified
+     * SchemaContext. This is used when recovering a snapshot which may have been taken with a different set of models.
+     *
+     * @param schemaContext SchemaContext to prune against
+     * @return An optional root node, absent if the root node itself is not present in the SchemaContext.
+     */
+    public Optional<NormalizedNode<?, ?>> getRootNode(@Nonnull final SchemaContext schemaContext) {
+        return getRootNode().flatMap(node -> Optional.ofNullable(pruneNode(node, schemaContext)));
+    }
+
     public abstract void serialize(ObjectOutput out) throws IOException;
 
+    static NormalizedNode<?, ?> pruneNode(final NormalizedNode<?, ?> node, final SchemaContext schemaContext) {
+        final NormalizedNodePruner pruner = new NormalizedNodePruner(YangInstanceIdentifier.EMPTY, schemaContext);
+        try {
+            NormalizedNodeWriter.forStreamWriter(pruner).write(node);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to prune snapshot root", e);
+        }
+        return pruner.normalizedNode();
+    }
+
     @Deprecated
     private static boolean isLegacyStream(final byte[] bytes) {
         if (bytes.length < 2) {
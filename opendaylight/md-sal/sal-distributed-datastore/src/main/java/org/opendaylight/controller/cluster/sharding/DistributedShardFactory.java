@@ -39,6 +39,32 @@ public interface DistributedShardFactory {
         createDistributedShard(DOMDataTreeIdentifier prefix, Collection<MemberName> replicaMembers)
             throws DOMDataTreeShardingConflictException;
 
+    /**
+     * Split a subtree off the prefix-based shard which currently holds it into a new shard rooted at the desired
+     * prefix, with replicas on the provided members. Once the new shard is up, any data present in the subtree is
+     * migrated from the parent shard into the new shard.
+     *
+     * <p>
+     * The subtree is fenced off on all members for the duration of the split, in the same way an open producer
+     * claims it, hence no producer can be attached at, above or below the prefix until the returned future completes.
+     * The split is refused if any member already has such a producer open. Since nothing but the migration itself can
+     * write into the subtree, no writes are lost when the migrated data is removed from the parent shard.
+     *
+     * <p>
+     * Migration is not atomic for readers. The new shard becomes visible before the data has been copied into it,
+     * hence readers may observe the subtree as empty until the returned future completes.
+     *
+     * @param prefix         Root of the new shard, must be a container or a list
+     * @param replicaMembers Members that the new shard is replicated on, has to have at least one Member
+     * @return A future that will be completed with a DistributedShardRegistration once the new shard is spawned and
+     *         the data has been migrated into it.
+     * @throws DOMDataTreeShardingConflictException If the prefix is already a shard root, is not held by
+     *         a prefix-based shard or is in use by a producer on any member.
+     */
+    CompletionStage<DistributedShardRegistration>
+        splitDistributedShard(DOMDataTreeIdentifier prefix, Collection<MemberName> replicaMembers)
+            throws DOMDataTreeShardingConflictException;
+
     /**
      * Registration of the CDS shard that allows you to remove the shard from the system by closing the registration.
      * This removal is done asynchronously.
@@ -9,12 +9,14 @@
 package org.opendaylight.controller.cluster.sharding;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.cluster.databroker.actors.dds.DataStoreClient;
 import org.opendaylight.controller.cluster.datastore.AbstractDataStore;
@@ -39,8 +41,14 @@ class DistributedShardFrontend implements ReadableWriteableDOMDataTreeShard {
 
     private static final Logger LOG = LoggerFactory.getLogger(DistributedShardFrontend.class);
 
+    // Number of path arguments below shard root at which writes are attributed to split candidates, this covers
+    // a top-level container and a list within it.
+    private static final int WRITE_RATE_TRACKING_DEPTH = 2;
+
     private final DataStoreClient client;
     private final DOMDataTreeIdentifier shardRoot;
+    // Null when split candidate reporting is disabled, in which case writes are not tracked at all
+    private final PrefixWriteRateTracker writeRateTracker;
     @GuardedBy("this")
     private final Map<DOMDataTreeIdentifier, ChildShardContext> childShards = new HashMap<>();
     @GuardedBy("this")
@@ -56,6 +64,9 @@ class DistributedShardFrontend implements ReadableWriteableDOMDataTreeShard {
 
         publisher = new DistributedShardChangePublisher(client, Preconditions.checkNotNull(distributedDataStore),
                 shardRoot, childShards);
+        writeRateTracker = distributedDataStore.getActorContext().getDatastoreContext()
+                .getShardSplitWriteRateThreshold() > 0
+                ? new PrefixWriteRateTracker(shardRoot, WRITE_RATE_TRACKING_DEPTH, Ticker.systemTicker()) : null;
     }
 
     @Override
@@ -66,7 +77,7 @@ class DistributedShardFrontend implements ReadableWriteableDOMDataTreeShard {
         }
 
         final ShardProxyProducer ret =
-                new ShardProxyProducer(shardRoot, paths, client, createModificationFactory(paths));
+                new ShardProxyProducer(shardRoot, paths, client, createModificationFactory(paths), writeRateTracker);
         producers.add(ret);
         return ret;
     }
@@ -87,6 +98,18 @@ class DistributedShardFrontend implements ReadableWriteableDOMDataTreeShard {
         // TODO we should grab the dataTreeSnapshot that's in the shard and apply it to this shard
     }
 
+    DataStoreClient getClient() {
+        return client;
+    }
+
+    DOMDataTreeIdentifier getShardRoot() {
+        return shardRoot;
+    }
+
+    @Nullable PrefixWriteRateTracker getWriteRateTracker() {
+        return writeRateTracker;
+    }
+
     private void addChildShard(final DOMDataTreeIdentifier prefix, final DOMDataTreeShard child) {
         Preconditions.checkArgument(child instanceof WriteableDOMDataTreeShard);
         childShards.put(prefix, new ChildShardContext(prefix, (WriteableDOMDataTreeShard) child));
@@ -8,6 +8,7 @@
 
 package org.opendaylight.controller.cluster.sharding;
 
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.databroker.actors.dds.ClientTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
@@ -21,11 +22,19 @@ public class DistributedShardModificationContext {
     private ClientTransaction transaction;
     private DOMDataTreeIdentifier identifier;
     private DOMDataTreeWriteCursor cursor;
+    private final PrefixWriteRateTracker writeRateTracker;
 
     public DistributedShardModificationContext(final ClientTransaction transaction,
                                                final DOMDataTreeIdentifier identifier) {
+        this(transaction, identifier, null);
+    }
+
+    DistributedShardModificationContext(final ClientTransaction transaction,
+                                        final DOMDataTreeIdentifier identifier,
+                                        @Nullable final PrefixWriteRateTracker writeRateTracker) {
         this.transaction = transaction;
         this.identifier = identifier;
+        this.writeRateTracker = writeRateTracker;
     }
 
     public DOMDataTreeIdentifier getIdentifier() {
@@ -34,7 +43,8 @@ public class DistributedShardModificationContext {
 
     DOMDataTreeWriteCursor cursor() {
         if (cursor == null) {
-            cursor = transaction.openCursor();
+            final DOMDataTreeWriteCursor txCursor = transaction.openCursor();
+            cursor = writeRateTracker == null ? txCursor : new WriteRateTrackingCursor(txCursor, writeRateTracker);
         }
 
         return cursor;
@@ -12,6 +12,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.databroker.actors.dds.ClientTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.spi.shard.ForeignShardModificationContext;
@@ -45,7 +46,12 @@ public final class DistributedShardModificationFactory {
     }
 
     DistributedShardModification createModification(final ClientTransaction transaction) {
+        return createModification(transaction, null);
+    }
+
+    DistributedShardModification createModification(final ClientTransaction transaction,
+                                                    @Nullable final PrefixWriteRateTracker writeRateTracker) {
         return new DistributedShardModification(
-                new DistributedShardModificationContext(transaction, root), children, childShards);
+                new DistributedShardModificationContext(transaction, root, writeRateTracker), children, childShards);
     }
 }
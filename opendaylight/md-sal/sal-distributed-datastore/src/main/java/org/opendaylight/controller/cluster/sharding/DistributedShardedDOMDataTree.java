@@ -12,6 +12,7 @@ import static akka.actor.ActorRef.noSender;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
 import akka.actor.PoisonPill;
 import akka.actor.Props;
 import akka.dispatch.Mapper;
@@ -22,9 +23,13 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ForwardingObject;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.AbstractMap.SimpleEntry;
@@ -37,7 +42,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -46,6 +53,8 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.cluster.ActorSystemProvider;
 import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.databroker.actors.dds.ClientSnapshot;
+import org.opendaylight.controller.cluster.databroker.actors.dds.ClientTransaction;
 import org.opendaylight.controller.cluster.databroker.actors.dds.DataStoreClient;
 import org.opendaylight.controller.cluster.databroker.actors.dds.SimpleDataStoreClientActor;
 import org.opendaylight.controller.cluster.datastore.AbstractDataStore;
@@ -66,6 +75,7 @@ import org.opendaylight.controller.cluster.sharding.messages.ProducerCreated;
 import org.opendaylight.controller.cluster.sharding.messages.ProducerRemoved;
 import org.opendaylight.controller.cluster.sharding.messages.StartConfigShardLookup;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeCursorAwareTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeListener;
@@ -76,13 +86,17 @@ import org.opendaylight.mdsal.dom.api.DOMDataTreeService;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeShard;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeShardingConflictException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeShardingService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
 import org.opendaylight.mdsal.dom.broker.DOMDataTreeShardRegistration;
 import org.opendaylight.mdsal.dom.broker.ShardedDOMDataTree;
 import org.opendaylight.mdsal.dom.spi.DOMDataTreePrefixTable;
 import org.opendaylight.mdsal.dom.spi.DOMDataTreePrefixTableEntry;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.clustering.prefix.shard.configuration.rev170110.PrefixShards;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.compat.java8.FutureConverters;
@@ -110,6 +124,9 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
 
     static final String ACTOR_ID = "ShardedDOMDataTreeFrontend";
 
+    // How often local write rates are evaluated for reporting split candidates
+    private static final FiniteDuration SHARD_SPLIT_EVALUATION_INTERVAL = new FiniteDuration(30, TimeUnit.SECONDS);
+
     private final ShardedDOMDataTree shardedDOMDataTree;
     private final ActorSystem actorSystem;
     private final AbstractDataStore distributedOperDatastore;
@@ -122,6 +139,25 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
     private final DOMDataTreePrefixTable<DOMDataTreeShardRegistration<DOMDataTreeShard>> shards =
             DOMDataTreePrefixTable.create();
 
+    private final Map<DOMDataTreeIdentifier, DistributedShardFrontend> frontends = new ConcurrentHashMap<>();
+
+    /**
+     * Producers fencing off subtrees which are being split off their parent shards, the frontends of the new shards
+     * are registered using these producers.
+     */
+    @GuardedBy("splitFences")
+    private final Map<DOMDataTreeIdentifier, DOMDataTreeProducer> splitFences = new HashMap<>();
+
+    /**
+     * Subtrees claimed by producers created on this member.
+     */
+    private final Set<DOMDataTreeIdentifier> localProducerSubtrees = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Producers created on behalf of producers on other members, keyed by the subtrees they claim.
+     */
+    private final Map<DOMDataTreeIdentifier, DOMDataTreeProducer> remoteProducers = new ConcurrentHashMap<>();
+
     private final EnumMap<LogicalDatastoreType, DistributedShardRegistration> defaultShardRegistrations =
             new EnumMap<>(LogicalDatastoreType.class);
 
@@ -133,6 +169,8 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
 
     private final PrefixedShardConfigUpdateHandler updateHandler;
 
+    private Cancellable shardSplitEvaluation;
+
     public DistributedShardedDOMDataTree(final ActorSystemProvider actorSystemProvider,
                                          final AbstractDataStore distributedOperDatastore,
                                          final AbstractDataStore distributedConfigDatastore) {
@@ -255,6 +293,24 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
         } catch (final InterruptedException | ExecutionException e) {
             throw new IllegalStateException("Unable to create default shard frontend for operational shard", e);
         }
+
+        if (distributedConfigDatastore.getActorContext().getDatastoreContext().getShardSplitWriteRateThreshold() > 0
+                || distributedOperDatastore.getActorContext().getDatastoreContext()
+                    .getShardSplitWriteRateThreshold() > 0) {
+            LOG.debug("{} - Enabling shard split candidate reporting", memberName);
+            shardSplitEvaluation = actorSystem.scheduler().schedule(SHARD_SPLIT_EVALUATION_INTERVAL,
+                SHARD_SPLIT_EVALUATION_INTERVAL, this::reportSplitCandidates, actorSystem.dispatcher());
+        }
+    }
+
+    /**
+     * This is intended to be invoked by blueprint as destruction method.
+     */
+    public void close() {
+        if (shardSplitEvaluation != null) {
+            shardSplitEvaluation.cancel();
+            shardSplitEvaluation = null;
+        }
     }
 
     private ListenableFuture<List<Void>> handleConfigShardLookup() {
@@ -306,8 +362,9 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
         if (response == null) {
             LOG.debug("{} - Received success from remote nodes, creating producer:{}",
                     distributedConfigDatastore.getActorContext().getClusterWrapper().getCurrentMemberName(), subtrees);
+            localProducerSubtrees.addAll(subtrees);
             return new ProxyProducer(producer, subtrees, shardedDataTreeActor,
-                    distributedConfigDatastore.getActorContext());
+                    distributedConfigDatastore.getActorContext(), localProducerSubtrees);
         } else if (response instanceof Exception) {
             closeProducer(producer);
             throw Throwables.propagate((Exception) response);
@@ -371,6 +428,186 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
         return FutureConverters.toJava(shardRegistrationPromise.future());
     }
 
+    @Override
+    public CompletionStage<DistributedShardRegistration> splitDistributedShard(final DOMDataTreeIdentifier prefix,
+            final Collection<MemberName> replicaMembers) throws DOMDataTreeShardingConflictException {
+        final DOMDataTreePrefixTableEntry<DOMDataTreeShardRegistration<DOMDataTreeShard>> lookup;
+        synchronized (shards) {
+            lookup = shards.lookup(prefix);
+        }
+        if (lookup == null || !(lookup.getValue().getInstance() instanceof DistributedShardFrontend)) {
+            throw new DOMDataTreeShardingConflictException("Prefix " + prefix + " is not held by a CDS shard");
+        }
+        if (lookup.getValue().getPrefix().equals(prefix)) {
+            throw new DOMDataTreeShardingConflictException(
+                    "Prefix " + prefix + " is already occupied by another shard.");
+        }
+
+        final DistributedShardFrontend parent = (DistributedShardFrontend) lookup.getValue().getInstance();
+        final YangInstanceIdentifier relativePath = prefix.getRootIdentifier()
+                .relativeTo(parent.getShardRoot().getRootIdentifier()).get();
+
+        // Fence off the subtree on all members while it is being migrated. Claiming it fails if a producer on any
+        // member is attached at or above the prefix. Once it is claimed, no producer can be attached below the prefix
+        // either, hence checking for existing producers below it afterwards cannot race with their creation.
+        final DOMDataTreeProducer fence = createSplitFence(prefix);
+        final Optional<DOMDataTreeIdentifier> nested = findProducerBelow(prefix);
+        if (nested.isPresent()) {
+            closeProducer(fence);
+            throw new DOMDataTreeShardingConflictException("Prefix " + prefix + " contains subtree " + nested.get()
+                + " which is in use by a producer");
+        }
+        synchronized (splitFences) {
+            splitFences.put(prefix, fence);
+        }
+
+        LOG.info("{} - Splitting prefix {} off shard {}", memberName, prefix, parent.getShardRoot());
+
+        final CompletionStage<DistributedShardRegistration> split;
+        try {
+            split = createDistributedShard(prefix, replicaMembers).thenCompose(
+                reg -> migrateSubtree(parent.getClient(), relativePath, prefix, fence).thenApply(ignored -> reg));
+        } catch (DOMDataTreeShardingConflictException e) {
+            releaseSplitFence(prefix, fence);
+            throw e;
+        }
+
+        return split.whenComplete((reg, failure) -> {
+            releaseSplitFence(prefix, fence);
+            if (failure != null) {
+                LOG.error("{} - Failed to split prefix {} off shard {}", memberName, prefix, parent.getShardRoot(),
+                    failure);
+            } else {
+                LOG.info("{} - Prefix {} split off shard {}", memberName, prefix, parent.getShardRoot());
+            }
+        });
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private DOMDataTreeProducer createSplitFence(final DOMDataTreeIdentifier prefix)
+            throws DOMDataTreeShardingConflictException {
+        try {
+            return createProducer(Collections.singletonList(prefix));
+        } catch (RuntimeException e) {
+            LOG.debug("{} - Failed to fence prefix {}", memberName, prefix, e);
+            throw new DOMDataTreeShardingConflictException("Prefix " + prefix + " is in use by a producer");
+        }
+    }
+
+    private Optional<DOMDataTreeIdentifier> findProducerBelow(final DOMDataTreeIdentifier prefix) {
+        for (DOMDataTreeIdentifier subtree : Iterables.concat(localProducerSubtrees, remoteProducers.keySet())) {
+            if (!prefix.equals(subtree) && prefix.contains(subtree)) {
+                return Optional.of(subtree);
+            }
+        }
+        return Optional.absent();
+    }
+
+    private void releaseSplitFence(final DOMDataTreeIdentifier prefix, final DOMDataTreeProducer fence) {
+        synchronized (splitFences) {
+            splitFences.remove(prefix);
+        }
+        closeProducer(fence);
+    }
+
+    /**
+     * Move the data of a subtree from the parent shard into the child shard rooted at the subtree. This needs to be
+     * invoked once the child shard has been attached, so the fencing producer is routed to it.
+     *
+     * <p>
+     * The fence keeps every producer in the cluster away from the subtree, and producers drain their submitted
+     * transactions before they release their claims, hence the subtree in the parent shard does not change while it is
+     * being migrated and deleting it cannot lose any writes. The two shards cannot be updated in a single transaction,
+     * hence the migration is not atomic for readers: the subtree is read from a snapshot of the parent shard, written
+     * into the child shard and only then deleted from the parent shard. Until the child shard's write commits, readers
+     * routed to the child shard see the subtree as empty. Once routing has switched the copy left in the parent shard
+     * is not reachable through this service, it is only visible to readers accessing the parent shard directly until
+     * the delete commits.
+     */
+    private static CompletionStage<Void> migrateSubtree(final DataStoreClient parentClient,
+            final YangInstanceIdentifier relativePath, final DOMDataTreeIdentifier prefix,
+            final DOMDataTreeProducer fence) {
+        final ClientSnapshot snapshot = parentClient.createSnapshot();
+        final AsyncFunction<Optional<NormalizedNode<?, ?>>, Void> copyFunction = data -> {
+            snapshot.abort();
+            if (!data.isPresent()) {
+                return Futures.immediateFuture(null);
+            }
+
+            final AsyncFunction<Void, Void> deleteFunction = input -> deleteSubtree(parentClient, relativePath);
+            return Futures.transform(copySubtree(prefix, data.get(), fence), deleteFunction);
+        };
+
+        final CompletableFuture<Void> ret = new CompletableFuture<>();
+        Futures.addCallback(Futures.transform(snapshot.read(relativePath), copyFunction), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(@Nullable final Void result) {
+                ret.complete(null);
+            }
+
+            @Override
+            public void onFailure(final Throwable throwable) {
+                ret.completeExceptionally(throwable);
+            }
+        });
+        return ret;
+    }
+
+    private static ListenableFuture<Void> copySubtree(final DOMDataTreeIdentifier prefix,
+            final NormalizedNode<?, ?> data, final DOMDataTreeProducer producer) {
+        Preconditions.checkArgument(data instanceof NormalizedNodeContainer, "Cannot split off non-container node %s",
+            data);
+
+        final DOMDataTreeCursorAwareTransaction tx = producer.createTransaction(false);
+        final DOMDataTreeWriteCursor cursor = tx.createCursor(prefix);
+        for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) data).getValue()) {
+            cursor.write(child.getIdentifier(), child);
+        }
+        cursor.close();
+        return tx.submit();
+    }
+
+    private static ListenableFuture<Void> deleteSubtree(final DataStoreClient client,
+            final YangInstanceIdentifier path) {
+        final ClientTransaction tx = client.createTransaction();
+        tx.delete(path);
+
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        final AsyncFunction<Boolean, Void> preCommitFunction = input -> cohort.preCommit();
+        final AsyncFunction<Void, Void> commitFunction = input -> cohort.commit();
+        return Futures.transform(Futures.transform(cohort.canCommit(), preCommitFunction), commitFunction);
+    }
+
+    /**
+     * Periodically invoked to report the hottest subtree of each shard whose local write rate exceeds the configured
+     * threshold. Splits are not performed automatically, as they are refused while producers are attached to
+     * the subtree, which is bound to be the case for a subtree receiving writes.
+     */
+    private void reportSplitCandidates() {
+        for (DistributedShardFrontend frontend : frontends.values()) {
+            final PrefixWriteRateTracker tracker = frontend.getWriteRateTracker();
+            if (tracker == null) {
+                continue;
+            }
+
+            final Map<DOMDataTreeIdentifier, Double> rates = tracker.drainRates();
+            if (rates.isEmpty()) {
+                continue;
+            }
+
+            final DOMDataTreeIdentifier shardRoot = frontend.getShardRoot();
+            final long threshold = dataStoreFor(shardRoot.getDatastoreType()).getActorContext().getDatastoreContext()
+                    .getShardSplitWriteRateThreshold();
+            final Entry<DOMDataTreeIdentifier, Double> hottest = rates.entrySet().stream()
+                    .filter(e -> frontends.keySet().stream().noneMatch(e.getKey()::contains))
+                    .max(Map.Entry.comparingByValue()).orElse(null);
+            if (hottest != null && hottest.getValue() >= threshold) {
+                LOG.info("{} - Prefix {} of shard {} is receiving {} writes/s, consider splitting it off", memberName,
+                    hottest.getKey(), shardRoot, hottest.getValue());
+            }
+        }
+    }
+
     void resolveShardAdditions(final Set<DOMDataTreeIdentifier> additions) {
         LOG.debug("Member {}: Resolving additions : {}", memberName, additions);
         final ArrayList<DOMDataTreeIdentifier> list = new ArrayList<>(additions);
@@ -397,12 +634,43 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
 
     private void createShardFrontend(final DOMDataTreeIdentifier prefix) {
         LOG.debug("Member {}: Creating CDS shard for prefix: {}", memberName, prefix);
-        final String shardName = ClusterUtils.getCleanShardName(prefix.getRootIdentifier());
-        final AbstractDataStore distributedDataStore =
-                prefix.getDatastoreType().equals(org.opendaylight.mdsal.common.api.LogicalDatastoreType.CONFIGURATION)
-                        ? distributedConfigDatastore : distributedOperDatastore;
+
+        final DOMDataTreeProducer splitFence;
+        synchronized (splitFences) {
+            splitFence = splitFences.get(prefix);
+        }
+
+        if (splitFence != null) {
+            // The subtree is being split off its parent shard, use the fencing producer so the subtree remains fenced
+            // until its data has been migrated
+            LOG.debug("Member {}: Prefix {} is being split, registering CDS shard using fencing producer", memberName,
+                prefix);
+            registerShardFrontend(prefix, splitFence);
+            return;
+        }
+
+        final DOMDataTreeProducer remoteProducer = remoteProducers.get(prefix);
+        if (remoteProducer != null) {
+            // Another member holds the prefix, most likely because it is splitting the subtree off its parent shard,
+            // register using the producer created on its behalf, it is closed once the other member releases it
+            LOG.debug("Member {}: Prefix {} is claimed by a remote producer, registering CDS shard using it",
+                memberName, prefix);
+            registerShardFrontend(prefix, remoteProducer);
+            return;
+        }
 
         try (DOMDataTreeProducer producer = localCreateProducer(Collections.singletonList(prefix))) {
+            registerShardFrontend(prefix, producer);
+        } catch (DOMDataTreeProducerException e) {
+            LOG.error("Unable to close producer", e);
+        }
+    }
+
+    private void registerShardFrontend(final DOMDataTreeIdentifier prefix, final DOMDataTreeProducer producer) {
+        final String shardName = ClusterUtils.getCleanShardName(prefix.getRootIdentifier());
+        final AbstractDataStore distributedDataStore = dataStoreFor(prefix.getDatastoreType());
+
+        try {
             final Entry<DataStoreClient, ActorRef> entry =
                     createDatastoreClient(shardName, distributedDataStore.getActorContext());
 
@@ -411,22 +679,25 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
 
             @SuppressWarnings("unchecked")
             final DOMDataTreeShardRegistration<DOMDataTreeShard> reg =
-                    (DOMDataTreeShardRegistration) shardedDOMDataTree.registerDataTreeShard(prefix, shard, producer);
+                    (DOMDataTreeShardRegistration) registerDataTreeShard(prefix, shard, producer);
 
             synchronized (shards) {
                 shards.store(prefix, reg);
             }
+            frontends.put(prefix, shard);
 
         } catch (final DOMDataTreeShardingConflictException e) {
             LOG.error("{}: Prefix {} is already occupied by another shard",
                     distributedConfigDatastore.getActorContext().getClusterWrapper().getCurrentMemberName(), prefix, e);
-        } catch (DOMDataTreeProducerException e) {
-            LOG.error("Unable to close producer", e);
         } catch (DOMDataTreeShardCreationFailedException e) {
             LOG.error("Unable to create datastore client for shard {}", prefix, e);
         }
     }
 
+    private AbstractDataStore dataStoreFor(final LogicalDatastoreType type) {
+        return type == LogicalDatastoreType.CONFIGURATION ? distributedConfigDatastore : distributedOperDatastore;
+    }
+
     private void despawnShardFrontend(final DOMDataTreeIdentifier prefix) {
         LOG.debug("Member {}: Removing CDS shard for prefix: {}", memberName, prefix);
         final DOMDataTreePrefixTableEntry<DOMDataTreeShardRegistration<DOMDataTreeShard>> lookup;
@@ -445,6 +716,7 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
         synchronized (shards) {
             shards.remove(prefix);
         }
+        frontends.remove(prefix);
 
         final PrefixedShardConfigWriter writer = writerMap.get(prefix.getDatastoreType());
         final ListenableFuture<Void> future = writer.removeConfig(prefix.getRootIdentifier());
@@ -472,6 +744,16 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
         return shardedDOMDataTree.createProducer(prefix);
     }
 
+    DOMDataTreeProducer createRemoteProducer(final Collection<DOMDataTreeIdentifier> subtrees) {
+        final DOMDataTreeProducer producer = localCreateProducer(subtrees);
+        subtrees.forEach(subtree -> remoteProducers.put(subtree, producer));
+        return producer;
+    }
+
+    void removeRemoteProducer(final Collection<DOMDataTreeIdentifier> subtrees) {
+        subtrees.forEach(remoteProducers::remove);
+    }
+
     @Nonnull
     @Override
     public <T extends DOMDataTreeShard> ListenerRegistration<T> registerDataTreeShard(
@@ -638,23 +920,29 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
         private final Collection<DOMDataTreeIdentifier> subtrees;
         private final ActorRef shardDataTreeActor;
         private final ActorContext actorContext;
+        private final Set<DOMDataTreeIdentifier> localProducerSubtrees;
         @GuardedBy("shardAccessMap")
         private final Map<DOMDataTreeIdentifier, CDSShardAccessImpl> shardAccessMap = new HashMap<>();
+        // Submitted transactions which have not completed yet, these are drained before the claim on subtrees is
+        // released, so they cannot race with a split of the subtrees
+        private final Set<ListenableFuture<Void>> pendingSubmits = ConcurrentHashMap.newKeySet();
 
         ProxyProducer(final DOMDataTreeProducer delegate,
                       final Collection<DOMDataTreeIdentifier> subtrees,
                       final ActorRef shardDataTreeActor,
-                      final ActorContext actorContext) {
+                      final ActorContext actorContext,
+                      final Set<DOMDataTreeIdentifier> localProducerSubtrees) {
             this.delegate = Preconditions.checkNotNull(delegate);
             this.subtrees = Preconditions.checkNotNull(subtrees);
             this.shardDataTreeActor = Preconditions.checkNotNull(shardDataTreeActor);
             this.actorContext = Preconditions.checkNotNull(actorContext);
+            this.localProducerSubtrees = Preconditions.checkNotNull(localProducerSubtrees);
         }
 
         @Nonnull
         @Override
         public DOMDataTreeCursorAwareTransaction createTransaction(final boolean isolated) {
-            return delegate.createTransaction(isolated);
+            return new SubmitTrackingTransaction(delegate.createTransaction(isolated), pendingSubmits);
         }
 
         @Nonnull
@@ -673,6 +961,14 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
                 shardAccessMap.values().forEach(CDSShardAccessImpl::close);
             }
 
+            final long timeout = actorContext.getTransactionCommitOperationTimeout().duration().toMillis();
+            try {
+                Futures.successfulAsList(pendingSubmits).get(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                LOG.warn("Producer {} failed to drain submitted transactions, releasing it anyway", subtrees, e);
+            }
+            localProducerSubtrees.removeAll(subtrees);
+
             final Object o = actorContext.executeOperation(shardDataTreeActor, new ProducerRemoved(subtrees));
             if (o instanceof DOMDataTreeProducerException) {
                 throw ((DOMDataTreeProducerException) o);
@@ -705,4 +1001,41 @@ public class DistributedShardedDOMDataTree implements DOMDataTreeService, DOMDat
             }
         }
     }
+
+    private static final class SubmitTrackingTransaction extends ForwardingObject
+            implements DOMDataTreeCursorAwareTransaction {
+
+        private final DOMDataTreeCursorAwareTransaction delegate;
+        private final Set<ListenableFuture<Void>> pendingSubmits;
+
+        SubmitTrackingTransaction(final DOMDataTreeCursorAwareTransaction delegate,
+                final Set<ListenableFuture<Void>> pendingSubmits) {
+            this.delegate = Preconditions.checkNotNull(delegate);
+            this.pendingSubmits = Preconditions.checkNotNull(pendingSubmits);
+        }
+
+        @Nullable
+        @Override
+        public DOMDataTreeWriteCursor createCursor(@Nonnull final DOMDataTreeIdentifier path) {
+            return delegate.createCursor(path);
+        }
+
+        @Override
+        public boolean cancel() {
+            return delegate.cancel();
+        }
+
+        @Override
+        public CheckedFuture<Void, TransactionCommitFailedException> submit() {
+            final CheckedFuture<Void, TransactionCommitFailedException> future = delegate.submit();
+            pendingSubmits.add(future);
+            future.addListener(() -> pendingSubmits.remove(future), MoreExecutors.directExecutor());
+            return future;
+        }
+
+        @Override
+        protected DOMDataTreeCursorAwareTransaction delegate() {
+            return delegate;
+        }
+    }
 }
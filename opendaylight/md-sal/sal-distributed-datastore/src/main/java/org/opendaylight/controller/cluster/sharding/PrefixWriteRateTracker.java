@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.sharding;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Tracks the rate of writes issued by local producers into subtrees of a shard. Each write is attributed to the
+ * subtree rooted at most {@code trackingDepth} path arguments below the shard root, which are the candidate prefixes
+ * for splitting off a child shard.
+ */
+@ThreadSafe
+final class PrefixWriteRateTracker {
+    private final Map<YangInstanceIdentifier, LongAdder> counters = new ConcurrentHashMap<>();
+    private final DOMDataTreeIdentifier shardRoot;
+    private final int trackingDepth;
+    private final Ticker ticker;
+
+    @GuardedBy("this")
+    private long lastDrain;
+
+    PrefixWriteRateTracker(final DOMDataTreeIdentifier shardRoot, final int trackingDepth, final Ticker ticker) {
+        Preconditions.checkArgument(trackingDepth > 0, "Invalid tracking depth %s", trackingDepth);
+        this.shardRoot = Preconditions.checkNotNull(shardRoot);
+        this.trackingDepth = trackingDepth;
+        this.ticker = Preconditions.checkNotNull(ticker);
+        lastDrain = ticker.read();
+    }
+
+    DOMDataTreeIdentifier getShardRoot() {
+        return shardRoot;
+    }
+
+    /**
+     * Record a write to a path relative to the shard root. Writes to the shard root itself are not recorded, as they
+     * cannot be attributed to any subtree.
+     *
+     * @param relativePath Path relative to the shard root
+     */
+    void recordWrite(final YangInstanceIdentifier relativePath) {
+        final int depth = Math.min(trackingDepth, relativePath.getPathArguments().size());
+        if (depth == 0) {
+            return;
+        }
+
+        final YangInstanceIdentifier subtree = depth == relativePath.getPathArguments().size() ? relativePath
+                : YangInstanceIdentifier.create(relativePath.getPathArguments().subList(0, depth));
+        counters.computeIfAbsent(subtree, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Return the write rates observed since the last invocation of this method and reset the counters.
+     *
+     * @return Map of subtree prefixes to their write rates, in writes per second
+     */
+    synchronized Map<DOMDataTreeIdentifier, Double> drainRates() {
+        final long now = ticker.read();
+        final double elapsedSeconds = Math.max(1, now - lastDrain) / (double) TimeUnit.SECONDS.toNanos(1);
+        lastDrain = now;
+
+        final ImmutableMap.Builder<DOMDataTreeIdentifier, Double> builder = ImmutableMap.builder();
+        final Iterator<Entry<YangInstanceIdentifier, LongAdder>> it = counters.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<YangInstanceIdentifier, LongAdder> entry = it.next();
+            final long count = entry.getValue().sumThenReset();
+            if (count == 0) {
+                // No writes in this period, do not keep the counter around
+                it.remove();
+                continue;
+            }
+
+            final YangInstanceIdentifier absolute = YangInstanceIdentifier.create(Iterables.concat(
+                shardRoot.getRootIdentifier().getPathArguments(), entry.getKey().getPathArguments()));
+            builder.put(new DOMDataTreeIdentifier(shardRoot.getDatastoreType(), absolute), count / elapsedSeconds);
+        }
+
+        return builder.build();
+    }
+}
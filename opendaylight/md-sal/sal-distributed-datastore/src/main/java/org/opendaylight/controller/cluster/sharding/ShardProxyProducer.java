@@ -13,6 +13,7 @@ import com.google.common.collect.ImmutableList;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.databroker.actors.dds.ClientLocalHistory;
 import org.opendaylight.controller.cluster.databroker.actors.dds.DataStoreClient;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
@@ -33,15 +34,25 @@ class ShardProxyProducer implements DOMDataTreeShardProducer {
     private final DOMDataTreeIdentifier shardRoot;
     private final Collection<DOMDataTreeIdentifier> prefixes;
     private final ClientLocalHistory history;
+    private final PrefixWriteRateTracker writeRateTracker;
     private DistributedShardModificationFactory modificationFactory;
 
     ShardProxyProducer(final DOMDataTreeIdentifier shardRoot,
                        final Collection<DOMDataTreeIdentifier> prefixes,
                        final DataStoreClient client,
                        final DistributedShardModificationFactory modificationFactory) {
+        this(shardRoot, prefixes, client, modificationFactory, null);
+    }
+
+    ShardProxyProducer(final DOMDataTreeIdentifier shardRoot,
+                       final Collection<DOMDataTreeIdentifier> prefixes,
+                       final DataStoreClient client,
+                       final DistributedShardModificationFactory modificationFactory,
+                       @Nullable final PrefixWriteRateTracker writeRateTracker) {
         this.shardRoot = Preconditions.checkNotNull(shardRoot);
         this.prefixes = ImmutableList.copyOf(Preconditions.checkNotNull(prefixes));
         this.modificationFactory = Preconditions.checkNotNull(modificationFactory);
+        this.writeRateTracker = writeRateTracker;
         history = Preconditions.checkNotNull(client).createLocalHistory();
     }
 
@@ -54,7 +65,7 @@ class ShardProxyProducer implements DOMDataTreeShardProducer {
     @Override
     public DOMDataTreeShardWriteTransaction createTransaction() {
         return new ShardProxyTransaction(shardRoot, prefixes,
-                modificationFactory.createModification(history.createTransaction()));
+                modificationFactory.createModification(history.createTransaction(), writeRateTracker));
     }
 
     DistributedShardModificationFactory getModificationFactory() {
@@ -261,7 +261,7 @@ public class ShardedDataTreeActor extends AbstractUntypedPersistentActor {
 
         try {
             final ActorProducerRegistration registration =
-                    new ActorProducerRegistration(shardingService.localCreateProducer(subtrees), subtrees);
+                    new ActorProducerRegistration(shardingService.createRemoteProducer(subtrees), subtrees);
             subtrees.forEach(id -> idToProducer.put(id, registration));
             sender().tell(new Status.Success(null), self());
         } catch (final IllegalArgumentException e) {
@@ -386,6 +386,7 @@ public class ShardedDataTreeActor extends AbstractUntypedPersistentActor {
         void close() throws DOMDataTreeProducerException {
             producer.close();
             subtrees.forEach(idToProducer::remove);
+            shardingService.removeRemoteProducer(subtrees);
         }
     }
 
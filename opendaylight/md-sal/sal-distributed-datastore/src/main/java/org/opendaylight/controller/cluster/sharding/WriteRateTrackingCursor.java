@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.sharding;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A {@link DOMDataTreeWriteCursor} which forwards all operations to a delegate, reporting modified paths to
+ * a {@link PrefixWriteRateTracker}.
+ */
+@NotThreadSafe
+final class WriteRateTrackingCursor implements DOMDataTreeWriteCursor {
+    private final DOMDataTreeWriteCursor delegate;
+    private final PrefixWriteRateTracker tracker;
+    private YangInstanceIdentifier current = YangInstanceIdentifier.EMPTY;
+
+    WriteRateTrackingCursor(final DOMDataTreeWriteCursor delegate, final PrefixWriteRateTracker tracker) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.tracker = Preconditions.checkNotNull(tracker);
+    }
+
+    @Override
+    public void enter(final PathArgument child) {
+        delegate.enter(child);
+        current = current.node(child);
+    }
+
+    @Override
+    public void enter(final PathArgument... path) {
+        enter(Arrays.asList(path));
+    }
+
+    @Override
+    public void enter(final Iterable<PathArgument> path) {
+        delegate.enter(path);
+        for (PathArgument arg : path) {
+            current = current.node(arg);
+        }
+    }
+
+    @Override
+    public void exit() {
+        delegate.exit();
+        current = current.getParent();
+    }
+
+    @Override
+    public void exit(final int depth) {
+        delegate.exit(depth);
+        for (int i = 0; i < depth; ++i) {
+            current = current.getParent();
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public void delete(final PathArgument child) {
+        delegate.delete(child);
+        tracker.recordWrite(current.node(child));
+    }
+
+    @Override
+    public void merge(final PathArgument child, final NormalizedNode<?, ?> data) {
+        delegate.merge(child, data);
+        tracker.recordWrite(current.node(child));
+    }
+
+    @Override
+    public void write(final PathArgument child, final NormalizedNode<?, ?> data) {
+        delegate.write(child, data);
+        tracker.recordWrite(current.node(child));
+    }
+}
@@ -97,6 +97,10 @@ public class DistributedConfigDataStoreProviderModule extends AbstractDistribute
                 .customRaftPolicyImplementation(props.getCustomRaftPolicyImplementation())
                 .shardSnapshotChunkSize(props.getShardSnapshotChunkSize().getValue().intValue())
                 .useTellBasedProtocol(props.getUseTellBasedProtocol())
+                .followerReadMaxLag(props.getFollowerReadMaxLag())
+                .shardSplitWriteRateThreshold(props.getShardSplitWriteRateThreshold())
+                .shardDataTreeFactoryImplementation(props.getShardDataTreeFactoryImplementation())
+                .sectionedSnapshotsEnabled(props.getSectionedSnapshotsEnabled())
                 .build();
     }
 
@@ -98,6 +98,10 @@ public class DistributedOperationalDataStoreProviderModule
                 .customRaftPolicyImplementation(props.getCustomRaftPolicyImplementation())
                 .shardSnapshotChunkSize(props.getShardSnapshotChunkSize().getValue().intValue())
                 .useTellBasedProtocol(props.getUseTellBasedProtocol())
+                .followerReadMaxLag(props.getFollowerReadMaxLag())
+                .shardSplitWriteRateThreshold(props.getShardSplitWriteRateThreshold())
+                .shardDataTreeFactoryImplementation(props.getShardDataTreeFactoryImplementation())
+                .sectionedSnapshotsEnabled(props.getSectionedSnapshotsEnabled())
                 .build();
     }
 
@@ -82,7 +82,7 @@ public class ClientLocalHistoryTest extends AbstractClientHistoryTest<ClientLoca
     @Override
     @Test
     public void testOnTransactionAbort() throws Exception {
-        final ClientSnapshot clientSnapshot = object().doCreateSnapshot();
+        final ClientSnapshot clientSnapshot = object().doCreateSnapshot(false);
         Assert.assertTrue(clientSnapshot.abort());
     }
 
@@ -97,12 +97,17 @@ public class ClientLocalHistoryTest extends AbstractClientHistoryTest<ClientLoca
     @Override
     @Test
     public void testDoCreateSnapshot() throws Exception {
-        final ClientSnapshot clientSnapshot = object().doCreateSnapshot();
+        final ClientSnapshot clientSnapshot = object().doCreateSnapshot(false);
         Assert.assertEquals(new TransactionIdentifier(object().getIdentifier(), object().nextTx()).getHistoryId(),
                 clientSnapshot.getIdentifier().getHistoryId());
     }
 
     @Override
+    @Test(expected = IllegalArgumentException.class)
+    public void testTakeFollowerSnapshot() throws Exception {
+        object().takeSnapshot(true);
+    }
+
     @Test
     public void testOnTransactionComplete() throws Exception {
         final ClientTransaction transaction = object().createTransaction();
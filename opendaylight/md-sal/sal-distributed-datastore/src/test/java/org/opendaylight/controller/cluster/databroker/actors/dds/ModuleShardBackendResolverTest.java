@@ -7,17 +7,24 @@
  */
 package org.opendaylight.controller.cluster.databroker.actors.dds;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
 import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.dispatch.Futures;
+import akka.serialization.JavaSerializer;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestProbe;
+import akka.util.Timeout;
 import java.util.Collections;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -32,6 +39,13 @@ import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.FrontendType;
 import org.opendaylight.controller.cluster.access.concepts.MemberName;
 import org.opendaylight.controller.cluster.access.concepts.RuntimeRequestException;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.ShardReadReplica;
+import org.opendaylight.controller.cluster.datastore.ShardReadReplicaUtil;
+import org.opendaylight.controller.cluster.datastore.messages.FindLocalShard;
+import org.opendaylight.controller.cluster.datastore.messages.GetShardReadReplica;
+import org.opendaylight.controller.cluster.datastore.messages.LocalShardFound;
+import org.opendaylight.controller.cluster.datastore.messages.LocalShardNotFound;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
@@ -39,6 +53,8 @@ import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.cluster.datastore.utils.PrimaryShardInfoFutureCache;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
 import scala.concurrent.Promise;
 
 public class ModuleShardBackendResolverTest {
@@ -49,6 +65,7 @@ public class ModuleShardBackendResolverTest {
     private static final ClientIdentifier CLIENT_ID = ClientIdentifier.create(FRONTEND_ID, 0);
 
     private ActorSystem system;
+    private ActorContext actorContext;
     private ModuleShardBackendResolver moduleShardBackendResolver;
     private TestProbe contextProbe;
 
@@ -64,12 +81,14 @@ public class ModuleShardBackendResolverTest {
         MockitoAnnotations.initMocks(this);
         system = ActorSystem.apply();
         contextProbe = new TestProbe(system, "context");
-        final ActorContext actorContext = createActorContextMock(system, contextProbe.ref());
+        actorContext = createActorContextMock(system, contextProbe.ref());
         moduleShardBackendResolver = new ModuleShardBackendResolver(CLIENT_ID, actorContext);
         when(actorContext.getShardStrategyFactory()).thenReturn(shardStrategyFactory);
         when(shardStrategyFactory.getStrategy(YangInstanceIdentifier.EMPTY)).thenReturn(shardStrategy);
         final PrimaryShardInfoFutureCache cache = new PrimaryShardInfoFutureCache();
         when(actorContext.getPrimaryShardInfoCache()).thenReturn(cache);
+        when(actorContext.getDatastoreContext()).thenReturn(
+            DatastoreContext.newBuilder().followerReadMaxLag(7).build());
     }
 
     @After
@@ -145,6 +164,51 @@ public class ModuleShardBackendResolverTest {
         Assert.assertEquals(refreshedBackendProbe.ref(), refreshedBackendInfo.getActor());
     }
 
+    @Test
+    public void testGetBackendInfoWithReadReplica() throws Exception {
+        final TestProbe shardManagerProbe = new TestProbe(system, "shardManager");
+        final TestProbe localShardProbe = new TestProbe(system, "localShard");
+        final ShardReadReplica replica = ShardReadReplicaUtil.createReplica("default",
+            InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL), () -> 7L);
+        when(actorContext.getShardManager()).thenReturn(shardManagerProbe.ref());
+        when(actorContext.executeOperationAsync(eq(shardManagerProbe.ref()), any(FindLocalShard.class),
+            any(Timeout.class))).thenReturn(Futures.<Object>successful(new LocalShardFound(localShardProbe.ref())));
+        when(actorContext.executeOperationAsync(eq(localShardProbe.ref()), eq(GetShardReadReplica.INSTANCE),
+            any(Timeout.class))).thenReturn(Futures.<Object>successful(replica));
+
+        final ShardBackendInfo info = connectToRemoteLeader();
+        Assert.assertFalse(info.getDataTree().isPresent());
+
+        // The replica is used only while it is active
+        Assert.assertFalse(info.takeReplicaSnapshot().isPresent());
+        ShardReadReplicaUtil.setActive(replica, true);
+        Assert.assertTrue(info.takeReplicaSnapshot().isPresent());
+    }
+
+    @Test
+    public void testGetBackendInfoWithoutReadReplica() throws Exception {
+        final TestProbe shardManagerProbe = new TestProbe(system, "shardManager");
+        when(actorContext.getShardManager()).thenReturn(shardManagerProbe.ref());
+        when(actorContext.executeOperationAsync(eq(shardManagerProbe.ref()), any(FindLocalShard.class),
+            any(Timeout.class))).thenReturn(Futures.<Object>successful(new LocalShardNotFound("default")));
+
+        final ShardBackendInfo info = connectToRemoteLeader();
+        Assert.assertFalse(info.getDataTree().isPresent());
+        Assert.assertFalse(info.takeReplicaSnapshot().isPresent());
+    }
+
+    private ShardBackendInfo connectToRemoteLeader() throws Exception {
+        final CompletionStage<ShardBackendInfo> stage = moduleShardBackendResolver.getBackendInfo(0L);
+        contextProbe.expectMsgClass(ConnectClientRequest.class);
+
+        // A remote leader does not share its data tree, which is dropped when the response is serialized
+        final TestProbe backendProbe = new TestProbe(system, "backend");
+        JavaSerializer.currentSystem().value_$eq((ExtendedActorSystem) system);
+        contextProbe.reply(SerializationUtils.clone(new ConnectClientSuccess(CLIENT_ID, 0L, backendProbe.ref(),
+            Collections.emptyList(), dataTree, 3)));
+        return TestUtils.getWithTimeout(stage.toCompletableFuture());
+    }
+
     private static ActorContext createActorContextMock(final ActorSystem system, final ActorRef actor) {
         final ActorContext mock = mock(ActorContext.class);
         final Promise<PrimaryShardInfo> promise = new scala.concurrent.impl.Promise.DefaultPromise<>();
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.databroker.actors.dds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import akka.actor.ActorSystem;
+import akka.testkit.JavaTestKit;
+import akka.testkit.TestProbe;
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.client.AbstractClientConnection;
+import org.opendaylight.controller.cluster.access.client.AccessClientUtil;
+import org.opendaylight.controller.cluster.access.client.ClientActorContext;
+import org.opendaylight.controller.cluster.access.client.ConnectedClientConnection;
+import org.opendaylight.controller.cluster.access.client.InternalCommand;
+import org.opendaylight.controller.cluster.access.commands.DestroyLocalHistoryRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchSuccess;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequestBuilder;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionSuccess;
+import org.opendaylight.controller.cluster.access.commands.ReadTransactionRequest;
+import org.opendaylight.controller.cluster.access.commands.TransactionWrite;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.Request;
+import org.opendaylight.controller.cluster.access.concepts.RequestEnvelope;
+import org.opendaylight.controller.cluster.access.concepts.Response;
+import org.opendaylight.controller.cluster.access.concepts.SuccessEnvelope;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.ShardReadReplica;
+import org.opendaylight.controller.cluster.datastore.ShardReadReplicaUtil;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import scala.concurrent.duration.FiniteDuration;
+
+public class RemoteProxyHistoryTest {
+    private static final LocalHistoryIdentifier HISTORY_ID = new LocalHistoryIdentifier(TestUtils.CLIENT_ID, 1);
+    private static final YangInstanceIdentifier PATH = YangInstanceIdentifier.of(QName.create("ns-1", "node-1"));
+    private static final ContainerNode DATA = Builders.containerBuilder()
+            .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(PATH.getLastPathArgument().getNodeType()))
+            .build();
+    private static final FiniteDuration NO_MESSAGE = FiniteDuration.create(200, TimeUnit.MILLISECONDS);
+
+    private ActorSystem system;
+    private TestProbe clientContextProbe;
+    private TestProbe backendProbe;
+    private ClientActorContext context;
+    private AbstractClientConnection<ShardBackendInfo> connection;
+    private ProxyHistory history;
+
+    @Before
+    public void setUp() {
+        system = ActorSystem.apply();
+        clientContextProbe = new TestProbe(system, "clientContext");
+        backendProbe = new TestProbe(system, "backend");
+        context = AccessClientUtil.createClientActorContext(system, clientContextProbe.ref(), TestUtils.CLIENT_ID,
+            "per-1");
+        connection = createConnection(backendProbe);
+        history = ProxyHistory.createClient(mock(AbstractClientHistory.class), connection, HISTORY_ID);
+    }
+
+    @After
+    public void tearDown() {
+        JavaTestKit.shutdownActorSystem(system);
+    }
+
+    @Test
+    public void testBatchHeldBackUntilFlushed() {
+        final Consumer<Response<?, ?>> callback1 = createCallbackMock();
+        final Consumer<Response<?, ?>> callback2 = createCallbackMock();
+        final ModifyTransactionRequest request1 = readyRequest(1);
+        final ModifyTransactionRequest request2 = readyRequest(2);
+        history.sendRequest(request1, callback1);
+        history.sendRequest(request2, callback2);
+        backendProbe.expectNoMsg(NO_MESSAGE);
+
+        runScheduledFlush();
+        final RequestEnvelope envelope = backendProbe.expectMsgClass(RequestEnvelope.class);
+        final ModifyTransactionBatchRequest batch = (ModifyTransactionBatchRequest) envelope.getMessage();
+        assertEquals(Arrays.asList(request1.getTarget(), request2.getTarget()), targets(batch.getRequests()));
+
+        final ModifyTransactionSuccess success1 = new ModifyTransactionSuccess(request1.getTarget(), 0);
+        final ModifyTransactionSuccess success2 = new ModifyTransactionSuccess(request2.getTarget(), 0);
+        reply(envelope, new ModifyTransactionBatchSuccess(HISTORY_ID, batch.getSequence(),
+            Arrays.asList(success1, success2)));
+        verify(callback1).accept(success1);
+        verify(callback2).accept(success2);
+    }
+
+    @Test
+    public void testNoBatchingWithBoronBackend() {
+        final TestProbe boronBackendProbe = new TestProbe(system, "boronBackend");
+        final ProxyHistory boronHistory = ProxyHistory.createClient(mock(AbstractClientHistory.class),
+            createConnection(boronBackendProbe, ABIVersion.BORON), HISTORY_ID);
+        final Consumer<Response<?, ?>> callback = createCallbackMock();
+        boronHistory.sendRequest(readyRequest(1), callback);
+        boronHistory.sendRequest(readyRequest(2), callback);
+
+        // Requests are sent immediately and on their own, no flush is scheduled
+        assertEquals(txId(1), expectRequest(boronBackendProbe, ModifyTransactionRequest.class).getTarget());
+        assertEquals(txId(2), expectRequest(boronBackendProbe, ModifyTransactionRequest.class).getTarget());
+        clientContextProbe.expectNoMsg(NO_MESSAGE);
+    }
+
+    @Test
+    public void testFollowerSnapshotServedByReplica() throws Exception {
+        final AbstractProxyTransaction tx = createReplicaHistory(5, true).createFollowerSnapshotProxy(txId(1));
+        assertTrue(tx instanceof FollowerReadOnlyProxyTransaction);
+        assertTrue(tx.read(YangInstanceIdentifier.EMPTY).checkedGet().isPresent());
+
+        // The leader is not involved at all
+        tx.abort();
+        backendProbe.expectNoMsg(NO_MESSAGE);
+    }
+
+    @Test
+    public void testFollowerSnapshotLaggingReplica() {
+        final AbstractProxyTransaction tx = createReplicaHistory(6, true).createFollowerSnapshotProxy(txId(1));
+        assertTrue(tx instanceof RemoteProxyTransaction);
+    }
+
+    @Test
+    public void testFollowerSnapshotInactiveReplica() {
+        final AbstractProxyTransaction tx = createReplicaHistory(0, false).createFollowerSnapshotProxy(txId(1));
+        assertTrue(tx instanceof RemoteProxyTransaction);
+    }
+
+    @Test
+    public void testFollowerSnapshotWithoutReplica() {
+        assertTrue(history.createFollowerSnapshotProxy(txId(1)) instanceof RemoteProxyTransaction);
+    }
+
+    @Test
+    public void testBatchFlushedWhenFull() {
+        final Consumer<Response<?, ?>> callback = createCallbackMock();
+        final List<ModifyTransactionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ProxyHistory.BATCH_MAX_REQUESTS; ++i) {
+            final ModifyTransactionRequest request = readyRequest(i);
+            requests.add(request);
+            history.sendRequest(request, callback);
+        }
+
+        final ModifyTransactionBatchRequest batch = expectRequest(backendProbe, ModifyTransactionBatchRequest.class);
+        assertEquals(targets(requests), targets(batch.getRequests()));
+
+        // The flush scheduled by the first request finds nothing to send
+        runScheduledFlush();
+        backendProbe.expectNoMsg(NO_MESSAGE);
+    }
+
+    @Test
+    public void testFlushBeforeNonBatchableRequest() {
+        final Consumer<Response<?, ?>> callback = createCallbackMock();
+        history.sendRequest(readyRequest(1), callback);
+        history.sendRequest(readyRequest(2), callback);
+        history.sendRequest(new ReadTransactionRequest(txId(3), 0, clientContextProbe.ref(), PATH, false), callback);
+
+        final ModifyTransactionBatchRequest batch = expectRequest(backendProbe, ModifyTransactionBatchRequest.class);
+        assertEquals(Arrays.asList(txId(1), txId(2)), targets(batch.getRequests()));
+        expectRequest(backendProbe, ReadTransactionRequest.class);
+    }
+
+    @Test
+    public void testFlushBeforeDestroy() {
+        final Consumer<Response<?, ?>> callback = createCallbackMock();
+        history.sendRequest(readyRequest(1), callback);
+        history.sendRequest(readyRequest(2), callback);
+        history.close();
+
+        final ModifyTransactionBatchRequest batch = expectRequest(backendProbe, ModifyTransactionBatchRequest.class);
+        final DestroyLocalHistoryRequest destroy = expectRequest(backendProbe, DestroyLocalHistoryRequest.class);
+
+        // Batches must not use sequences of the history lifecycle, as responses are matched by target and sequence
+        assertTrue(batch.getSequence() > destroy.getSequence() + 1);
+    }
+
+    @Test
+    public void testUnansweredBatchedRequestIsSentAgain() {
+        final Consumer<Response<?, ?>> callback1 = createCallbackMock();
+        final Consumer<Response<?, ?>> callback2 = createCallbackMock();
+        final ModifyTransactionRequest request1 = readyRequest(1);
+        final ModifyTransactionRequest request2 = readyRequest(2);
+        history.sendRequest(request1, callback1);
+        history.sendRequest(request2, callback2);
+        runScheduledFlush();
+
+        final RequestEnvelope envelope = backendProbe.expectMsgClass(RequestEnvelope.class);
+        final ModifyTransactionSuccess success1 = new ModifyTransactionSuccess(request1.getTarget(), 0);
+        reply(envelope, new ModifyTransactionBatchSuccess(HISTORY_ID, envelope.getMessage().getSequence(),
+            Arrays.asList(success1, null)));
+        verify(callback1).accept(success1);
+
+        final ModifyTransactionRequest resent = expectRequest(backendProbe, ModifyTransactionRequest.class);
+        assertEquals(request2.getTarget(), resent.getTarget());
+        assertEquals(request2.getSequence(), resent.getSequence());
+    }
+
+    @Test
+    public void testHeldBatchReplayedOnReconnect() {
+        final AbstractProxyTransaction tx1 = history.createTransactionProxy(txId(1), false);
+        final AbstractProxyTransaction tx2 = history.createTransactionProxy(txId(2), false);
+        tx1.write(PATH, DATA);
+        tx1.seal();
+        tx2.write(PATH, DATA);
+        tx2.seal();
+        backendProbe.expectNoMsg(NO_MESSAGE);
+
+        final TestProbe newBackendProbe = new TestProbe(system, "newBackend");
+        final ProxyReconnectCohort cohort = history.startReconnect(createConnection(newBackendProbe));
+        cohort.replaySuccessfulRequests(Collections.emptyList());
+        cohort.finishReconnect();
+
+        // Flushes scheduled by both the original history and its successor
+        runScheduledFlush();
+        runScheduledFlush();
+        backendProbe.expectNoMsg(NO_MESSAGE);
+
+        final ModifyTransactionBatchRequest batch = expectRequest(newBackendProbe,
+            ModifyTransactionBatchRequest.class);
+        final List<ModifyTransactionRequest> replayed = batch.getRequests().stream()
+                .filter(req -> !req.getModifications().isEmpty()).collect(Collectors.toList());
+        assertEquals(Arrays.asList(txId(1), txId(2)), targets(replayed));
+        for (ModifyTransactionRequest request : replayed) {
+            assertEquals(1, request.getModifications().size());
+            assertTrue(request.getModifications().get(0) instanceof TransactionWrite);
+        }
+    }
+
+    private ConnectedClientConnection<ShardBackendInfo> createConnection(final TestProbe backend) {
+        return createConnection(backend, ABIVersion.CARBON);
+    }
+
+    private ConnectedClientConnection<ShardBackendInfo> createConnection(final TestProbe backend,
+            final ABIVersion version) {
+        return AccessClientUtil.createConnectedConnection(context, 0L, new ShardBackendInfo(backend.ref(), 0L,
+            version, "default", UnsignedLong.ZERO, Optional.empty(), 10));
+    }
+
+    private ProxyHistory createReplicaHistory(final long replicaLag, final boolean replicaActive) {
+        final ShardReadReplica replica = ShardReadReplicaUtil.createReplica("default",
+            InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL), () -> replicaLag);
+        ShardReadReplicaUtil.setActive(replica, replicaActive);
+        return ProxyHistory.createClient(mock(AbstractClientHistory.class),
+            AccessClientUtil.createConnectedConnection(context, 0L, new ShardBackendInfo(backendProbe.ref(), 0L,
+                ABIVersion.CARBON, "default", UnsignedLong.ZERO, Optional.empty(), 10, Optional.of(replica), 5)),
+            HISTORY_ID);
+    }
+
+    private ModifyTransactionRequest readyRequest(final long txId) {
+        final ModifyTransactionRequestBuilder builder = new ModifyTransactionRequestBuilder(txId(txId),
+            clientContextProbe.ref());
+        builder.setSequence(0);
+        builder.addModification(new TransactionWrite(PATH, DATA));
+        builder.setReady();
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runScheduledFlush() {
+        clientContextProbe.expectMsgClass(InternalCommand.class).execute(null);
+    }
+
+    private void reply(final RequestEnvelope envelope, final ModifyTransactionBatchSuccess success) {
+        AccessClientUtil.completeRequest(connection, new SuccessEnvelope(success, envelope.getSessionId(),
+            envelope.getTxSequence(), 0));
+    }
+
+    private static <T extends Request<?, ?>> T expectRequest(final TestProbe probe, final Class<T> expected) {
+        final Request<?, ?> request = probe.expectMsgClass(RequestEnvelope.class).getMessage();
+        assertTrue("Unexpected request " + request, expected.isInstance(request));
+        return expected.cast(request);
+    }
+
+    private static TransactionIdentifier txId(final long id) {
+        return new TransactionIdentifier(HISTORY_ID, id);
+    }
+
+    private static List<TransactionIdentifier> targets(final List<ModifyTransactionRequest> requests) {
+        return requests.stream().map(ModifyTransactionRequest::getTarget).collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<Response<?, ?>> createCallbackMock() {
+        return mock(Consumer.class);
+    }
+}
@@ -82,7 +82,7 @@ public class SingleClientHistoryTest extends AbstractClientHistoryTest<SingleCli
     @Override
     @Test
     public void testDoCreateSnapshot() throws Exception {
-        final ClientSnapshot clientSnapshot = object().doCreateSnapshot();
+        final ClientSnapshot clientSnapshot = object().doCreateSnapshot(false);
         Assert.assertEquals(new TransactionIdentifier(object().getIdentifier(), object().nextTx()).getHistoryId(),
                 clientSnapshot.getIdentifier().getHistoryId());
     }
@@ -103,7 +103,7 @@ public class SingleClientHistoryTest extends AbstractClientHistoryTest<SingleCli
     @Override
     @Test
     public void testOnTransactionAbort() throws Exception {
-        final ClientSnapshot clientSnapshot = object().doCreateSnapshot();
+        final ClientSnapshot clientSnapshot = object().doCreateSnapshot(false);
         Assert.assertTrue(clientSnapshot.abort());
     }
 
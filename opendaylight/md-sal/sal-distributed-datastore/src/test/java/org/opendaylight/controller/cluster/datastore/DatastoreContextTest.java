@@ -9,7 +9,10 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_CONFIGURATION_READER;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_FOLLOWER_READ_MAX_LAG;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_HEARTBEAT_INTERVAL_IN_MILLIS;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_ISOLATED_LEADER_CHECK_INTERVAL_IN_MILLIS;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_JOURNAL_RECOVERY_BATCH_SIZE;
@@ -31,6 +34,9 @@ import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
 import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreConfigProperties;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
 
 public class DatastoreContextTest {
 
@@ -70,6 +76,11 @@ public class DatastoreContextTest {
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE,
                 context.getDataStoreProperties().getMaxDataStoreExecutorQueueSize());
         assertEquals(DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE, context.getShardSnapshotChunkSize());
+        assertEquals(DEFAULT_FOLLOWER_READ_MAX_LAG, context.getFollowerReadMaxLag());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_SPLIT_WRITE_RATE_THRESHOLD,
+                context.getShardSplitWriteRateThreshold());
+        assertSame(InMemoryShardDataTreeFactory.INSTANCE, context.getShardDataTreeFactory());
+        assertEquals(DatastoreContext.DEFAULT_SECTIONED_SNAPSHOTS_ENABLED, context.isSectionedSnapshotsEnabled());
     }
 
     @Test
@@ -105,6 +116,10 @@ public class DatastoreContextTest {
         builder.maxShardDataStoreExecutorQueueSize(
                 InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE + 1);
         builder.shardSnapshotChunkSize(DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE + 1);
+        builder.followerReadMaxLag(DEFAULT_FOLLOWER_READ_MAX_LAG + 1);
+        builder.shardSplitWriteRateThreshold(DatastoreContext.DEFAULT_SHARD_SPLIT_WRITE_RATE_THRESHOLD + 1);
+        builder.shardDataTreeFactoryImplementation(TestShardDataTreeFactory.class.getName());
+        builder.sectionedSnapshotsEnabled(!DatastoreContext.DEFAULT_SECTIONED_SNAPSHOTS_ENABLED);
 
         DatastoreContext context = builder.build();
 
@@ -156,5 +171,25 @@ public class DatastoreContextTest {
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE + 1,
                 context.getDataStoreProperties().getMaxDataStoreExecutorQueueSize());
         assertEquals(DEFAULT_SHARD_SNAPSHOT_CHUNK_SIZE + 1, context.getShardSnapshotChunkSize());
+        assertEquals(DEFAULT_FOLLOWER_READ_MAX_LAG + 1, context.getFollowerReadMaxLag());
+        assertEquals(DatastoreContext.DEFAULT_SHARD_SPLIT_WRITE_RATE_THRESHOLD + 1,
+                context.getShardSplitWriteRateThreshold());
+        assertEquals(TestShardDataTreeFactory.class.getName(), context.getShardDataTreeFactoryImplementation());
+        assertTrue(context.getShardDataTreeFactory() instanceof TestShardDataTreeFactory);
+        assertEquals(!DatastoreContext.DEFAULT_SECTIONED_SNAPSHOTS_ENABLED, context.isSectionedSnapshotsEnabled());
+    }
+
+    @Test
+    public void testInvalidShardDataTreeFactory() {
+        final DatastoreContext context = DatastoreContext.newBuilder()
+                .shardDataTreeFactoryImplementation("org.opendaylight.NonExistentFactory").build();
+        assertSame(InMemoryShardDataTreeFactory.INSTANCE, context.getShardDataTreeFactory());
+    }
+
+    public static final class TestShardDataTreeFactory implements ShardDataTreeFactory {
+        @Override
+        public TipProducingDataTree create(final TreeType treeType, final YangInstanceIdentifier rootPath) {
+            return InMemoryShardDataTreeFactory.INSTANCE.create(treeType, rootPath);
+        }
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+
+import akka.actor.ActorRef;
+import com.google.common.base.Ticker;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.access.commands.CreateLocalHistoryRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionBatchSuccess;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequestBuilder;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionSuccess;
+import org.opendaylight.controller.cluster.access.commands.TransactionFailure;
+import org.opendaylight.controller.cluster.access.commands.TransactionWrite;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.Request;
+import org.opendaylight.controller.cluster.access.concepts.RequestEnvelope;
+import org.opendaylight.controller.cluster.access.concepts.RequestException;
+import org.opendaylight.controller.cluster.access.concepts.RequestSuccess;
+import org.opendaylight.controller.cluster.access.concepts.Response;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardCommitStats;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+
+public class LeaderFrontendStateTest extends AbstractTest {
+    private final Shard mockShard = Mockito.mock(Shard.class);
+    private final ActorRef replyTo = Mockito.mock(ActorRef.class);
+
+    private LocalHistoryIdentifier historyId;
+    private LeaderFrontendState state;
+    private long txSequence;
+
+    @Before
+    public void setUp() throws RequestException {
+        doReturn(Ticker.systemTicker()).when(mockShard).ticker();
+        doReturn(Mockito.mock(ShardStats.class)).when(mockShard).getShardMBean();
+        doReturn(Mockito.mock(ShardCommitStats.class)).when(mockShard).getCommitStats();
+
+        final ShardDataTree tree = new ShardDataTree(mockShard, SchemaContextHelper.full(), TreeType.OPERATIONAL);
+        historyId = nextHistoryId();
+        state = new LeaderFrontendState("member-1-shard-test", historyId.getClientId(), tree);
+        final CreateLocalHistoryRequest create = new CreateLocalHistoryRequest(historyId, replyTo);
+        assertNotNull(state.handleLocalHistoryRequest(create, nextEnvelope(create), 0));
+    }
+
+    @Test
+    public void testBatchUnpackedIntoTransactionResponses() throws RequestException {
+        final TransactionIdentifier tx1 = new TransactionIdentifier(historyId, 1);
+        final TransactionIdentifier tx2 = new TransactionIdentifier(historyId, 2);
+        final TransactionIdentifier tx3 = new TransactionIdentifier(historyId, 3);
+
+        // tx2 does not exist, hence its request is rejected without affecting the others
+        final ModifyTransactionBatchRequest batch = new ModifyTransactionBatchRequest(historyId, 3, replyTo,
+            Arrays.asList(readyRequest(tx1, 0), readyRequest(tx2, 1), readyRequest(tx3, 0)));
+        final RequestSuccess<?, ?> success = state.handleLocalHistoryRequest(batch, nextEnvelope(batch), 0);
+
+        assertTrue(success instanceof ModifyTransactionBatchSuccess);
+        assertEquals(historyId, success.getTarget());
+        assertEquals(3, success.getSequence());
+
+        final List<Response<TransactionIdentifier, ?>> responses =
+                ((ModifyTransactionBatchSuccess) success).getResponses();
+        assertEquals(3, responses.size());
+        assertResponse(ModifyTransactionSuccess.class, tx1, 0, responses.get(0));
+        assertResponse(TransactionFailure.class, tx2, 1, responses.get(1));
+        assertResponse(ModifyTransactionSuccess.class, tx3, 0, responses.get(2));
+    }
+
+    @Test
+    public void testBatchTakesSingleEnvelopeSequence() throws RequestException {
+        final ModifyTransactionBatchRequest batch1 = new ModifyTransactionBatchRequest(historyId, 3, replyTo,
+            Arrays.asList(readyRequest(new TransactionIdentifier(historyId, 1), 0),
+                readyRequest(new TransactionIdentifier(historyId, 2), 0)));
+        assertNotNull(state.handleLocalHistoryRequest(batch1, nextEnvelope(batch1), 0));
+
+        // An out-of-order envelope would be rejected with an exception
+        final ModifyTransactionBatchRequest batch2 = new ModifyTransactionBatchRequest(historyId, 4, replyTo,
+            Arrays.asList(readyRequest(new TransactionIdentifier(historyId, 3), 0),
+                readyRequest(new TransactionIdentifier(historyId, 4), 0)));
+        final RequestSuccess<?, ?> success = state.handleLocalHistoryRequest(batch2, nextEnvelope(batch2), 0);
+        for (Response<TransactionIdentifier, ?> response : ((ModifyTransactionBatchSuccess) success).getResponses()) {
+            assertTrue(response instanceof ModifyTransactionSuccess);
+        }
+    }
+
+    private RequestEnvelope nextEnvelope(final Request<?, ?> request) {
+        return new RequestEnvelope(request, 0, txSequence++);
+    }
+
+    private ModifyTransactionRequest readyRequest(final TransactionIdentifier txId, final long sequence) {
+        final ModifyTransactionRequestBuilder builder = new ModifyTransactionRequestBuilder(txId, replyTo);
+        builder.setSequence(sequence);
+        builder.addModification(new TransactionWrite(CarsModel.BASE_PATH, CarsModel.create()));
+        builder.setReady();
+        return builder.build();
+    }
+
+    private static void assertResponse(final Class<?> expectedType, final TransactionIdentifier expectedTarget,
+            final long expectedSequence, final Response<TransactionIdentifier, ?> response) {
+        assertTrue("Unexpected response " + response, expectedType.isInstance(response));
+        assertEquals(expectedTarget, response.getTarget());
+        assertEquals(expectedSequence, response.getSequence());
+    }
+}
@@ -49,6 +49,7 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardCommitStats;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
@@ -76,6 +77,8 @@ public class ShardDataTreeTest extends AbstractTest {
     public void setUp() {
         doReturn(Ticker.systemTicker()).when(mockShard).ticker();
         doReturn(Mockito.mock(ShardStats.class)).when(mockShard).getShardMBean();
+        doReturn(Mockito.mock(ShardCommitStats.class)).when(mockShard).getCommitStats();
+        doReturn(DatastoreContext.newBuilder().build()).when(mockShard).getDatastoreContext();
 
         fullSchema = SchemaContextHelper.full();
 
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+
+public class ShardReadReplicaTest {
+    private final AtomicLong lag = new AtomicLong();
+    private ShardReadReplica replica;
+
+    @Before
+    public void setUp() {
+        replica = new ShardReadReplica("test", InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL),
+            lag::get);
+    }
+
+    @Test
+    public void testInactive() {
+        assertFalse(replica.takeSnapshot(Long.MAX_VALUE).isPresent());
+    }
+
+    @Test
+    public void testLag() {
+        replica.setActive(true);
+        lag.set(10);
+        assertTrue(replica.takeSnapshot(10).isPresent());
+        assertFalse(replica.takeSnapshot(9).isPresent());
+
+        replica.setActive(false);
+        assertFalse(replica.takeSnapshot(10).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLag() {
+        replica.takeSnapshot(-1);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import java.util.function.LongSupplier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+
+/**
+ * Util class to access package private members of {@link ShardReadReplica} for test purposes.
+ */
+public final class ShardReadReplicaUtil {
+    private ShardReadReplicaUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static ShardReadReplica createReplica(final String shardName, final DataTree dataTree,
+            final LongSupplier lagSupplier) {
+        return new ShardReadReplica(shardName, dataTree, lagSupplier);
+    }
+
+    public static void setActive(final ShardReadReplica replica, final boolean active) {
+        replica.setActive(active);
+    }
+}
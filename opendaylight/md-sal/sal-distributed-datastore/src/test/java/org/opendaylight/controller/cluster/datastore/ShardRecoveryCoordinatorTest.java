@@ -12,12 +12,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import com.google.common.base.Optional;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
+import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
@@ -76,6 +81,27 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
         assertEquals(true, readPeople(peopleDataTree).isPresent());
     }
 
+    @Test
+    public void testApplyDeserializedRecoverySnapshot() throws Exception {
+        final ShardRecoveryCoordinator coordinator = new ShardRecoveryCoordinator(peopleDataTree,
+                null, "foobar", LoggerFactory.getLogger("foo"));
+        coordinator.startLogRecoveryBatch(10);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            createSnapshot().getSnapshot().serialize(out);
+        }
+
+        final ShardDataTreeSnapshot snapshot;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            snapshot = ShardDataTreeSnapshot.deserialize(in);
+        }
+
+        coordinator.applyRecoverySnapshot(new ShardSnapshotState(snapshot));
+
+        assertEquals(false, readCars(peopleDataTree).isPresent());
+        assertEquals(true, readPeople(peopleDataTree).isPresent());
+    }
 
     @Test
     public void testApplyCurrentLogRecoveryBatch() {
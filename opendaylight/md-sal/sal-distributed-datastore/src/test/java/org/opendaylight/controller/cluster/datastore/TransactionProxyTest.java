@@ -18,6 +18,8 @@ import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.controller.cluster.datastore.TransactionType.READ_ONLY;
 import static org.opendaylight.controller.cluster.datastore.TransactionType.READ_WRITE;
@@ -55,6 +57,7 @@ import org.opendaylight.controller.cluster.datastore.messages.BatchedModificatio
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransactionReply;
+import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
 import org.opendaylight.controller.cluster.datastore.modification.MergeModification;
@@ -68,11 +71,13 @@ import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import scala.concurrent.Promise;
@@ -107,6 +112,9 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         doReturn(readDataReply(expectedNode)).when(mockActorContext).executeOperationAsync(
                 eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
 
+        // Reads are cached within a transaction, hence we need a new one to observe the new reply
+        transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
         readOptional = transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
 
         assertEquals("NormalizedNode isPresent", true, readOptional.isPresent());
@@ -114,6 +122,63 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         assertEquals("Response NormalizedNode", expectedNode, readOptional.get());
     }
 
+    @Test
+    public void testReadServedFromCache() throws Exception {
+        ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
+
+        final ContainerNode outerContainer = ImmutableNodes.containerNode(TestModel.OUTER_CONTAINER_QNAME);
+        final ContainerNode testNode = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME)).withChild(outerContainer).build();
+
+        doReturn(readDataReply(testNode)).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        assertEquals("Response NormalizedNode", testNode,
+                transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS).get());
+        assertEquals("Response NormalizedNode", testNode,
+                transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS).get());
+        assertEquals("Response NormalizedNode", outerContainer,
+                transactionProxy.read(TestModel.OUTER_CONTAINER_PATH).get(5, TimeUnit.SECONDS).get());
+        assertEquals("NormalizedNode isPresent", false,
+                transactionProxy.read(TestModel.OUTER_LIST_PATH).get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals("Exists response", true, transactionProxy.exists(TestModel.TEST_PATH).checkedGet());
+
+        verify(mockActorContext).executeOperationAsync(eq(actorSelection(actorRef)), eqReadData(),
+                any(Timeout.class));
+        verify(mockActorContext, never()).executeOperationAsync(eq(actorSelection(actorRef)),
+                isA(DataExists.class), any(Timeout.class));
+    }
+
+    @Test
+    public void testReadCacheInvalidatedByModification() throws Exception {
+        ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_WRITE);
+
+        expectBatchedModifications(actorRef, 1);
+
+        NormalizedNode<?, ?> expectedNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+
+        doReturn(readDataReply(expectedNode)).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_WRITE);
+
+        transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
+        transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
+
+        verify(mockActorContext).executeOperationAsync(eq(actorSelection(actorRef)), eqReadData(),
+                any(Timeout.class));
+
+        transactionProxy.write(TestModel.OUTER_CONTAINER_PATH,
+                ImmutableNodes.containerNode(TestModel.OUTER_CONTAINER_QNAME));
+
+        transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
+
+        verify(mockActorContext, times(2)).executeOperationAsync(eq(actorSelection(actorRef)), eqReadData(),
+                any(Timeout.class));
+    }
+
     @Test(expected = ReadFailedException.class)
     public void testReadWithInvalidReplyMessageType() throws Exception {
         ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
@@ -246,6 +311,9 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         doReturn(dataExistsReply(true)).when(mockActorContext).executeOperationAsync(
                 eq(actorSelection(actorRef)), eqDataExists(), any(Timeout.class));
 
+        // Exists checks are cached within a transaction, hence we need a new one to observe the new reply
+        transactionProxy = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
         exists = transactionProxy.exists(TestModel.TEST_PATH).checkedGet();
 
         assertEquals("Exists response", true, exists);
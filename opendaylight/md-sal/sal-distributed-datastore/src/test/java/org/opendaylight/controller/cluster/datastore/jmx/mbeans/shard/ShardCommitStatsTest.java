@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
+
+public class ShardCommitStatsTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private MBeanServer mbeanServer;
+    private ShardCommitStats commitStats;
+    private ObjectName testMBeanName;
+
+    @Before
+    public void setUp() throws Exception {
+        commitStats = new ShardCommitStats("shard-1", "DataStore", registry);
+        commitStats.registerMBean();
+        mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        testMBeanName = new ObjectName(AbstractMXBean.BASE_JMX_PREFIX + "type=" + commitStats.getMBeanType()
+                + ",Category=" + commitStats.getMBeanCategory() + ",name=" + commitStats.getMBeanName());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        commitStats.unregisterMBean();
+    }
+
+    @Test
+    public void testCommitPhaseLatencies() throws Exception {
+        commitStats.record(ShardCommitStats.Phase.CAN_COMMIT, TimeUnit.MICROSECONDS.toNanos(100));
+        commitStats.record(ShardCommitStats.Phase.CAN_COMMIT, TimeUnit.MICROSECONDS.toNanos(300));
+        commitStats.recordJournalPersist(TimeUnit.MILLISECONDS.toNanos(2));
+
+        final CompositeData[] latencies = (CompositeData[]) mbeanServer.getAttribute(testMBeanName,
+            "CommitPhaseLatencies");
+        assertEquals(ShardCommitStats.Phase.values().length, latencies.length);
+
+        final CompositeData canCommit = latencies[ShardCommitStats.Phase.CAN_COMMIT.ordinal()];
+        assertEquals("can-commit", canCommit.get("phase"));
+        assertEquals(2L, canCommit.get("count"));
+        assertEquals(300L, canCommit.get("max"));
+
+        final CompositeData persist = latencies[ShardCommitStats.Phase.JOURNAL_PERSIST.ordinal()];
+        assertEquals("journal-persist", persist.get("phase"));
+        assertEquals(1L, persist.get("count"));
+        assertEquals(2000L, persist.get("max"));
+
+        assertEquals(0L, latencies[ShardCommitStats.Phase.QUEUE.ordinal()].get("count"));
+    }
+
+    @Test
+    public void testMetricsPublishedToRegistry() {
+        commitStats.record(ShardCommitStats.Phase.COMMIT, 1000);
+
+        final String name = "distributed-data-store.DataStore.shard-1.commit.commit";
+        assertTrue(registry.getTimers().containsKey(name));
+        assertEquals(1, registry.getTimers().get(name).getCount());
+
+        commitStats.unregisterMBean();
+        assertFalse(registry.getTimers().containsKey(name));
+    }
+}
@@ -10,8 +10,11 @@ package org.opendaylight.controller.cluster.datastore.persisted;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Collection;
 import org.apache.commons.lang3.SerializationUtils;
@@ -30,6 +33,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
@@ -193,4 +197,57 @@ public class CommitTransactionPayloadTest extends AbstractTest {
         CommitTransactionPayload payload = CommitTransactionPayload.create(nextTransactionId(), candidate);
         assertCandidateEquals(candidate, payload.getCandidate().getValue());
     }
+
+    @Test
+    public void testCompactedWriteCandidate() throws Exception {
+        final TipProducingDataTree leader = createTestTree(TestModel.testNodeWithOuter(1, 2, 3, 4, 5, 6, 7, 8));
+        final TipProducingDataTree follower = createTestTree(TestModel.testNodeWithOuter(1, 2, 3, 4, 5, 6, 7, 8));
+
+        final DataTreeModification modification = leader.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, TestModel.testNodeWithOuter(2, 3, 4, 5, 6, 7, 8, 9));
+        modification.ready();
+        candidate = leader.prepare(modification);
+
+        final CommitTransactionPayload payload = CommitTransactionPayload.create(nextTransactionId(), candidate);
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataTreeCandidateInputOutput.writeDataTreeCandidate(new DataOutputStream(bos), candidate);
+        assertTrue("compacted payload is smaller", payload.size() < bos.size());
+
+        final DataTreeCandidate compacted = payload.getCandidate().getValue();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, compacted.getRootNode().getModificationType());
+
+        leader.commit(candidate);
+        final DataTreeModification followerModification = follower.takeSnapshot().newModification();
+        DataTreeCandidates.applyToModification(followerModification, compacted);
+        followerModification.ready();
+        follower.commit(follower.prepare(followerModification));
+
+        assertEquals(leader.takeSnapshot().readNode(TestModel.TEST_PATH),
+            follower.takeSnapshot().readNode(TestModel.TEST_PATH));
+    }
+
+    @Test
+    public void testCompactedIdenticalWriteCandidate() throws Exception {
+        final TipProducingDataTree dataTree = createTestTree(TestModel.testNodeWithOuter(1, 2, 3));
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, TestModel.testNodeWithOuter(1, 2, 3));
+        modification.ready();
+        candidate = dataTree.prepare(modification);
+
+        final CommitTransactionPayload payload = CommitTransactionPayload.create(nextTransactionId(), candidate);
+        assertEquals(ModificationType.UNMODIFIED, payload.getCandidate().getValue().getRootNode()
+            .getModificationType());
+    }
+
+    private static TipProducingDataTree createTestTree(final NormalizedNode<?, ?> testNode) throws Exception {
+        final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, testNode);
+        modification.ready();
+        dataTree.commit(dataTree.prepare(modification));
+        return dataTree;
+    }
 }
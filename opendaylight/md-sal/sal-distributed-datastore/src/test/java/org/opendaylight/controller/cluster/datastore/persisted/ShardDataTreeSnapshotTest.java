@@ -7,7 +7,10 @@
  */
 package org.opendaylight.controller.cluster.datastore.persisted;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
 import java.io.ByteArrayInputStream;
@@ -18,15 +21,28 @@ import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 /**
  * Unit tests for ShardDataTreeSnapshot.
@@ -85,6 +101,100 @@ public class ShardDataTreeSnapshotTest {
         assertEquals("Metadata", expMetadata, ((MetadataShardDataTreeSnapshot)deserialized).getMetadata());
     }
 
+    @Test
+    public void testShardDataTreeSnapshotWithSections() throws Exception {
+        final NormalizedNode<?, ?> expectedNode = createLargeNode();
+        Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> expMetadata =
+                ImmutableMap.of(TestShardDataTreeSnapshotMetadata.class, new TestShardDataTreeSnapshotMetadata("test"));
+        final byte[] bytes = serialize(new MetadataShardDataTreeSnapshot(expectedNode, expMetadata, true));
+        assertTrue("Sectioned form expected", isSectioned(bytes));
+
+        ShardDataTreeSnapshot deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            deserialized = ShardDataTreeSnapshot.deserialize(in);
+        }
+
+        Optional<NormalizedNode<?, ?>> actualNode = deserialized.getRootNode();
+        assertEquals("rootNode present", true, actualNode.isPresent());
+        assertEquals("rootNode", expectedNode, actualNode.get());
+        assertEquals("Deserialized type", MetadataShardDataTreeSnapshot.class, deserialized.getClass());
+        assertEquals("Metadata", expMetadata, ((MetadataShardDataTreeSnapshot)deserialized).getMetadata());
+    }
+
+    @Test
+    public void testShardDataTreeSnapshotSectionsNotAllowed() throws Exception {
+        assertFalse(isSectioned(serialize(new MetadataShardDataTreeSnapshot(createLargeNode(), ImmutableMap.of()))));
+    }
+
+    @Test
+    public void testSmallShardDataTreeSnapshotNotSectioned() throws Exception {
+        final NormalizedNode<?, ?> node = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo"))
+                .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "bar")).build();
+        assertFalse(isSectioned(serialize(new MetadataShardDataTreeSnapshot(node, ImmutableMap.of(), true))));
+    }
+
+    @Test
+    public void testGetRootNodePrunedWhileDecoding() throws Exception {
+        final NormalizedNode<?, ?> expectedNode = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+                .withChild((DataContainerChild<?, ?>) CarsModel.create())
+                .withChild((DataContainerChild<?, ?>) PeopleModel.create()).build();
+        final byte[] bytes = serialize(new MetadataShardDataTreeSnapshot(expectedNode));
+
+        final ShardDataTreeSnapshot deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            deserialized = ShardDataTreeSnapshot.deserialize(in);
+        }
+
+        final Optional<NormalizedNode<?, ?>> prunedNode = deserialized.getRootNode(
+            SchemaContextHelper.select(SchemaContextHelper.PEOPLE_YANG));
+        assertTrue("rootNode present", prunedNode.isPresent());
+        final ContainerNode prunedRoot = (ContainerNode) prunedNode.get();
+        assertFalse("cars present", prunedRoot.getChild(CarsModel.BASE_PATH.getLastPathArgument()).isPresent());
+        assertEquals("people", PeopleModel.create(),
+            prunedRoot.getChild(PeopleModel.BASE_PATH.getLastPathArgument()).get());
+
+        // Pruning must not affect the snapshot itself, nor its serialized form
+        assertArrayEquals("serialized form", bytes, serialize(deserialized));
+        assertEquals("rootNode", expectedNode, deserialized.getRootNode().get());
+        assertEquals("pruned rootNode", prunedRoot,
+            deserialized.getRootNode(SchemaContextHelper.select(SchemaContextHelper.PEOPLE_YANG)).get());
+    }
+
+    private static NormalizedNode<?, ?> createLargeNode() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerList =
+                ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < MetadataShardDataTreeSnapshot.MIN_SECTIONED_NODES; ++i) {
+            outerList.withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+
+        final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder =
+                ImmutableContainerNodeBuilder.create();
+        builder.withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo"))
+            .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "bar"))
+            .withChild(outerList.build());
+        for (int i = 0; i < 100; ++i) {
+            builder.withChild(ImmutableNodes.leafNode(QName.create(TestModel.TEST_QNAME, "leaf" + i), i));
+        }
+        return builder.build();
+    }
+
+    private static byte[] serialize(final ShardDataTreeSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            snapshot.serialize(out);
+        }
+        return bos.toByteArray();
+    }
+
+    private static boolean isSectioned(final byte[] bytes) {
+        // Java serialization records the class name of the serialized proxy
+        return new String(bytes, StandardCharsets.ISO_8859_1).contains("SectionedProxy");
+    }
+
     @Test
     @Deprecated
     public void testPreBoronShardDataTreeSnapshot() throws Exception {
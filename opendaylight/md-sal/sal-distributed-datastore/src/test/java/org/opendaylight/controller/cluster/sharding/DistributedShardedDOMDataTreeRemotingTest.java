@@ -49,6 +49,7 @@ import org.opendaylight.mdsal.dom.api.DOMDataTreeShardingConflictException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafNodeBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +64,9 @@ public class DistributedShardedDOMDataTreeRemotingTest extends AbstractTest {
     private static final DOMDataTreeIdentifier TEST_ID =
             new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, TestModel.TEST_PATH);
 
+    private static final DOMDataTreeIdentifier OUTER_LIST_ID =
+            new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, TestModel.OUTER_LIST_PATH);
+
     private static final String MODULE_SHARDS_CONFIG = "module-shards-cars-member-1-and-2.conf";
 
     private ActorSystem leaderSystem;
@@ -228,6 +232,56 @@ public class DistributedShardedDOMDataTreeRemotingTest extends AbstractTest {
         shardRegistration.close().toCompletableFuture().get();
     }
 
+    @Test
+    public void testSplitFencesRemoteProducers() throws Exception {
+        initEmptyDatastores();
+
+        leaderTestKit.waitForMembersUp("member-2");
+
+        final DistributedShardRegistration shardRegistration =
+                waitOnAsyncTask(leaderShardFactory.createDistributedShard(
+                        TEST_ID, Lists.newArrayList(AbstractTest.MEMBER_NAME, AbstractTest.MEMBER_2_NAME)),
+                        DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+
+        leaderTestKit.waitUntilLeader(leaderConfigDatastore.getActorContext(),
+                ClusterUtils.getCleanShardName(TEST_ID.getRootIdentifier()));
+
+        // A producer on the other member prevents the split
+        final DOMDataTreeProducer followerProducer =
+                followerShardFactory.createProducer(Collections.singleton(TEST_ID));
+        try {
+            leaderShardFactory.splitDistributedShard(OUTER_LIST_ID,
+                    Lists.newArrayList(AbstractTest.MEMBER_NAME, AbstractTest.MEMBER_2_NAME));
+            fail("Split should have been refused while the other node has a producer attached");
+        } catch (final DOMDataTreeShardingConflictException e) {
+            assertTrue(e.getMessage().contains("is in use by a producer"));
+        }
+        followerProducer.close();
+
+        final DistributedShardRegistration outerListRegistration =
+                waitOnAsyncTask(leaderShardFactory.splitDistributedShard(OUTER_LIST_ID,
+                        Lists.newArrayList(AbstractTest.MEMBER_NAME, AbstractTest.MEMBER_2_NAME)),
+                        DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+
+        assertNotNull(findLocalShard(followerConfigDatastore.getActorContext(),
+                ClusterUtils.getCleanShardName(TestModel.OUTER_LIST_PATH)));
+
+        // The fence has been released on the other member, which routes writes into the new shard
+        final DOMDataTreeProducer outerListProducer =
+                followerShardFactory.createProducer(Collections.singleton(OUTER_LIST_ID));
+        final DOMDataTreeCursorAwareTransaction tx = outerListProducer.createTransaction(false);
+        final DOMDataTreeWriteCursor cursor = tx.createCursor(OUTER_LIST_ID);
+        assertNotNull(cursor);
+        cursor.write(TestModel.outerEntryKey(1),
+                ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1));
+        cursor.close();
+        tx.submit().checkedGet();
+        outerListProducer.close();
+
+        waitOnAsyncTask(outerListRegistration.close(), DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+        waitOnAsyncTask(shardRegistration.close(), DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+    }
+
     @Test
     public void testWriteIntoMultipleShards() throws Exception {
         initEmptyDatastores();
@@ -9,7 +9,9 @@
 package org.opendaylight.controller.cluster.sharding;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyCollection;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Mockito.doNothing;
@@ -49,6 +51,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.cluster.ActorSystemProvider;
 import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.databroker.actors.dds.ClientSnapshot;
 import org.opendaylight.controller.cluster.datastore.AbstractTest;
 import org.opendaylight.controller.cluster.datastore.DatastoreContext;
 import org.opendaylight.controller.cluster.datastore.DatastoreContext.Builder;
@@ -66,6 +69,7 @@ import org.opendaylight.mdsal.dom.api.DOMDataTreeCursorAwareTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeListener;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeProducer;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeShardingConflictException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -98,6 +102,9 @@ public class DistributedShardedDOMDataTreeTest extends AbstractTest {
             new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
                     YangInstanceIdentifier.create(getOuterListIdFor(0).getPathArguments())
                             .node(TestModel.INNER_LIST_QNAME));
+    private static final DOMDataTreeIdentifier OUTER_LIST_ID =
+            new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, TestModel.OUTER_LIST_PATH);
+
     private static final Set<MemberName> SINGLE_MEMBER = Collections.singleton(AbstractTest.MEMBER_NAME);
 
     private static final String MODULE_SHARDS_CONFIG = "module-shards-cars-member-1.conf";
@@ -448,6 +455,101 @@ public class DistributedShardedDOMDataTreeTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testSplitDistributedShard() throws Exception {
+        initEmptyDatastores();
+
+        final DistributedShardRegistration testShardReg = waitOnAsyncTask(
+                leaderShardFactory.createDistributedShard(TEST_ID, SINGLE_MEMBER),
+                DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+
+        leaderTestKit.waitUntilLeader(leaderDistributedDataStore.getActorContext(),
+                ClusterUtils.getCleanShardName(TestModel.TEST_PATH));
+
+        final MapNode outerList = ImmutableMapNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.OUTER_LIST_QNAME))
+                .withValue(createOuterEntries(2, "split")).build();
+
+        final DOMDataTreeProducer producer = leaderShardFactory.createProducer(Collections.singletonList(TEST_ID));
+        final DOMDataTreeCursorAwareTransaction tx = producer.createTransaction(false);
+        final DOMDataTreeWriteCursor cursor = tx.createCursor(TEST_ID);
+        assertNotNull(cursor);
+        cursor.write(outerList.getIdentifier(), outerList);
+        cursor.close();
+        tx.submit().checkedGet();
+        producer.close();
+
+        final DistributedShardRegistration outerListShardReg = waitOnAsyncTask(
+                leaderShardFactory.splitDistributedShard(OUTER_LIST_ID, SINGLE_MEMBER),
+                DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+
+        assertNotNull(findLocalShard(leaderDistributedDataStore.getActorContext(),
+                ClusterUtils.getCleanShardName(TestModel.OUTER_LIST_PATH)));
+
+        // The data has been moved into the new shard ...
+        final DOMDataTreeListener mockedDataTreeListener = mock(DOMDataTreeListener.class);
+        doNothing().when(mockedDataTreeListener).onDataTreeChanged(anyCollection(), anyMap());
+
+        leaderShardFactory.registerListener(mockedDataTreeListener, Collections.singletonList(OUTER_LIST_ID),
+                true, Collections.emptyList());
+
+        verify(mockedDataTreeListener, timeout(1000).times(1)).onDataTreeChanged(captorForChanges.capture(),
+                captorForSubtrees.capture());
+        assertEquals(outerList, captorForChanges.getValue().iterator().next().getRootNode().getDataAfter().get());
+
+        // ... and removed from the parent shard
+        final DistributedShardFrontend parent =
+                (DistributedShardFrontend) leaderShardFactory.lookupShardFrontend(TEST_ID).getValue().getInstance();
+        final ClientSnapshot snapshot = parent.getClient().createSnapshot();
+        assertFalse(snapshot.exists(YangInstanceIdentifier.create(new NodeIdentifier(TestModel.OUTER_LIST_QNAME)))
+                .checkedGet());
+        snapshot.abort();
+
+        // The fence has been released, the subtree is writable again
+        leaderShardFactory.createProducer(Collections.singletonList(OUTER_LIST_ID)).close();
+
+        waitOnAsyncTask(outerListShardReg.close(), DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+        waitOnAsyncTask(testShardReg.close(), DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+    }
+
+    @Test
+    public void testSplitRefusedWithAttachedProducers() throws Exception {
+        initEmptyDatastores();
+
+        final DistributedShardRegistration testShardReg = waitOnAsyncTask(
+                leaderShardFactory.createDistributedShard(TEST_ID, SINGLE_MEMBER),
+                DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+
+        leaderTestKit.waitUntilLeader(leaderDistributedDataStore.getActorContext(),
+                ClusterUtils.getCleanShardName(TestModel.TEST_PATH));
+
+        // A producer above the prefix
+        final DOMDataTreeProducer testProducer = leaderShardFactory.createProducer(
+                Collections.singletonList(TEST_ID));
+        assertSplitRefused(OUTER_LIST_ID);
+        testProducer.close();
+
+        // A producer below the prefix
+        final DOMDataTreeProducer entryProducer = leaderShardFactory.createProducer(Collections.singletonList(
+                new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, getOuterListIdFor(0))));
+        assertSplitRefused(OUTER_LIST_ID);
+        entryProducer.close();
+
+        // A refused split does not leave the prefix fenced
+        leaderShardFactory.createProducer(Collections.singletonList(OUTER_LIST_ID)).close();
+
+        waitOnAsyncTask(testShardReg.close(), DistributedShardedDOMDataTree.SHARD_FUTURE_TIMEOUT_DURATION);
+    }
+
+    private void assertSplitRefused(final DOMDataTreeIdentifier prefix) {
+        try {
+            leaderShardFactory.splitDistributedShard(prefix, SINGLE_MEMBER);
+            fail("Split of " + prefix + " should have been refused");
+        } catch (DOMDataTreeShardingConflictException e) {
+            LOG.debug("Split of {} refused as expected", prefix, e);
+        }
+    }
+
     private static Collection<MapEntryNode> createOuterEntries(final int amount, final String valuePrefix) {
         final Collection<MapEntryNode> ret = new ArrayList<>();
         for (int i = 0; i < amount; i++) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.sharding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Ticker;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class PrefixWriteRateTrackerTest {
+    private static final DOMDataTreeIdentifier ROOT =
+            new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.EMPTY);
+    private static final NodeIdentifierWithPredicates OUTER_ENTRY_1 =
+            new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+    private static final NodeIdentifierWithPredicates OUTER_ENTRY_2 =
+            new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2);
+
+    private final Ticker ticker = mock(Ticker.class);
+    private PrefixWriteRateTracker tracker;
+
+    @Before
+    public void setUp() {
+        doReturn(0L).when(ticker).read();
+        tracker = new PrefixWriteRateTracker(ROOT, 2, ticker);
+    }
+
+    @Test
+    public void testDrainRates() {
+        tracker.recordWrite(TestModel.OUTER_LIST_PATH.node(OUTER_ENTRY_1).node(TestModel.ID_QNAME));
+        tracker.recordWrite(TestModel.OUTER_LIST_PATH.node(OUTER_ENTRY_2));
+        tracker.recordWrite(TestModel.OUTER_LIST_PATH);
+        tracker.recordWrite(TestModel.TEST_PATH);
+        tracker.recordWrite(YangInstanceIdentifier.EMPTY);
+
+        doReturn(TimeUnit.SECONDS.toNanos(2)).when(ticker).read();
+        Map<DOMDataTreeIdentifier, Double> rates = tracker.drainRates();
+        assertEquals(2, rates.size());
+        assertEquals(1.5, rates.get(new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
+            TestModel.OUTER_LIST_PATH)), 0.001);
+        assertEquals(0.5, rates.get(new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
+            TestModel.TEST_PATH)), 0.001);
+
+        doReturn(TimeUnit.SECONDS.toNanos(4)).when(ticker).read();
+        rates = tracker.drainRates();
+        assertTrue(rates.isEmpty());
+    }
+
+    @Test
+    public void testTrackingCursor() {
+        final DOMDataTreeWriteCursor delegate = mock(DOMDataTreeWriteCursor.class);
+        final WriteRateTrackingCursor cursor = new WriteRateTrackingCursor(delegate, tracker);
+
+        cursor.enter(TestModel.TEST_PATH.getLastPathArgument(), TestModel.OUTER_LIST_PATH.getLastPathArgument());
+        cursor.write(OUTER_ENTRY_1, ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1));
+        cursor.delete(OUTER_ENTRY_2);
+        cursor.exit(2);
+        cursor.merge(new NodeIdentifier(TestModel.TEST_QNAME), ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        cursor.close();
+
+        verify(delegate).delete(OUTER_ENTRY_2);
+        verify(delegate).exit(2);
+        verify(delegate).close();
+
+        doReturn(TimeUnit.SECONDS.toNanos(1)).when(ticker).read();
+        final Map<DOMDataTreeIdentifier, Double> rates = tracker.drainRates();
+        assertEquals(2.0, rates.get(new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
+            TestModel.OUTER_LIST_PATH)), 0.001);
+        assertEquals(1.0, rates.get(new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
+            TestModel.TEST_PATH)), 0.001);
+    }
+}
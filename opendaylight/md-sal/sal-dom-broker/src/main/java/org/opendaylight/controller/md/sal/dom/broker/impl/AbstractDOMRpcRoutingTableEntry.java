@@ -8,24 +8,29 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.CheckedFuture;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 abstract class AbstractDOMRpcRoutingTableEntry {
+    /*
+     * Implementation maps are persistent: large maps are kept as TrieMap snapshots, which allows us to derive
+     * a modified copy without copying the entire map. This keeps updates cheap even with a large number of routed
+     * RPC registrations, while lookups from invokeRpc() remain lock-free.
+     */
+    private static final MapAdaptor MAP_ADAPTOR = MapAdaptor.getDefaultInstance();
+
     private final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls;
     private final SchemaPath schemaPath;
 
@@ -40,7 +45,8 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     final List<DOMRpcImplementation> getImplementations(final YangInstanceIdentifier context) {
-        return impls.get(context);
+        // Large maps do not support null keys
+        return context == null ? null : impls.get(context);
     }
 
     final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> getImplementations() {
@@ -56,58 +62,68 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     /**
+     * Add an implementation for a set of contexts. Only the affected contexts are touched, the rest of the map is
+     * shared with this entry, so the cost of this operation is proportional to the number of new RPCs, not to
+     * the number of contexts already registered.
      *
-     * @param implementation
-     * @param newRpcs List of new RPCs, must be mutable
-     * @return
+     * @param implementation RPC implementation
+     * @param newRpcs List of new RPCs
+     * @return A new entry, containing the implementation
      */
     final AbstractDOMRpcRoutingTableEntry add(final DOMRpcImplementation implementation,
             final List<YangInstanceIdentifier> newRpcs) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (newRpcs.remove(ve.getKey())) {
-                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue().size() + 1);
-                i.addAll(ve.getValue());
+        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = MAP_ADAPTOR.takeSnapshot(impls);
+        for (final YangInstanceIdentifier ii : newRpcs) {
+            final List<DOMRpcImplementation> prev = vb.get(ii);
+            final List<DOMRpcImplementation> i;
+            if (prev != null) {
+                i = new ArrayList<>(prev.size() + 1);
+                i.addAll(prev);
                 i.add(implementation);
 
                 // New implementation is at the end, this will move it to be the last among implementations
                 // with equal cost -- relying on sort() being stable.
                 i.sort((a, b) -> Long.compare(a.invocationCost(), b.invocationCost()));
-                vb.put(ve.getKey(), i);
             } else {
-                vb.put(ve);
+                i = new ArrayList<>(1);
+                i.add(implementation);
             }
-        }
-        for(final YangInstanceIdentifier ii : newRpcs) {
-            final List<DOMRpcImplementation> impl = new ArrayList<>(1);
-            impl.add(implementation);
-            vb.put(ii, impl);
+            vb.put(ii, i);
         }
 
-        return newInstance(vb.build());
+        return newInstance(MAP_ADAPTOR.optimize(vb));
     }
 
+    /**
+     * Remove an implementation from a set of contexts. Like {@link #add(DOMRpcImplementation, List)}, this only
+     * touches the affected contexts.
+     *
+     * @param implementation RPC implementation
+     * @param removed List of removed RPCs
+     * @return A new entry, or null if no implementations remain
+     */
     final AbstractDOMRpcRoutingTableEntry remove(final DOMRpcImplementation implementation,
             final List<YangInstanceIdentifier> removed) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (removed.remove(ve.getKey())) {
-                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue());
+        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = MAP_ADAPTOR.takeSnapshot(impls);
+        for (final YangInstanceIdentifier ii : removed) {
+            final List<DOMRpcImplementation> prev = vb.get(ii);
+            if (prev != null) {
+                final List<DOMRpcImplementation> i = new ArrayList<>(prev);
                 i.remove(implementation);
                 // We could trimToSize(), but that may perform another copy just to get rid
                 // of a single element. That is probably not worth the trouble.
                 if (!i.isEmpty()) {
-                    vb.put(ve.getKey(), i);
+                    vb.put(ii, i);
+                } else {
+                    vb.remove(ii);
                 }
-            } else {
-                vb.put(ve);
             }
         }
 
-        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.build();
-        return v.isEmpty() ? null : newInstance(v);
+        return vb.isEmpty() ? null : newInstance(MAP_ADAPTOR.optimize(vb));
     }
 
-    protected abstract CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final NormalizedNode<?, ?> input);
+    protected abstract CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final NormalizedNode<?, ?> input,
+            final DOMRpcRoutingPolicy policy);
     protected abstract AbstractDOMRpcRoutingTableEntry newInstance(final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls);
 }
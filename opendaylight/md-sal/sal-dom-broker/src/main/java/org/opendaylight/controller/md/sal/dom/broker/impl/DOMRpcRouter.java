@@ -8,20 +8,19 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.base.Verify;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.MapDifference.ValueDifference;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -47,6 +46,18 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * Routes RPC invocations to registered implementations and notifies {@link DOMRpcAvailabilityListener}s about
+ * changes in RPC availability.
+ *
+ * <p>
+ * Registering or removing an implementation only records which RPC types have changed. Listeners are notified
+ * asynchronously: changes which accumulate while notifications are being delivered are coalesced, and each listener
+ * receives at most one {@link DOMRpcAvailabilityListener#onRpcAvailable(Collection)} and one
+ * {@link DOMRpcAvailabilityListener#onRpcUnavailable(Collection)} callback for each batch, computed only for
+ * the RPC types which have changed. The cost of registering an implementation therefore does not depend on the number
+ * of listeners.
+ */
 public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcProviderService, SchemaContextListener {
     private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
             .setNameFormat("DOMRpcRouter-listener-%s").setDaemon(true).build();
@@ -56,10 +67,35 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
     @GuardedBy("this")
     private Collection<Registration<?>> listeners = Collections.emptyList();
 
+    @GuardedBy("this")
+    private List<PendingChange> pendingChanges = new ArrayList<>();
+
+    @GuardedBy("this")
+    private boolean notificationScheduled;
+
+    private final DOMRpcRoutingPolicy routingPolicy;
+
     private volatile DOMRpcRoutingTable routingTable = DOMRpcRoutingTable.EMPTY;
 
+    public DOMRpcRouter() {
+        this(DOMRpcRoutingPolicy.FIRST);
+    }
+
+    public DOMRpcRouter(final DOMRpcRoutingPolicy routingPolicy) {
+        this.routingPolicy = Preconditions.checkNotNull(routingPolicy);
+    }
+
     public static DOMRpcRouter newInstance(final SchemaService schemaService) {
-        final DOMRpcRouter rpcRouter = new DOMRpcRouter();
+        return newInstance(schemaService, DOMRpcRoutingPolicy.FIRST);
+    }
+
+    public static DOMRpcRouter newInstance(final SchemaService schemaService, final String routingPolicy) {
+        return newInstance(schemaService, DOMRpcRoutingPolicy.forName(routingPolicy));
+    }
+
+    private static DOMRpcRouter newInstance(final SchemaService schemaService,
+            final DOMRpcRoutingPolicy routingPolicy) {
+        final DOMRpcRouter rpcRouter = new DOMRpcRouter(routingPolicy);
         schemaService.registerSchemaContextListener(rpcRouter);
         return rpcRouter;
     }
@@ -76,7 +112,7 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final DOMRpcRoutingTable newTable = oldTable.remove(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyRemoved(newTable, implementation));
+        addPendingChange(implementation, rpcs);
     }
 
     @Override
@@ -86,8 +122,41 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final DOMRpcRoutingTable newTable = oldTable.add(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyAdded(newTable, implementation));
+        addPendingChange(implementation, rpcs);
+
+        return newRegistration(implementation, rpcs);
+    }
+
+    /**
+     * Register multiple RPC implementations at once. This is equivalent to invoking
+     * {@link #registerRpcImplementation(DOMRpcImplementation, Set)} for each of them, except the new routing table
+     * is published only once. This is useful when a large number of
+     * implementations become available at the same time, for example when devices reconnect.
+     *
+     * @param implementations Implementations and the RPCs they provide
+     * @return Registrations, one for each implementation
+     */
+    public synchronized <T extends DOMRpcImplementation> Map<T, DOMRpcImplementationRegistration<T>>
+            registerRpcImplementations(final Map<T, Set<DOMRpcIdentifier>> implementations) {
+        DOMRpcRoutingTable newTable = routingTable;
+        for (Entry<T, Set<DOMRpcIdentifier>> e : implementations.entrySet()) {
+            newTable = newTable.add(e.getKey(), e.getValue());
+        }
+        routingTable = newTable;
+
+        for (Entry<T, Set<DOMRpcIdentifier>> e : implementations.entrySet()) {
+            addPendingChange(e.getKey(), e.getValue());
+        }
+
+        final ImmutableMap.Builder<T, DOMRpcImplementationRegistration<T>> b = ImmutableMap.builder();
+        for (Entry<T, Set<DOMRpcIdentifier>> e : implementations.entrySet()) {
+            b.put(e.getKey(), newRegistration(e.getKey(), ImmutableSet.copyOf(e.getValue())));
+        }
+        return b.build();
+    }
 
+    private <T extends DOMRpcImplementation> DOMRpcImplementationRegistration<T> newRegistration(
+            final T implementation, final Set<DOMRpcIdentifier> rpcs) {
         return new AbstractDOMRpcImplementationRegistration<T>(implementation) {
             @Override
             protected void removeRegistration() {
@@ -99,22 +168,41 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
     @Override
     public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final SchemaPath type,
             final NormalizedNode<?, ?> input) {
-        return routingTable.invokeRpc(type, input);
+        return routingTable.invokeRpc(type, input, routingPolicy);
     }
 
     private synchronized void removeListener(final ListenerRegistration<? extends DOMRpcAvailabilityListener> reg) {
         listeners = ImmutableList.copyOf(Collections2.filter(listeners, i -> !reg.equals(i)));
     }
 
-    private synchronized void notifyAdded(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-        for (Registration<?> l : listeners) {
-            l.addRpc(newTable, impl);
+    @GuardedBy("this")
+    private void addPendingChange(final DOMRpcImplementation impl, final Set<DOMRpcIdentifier> rpcs) {
+        if (rpcs.isEmpty() || listeners.isEmpty()) {
+            // New listeners start from the current routing table, there is nobody to tell about this change
+            return;
+        }
+
+        pendingChanges.add(new PendingChange(impl, rpcs));
+        if (!notificationScheduled) {
+            notificationScheduled = true;
+            listenerNotifier.execute(this::notifyListeners);
         }
     }
 
-    private synchronized void notifyRemoved(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-        for (Registration<?> l : listeners) {
-            l.removeRpc(newTable, impl);
+    private void notifyListeners() {
+        final List<PendingChange> changes;
+        final DOMRpcRoutingTable table;
+        final Collection<Registration<?>> regs;
+        synchronized (this) {
+            changes = pendingChanges;
+            pendingChanges = new ArrayList<>();
+            notificationScheduled = false;
+            table = routingTable;
+            regs = listeners;
+        }
+
+        for (Registration<?> reg : regs) {
+            reg.update(table, changes);
         }
     }
 
@@ -143,18 +231,32 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         listenerNotifier.shutdown();
     }
 
+    private static final class PendingChange {
+        final DOMRpcImplementation implementation;
+        final Set<DOMRpcIdentifier> rpcs;
+
+        PendingChange(final DOMRpcImplementation implementation, final Set<DOMRpcIdentifier> rpcs) {
+            this.implementation = Preconditions.checkNotNull(implementation);
+            this.rpcs = ImmutableSet.copyOf(rpcs);
+        }
+    }
+
     private static final class Registration<T extends DOMRpcAvailabilityListener>
         extends AbstractListenerRegistration<T> {
 
         private final DOMRpcRouter router;
 
-        private Map<SchemaPath, Set<YangInstanceIdentifier>> prevRpcs;
+        // Accessed only from the listener notifier
+        private final Map<SchemaPath, Set<YangInstanceIdentifier>> prevRpcs;
 
         Registration(final DOMRpcRouter router, final T listener,
                 final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs) {
             super(Preconditions.checkNotNull(listener));
             this.router = Preconditions.checkNotNull(router);
-            this.prevRpcs = Preconditions.checkNotNull(rpcs);
+            this.prevRpcs = new HashMap<>(rpcs.size());
+            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : rpcs.entrySet()) {
+                prevRpcs.put(e.getKey(), new HashSet<>(e.getValue()));
+            }
         }
 
         @Override
@@ -174,54 +276,50 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
             }
         }
 
-        void addRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+        /**
+         * Notify the listener about changes in RPC availability. Only RPCs touched by changes made by
+         * implementations accepted by the listener are looked up in the new table and compared with the state
+         * previously reported to it, hence the cost is proportional to the size of the changes.
+         *
+         * @param newTable Current routing table
+         * @param changes Changes made since the last update
+         */
+        void update(final DOMRpcRoutingTable newTable, final Collection<PendingChange> changes) {
             final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
-                return;
-            }
-
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = Verify.verifyNotNull(newTable.getRpcs(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
-            final Collection<DOMRpcIdentifier> added = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnRight().entrySet()) {
-                added.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e : diff.entriesDiffering().entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().rightValue(), e.getValue().leftValue())) {
-                    added.add(DOMRpcIdentifier.create(e.getKey(), i));
+            final Set<DOMRpcIdentifier> touched = new HashSet<>();
+            for (PendingChange change : changes) {
+                if (l.acceptsImplementation(change.implementation)) {
+                    touched.addAll(change.rpcs);
                 }
             }
 
-            prevRpcs = rpcs;
-            if (!added.isEmpty()) {
-                l.onRpcAvailable(added);
-            }
-        }
-
-        void removeRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-            final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
-                return;
-            }
-
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = Verify.verifyNotNull(newTable.getRpcs(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
+            final Collection<DOMRpcIdentifier> added = new ArrayList<>();
             final Collection<DOMRpcIdentifier> removed = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnLeft().entrySet()) {
-                removed.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e : diff.entriesDiffering().entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().leftValue(), e.getValue().rightValue())) {
-                    removed.add(DOMRpcIdentifier.create(e.getKey(), i));
+            for (DOMRpcIdentifier rpc : touched) {
+                final SchemaPath type = rpc.getType();
+                final Set<YangInstanceIdentifier> prev = prevRpcs.get(type);
+                final boolean wasAvailable = prev != null && prev.contains(rpc.getContextReference());
+
+                if (newTable.isAvailable(l, rpc)) {
+                    if (!wasAvailable) {
+                        prevRpcs.computeIfAbsent(type, k -> new HashSet<>()).add(rpc.getContextReference());
+                        added.add(rpc);
+                    }
+                } else if (wasAvailable) {
+                    prev.remove(rpc.getContextReference());
+                    if (prev.isEmpty()) {
+                        prevRpcs.remove(type);
+                    }
+                    removed.add(rpc);
                 }
             }
 
-            prevRpcs = rpcs;
             if (!removed.isEmpty()) {
                 l.onRpcUnavailable(removed);
             }
+            if (!added.isEmpty()) {
+                l.onRpcAvailable(added);
+            }
         }
     }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Policy for selecting which of multiple {@link DOMRpcImplementation}s registered for an RPC should handle
+ * a particular invocation. Implementations are always presented in ascending order of
+ * {@link DOMRpcImplementation#invocationCost()}, hence local implementations come first.
+ */
+@Beta
+public abstract class DOMRpcRoutingPolicy {
+    /**
+     * Always use the cheapest implementation, preferring the one which was registered first.
+     */
+    public static final DOMRpcRoutingPolicy FIRST = new DOMRpcRoutingPolicy() {
+        @Override
+        protected DOMRpcImplementation select(final List<DOMRpcImplementation> impls, final DOMRpcIdentifier rpc,
+                final NormalizedNode<?, ?> input) {
+            return impls.get(0);
+        }
+    };
+
+    /**
+     * Use the cheapest implementation with the lowest expected completion time, estimated from the number of
+     * invocations in flight and the observed latency. Costlier implementations are not used, no matter how loaded
+     * the cheapest ones are.
+     */
+    public static final DOMRpcRoutingPolicy LEAST_LOADED = new LeastLoaded();
+
+    /**
+     * Route invocations with the same routing key to the same implementation, as long as the set of cheapest
+     * implementations does not change. The routing key is the context reference for routed RPCs and the input
+     * for global RPCs.
+     */
+    public static final DOMRpcRoutingPolicy CONSISTENT_HASH = new DOMRpcRoutingPolicy() {
+        @Override
+        protected DOMRpcImplementation select(final List<DOMRpcImplementation> impls, final DOMRpcIdentifier rpc,
+                final NormalizedNode<?, ?> input) {
+            final Object key = rpc.getContextReference().isEmpty() ? input : rpc.getContextReference();
+            final int keyHash = key == null ? 0 : key.hashCode();
+            final long cost = impls.get(0).invocationCost();
+
+            // Rendezvous hashing: only implementations which were selected for this key can lose it when
+            // membership changes
+            DOMRpcImplementation ret = null;
+            long best = Long.MIN_VALUE;
+            for (DOMRpcImplementation impl : impls) {
+                if (impl.invocationCost() != cost) {
+                    break;
+                }
+
+                final long weight = mix(((long) keyHash << 32) | (impl.hashCode() & 0xFFFFFFFFL));
+                if (ret == null || weight > best) {
+                    ret = impl;
+                    best = weight;
+                }
+            }
+            return ret;
+        }
+    };
+
+    protected DOMRpcRoutingPolicy() {
+        // Subclasses only
+    }
+
+    /**
+     * Look up a policy by its name. Recognized names are {@code first}, {@code least-loaded} and
+     * {@code consistent-hash}.
+     *
+     * @param name Policy name
+     * @return A DOMRpcRoutingPolicy
+     * @throws IllegalArgumentException if the name is not recognized
+     */
+    public static DOMRpcRoutingPolicy forName(@Nonnull final String name) {
+        switch (name) {
+            case "first":
+                return FIRST;
+            case "least-loaded":
+                return LEAST_LOADED;
+            case "consistent-hash":
+                return CONSISTENT_HASH;
+            default:
+                throw new IllegalArgumentException("Unknown RPC routing policy " + name);
+        }
+    }
+
+    /**
+     * Invoke an RPC on one of the supplied implementations.
+     *
+     * @param impls Candidate implementations, sorted by ascending invocation cost, guaranteed to be non-empty
+     * @param rpc RPC identifier to pass to the implementation
+     * @param input RPC input
+     * @return Invocation future
+     */
+    CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final List<DOMRpcImplementation> impls,
+            final DOMRpcIdentifier rpc, @Nullable final NormalizedNode<?, ?> input) {
+        return select(impls, rpc, input).invokeRpc(rpc, input);
+    }
+
+    /**
+     * Select the implementation which should handle an invocation.
+     *
+     * @param impls Candidate implementations, sorted by ascending invocation cost, guaranteed to be non-empty
+     * @param rpc RPC identifier which is being invoked
+     * @param input RPC input
+     * @return Selected implementation, must be one of the candidates
+     */
+    @Nonnull
+    protected abstract DOMRpcImplementation select(@Nonnull List<DOMRpcImplementation> impls,
+            @Nonnull DOMRpcIdentifier rpc, @Nullable NormalizedNode<?, ?> input);
+
+    private static long mix(final long value) {
+        // Finalization step of MurmurHash3, spreads the bits of both halves across the result
+        long ret = value;
+        ret ^= ret >>> 33;
+        ret *= 0xff51afd7ed558ccdL;
+        ret ^= ret >>> 33;
+        ret *= 0xc4ceb9fe1a85ec53L;
+        ret ^= ret >>> 33;
+        return ret;
+    }
+
+    private static final class LeastLoaded extends DOMRpcRoutingPolicy {
+        private static final class Stats {
+            final AtomicInteger inFlight = new AtomicInteger();
+
+            // Exponentially-weighted moving average. Updates may race, which can only cause a sample to be lost.
+            volatile long latencyNanos;
+
+            long score() {
+                return (inFlight.get() + 1) * Math.max(latencyNanos, MIN_LATENCY_NANOS);
+            }
+
+            void complete(final long elapsedNanos) {
+                inFlight.decrementAndGet();
+                final long prev = latencyNanos;
+                latencyNanos = prev == 0 ? elapsedNanos : prev + (elapsedNanos - prev) / EWMA_DIVISOR;
+            }
+        }
+
+        // Keeps implementations with no or very low latency samples from attracting all invocations
+        private static final long MIN_LATENCY_NANOS = 100_000;
+        // Each sample contributes 1/8 of the average
+        private static final int EWMA_DIVISOR = 8;
+
+        // Weak keys compare by identity, which is what we want here
+        private final LoadingCache<DOMRpcImplementation, Stats> stats = CacheBuilder.newBuilder().weakKeys()
+                .build(new CacheLoader<DOMRpcImplementation, Stats>() {
+                    @Override
+                    public Stats load(final DOMRpcImplementation key) {
+                        return new Stats();
+                    }
+                });
+
+        @Override
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final List<DOMRpcImplementation> impls,
+                final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input) {
+            if (impls.size() == 1 || impls.get(1).invocationCost() != impls.get(0).invocationCost()) {
+                // Nothing to balance
+                return impls.get(0).invokeRpc(rpc, input);
+            }
+
+            final DOMRpcImplementation impl = select(impls, rpc, input);
+            final Stats implStats = stats.getUnchecked(impl);
+            implStats.inFlight.incrementAndGet();
+
+            final long start = System.nanoTime();
+            final CheckedFuture<DOMRpcResult, DOMRpcException> ret;
+            try {
+                ret = impl.invokeRpc(rpc, input);
+            } catch (RuntimeException e) {
+                implStats.inFlight.decrementAndGet();
+                throw e;
+            }
+
+            ret.addListener(() -> implStats.complete(System.nanoTime() - start), MoreExecutors.directExecutor());
+            return ret;
+        }
+
+        @Override
+        protected DOMRpcImplementation select(final List<DOMRpcImplementation> impls, final DOMRpcIdentifier rpc,
+                final NormalizedNode<?, ?> input) {
+            final long cost = impls.get(0).invocationCost();
+
+            DOMRpcImplementation ret = null;
+            long best = Long.MAX_VALUE;
+            for (DOMRpcImplementation impl : impls) {
+                if (impl.invocationCost() != cost) {
+                    break;
+                }
+
+                final long score = stats.getUnchecked(impl).score();
+                if (score < best) {
+                    ret = impl;
+                    best = score;
+                }
+            }
+            return Preconditions.checkNotNull(ret);
+        }
+    }
+}
@@ -134,6 +134,23 @@ final class DOMRpcRoutingTable {
         return ret;
     }
 
+    /**
+     * Check whether an RPC has an implementation accepted by a listener.
+     *
+     * @param l Listener
+     * @param rpc RPC identifier
+     * @return True if an accepted implementation is registered
+     */
+    boolean isAvailable(final DOMRpcAvailabilityListener l, final DOMRpcIdentifier rpc) {
+        final AbstractDOMRpcRoutingTableEntry entry = rpcs.get(rpc.getType());
+        if (entry == null) {
+            return false;
+        }
+
+        final List<DOMRpcImplementation> impls = entry.getImplementations(rpc.getContextReference());
+        return impls != null && impls.stream().anyMatch(l::acceptsImplementation);
+    }
+
     private static RpcDefinition findRpcDefinition(final SchemaContext context, final SchemaPath schemaPath) {
         if (context != null) {
             final QName qname = schemaPath.getPathFromRoot().iterator().next();
@@ -167,14 +184,15 @@ final class DOMRpcRoutingTable {
         return new GlobalDOMRpcRoutingTableEntry(rpcDef, implementations);
     }
 
-    CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final SchemaPath type, final NormalizedNode<?, ?> input) {
+    CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final SchemaPath type, final NormalizedNode<?, ?> input,
+            final DOMRpcRoutingPolicy policy) {
         final AbstractDOMRpcRoutingTableEntry entry = rpcs.get(type);
         if (entry == null) {
             return Futures.<DOMRpcResult, DOMRpcException>immediateFailedCheckedFuture(
                 new DOMRpcImplementationNotAvailableException("No implementation of RPC %s available", type));
         }
 
-        return entry.invokeRpc(input);
+        return entry.invokeRpc(input, policy);
     }
 
     DOMRpcRoutingTable setSchemaContext(final SchemaContext context) {
@@ -43,7 +43,8 @@ final class RoutedDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEntr
     }
 
     @Override
-    protected CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final NormalizedNode<?, ?> input) {
+    protected CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final NormalizedNode<?, ?> input,
+            final DOMRpcRoutingPolicy policy) {
         final Optional<NormalizedNode<?, ?>> maybeKey = NormalizedNodes.findNode(input, keyId);
 
         // Routing key is present, attempt to deliver as a routed RPC
@@ -56,7 +57,7 @@ final class RoutedDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEntr
                 // Find a DOMRpcImplementation for a specific iid
                 final List<DOMRpcImplementation> specificImpls = getImplementations(iid);
                 if (specificImpls != null) {
-                    return specificImpls.get(0).invokeRpc(DOMRpcIdentifier.create(getSchemaPath(), iid), input);
+                    return policy.invokeRpc(specificImpls, DOMRpcIdentifier.create(getSchemaPath(), iid), input);
                 }
 
                 LOG.debug("No implementation for context {} found will now look for wildcard id", iid);
@@ -66,7 +67,8 @@ final class RoutedDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEntr
                 final List<DOMRpcImplementation> mayBeRemoteImpls = getImplementations(YangInstanceIdentifier.EMPTY);
 
                 if(mayBeRemoteImpls != null){
-                    return mayBeRemoteImpls.get(0).invokeRpc(DOMRpcIdentifier.create(getSchemaPath(), iid), input);
+                    return policy.invokeRpc(mayBeRemoteImpls, DOMRpcIdentifier.create(getSchemaPath(), iid),
+                        input);
                 }
 
             } else {
@@ -76,7 +78,7 @@ final class RoutedDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEntr
 
         final List<DOMRpcImplementation> impls = getImplementations(null);
         if (impls != null) {
-            return impls.get(0).invokeRpc(globalRpcId, input);
+            return policy.invokeRpc(impls, globalRpcId, input);
         } else {
             return Futures.<DOMRpcResult, DOMRpcException>immediateFailedCheckedFuture(new DOMRpcImplementationNotAvailableException("No implementation of RPC %s available", getSchemaPath()));
         }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRouterTest {
+    private static final QName RPC = QName.create("urn:test", "2017-01-01", "rpc");
+    private static final QName NODE = QName.create(RPC, "node");
+    private static final SchemaPath RPC_PATH = SchemaPath.create(true, RPC);
+
+    private DOMRpcRouter router;
+
+    @Before
+    public void setUp() {
+        router = new DOMRpcRouter();
+    }
+
+    @After
+    public void tearDown() {
+        router.close();
+    }
+
+    @Test
+    public void testNotificationsAreCoalesced() throws InterruptedException {
+        final RecordingListener listener = new RecordingListener();
+        router.registerRpcListener(listener);
+
+        router.registerRpcImplementation(mock(DOMRpcImplementation.class), rpcId(0));
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+
+        // The notifier is blocked in the first callback, these should be delivered together
+        final Set<DOMRpcIdentifier> expected = new HashSet<>();
+        for (int i = 1; i < 100; ++i) {
+            router.registerRpcImplementation(mock(DOMRpcImplementation.class), rpcId(i));
+            expected.add(rpcId(i));
+        }
+        listener.release.countDown();
+
+        assertEquals(ImmutableSet.of(rpcId(0)), ImmutableSet.copyOf(listener.available.poll(5, TimeUnit.SECONDS)));
+        assertEquals(expected, ImmutableSet.copyOf(listener.available.poll(5, TimeUnit.SECONDS)));
+        assertNull(listener.available.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRemovalNotification() throws InterruptedException {
+        final RecordingListener listener = new RecordingListener();
+        listener.release.countDown();
+        router.registerRpcListener(listener);
+
+        final DOMRpcImplementation impl = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementationRegistration<?> reg1 = router.registerRpcImplementation(impl, rpcId(1));
+        router.registerRpcImplementation(impl, rpcId(2));
+        final Set<DOMRpcIdentifier> available = new HashSet<>();
+        while (available.size() < 2) {
+            available.addAll(listener.available.poll(5, TimeUnit.SECONDS));
+        }
+        assertEquals(ImmutableSet.of(rpcId(1), rpcId(2)), available);
+
+        // Removing one of the implementations of an identifier does not make it unavailable
+        final DOMRpcImplementation other = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementationRegistration<?> reg2 = router.registerRpcImplementation(other, rpcId(1));
+        reg2.close();
+        reg1.close();
+
+        assertEquals(ImmutableSet.of(rpcId(1)), ImmutableSet.copyOf(listener.unavailable.poll(5, TimeUnit.SECONDS)));
+        assertNull(listener.available.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInitialTable() throws InterruptedException {
+        router.registerRpcImplementation(mock(DOMRpcImplementation.class), rpcId(1));
+
+        final RecordingListener listener = new RecordingListener();
+        listener.release.countDown();
+        router.registerRpcListener(listener);
+
+        assertEquals(ImmutableSet.of(rpcId(1)), ImmutableSet.copyOf(listener.available.poll(5, TimeUnit.SECONDS)));
+    }
+
+    private static DOMRpcIdentifier rpcId(final int index) {
+        return DOMRpcIdentifier.create(RPC_PATH, YangInstanceIdentifier.of(QName.create(NODE, "node" + index)));
+    }
+
+    private static final class RecordingListener implements DOMRpcAvailabilityListener {
+        final BlockingQueue<Collection<DOMRpcIdentifier>> available = new LinkedBlockingQueue<>();
+        final BlockingQueue<Collection<DOMRpcIdentifier>> unavailable = new LinkedBlockingQueue<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onRpcAvailable(final Collection<DOMRpcIdentifier> rpcs) {
+            available.add(rpcs);
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void onRpcUnavailable(final Collection<DOMRpcIdentifier> rpcs) {
+            unavailable.add(rpcs);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRoutingPolicyTest {
+    private static final QName RPC = QName.create("urn:test", "2017-01-01", "rpc");
+    private static final QName NODE = QName.create(RPC, "node");
+    private static final SchemaPath RPC_PATH = SchemaPath.create(true, RPC);
+
+    @Test
+    public void testFirst() {
+        final List<DOMRpcImplementation> impls = ImmutableList.of(mockImpl(0), mockImpl(0), mockImpl(2));
+        assertSame(impls.get(0), DOMRpcRoutingPolicy.FIRST.select(impls, rpcId(0), null));
+    }
+
+    @Test
+    public void testConsistentHash() {
+        final List<DOMRpcImplementation> impls = ImmutableList.of(mockImpl(0), mockImpl(0), mockImpl(0),
+            mockImpl(2));
+
+        final Set<DOMRpcImplementation> selected = new HashSet<>();
+        for (int i = 0; i < 100; ++i) {
+            final DOMRpcImplementation impl = DOMRpcRoutingPolicy.CONSISTENT_HASH.select(impls, rpcId(i), null);
+            assertSame(impl, DOMRpcRoutingPolicy.CONSISTENT_HASH.select(impls, rpcId(i), null));
+            selected.add(impl);
+        }
+
+        // Keys are spread across the cheapest implementations only
+        assertTrue(selected.size() > 1);
+        assertFalse(selected.contains(impls.get(3)));
+    }
+
+    @Test
+    public void testLeastLoaded() {
+        final DOMRpcImplementation busy = mockImpl(0);
+        final DOMRpcImplementation idle = mockImpl(0);
+        final SettableFuture<DOMRpcResult> never = SettableFuture.create();
+        doReturn(Futures.makeChecked(never, e -> new DOMRpcImplementationNotAvailableException(e, "test")))
+            .when(busy).invokeRpc(any(), any());
+
+        final List<DOMRpcImplementation> impls = ImmutableList.of(busy, idle);
+        final DOMRpcIdentifier id = rpcId(0);
+        final DOMRpcRoutingPolicy policy = DOMRpcRoutingPolicy.LEAST_LOADED;
+
+        // With no history the first implementation is selected, which then remains busy
+        assertSame(busy, policy.select(impls, id, null));
+        final CheckedFuture<DOMRpcResult, DOMRpcException> future = policy.invokeRpc(impls, id, null);
+        assertSame(idle, policy.select(impls, id, null));
+
+        never.cancel(false);
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    public void testLeastLoadedPrefersCheapest() {
+        final DOMRpcImplementation local = mockImpl(0);
+        final DOMRpcImplementation remote = mockImpl(2);
+        final SettableFuture<DOMRpcResult> never = SettableFuture.create();
+        doReturn(Futures.makeChecked(never, e -> new DOMRpcImplementationNotAvailableException(e, "test")))
+            .when(local).invokeRpc(any(), any());
+
+        final List<DOMRpcImplementation> impls = ImmutableList.of(local, remote);
+        final DOMRpcIdentifier id = rpcId(0);
+        final DOMRpcRoutingPolicy policy = DOMRpcRoutingPolicy.LEAST_LOADED;
+
+        // The remote implementation is not used however busy the local one is
+        for (int i = 0; i < 10; ++i) {
+            policy.invokeRpc(impls, id, null);
+        }
+        assertSame(local, policy.select(impls, id, null));
+        never.cancel(false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForNameUnknown() {
+        DOMRpcRoutingPolicy.forName("round-robin");
+    }
+
+    @Test
+    public void testForName() {
+        assertSame(DOMRpcRoutingPolicy.FIRST, DOMRpcRoutingPolicy.forName("first"));
+        assertSame(DOMRpcRoutingPolicy.LEAST_LOADED, DOMRpcRoutingPolicy.forName("least-loaded"));
+        assertSame(DOMRpcRoutingPolicy.CONSISTENT_HASH, DOMRpcRoutingPolicy.forName("consistent-hash"));
+    }
+
+    private static DOMRpcImplementation mockImpl(final long cost) {
+        final DOMRpcImplementation impl = mock(DOMRpcImplementation.class);
+        doReturn(cost).when(impl).invocationCost();
+        return impl;
+    }
+
+    private static DOMRpcIdentifier rpcId(final int index) {
+        return DOMRpcIdentifier.create(RPC_PATH, YangInstanceIdentifier.builder().node(NODE)
+            .nodeWithKey(NODE, NODE, index).build());
+    }
+}
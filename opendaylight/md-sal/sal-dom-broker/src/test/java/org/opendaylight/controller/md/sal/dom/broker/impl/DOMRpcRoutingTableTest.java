@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRoutingTableTest {
+    private static final QName RPC = QName.create("urn:test", "2017-01-01", "rpc");
+    private static final QName NODE = QName.create(RPC, "node");
+    private static final SchemaPath RPC_PATH = SchemaPath.create(true, RPC);
+    private static final int COUNT = 1000;
+
+    @Test
+    public void testManyRoutedRegistrations() {
+        final DOMRpcImplementation first = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementation second = mock(DOMRpcImplementation.class);
+
+        final Set<DOMRpcIdentifier> even = new HashSet<>();
+        final Set<DOMRpcIdentifier> odd = new HashSet<>();
+        for (int i = 0; i < COUNT; ++i) {
+            (i % 2 == 0 ? even : odd).add(rpcId(i));
+        }
+
+        DOMRpcRoutingTable table = DOMRpcRoutingTable.EMPTY.add(first, even);
+        for (DOMRpcIdentifier id : odd) {
+            table = table.add(second, ImmutableSet.of(id));
+        }
+        for (int i = 0; i < COUNT; ++i) {
+            assertTrue(table.contains(rpcId(i)));
+        }
+
+        for (DOMRpcIdentifier id : odd) {
+            table = table.remove(second, ImmutableSet.of(id));
+        }
+        for (int i = 0; i < COUNT; ++i) {
+            assertEquals(i % 2 == 0, table.contains(rpcId(i)));
+        }
+
+        table = table.remove(first, even);
+        assertFalse(table.contains(rpcId(0)));
+    }
+
+    @Test
+    public void testEmptyUpdate() {
+        final DOMRpcImplementation impl = mock(DOMRpcImplementation.class);
+        assertSame(DOMRpcRoutingTable.EMPTY, DOMRpcRoutingTable.EMPTY.add(impl, ImmutableSet.of()));
+        assertSame(DOMRpcRoutingTable.EMPTY, DOMRpcRoutingTable.EMPTY.remove(impl, ImmutableSet.of()));
+    }
+
+    private static DOMRpcIdentifier rpcId(final int index) {
+        return DOMRpcIdentifier.create(RPC_PATH, YangInstanceIdentifier.builder().node(NODE)
+            .nodeWithKey(NODE, NODE, index).build());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import com.google.common.base.Preconditions;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.io.ChunkedByteArray;
+import org.opendaylight.controller.cluster.io.ChunkedOutputStream;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSlice;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Receiver-side state of a payload being received in slices. Slices have to arrive in order and each of them has to
+ * carry the hash code of the previous one, otherwise the payload is rejected.
+ */
+final class InboundRpcPayload {
+    /**
+     * Exception thrown when a slice does not match the expected sequence.
+     */
+    static final class InvalidSliceException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        InvalidSliceException(final String message) {
+            super(message);
+        }
+    }
+
+    private final ChunkedOutputStream data;
+    private final long streamId;
+    private final QName rpc;
+
+    private int lastSliceIndex = RpcPayloadSlice.FIRST_SLICE_INDEX - 1;
+    private int lastSliceHashCode = RpcPayloadSlice.INITIAL_SLICE_HASH_CODE;
+    private long lastActivity = System.nanoTime();
+    private ChunkedByteArray sealed;
+
+    InboundRpcPayload(final RpcPayloadSlice firstSlice) {
+        this.streamId = firstSlice.getStreamId();
+        this.rpc = firstSlice.getRpc();
+
+        // Slices are already suitably sized, do not copy them into smaller chunks
+        final int sliceSize = Math.max(firstSlice.getData().length, 1);
+        data = new ChunkedOutputStream(sliceSize, Math.max(sliceSize, Integer.MAX_VALUE / 2));
+    }
+
+    long getStreamId() {
+        return streamId;
+    }
+
+    @Nullable
+    QName getRpc() {
+        return rpc;
+    }
+
+    /**
+     * Check whether this payload has seen no activity since the specified time.
+     *
+     * @param nanoTime Time, as returned by {@link System#nanoTime()}
+     * @return True if the last slice was processed before the specified time
+     */
+    boolean isIdleSince(final long nanoTime) {
+        return lastActivity - nanoTime < 0;
+    }
+
+    /**
+     * Add a slice to this payload.
+     *
+     * @param slice Slice to add
+     * @return True if this was the last slice
+     * @throws InvalidSliceException if the slice does not match the expected sequence
+     */
+    boolean addSlice(final RpcPayloadSlice slice) throws InvalidSliceException {
+        Preconditions.checkArgument(slice.getStreamId() == streamId, "Slice %s does not belong to stream %s",
+            slice, streamId);
+        if (sealed != null) {
+            throw new InvalidSliceException("Unexpected slice " + slice.getSliceIndex() + ", all slices of stream "
+                    + streamId + " have been received");
+        }
+        if (slice.getSliceIndex() != lastSliceIndex + 1) {
+            throw new InvalidSliceException("Expected slice " + (lastSliceIndex + 1) + " of stream " + streamId
+                    + ", got " + slice.getSliceIndex());
+        }
+        if (slice.getPreviousSliceHashCode() != lastSliceHashCode) {
+            throw new InvalidSliceException("Hash code of the previous slice of stream " + streamId
+                    + " does not match, expected " + lastSliceHashCode + " got " + slice.getPreviousSliceHashCode());
+        }
+
+        try {
+            data.write(slice.getData());
+        } catch (IOException e) {
+            final InvalidSliceException ex = new InvalidSliceException("Failed to store slice "
+                    + slice.getSliceIndex() + " of stream " + streamId);
+            ex.initCause(e);
+            throw ex;
+        }
+
+        lastActivity = System.nanoTime();
+        lastSliceIndex = slice.getSliceIndex();
+        lastSliceHashCode = Arrays.hashCode(slice.getData());
+        if (slice.isLastSlice()) {
+            sealed = data.toChunkedByteArray();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Return the number of bytes received.
+     *
+     * @return Payload size in bytes
+     */
+    long getSize() {
+        return sealed != null ? sealed.size() : data.size();
+    }
+
+    /**
+     * Deserialize the payload once all slices have been received.
+     *
+     * @return Deserialized payload
+     * @throws IOException if the payload fails to deserialize
+     * @throws IllegalStateException if not all slices have been received
+     */
+    NormalizedNode<?, ?> read() throws IOException {
+        Preconditions.checkState(sealed != null, "Stream %s has not been completely received", streamId);
+        return NormalizedNodeInputOutput.newDataInput(new DataInputStream(sealed.openStream())).readNormalizedNode();
+    }
+}
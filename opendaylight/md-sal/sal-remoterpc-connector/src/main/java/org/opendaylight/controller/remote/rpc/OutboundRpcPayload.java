@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSlice;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSliceReply;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * Sender-side state of a payload being sent in slices. Slices are sent one at a time, the next slice is sent only
+ * after the previous one has been acknowledged, so that a large payload does not monopolize the connection towards
+ * the receiver.
+ */
+final class OutboundRpcPayload {
+    private final List<byte[]> slices;
+    private final long streamId;
+    private final QName rpc;
+
+    private int lastSliceHashCode = RpcPayloadSlice.INITIAL_SLICE_HASH_CODE;
+    private int sentIndex = RpcPayloadSlice.FIRST_SLICE_INDEX - 1;
+    private long lastActivity = System.nanoTime();
+
+    OutboundRpcPayload(final long streamId, @Nullable final QName rpc, final List<byte[]> slices) {
+        Preconditions.checkArgument(!slices.isEmpty(), "Payload must not be empty");
+        this.streamId = streamId;
+        this.rpc = rpc;
+        this.slices = slices;
+    }
+
+    long getStreamId() {
+        return streamId;
+    }
+
+    long getSize() {
+        long ret = 0;
+        for (byte[] slice : slices) {
+            ret += slice.length;
+        }
+        return ret;
+    }
+
+    /**
+     * Check whether this payload has seen no activity since the specified time.
+     *
+     * @param nanoTime Time, as returned by {@link System#nanoTime()}
+     * @return True if the last slice was processed before the specified time
+     */
+    boolean isIdleSince(final long nanoTime) {
+        return lastActivity - nanoTime < 0;
+    }
+
+    /**
+     * Return the first slice of this payload.
+     *
+     * @return First slice
+     */
+    RpcPayloadSlice firstSlice() {
+        Preconditions.checkState(sentIndex < RpcPayloadSlice.FIRST_SLICE_INDEX, "Payload %s already started",
+            streamId);
+        return nextSlice();
+    }
+
+    /**
+     * Process an acknowledgement of the last slice sent.
+     *
+     * @param reply Acknowledgement
+     * @return Next slice to send, or null if the acknowledgement completes the payload
+     * @throws IllegalArgumentException if the acknowledgement does not match the last slice sent, or it indicates
+     *                                  the receiver has rejected the payload
+     */
+    @Nullable
+    RpcPayloadSlice handleReply(final RpcPayloadSliceReply reply) {
+        Preconditions.checkArgument(reply.getSliceIndex() == sentIndex, "Expected reply to slice %s, got %s",
+            sentIndex, reply.getSliceIndex());
+        Preconditions.checkArgument(reply.isSuccess(), "Receiver rejected slice %s", sentIndex);
+        return sentIndex == slices.size() ? null : nextSlice();
+    }
+
+    private RpcPayloadSlice nextSlice() {
+        lastActivity = System.nanoTime();
+        sentIndex++;
+        final byte[] data = slices.get(sentIndex - RpcPayloadSlice.FIRST_SLICE_INDEX);
+        final RpcPayloadSlice ret = new RpcPayloadSlice(streamId, sentIndex, slices.size(), lastSliceHashCode,
+            data, rpc);
+        lastSliceHashCode = Arrays.hashCode(data);
+        return ret;
+    }
+}
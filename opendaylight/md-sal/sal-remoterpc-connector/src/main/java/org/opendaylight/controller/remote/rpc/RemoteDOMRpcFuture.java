@@ -8,6 +8,7 @@
 package org.opendaylight.controller.remote.rpc;
 
 import akka.dispatch.OnComplete;
+import akka.pattern.AskTimeoutException;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.AbstractFuture;
 import com.google.common.util.concurrent.CheckedFuture;
@@ -17,6 +18,8 @@ import java.util.concurrent.TimeoutException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics.Outcome;
+import org.opendaylight.controller.remote.rpc.messages.CorrelatedRpcResponse;
 import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -31,6 +34,10 @@ class RemoteDOMRpcFuture extends AbstractFuture<DOMRpcResult> implements Checked
 
     private final QName rpcName;
 
+    // Written before this future completes, hence visible to its listeners
+    private Outcome outcome;
+    private long payloadSize = -1;
+
     private RemoteDOMRpcFuture(final QName rpcName) {
         this.rpcName = Preconditions.checkNotNull(rpcName, "rpcName");
     }
@@ -41,6 +48,7 @@ class RemoteDOMRpcFuture extends AbstractFuture<DOMRpcResult> implements Checked
 
     protected void failNow(final Throwable error) {
         LOG.debug("Failing future {} for rpc {}", this, rpcName, error);
+        outcome = error instanceof AskTimeoutException ? Outcome.TIMEOUT : Outcome.FAILURE;
         setException(error);
     }
 
@@ -48,6 +56,44 @@ class RemoteDOMRpcFuture extends AbstractFuture<DOMRpcResult> implements Checked
         future.onComplete(new FutureUpdater(), ExecutionContext.Implicits$.MODULE$.global());
     }
 
+    void completeWith(final CorrelatedRpcResponse response) {
+        final Throwable failure = response.getFailure();
+        if (failure != null) {
+            failNow(failure);
+        } else {
+            setResult(response.getResult(), response.getPayloadSize());
+        }
+    }
+
+    /**
+     * Return the outcome of the invocation. Only valid once this future has completed.
+     *
+     * @return Invocation outcome
+     */
+    Outcome getOutcome() {
+        return outcome != null ? outcome : Outcome.FAILURE;
+    }
+
+    /**
+     * Return the serialized size of the result received from the remote node. Only valid once this future has
+     * completed.
+     *
+     * @return Result size in bytes, or -1 if not known
+     */
+    long getPayloadSize() {
+        return payloadSize;
+    }
+
+    private void setResult(final NormalizedNode<?, ?> result, final long resultSize) {
+        LOG.debug("Received response for rpc {}: result is {}", rpcName, result);
+
+        outcome = Outcome.SUCCESS;
+        payloadSize = resultSize;
+        set(new DefaultDOMRpcResult(result));
+
+        LOG.debug("Future {} for rpc {} successfully completed", this, rpcName);
+    }
+
     @Override
     public DOMRpcResult checkedGet() throws DOMRpcException {
         try {
@@ -85,14 +131,8 @@ class RemoteDOMRpcFuture extends AbstractFuture<DOMRpcResult> implements Checked
             if (error != null) {
                 RemoteDOMRpcFuture.this.failNow(error);
             } else if (reply instanceof RpcResponse) {
-                final RpcResponse rpcReply = (RpcResponse) reply;
-                final NormalizedNode<?, ?> result = rpcReply.getResultNormalizedNode();
-
-                LOG.debug("Received response for rpc {}: result is {}", rpcName, result);
-
-                RemoteDOMRpcFuture.this.set(new DefaultDOMRpcResult(result));
-
-                LOG.debug("Future {} for rpc {} successfully completed", RemoteDOMRpcFuture.this, rpcName);
+                final RpcResponse response = (RpcResponse) reply;
+                RemoteDOMRpcFuture.this.setResult(response.getResultNormalizedNode(), response.getPayloadSize());
             } else {
                 RemoteDOMRpcFuture.this.failNow(new IllegalStateException("Incorrect reply type " + reply
                         + "from Akka"));
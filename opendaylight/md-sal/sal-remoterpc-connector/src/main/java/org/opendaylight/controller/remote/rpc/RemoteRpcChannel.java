@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import akka.actor.ActorRef;
+import akka.actor.Cancellable;
+import akka.actor.PoisonPill;
+import akka.actor.Props;
+import akka.pattern.AskTimeoutException;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
+import org.opendaylight.controller.remote.rpc.messages.CorrelatedRpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSlice;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSliceReply;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Actor multiplexing RPC invocations towards a single remote {@link RpcInvoker}. Each request is assigned
+ * an identifier and queued requests are sent as a single {@link ExecuteRpcBatch}, to which the invoker responds
+ * with a {@link CorrelatedRpcResponse} for each request. This avoids creating a temporary actor for each invocation,
+ * as {@link akka.pattern.Patterns#ask(ActorRef, Object, akka.util.Timeout)} would.
+ *
+ * <p>
+ * Requests whose input is too large to be sent in a single message bypass batching and are sent as a sequence
+ * of {@link RpcPayloadSlice}s instead. Large results are received in the same way.
+ *
+ * <p>
+ * If the remote node has advertised a {@link QNameDictionary} which is also known locally, batches are encoded using
+ * that dictionary and the invoker encodes its responses with it, too. Sliced payloads do not use the dictionary.
+ *
+ * <p>
+ * All requests share the same timeout, hence they expire in the order in which they were issued. The channel keeps
+ * them in a queue and expires them from a single periodic tick, instead of scheduling a task for each request.
+ */
+final class RemoteRpcChannel extends AbstractUntypedActor {
+    /**
+     * A request to invoke an RPC. This message is only ever sent locally.
+     */
+    static final class Request {
+        private final RemoteDOMRpcFuture future;
+        private final ExecuteRpc rpc;
+
+        Request(final RemoteDOMRpcFuture future, final ExecuteRpc rpc) {
+            this.future = Preconditions.checkNotNull(future);
+            this.rpc = Preconditions.checkNotNull(rpc);
+        }
+    }
+
+    private static final class Pending {
+        final RemoteDOMRpcFuture future;
+        final ExecuteRpc rpc;
+        final long deadline;
+        final long id;
+
+        Pending(final long id, final Request request, final long deadline) {
+            this.id = id;
+            this.future = request.future;
+            this.rpc = request.rpc;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * Message instructing the channel to stop accepting requests. The channel terminates once the outstanding
+     * requests have had the chance to complete. Requests received in the meantime are failed immediately.
+     */
+    static final Object CLOSE = new Object();
+
+    private static final Object FLUSH = new Object();
+    private static final Object TICK = new Object();
+
+    // Bounds the number of requests in a single batch message, a full batch is sent without waiting for the flush.
+    // The estimated size of a batch is further bounded by the slice size.
+    private static final int MAX_BATCH_SIZE = 256;
+    // Requests time out at most 1/8 of the timeout late
+    private static final int TICKS_PER_TIMEOUT = 8;
+
+    private final Map<Long, Pending> pending = new HashMap<>();
+    private final Deque<Pending> timeouts = new ArrayDeque<>();
+    private final Map<Long, OutboundRpcPayload> outbound = new HashMap<>();
+    private final Map<Long, InboundRpcPayload> inbound = new HashMap<>();
+    private final RpcPayloadSlicer slicer;
+    private final QNameDictionary dictionary;
+    private final ActorRef remoteInvoker;
+    private final FiniteDuration timeout;
+
+    private Map<Long, ExecuteRpc> queued = new LinkedHashMap<>();
+    private long queuedSize;
+    private Cancellable tickTask;
+    private boolean flushScheduled;
+    private boolean closed;
+    private long nextId;
+
+    private RemoteRpcChannel(final ActorRef remoteInvoker, final QNameDictionary dictionary,
+            final RemoteRpcProviderConfig config) {
+        this.remoteInvoker = Preconditions.checkNotNull(remoteInvoker);
+        this.dictionary = dictionary;
+        this.timeout = config.getAskDuration().duration();
+        this.slicer = new RpcPayloadSlicer(config.getRpcPayloadSliceSize());
+    }
+
+    static Props props(final ActorRef remoteInvoker, @Nullable final QNameDictionary dictionary,
+            final RemoteRpcProviderConfig config) {
+        Preconditions.checkNotNull(remoteInvoker, "Remote invoker can not be null");
+        Preconditions.checkNotNull(config, "RemoteRpcProviderConfig can not be null");
+        return Props.create(RemoteRpcChannel.class, remoteInvoker, dictionary, config);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        super.preStart();
+
+        final FiniteDuration tick = FiniteDuration.create(timeout.toNanos() / TICKS_PER_TIMEOUT, TimeUnit.NANOSECONDS);
+        tickTask = getContext().system().scheduler().schedule(tick, tick, getSelf(), TICK,
+            getContext().dispatcher(), getSelf());
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+
+        for (Pending p : pending.values()) {
+            p.future.failNow(new RemoteDOMRpcException("Remote RPC channel to " + remoteInvoker + " has been closed",
+                null));
+        }
+        pending.clear();
+        timeouts.clear();
+        outbound.clear();
+        inbound.clear();
+
+        super.postStop();
+    }
+
+    @Override
+    protected void handleReceive(final Object message) {
+        if (message instanceof Request) {
+            enqueue((Request) message);
+        } else if (message instanceof CorrelatedRpcResponse) {
+            complete((CorrelatedRpcResponse) message);
+        } else if (message instanceof RpcPayloadSliceReply) {
+            handleSliceReply((RpcPayloadSliceReply) message);
+        } else if (message instanceof RpcPayloadSlice) {
+            handleSlice((RpcPayloadSlice) message);
+        } else if (message == FLUSH) {
+            flushScheduled = false;
+            flush();
+        } else if (message == TICK) {
+            expire(System.nanoTime());
+        } else if (message == CLOSE) {
+            close();
+        } else {
+            unknownMessage(message);
+        }
+    }
+
+    private void enqueue(final Request request) {
+        if (closed) {
+            request.future.failNow(new RemoteDOMRpcException("Remote RPC channel to " + remoteInvoker
+                + " has been closed", null));
+            return;
+        }
+
+        final long id = nextId++;
+        final Pending p = new Pending(id, request, System.nanoTime() + timeout.toNanos());
+        pending.put(id, p);
+        timeouts.addLast(p);
+
+        final NormalizedNode<?, ?> input = request.rpc.getInputNormalizedNode();
+        final long size = slicer.estimateSize(input);
+        if (slicer.exceedsSliceSize(size)) {
+            sendSliced(p, input);
+            return;
+        }
+
+        // Do not let batching build the large messages slicing is there to prevent
+        if (slicer.exceedsSliceSize(queuedSize + size)) {
+            flush();
+        }
+
+        queued.put(id, request.rpc);
+        queuedSize += size;
+
+        if (queued.size() >= MAX_BATCH_SIZE) {
+            flush();
+        } else if (!flushScheduled) {
+            // Any requests which arrive before this message is processed will be sent in the same batch
+            flushScheduled = true;
+            getSelf().tell(FLUSH, ActorRef.noSender());
+        }
+    }
+
+    private void sendSliced(final Pending request, final NormalizedNode<?, ?> input) {
+        final OutboundRpcPayload payload;
+        try {
+            payload = slicer.slice(request.id, request.rpc.getRpc(), input);
+        } catch (IOException e) {
+            LOG.debug("Failed to serialize input of request {}", request.id, e);
+            fail(request.id, new RemoteDOMRpcException("Failed to serialize input of RPC " + request.rpc.getRpc(),
+                e));
+            return;
+        }
+
+        LOG.debug("Sending {} bytes of input of request {} to {} in slices", payload.getSize(), request.id,
+            remoteInvoker);
+        outbound.put(request.id, payload);
+        remoteInvoker.tell(payload.firstSlice(), getSelf());
+    }
+
+    private void handleSliceReply(final RpcPayloadSliceReply reply) {
+        final long id = reply.getStreamId();
+        final OutboundRpcPayload payload = outbound.get(id);
+        if (payload == null) {
+            LOG.debug("Ignoring reply {} to an unknown or expired request", reply);
+            return;
+        }
+
+        final RpcPayloadSlice next;
+        try {
+            next = payload.handleReply(reply);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Failed to send input of request {}", id, e);
+            outbound.remove(id);
+            fail(id, new RemoteDOMRpcException("Failed to send input to " + remoteInvoker, e));
+            return;
+        }
+
+        if (next != null) {
+            remoteInvoker.tell(next, getSelf());
+        } else {
+            LOG.debug("Input of request {} has been sent", id);
+            outbound.remove(id);
+        }
+    }
+
+    private void handleSlice(final RpcPayloadSlice slice) {
+        final long id = slice.getStreamId();
+        if (!pending.containsKey(id)) {
+            LOG.debug("Rejecting slice {} of an unknown or expired request", slice);
+            inbound.remove(id);
+            getSender().tell(new RpcPayloadSliceReply(id, slice.getSliceIndex(), false), getSelf());
+            return;
+        }
+
+        InboundRpcPayload payload = inbound.get(id);
+        if (payload == null) {
+            payload = new InboundRpcPayload(slice);
+            inbound.put(id, payload);
+        }
+
+        final boolean last;
+        try {
+            last = payload.addSlice(slice);
+        } catch (IOException e) {
+            LOG.debug("Failed to receive result of request {}", id, e);
+            inbound.remove(id);
+            getSender().tell(new RpcPayloadSliceReply(id, slice.getSliceIndex(), false), getSelf());
+            fail(id, new RemoteDOMRpcException("Failed to receive result from " + remoteInvoker, e));
+            return;
+        }
+
+        getSender().tell(new RpcPayloadSliceReply(id, slice.getSliceIndex(), true), getSelf());
+        if (!last) {
+            return;
+        }
+
+        inbound.remove(id);
+        final NormalizedNode<?, ?> result;
+        try {
+            result = payload.read();
+        } catch (IOException e) {
+            LOG.debug("Failed to deserialize result of request {}", id, e);
+            fail(id, new RemoteDOMRpcException("Failed to deserialize result received from " + remoteInvoker, e));
+            return;
+        }
+
+        complete(CorrelatedRpcResponse.successFromReceived(id, result, payload.getSize()));
+    }
+
+    private void fail(final long id, final Throwable cause) {
+        final Pending p = pending.remove(id);
+        if (p != null) {
+            p.future.failNow(cause);
+        }
+    }
+
+    private void flush() {
+        if (!queued.isEmpty()) {
+            LOG.debug("Sending {} requests to {}", queued.size(), remoteInvoker);
+            remoteInvoker.tell(new ExecuteRpcBatch(queued, dictionary), getSelf());
+            queued = new LinkedHashMap<>();
+            queuedSize = 0;
+        }
+    }
+
+    private void complete(final CorrelatedRpcResponse response) {
+        final Pending p = pending.remove(response.getRequestId());
+        outbound.remove(response.getRequestId());
+        if (p == null) {
+            LOG.debug("Ignoring response {} to an unknown or expired request", response);
+            return;
+        }
+
+        p.future.completeWith(response);
+
+        // Purge completed requests from the head of the timeout queue, so it does not grow needlessly
+        while (!timeouts.isEmpty() && !pending.containsKey(timeouts.peekFirst().id)) {
+            timeouts.removeFirst();
+        }
+    }
+
+    private void expire(final long now) {
+        while (!timeouts.isEmpty() && timeouts.peekFirst().deadline - now <= 0) {
+            final Pending p = timeouts.removeFirst();
+            if (pending.remove(p.id) != null) {
+                outbound.remove(p.id);
+                inbound.remove(p.id);
+                LOG.debug("Request {} for rpc {} timed out", p.id, p.rpc.getRpc());
+                p.future.failNow(new AskTimeoutException("Remote RPC " + p.rpc.getRpc() + " invoked on "
+                        + remoteInvoker + " timed out after " + timeout));
+            }
+        }
+    }
+
+    private void close() {
+        if (closed) {
+            return;
+        }
+
+        LOG.debug("Closing channel to {} with {} outstanding requests", remoteInvoker, pending.size());
+        flush();
+        closed = true;
+
+        // Callers may still hold a reference to us, stay around until any requests they send can be rejected
+        getContext().system().scheduler().scheduleOnce(timeout, getSelf(), PoisonPill.getInstance(),
+            getContext().dispatcher(), ActorRef.noSender());
+    }
+}
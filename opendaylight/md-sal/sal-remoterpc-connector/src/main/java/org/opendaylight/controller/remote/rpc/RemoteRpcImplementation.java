@@ -13,11 +13,17 @@ import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics.Side;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
@@ -29,19 +35,51 @@ final class RemoteRpcImplementation implements DOMRpcImplementation {
     // 0 for local, 1 for binding, 2 for remote
     private static final long COST = 2;
 
+    private final RemoteRpcMetrics metrics = RemoteRpcMetrics.getInstance();
     private final ActorRef remoteInvoker;
     private final Timeout askDuration;
+    private final QNameDictionary dictionary;
+    private final ActorRef channel;
+    private final String peer;
 
     RemoteRpcImplementation(final ActorRef remoteInvoker, final RemoteRpcProviderConfig config) {
+        this(remoteInvoker, config, null, null);
+    }
+
+    /**
+     * Create a new implementation. If a {@link RemoteRpcChannel} is provided, invocations are sent through it,
+     * otherwise each invocation asks the remote invoker directly.
+     *
+     * @param remoteInvoker Remote invoker actor
+     * @param config Configuration
+     * @param channel Optional channel towards the remote invoker
+     * @param dictionary Optional QName dictionary shared with the remote node, used to encode requests
+     */
+    RemoteRpcImplementation(final ActorRef remoteInvoker, final RemoteRpcProviderConfig config,
+            @Nullable final ActorRef channel, @Nullable final QNameDictionary dictionary) {
         this.remoteInvoker = Preconditions.checkNotNull(remoteInvoker);
         this.askDuration = config.getAskDuration();
+        this.channel = channel;
+        this.dictionary = dictionary;
+        this.peer = remoteInvoker.path().address().toString();
     }
 
     @Override
     public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final DOMRpcIdentifier rpc,
             final NormalizedNode<?, ?> input) {
-        final RemoteDOMRpcFuture ret = RemoteDOMRpcFuture.create(rpc.getType().getLastComponent());
-        ret.completeWith(Patterns.ask(remoteInvoker, ExecuteRpc.from(rpc, input), askDuration));
+        final QName rpcName = rpc.getType().getLastComponent();
+        final RemoteDOMRpcFuture ret = RemoteDOMRpcFuture.create(rpcName);
+        final ExecuteRpc msg = ExecuteRpc.from(rpc, input, dictionary);
+
+        final long start = System.nanoTime();
+        ret.addListener(() -> metrics.record(Side.CALLER, rpcName, peer, System.nanoTime() - start,
+            ret.getPayloadSize(), ret.getOutcome()), MoreExecutors.directExecutor());
+
+        if (channel != null) {
+            channel.tell(new RemoteRpcChannel.Request(ret, msg), ActorRef.noSender());
+        } else {
+            ret.completeWith(Patterns.ask(remoteInvoker, msg, askDuration));
+        }
         return ret;
     }
 
@@ -49,4 +87,19 @@ final class RemoteRpcImplementation implements DOMRpcImplementation {
     public long invocationCost() {
         return COST;
     }
+
+    /**
+     * Instances are recreated whenever the remote node updates its registrations. Hashing on the remote invoker
+     * keeps the hash code stable across those updates, so hash-based routing policies keep selecting the same node.
+     */
+    @Override
+    public int hashCode() {
+        return remoteInvoker.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        // Routing tables rely on identity to find the registration being removed
+        return this == obj;
+    }
 }
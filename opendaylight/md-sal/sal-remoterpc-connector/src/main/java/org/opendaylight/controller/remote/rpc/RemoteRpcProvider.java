@@ -14,6 +14,7 @@ import akka.actor.PoisonPill;
 import com.google.common.base.Preconditions;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,14 +30,16 @@ public class RemoteRpcProvider implements AutoCloseable {
     private final RemoteRpcProviderConfig config;
     private final ActorSystem actorSystem;
     private final DOMRpcService rpcService;
+    private final SchemaService schemaService;
 
     private ActorRef rpcManager;
 
     public RemoteRpcProvider(final ActorSystem actorSystem, final DOMRpcProviderService rpcProvisionRegistry,
-            final DOMRpcService rpcService, final RemoteRpcProviderConfig config) {
+            final DOMRpcService rpcService, final SchemaService schemaService, final RemoteRpcProviderConfig config) {
         this.actorSystem = Preconditions.checkNotNull(actorSystem);
         this.rpcProvisionRegistry = Preconditions.checkNotNull(rpcProvisionRegistry);
         this.rpcService = Preconditions.checkNotNull(rpcService);
+        this.schemaService = Preconditions.checkNotNull(schemaService);
         this.config = Preconditions.checkNotNull(config);
     }
 
@@ -51,7 +54,7 @@ public class RemoteRpcProvider implements AutoCloseable {
 
     public void start() {
         LOG.info("Starting Remote RPC service...");
-        rpcManager = actorSystem.actorOf(RpcManager.props(rpcProvisionRegistry, rpcService, config),
+        rpcManager = actorSystem.actorOf(RpcManager.props(rpcProvisionRegistry, rpcService, schemaService, config),
                 config.getRpcManagerName());
         LOG.debug("RPC Manager started at {}", rpcManager);
     }
@@ -26,11 +26,28 @@ public class RemoteRpcProviderConfig extends CommonConfig {
     protected static final String TAG_ASK_DURATION = "ask-duration";
 
     private static final String TAG_GOSSIP_TICK_INTERVAL = "gossip-tick-interval";
+    private static final String TAG_GOSSIP_MAX_TICK_INTERVAL = "gossip-max-tick-interval";
+    private static final String TAG_GOSSIP_FAN_OUT = "gossip-fan-out";
+    private static final String TAG_GOSSIP_DELTA_HISTORY_SIZE = "gossip-delta-history-size";
+
+    private static final FiniteDuration DEFAULT_GOSSIP_MAX_TICK_INTERVAL = FiniteDuration.create(8, TimeUnit.SECONDS);
+    private static final int DEFAULT_GOSSIP_FAN_OUT = 2;
+
+    private static final int DEFAULT_GOSSIP_DELTA_HISTORY_SIZE = 64;
+    private static final String TAG_RPC_CHANNEL_ENABLED = "rpc-channel-enabled";
+    private static final String TAG_RPC_PAYLOAD_SLICE_SIZE = "rpc-payload-slice-size";
+
+    private static final int DEFAULT_RPC_PAYLOAD_SLICE_SIZE = 2 * 1024 * 1024;
     private static final String TAG_RPC_REGISTRY_PERSISTENCE_ID = "rpc-registry-persistence-id";
 
     //locally cached values
     private Timeout cachedAskDuration;
     private FiniteDuration cachedGossipTickInterval;
+    private FiniteDuration cachedGossipMaxTickInterval;
+    private Integer cachedGossipFanOut;
+    private Integer cachedGossipDeltaHistorySize;
+    private Boolean cachedRpcChannelEnabled;
+    private Integer cachedRpcPayloadSliceSize;
 
     public RemoteRpcProviderConfig(final Config config) {
         super(config);
@@ -90,6 +107,95 @@ public class RemoteRpcProviderConfig extends CommonConfig {
         return cachedGossipTickInterval;
     }
 
+    /**
+     * Return the longest interval between gossip ticks. While nothing changes in the cluster, the interval grows
+     * from {@link #getGossipTickInterval()} up to this value.
+     *
+     * @return Maximum gossip tick interval, never shorter than {@link #getGossipTickInterval()}.
+     */
+    public FiniteDuration getGossipMaxTickInterval() {
+        if (cachedGossipMaxTickInterval != null) {
+            return cachedGossipMaxTickInterval;
+        }
+
+        final FiniteDuration configured = get().hasPath(TAG_GOSSIP_MAX_TICK_INTERVAL)
+                ? new FiniteDuration(get().getDuration(TAG_GOSSIP_MAX_TICK_INTERVAL, TimeUnit.NANOSECONDS),
+                    TimeUnit.NANOSECONDS)
+                : DEFAULT_GOSSIP_MAX_TICK_INTERVAL;
+        cachedGossipMaxTickInterval = configured.max(getGossipTickInterval());
+
+        return cachedGossipMaxTickInterval;
+    }
+
+    /**
+     * Return the number of peers to which a change is pushed as soon as it is observed.
+     *
+     * @return Number of peers, at least 1.
+     */
+    public int getGossipFanOut() {
+        if (cachedGossipFanOut != null) {
+            return cachedGossipFanOut;
+        }
+
+        cachedGossipFanOut = Math.max(1, get().hasPath(TAG_GOSSIP_FAN_OUT) ? get().getInt(TAG_GOSSIP_FAN_OUT)
+                : DEFAULT_GOSSIP_FAN_OUT);
+
+        return cachedGossipFanOut;
+    }
+
+    /**
+     * Return the number of bucket versions for which gossip keeps changes, so that peers which are at most that many
+     * versions behind receive only the changes instead of the entire bucket.
+     *
+     * @return Number of versions, 0 if changes are not tracked.
+     */
+    public int getGossipDeltaHistorySize() {
+        if (cachedGossipDeltaHistorySize != null) {
+            return cachedGossipDeltaHistorySize;
+        }
+
+        cachedGossipDeltaHistorySize = get().hasPath(TAG_GOSSIP_DELTA_HISTORY_SIZE)
+                ? get().getInt(TAG_GOSSIP_DELTA_HISTORY_SIZE)
+                : DEFAULT_GOSSIP_DELTA_HISTORY_SIZE;
+
+        return cachedGossipDeltaHistorySize;
+    }
+
+    /**
+     * Return whether invocations of remote RPCs should be multiplexed over a single channel for each remote node.
+     * Channels are used only with nodes which advertise support for them, other nodes are sent individual requests.
+     *
+     * @return True if remote RPC channels are enabled.
+     */
+    public boolean isRpcChannelEnabled() {
+        if (cachedRpcChannelEnabled != null) {
+            return cachedRpcChannelEnabled;
+        }
+
+        cachedRpcChannelEnabled = !get().hasPath(TAG_RPC_CHANNEL_ENABLED) || get().getBoolean(TAG_RPC_CHANNEL_ENABLED);
+
+        return cachedRpcChannelEnabled;
+    }
+
+    /**
+     * Return the size of slices in which large RPC inputs and results are sent between remote RPC channels and
+     * the invokers they target. Payloads estimated to be larger than this are sent one slice at a time, each slice
+     * being acknowledged before the next one is sent.
+     *
+     * @return Slice size in bytes, 0 if slicing is disabled.
+     */
+    public int getRpcPayloadSliceSize() {
+        if (cachedRpcPayloadSliceSize != null) {
+            return cachedRpcPayloadSliceSize;
+        }
+
+        cachedRpcPayloadSliceSize = get().hasPath(TAG_RPC_PAYLOAD_SLICE_SIZE)
+                ? get().getBytes(TAG_RPC_PAYLOAD_SLICE_SIZE).intValue()
+                : DEFAULT_RPC_PAYLOAD_SLICE_SIZE;
+
+        return cachedRpcPayloadSliceSize;
+    }
+
     /**
      * This is called via blueprint xml as the builder pattern can't be used.
      */
@@ -122,6 +228,13 @@ public class RemoteRpcProviderConfig extends CommonConfig {
             //durations
             configHolder.put(TAG_ASK_DURATION, "15s");
             configHolder.put(TAG_GOSSIP_TICK_INTERVAL, "500ms");
+            configHolder.put(TAG_GOSSIP_MAX_TICK_INTERVAL, "8s");
+            configHolder.put(TAG_GOSSIP_FAN_OUT, DEFAULT_GOSSIP_FAN_OUT);
+            configHolder.put(TAG_GOSSIP_DELTA_HISTORY_SIZE, DEFAULT_GOSSIP_DELTA_HISTORY_SIZE);
+
+            // invocation
+            configHolder.put(TAG_RPC_CHANNEL_ENABLED, true);
+            configHolder.put(TAG_RPC_PAYLOAD_SLICE_SIZE, DEFAULT_RPC_PAYLOAD_SLICE_SIZE);
 
             // persistence
             configHolder.put(TAG_RPC_REGISTRY_PERSISTENCE_ID, "remote-rpc-registry");
@@ -132,6 +245,31 @@ public class RemoteRpcProviderConfig extends CommonConfig {
             return this;
         }
 
+        public Builder gossipMaxTickInterval(final String interval) {
+            configHolder.put(TAG_GOSSIP_MAX_TICK_INTERVAL, interval);
+            return this;
+        }
+
+        public Builder gossipFanOut(final int fanOut) {
+            configHolder.put(TAG_GOSSIP_FAN_OUT, fanOut);
+            return this;
+        }
+
+        public Builder gossipDeltaHistorySize(final int size) {
+            configHolder.put(TAG_GOSSIP_DELTA_HISTORY_SIZE, size);
+            return this;
+        }
+
+        public Builder rpcChannelEnabled(final boolean enabled) {
+            configHolder.put(TAG_RPC_CHANNEL_ENABLED, enabled);
+            return this;
+        }
+
+        public Builder rpcPayloadSliceSize(final int size) {
+            configHolder.put(TAG_RPC_PAYLOAD_SLICE_SIZE, size);
+            return this;
+        }
+
         @Override
         public RemoteRpcProviderConfig build() {
             return new RemoteRpcProviderConfig(merge());
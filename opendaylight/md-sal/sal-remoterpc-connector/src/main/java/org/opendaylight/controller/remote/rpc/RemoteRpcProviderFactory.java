@@ -11,11 +11,13 @@ package org.opendaylight.controller.remote.rpc;
 import akka.actor.ActorSystem;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.sal.core.api.model.SchemaService;
 
 public class RemoteRpcProviderFactory {
     public static RemoteRpcProvider createInstance(final DOMRpcProviderService rpcProviderService,
-            final DOMRpcService rpcService, final ActorSystem actorSystem, final RemoteRpcProviderConfig config) {
+            final DOMRpcService rpcService, final SchemaService schemaService, final ActorSystem actorSystem,
+            final RemoteRpcProviderConfig config) {
 
-        return new RemoteRpcProvider(actorSystem, rpcProviderService, rpcService, config);
+        return new RemoteRpcProvider(actorSystem, rpcProviderService, rpcService, schemaService, config);
     }
 }
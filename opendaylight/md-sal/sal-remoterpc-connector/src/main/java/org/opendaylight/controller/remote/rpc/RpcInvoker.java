@@ -9,59 +9,325 @@
 package org.opendaylight.controller.remote.rpc;
 
 import akka.actor.ActorRef;
+import akka.actor.Cancellable;
 import akka.actor.Props;
+import akka.actor.Status;
+import akka.actor.Terminated;
+import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics.Outcome;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics.Side;
+import org.opendaylight.controller.remote.rpc.messages.CorrelatedRpcResponse;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSlice;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSliceReply;
 import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * Actor receiving invocation requests from remote nodes, routing them to
  * {@link DOMRpcService#invokeRpc(SchemaPath, NormalizedNode)}.
+ *
+ * <p>
+ * Requests coming from a {@link RemoteRpcChannel} may carry their input as a sequence of {@link RpcPayloadSlice}s,
+ * which are reassembled before the RPC is invoked. Large results of such requests are sent back in slices, too.
  */
 final class RpcInvoker extends AbstractUntypedActor {
+    /**
+     * Identifies a sliced payload. Stream identifiers are assigned by the channel which sent the request, hence they
+     * are unique only in combination with the channel.
+     */
+    private static final class StreamKey {
+        private final ActorRef channel;
+        private final long streamId;
+
+        StreamKey(final ActorRef channel, final long streamId) {
+            this.channel = Preconditions.checkNotNull(channel);
+            this.streamId = streamId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * channel.hashCode() + Long.hashCode(streamId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof StreamKey)) {
+                return false;
+            }
+            final StreamKey other = (StreamKey) obj;
+            return streamId == other.streamId && channel.equals(other.channel);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("channel", channel).add("streamId", streamId).toString();
+        }
+    }
+
+    /**
+     * Internal message requesting a large result to be sent to a channel in slices.
+     */
+    private static final class SendSlicedResult {
+        final StreamKey key;
+        final NormalizedNode<?, ?> result;
+
+        SendSlicedResult(final StreamKey key, final NormalizedNode<?, ?> result) {
+            this.key = Preconditions.checkNotNull(key);
+            this.result = Preconditions.checkNotNull(result);
+        }
+    }
+
+    private static final Object PURGE_IDLE_STREAMS = new Object();
+
+    private final RemoteRpcMetrics metrics = RemoteRpcMetrics.getInstance();
+    private final Map<StreamKey, InboundRpcPayload> inbound = new HashMap<>();
+    private final Map<StreamKey, OutboundRpcPayload> outbound = new HashMap<>();
     private final DOMRpcService rpcService;
+    private final RpcPayloadSlicer slicer;
+    private final FiniteDuration streamIdleTimeout;
 
-    private RpcInvoker(final DOMRpcService rpcService) {
+    private Cancellable purgeTask;
+
+    private RpcInvoker(final DOMRpcService rpcService, final RemoteRpcProviderConfig config) {
         this.rpcService = Preconditions.checkNotNull(rpcService);
+        this.slicer = new RpcPayloadSlicer(config.getRpcPayloadSliceSize());
+        this.streamIdleTimeout = config.getAskDuration().duration();
     }
 
-    public static Props props(final DOMRpcService rpcService) {
+    public static Props props(final DOMRpcService rpcService, final RemoteRpcProviderConfig config) {
         Preconditions.checkNotNull(rpcService, "DOMRpcService can not be null");
-        return Props.create(RpcInvoker.class, rpcService);
+        Preconditions.checkNotNull(config, "RemoteRpcProviderConfig can not be null");
+        return Props.create(RpcInvoker.class, rpcService, config);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        super.preStart();
+
+        // Channels give up on requests after the ask timeout, hence any stream idle for that long is abandoned
+        purgeTask = getContext().system().scheduler().schedule(streamIdleTimeout, streamIdleTimeout, getSelf(),
+            PURGE_IDLE_STREAMS, getContext().dispatcher(), getSelf());
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (purgeTask != null) {
+            purgeTask.cancel();
+            purgeTask = null;
+        }
+
+        super.postStop();
     }
 
     @Override
     protected void handleReceive(final Object message) {
         if (message instanceof ExecuteRpc) {
-            executeRpc((ExecuteRpc) message);
+            final ActorRef sender = getSender();
+            final ActorRef self = self();
+            executeRpc((ExecuteRpc) message, peerOf(sender), reply -> sender.tell(reply, self));
+        } else if (message instanceof ExecuteRpcBatch) {
+            executeRpcBatch((ExecuteRpcBatch) message);
+        } else if (message instanceof RpcPayloadSlice) {
+            handleSlice((RpcPayloadSlice) message);
+        } else if (message instanceof RpcPayloadSliceReply) {
+            handleSliceReply((RpcPayloadSliceReply) message);
+        } else if (message instanceof SendSlicedResult) {
+            sendSlicedResult((SendSlicedResult) message);
+        } else if (message == PURGE_IDLE_STREAMS) {
+            purgeIdleStreams(System.nanoTime() - streamIdleTimeout.toNanos());
+        } else if (message instanceof Terminated) {
+            purgeStreams(((Terminated) message).getActor());
         } else {
             unknownMessage(message);
         }
     }
 
+    private void handleSlice(final RpcPayloadSlice slice) {
+        final ActorRef sender = getSender();
+        final StreamKey key = new StreamKey(sender, slice.getStreamId());
+        if (slice.getRpc() == null) {
+            LOG.debug("Rejecting slice {} which does not belong to a request", slice);
+            sender.tell(new RpcPayloadSliceReply(slice.getStreamId(), slice.getSliceIndex(), false), getSelf());
+            return;
+        }
+
+        InboundRpcPayload payload = inbound.get(key);
+        if (payload == null) {
+            payload = new InboundRpcPayload(slice);
+            inbound.put(key, payload);
+            watchChannel(sender);
+        }
+
+        final boolean last;
+        try {
+            last = payload.addSlice(slice);
+        } catch (IOException e) {
+            LOG.debug("Failed to receive input of {}", key, e);
+            inbound.remove(key);
+            sender.tell(new RpcPayloadSliceReply(slice.getStreamId(), slice.getSliceIndex(), false), getSelf());
+            return;
+        }
+
+        sender.tell(new RpcPayloadSliceReply(slice.getStreamId(), slice.getSliceIndex(), true), getSelf());
+        if (!last) {
+            return;
+        }
+
+        inbound.remove(key);
+        final Consumer<Object> reply = correlatedReply(sender, slice.getStreamId());
+        final NormalizedNode<?, ?> input;
+        try {
+            input = payload.read();
+        } catch (IOException e) {
+            LOG.debug("Failed to deserialize input of {}", key, e);
+            reply.accept(new Status.Failure(e));
+            return;
+        }
+
+        LOG.debug("Received {} bytes of input of {}", payload.getSize(), key);
+        executeRpc(ExecuteRpc.fromReceived(payload.getRpc(), input, payload.getSize()), peerOf(sender), reply);
+    }
+
+    private void handleSliceReply(final RpcPayloadSliceReply reply) {
+        final StreamKey key = new StreamKey(getSender(), reply.getStreamId());
+        final OutboundRpcPayload payload = outbound.get(key);
+        if (payload == null) {
+            LOG.debug("Ignoring reply {} to an unknown stream", reply);
+            return;
+        }
+
+        final RpcPayloadSlice next;
+        try {
+            next = payload.handleReply(reply);
+        } catch (IllegalArgumentException e) {
+            // The channel has given up on the request, there is nobody to report this to
+            LOG.debug("Failed to send result of {}", key, e);
+            outbound.remove(key);
+            return;
+        }
+
+        if (next != null) {
+            key.channel.tell(next, getSelf());
+        } else {
+            LOG.debug("Result of {} has been sent", key);
+            outbound.remove(key);
+        }
+    }
+
+    private void sendSlicedResult(final SendSlicedResult message) {
+        final StreamKey key = message.key;
+        final OutboundRpcPayload payload;
+        try {
+            payload = slicer.slice(key.streamId, null, message.result);
+        } catch (IOException e) {
+            LOG.debug("Failed to serialize result of {}", key, e);
+            key.channel.tell(CorrelatedRpcResponse.failure(key.streamId, e), getSelf());
+            return;
+        }
+
+        LOG.debug("Sending {} bytes of result of {} in slices", payload.getSize(), key);
+        outbound.put(key, payload);
+        watchChannel(key.channel);
+        key.channel.tell(payload.firstSlice(), getSelf());
+    }
+
+    private void watchChannel(final ActorRef channel) {
+        // Watching an actor multiple times has no additional effect
+        getContext().watch(channel);
+    }
+
+    private void purgeStreams(final ActorRef channel) {
+        inbound.keySet().removeIf(key -> key.channel.equals(channel));
+        outbound.keySet().removeIf(key -> key.channel.equals(channel));
+    }
+
+    private void purgeIdleStreams(final long deadline) {
+        final int before = inbound.size() + outbound.size();
+        inbound.values().removeIf(payload -> payload.isIdleSince(deadline));
+        outbound.values().removeIf(payload -> payload.isIdleSince(deadline));
+
+        final int purged = before - inbound.size() - outbound.size();
+        if (purged != 0) {
+            LOG.debug("Discarded {} idle streams", purged);
+        }
+    }
+
+    private void executeRpcBatch(final ExecuteRpcBatch batch) {
+        LOG.debug("Executing batch of {} rpcs", batch.getRequests().size());
+        final ActorRef sender = getSender();
+        final String peer = peerOf(sender);
+
+        for (Entry<Long, ExecuteRpc> e : batch.getRequests().entrySet()) {
+            executeRpc(e.getValue(), peer, correlatedReply(sender, e.getKey(), batch.getDictionary()));
+        }
+    }
+
+    private Consumer<Object> correlatedReply(final ActorRef channel, final long requestId,
+            final QNameDictionary dictionary) {
+        final ActorRef self = self();
+        return reply -> {
+            if (reply instanceof Status.Failure) {
+                channel.tell(CorrelatedRpcResponse.failure(requestId, ((Status.Failure) reply).cause()), self);
+                return;
+            }
+
+            final NormalizedNode<?, ?> result = ((RpcResponse) reply).getResultNormalizedNode();
+            if (slicer.shouldSlice(result)) {
+                // Slicing state is owned by the actor, hand the result over to it
+                self.tell(new SendSlicedResult(new StreamKey(channel, requestId), result), ActorRef.noSender());
+            } else {
+                channel.tell(CorrelatedRpcResponse.success(requestId, result, dictionary), self);
+            }
+        };
+    }
+
+    private static String peerOf(final ActorRef sender) {
+        return sender.path().address().toString();
+    }
+
+    private void executeRpc(final ExecuteRpc msg, final String peer, final Consumer<Object> reply) {
+        final long start = System.nanoTime();
+        executeRpc(msg, response -> {
+            metrics.record(Side.INVOKER, msg.getRpc(), peer, System.nanoTime() - start, msg.getPayloadSize(),
+                response instanceof Status.Failure ? Outcome.FAILURE : Outcome.SUCCESS);
+            reply.accept(response);
+        });
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
-    private void executeRpc(final ExecuteRpc msg) {
+    private void executeRpc(final ExecuteRpc msg, final Consumer<Object> reply) {
         LOG.debug("Executing rpc {}", msg.getRpc());
         final SchemaPath schemaPath = SchemaPath.create(true, msg.getRpc());
-        final ActorRef sender = getSender();
-        final ActorRef self = self();
 
         final CheckedFuture<DOMRpcResult, DOMRpcException> future;
         try {
             future = rpcService.invokeRpc(schemaPath, msg.getInputNormalizedNode());
         } catch (final RuntimeException e) {
             LOG.debug("Failed to invoke RPC {}", msg.getRpc(), e);
-            sender.tell(new akka.actor.Status.Failure(e), sender);
+            reply.accept(new Status.Failure(e));
             return;
         }
 
@@ -72,17 +338,16 @@ final class RpcInvoker extends AbstractUntypedActor {
                     // This shouldn't happen but the FutureCallback annotates the result param with Nullable so
                     // handle null here to avoid FindBugs warning.
                     LOG.debug("Got null DOMRpcResult - sending null response for execute rpc : {}", msg.getRpc());
-                    sender.tell(new RpcResponse(null), self);
+                    reply.accept(new RpcResponse(null, msg.getDictionary()));
                     return;
                 }
 
                 if (!result.getErrors().isEmpty()) {
                     final String message = String.format("Execution of RPC %s failed", msg.getRpc());
-                    sender.tell(new akka.actor.Status.Failure(new RpcErrorsException(message, result.getErrors())),
-                        self);
+                    reply.accept(new Status.Failure(new RpcErrorsException(message, result.getErrors())));
                 } else {
                     LOG.debug("Sending response for execute rpc : {}", msg.getRpc());
-                    sender.tell(new RpcResponse(result.getResult()), self);
+                    reply.accept(new RpcResponse(result.getResult(), msg.getDictionary()));
                 }
             }
 
@@ -91,7 +356,7 @@ final class RpcInvoker extends AbstractUntypedActor {
                 LOG.debug("Failed to execute RPC {}", msg.getRpc(), failure);
                 LOG.error("Failed to execute RPC {} due to {}. More details are available on DEBUG level.",
                     msg.getRpc(), Throwables.getRootCause(failure));
-                sender.tell(new akka.actor.Status.Failure(failure), self);
+                reply.accept(new Status.Failure(failure));
             }
         });
     }
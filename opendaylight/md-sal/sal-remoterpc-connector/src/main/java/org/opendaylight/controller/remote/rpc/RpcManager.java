@@ -16,45 +16,55 @@ import com.google.common.base.Preconditions;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetricsMXBeanImpl;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry;
+import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
 import scala.concurrent.duration.Duration;
 
 /**
  * This class acts as a supervisor, creates all the actors, resumes them, if an exception is thrown. It also registers
- * {@link RpcListener} with the local {@link DOMRpcService}.
+ * {@link RpcListener} with the local {@link DOMRpcService} and {@link SchemaListener} with the {@link SchemaService}.
  */
 public class RpcManager extends AbstractUntypedActor {
     private final DOMRpcProviderService rpcProvisionRegistry;
     private final RemoteRpcProviderConfig config;
     private final DOMRpcService rpcServices;
+    private final SchemaService schemaService;
 
+    private ListenerRegistration<SchemaContextListener> schemaListenerReg;
     private ListenerRegistration<RpcListener> listenerReg;
+    private RemoteRpcMetricsMXBeanImpl metricsMXBean;
     private ActorRef rpcInvoker;
     private ActorRef rpcRegistry;
     private ActorRef rpcRegistrar;
 
     private RpcManager(final DOMRpcProviderService rpcProvisionRegistry,
                        final DOMRpcService rpcServices,
+                       final SchemaService schemaService,
                        final RemoteRpcProviderConfig config) {
         this.rpcProvisionRegistry = Preconditions.checkNotNull(rpcProvisionRegistry);
         this.rpcServices = Preconditions.checkNotNull(rpcServices);
+        this.schemaService = Preconditions.checkNotNull(schemaService);
         this.config = Preconditions.checkNotNull(config);
     }
 
     public static Props props(final DOMRpcProviderService rpcProvisionRegistry, final DOMRpcService rpcServices,
-            final RemoteRpcProviderConfig config) {
+            final SchemaService schemaService, final RemoteRpcProviderConfig config) {
         Preconditions.checkNotNull(rpcProvisionRegistry, "RpcProviderService can not be null!");
         Preconditions.checkNotNull(rpcServices, "RpcService can not be null!");
+        Preconditions.checkNotNull(schemaService, "SchemaService can not be null!");
         Preconditions.checkNotNull(config, "RemoteRpcProviderConfig can not be null!");
-        return Props.create(RpcManager.class, rpcProvisionRegistry, rpcServices, config);
+        return Props.create(RpcManager.class, rpcProvisionRegistry, rpcServices, schemaService, config);
     }
 
     @Override
     public void preStart() throws Exception {
         super.preStart();
 
-        rpcInvoker = getContext().actorOf(RpcInvoker.props(rpcServices)
+        rpcInvoker = getContext().actorOf(RpcInvoker.props(rpcServices, config)
             .withMailbox(config.getMailBoxName()), config.getRpcBrokerName());
         LOG.debug("Listening for RPC invocation requests with {}", rpcInvoker);
 
@@ -69,14 +79,28 @@ public class RpcManager extends AbstractUntypedActor {
         final RpcListener rpcListener = new RpcListener(rpcRegistry);
         LOG.debug("Registering local availabitility listener {}", rpcListener);
         listenerReg = rpcServices.registerRpcListener(rpcListener);
+
+        final SchemaListener schemaListener = new SchemaListener(rpcRegistry);
+        LOG.debug("Registering schema context listener {}", schemaListener);
+        schemaListenerReg = schemaService.registerSchemaContextListener(schemaListener);
+
+        metricsMXBean = new RemoteRpcMetricsMXBeanImpl(RemoteRpcMetrics.getInstance());
     }
 
     @Override
     public void postStop() throws Exception {
+        if (schemaListenerReg != null) {
+            schemaListenerReg.close();
+            schemaListenerReg = null;
+        }
         if (listenerReg != null) {
             listenerReg.close();
             listenerReg = null;
         }
+        if (metricsMXBean != null) {
+            metricsMXBean.unregisterMBean();
+            metricsMXBean = null;
+        }
 
         super.postStop();
     }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import com.google.common.base.Preconditions;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.io.ChunkedOutputStream;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSlice;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+
+/**
+ * Decides which RPC payloads are too large to be sent in a single message and splits them into
+ * {@link RpcPayloadSlice}s.
+ *
+ * <p>
+ * Serializing a payload just to find out its size would double the cost of sending small payloads, hence the decision
+ * is based on an estimate, which is computed by walking the payload only until it is known to exceed the slice size.
+ */
+final class RpcPayloadSlicer {
+    // Minimum chunk size supported by ChunkedOutputStream
+    private static final int MIN_SLICE_SIZE = 32;
+
+    // Rough per-node encoding cost, the estimate only needs to tell small payloads from large ones
+    private static final int NODE_OVERHEAD = 8;
+    // Assumed encoded size of values other than strings and binaries
+    private static final int DEFAULT_VALUE_SIZE = 8;
+
+    private final int sliceSize;
+
+    /**
+     * Create a new slicer.
+     *
+     * @param sliceSize Maximum slice size in bytes, 0 to disable slicing
+     */
+    RpcPayloadSlicer(final int sliceSize) {
+        Preconditions.checkArgument(sliceSize == 0 || sliceSize >= MIN_SLICE_SIZE, "Invalid slice size %s",
+            sliceSize);
+        this.sliceSize = sliceSize;
+    }
+
+    /**
+     * Check whether a payload should be sent in slices.
+     *
+     * @param payload Payload to check
+     * @return True if the payload should be sliced
+     */
+    boolean shouldSlice(@Nullable final NormalizedNode<?, ?> payload) {
+        return exceedsSliceSize(estimateSize(payload));
+    }
+
+    /**
+     * Estimate the encoded size of a payload. Payloads larger than the slice size are walked only until they are known
+     * to exceed it, hence their estimate is not accurate. If slicing is disabled, no estimate is made.
+     *
+     * @param payload Payload to estimate
+     * @return Estimated size in bytes, 0 if the payload is null or slicing is disabled
+     */
+    long estimateSize(@Nullable final NormalizedNode<?, ?> payload) {
+        return sliceSize > 0 && payload != null ? estimateSize(payload, 0) : 0;
+    }
+
+    /**
+     * Check whether an estimated size exceeds the slice size.
+     *
+     * @param size Estimated size, as returned from {@link #estimateSize(NormalizedNode)}
+     * @return True if the size exceeds the slice size
+     */
+    boolean exceedsSliceSize(final long size) {
+        return sliceSize > 0 && size > sliceSize;
+    }
+
+    /**
+     * Serialize a payload and prepare it for sending as a sequence of slices.
+     *
+     * @param streamId Stream identifier
+     * @param rpc RPC to attach to slices, null if the payload is not an RPC input
+     * @param payload Payload to slice
+     * @return An OutboundRpcPayload
+     * @throws IOException if the payload fails to serialize
+     */
+    OutboundRpcPayload slice(final long streamId, @Nullable final QName rpc,
+            @Nonnull final NormalizedNode<?, ?> payload) throws IOException {
+        Preconditions.checkState(sliceSize > 0, "Slicing is disabled");
+
+        final ChunkedOutputStream cos = new ChunkedOutputStream(sliceSize, sliceSize);
+        try (NormalizedNodeDataOutput out = NormalizedNodeInputOutput.newCompactDataOutput(
+                new DataOutputStream(cos))) {
+            out.writeNormalizedNode(payload);
+        }
+
+        final List<byte[]> slices = cos.toChunkedByteArray().getChunks();
+        return new OutboundRpcPayload(streamId, rpc, slices);
+    }
+
+    private long estimateSize(final NormalizedNode<?, ?> node, final long sizeSoFar) {
+        long size = sizeSoFar + NODE_OVERHEAD;
+        if (node instanceof NormalizedNodeContainer) {
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                size = estimateSize(child, size);
+                if (size > sliceSize) {
+                    break;
+                }
+            }
+            return size;
+        }
+
+        final Object value = node.getValue();
+        if (value instanceof String) {
+            return size + ((String) value).length();
+        } else if (value instanceof byte[]) {
+            return size + ((byte[]) value).length;
+        } else {
+            return size + DEFAULT_VALUE_SIZE;
+        }
+    }
+}
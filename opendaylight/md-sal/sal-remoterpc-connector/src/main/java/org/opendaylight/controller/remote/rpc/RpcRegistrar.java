@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.remote.rpc;
 
+import akka.actor.ActorRef;
 import akka.actor.Address;
 import akka.actor.Props;
 import com.google.common.base.Preconditions;
@@ -16,6 +17,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
@@ -28,7 +31,20 @@ import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndp
  * @author Robert Varga
  */
 final class RpcRegistrar extends AbstractUntypedActor {
+    private static final class Channel {
+        final QNameDictionary dictionary;
+        final ActorRef remoteInvoker;
+        final ActorRef actor;
+
+        Channel(final ActorRef remoteInvoker, final QNameDictionary dictionary, final ActorRef actor) {
+            this.remoteInvoker = remoteInvoker;
+            this.dictionary = dictionary;
+            this.actor = actor;
+        }
+    }
+
     private final Map<Address, DOMRpcImplementationRegistration<?>> regs = new HashMap<>();
+    private final Map<Address, Channel> channels = new HashMap<>();
     private final DOMRpcProviderService rpcProviderService;
     private final RemoteRpcProviderConfig config;
 
@@ -69,6 +85,7 @@ final class RpcRegistrar extends AbstractUntypedActor {
          * hence we register all new implementations before closing all registrations.
          */
         final Collection<DOMRpcImplementationRegistration<?>> prevRegs = new ArrayList<>(endpoints.size());
+        final Collection<Channel> prevChannels = new ArrayList<>();
 
         for (Entry<Address, Optional<RemoteRpcEndpoint>> e : endpoints.entrySet()) {
             LOG.debug("Updating RPC registrations for {}", e.getKey());
@@ -77,11 +94,17 @@ final class RpcRegistrar extends AbstractUntypedActor {
             final Optional<RemoteRpcEndpoint> maybeEndpoint = e.getValue();
             if (maybeEndpoint.isPresent()) {
                 final RemoteRpcEndpoint endpoint = maybeEndpoint.get();
-                final RemoteRpcImplementation impl = new RemoteRpcImplementation(endpoint.getRouter(), config);
+                final QNameDictionary dictionary = dictionaryFor(endpoint);
+                final RemoteRpcImplementation impl = new RemoteRpcImplementation(endpoint.getRouter(), config,
+                    channelFor(e.getKey(), endpoint, dictionary, prevChannels), dictionary);
                 prevReg = regs.put(e.getKey(), rpcProviderService.registerRpcImplementation(impl,
                     endpoint.getRpcs()));
             } else {
                 prevReg = regs.remove(e.getKey());
+                final Channel prevChannel = channels.remove(e.getKey());
+                if (prevChannel != null) {
+                    prevChannels.add(prevChannel);
+                }
             }
 
             if (prevReg != null) {
@@ -92,5 +115,55 @@ final class RpcRegistrar extends AbstractUntypedActor {
         for (DOMRpcImplementationRegistration<?> r : prevRegs) {
             r.close();
         }
+
+        // Channels are closed only after the implementations using them have been unregistered
+        for (Channel c : prevChannels) {
+            c.actor.tell(RemoteRpcChannel.CLOSE, ActorRef.noSender());
+        }
+    }
+
+    /**
+     * Find the dictionary advertised by a remote node. It can only be used if a dictionary with the same fingerprint
+     * is known locally, which is typically the case when both nodes run with the same set of models.
+     */
+    @Nullable
+    private QNameDictionary dictionaryFor(final RemoteRpcEndpoint endpoint) {
+        final Optional<Long> fingerprint = endpoint.getDictionaryFingerprint();
+        if (!fingerprint.isPresent()) {
+            return null;
+        }
+
+        final Optional<QNameDictionary> dictionary = QNameDictionary.forFingerprint(fingerprint.get());
+        if (!dictionary.isPresent()) {
+            LOG.debug("Remote dictionary {} not available, not using a dictionary for {}",
+                String.format("%016x", fingerprint.get()), endpoint.getRouter());
+        }
+        return dictionary.orElse(null);
+    }
+
+    private ActorRef channelFor(final Address address, final RemoteRpcEndpoint endpoint,
+            @Nullable final QNameDictionary dictionary, final Collection<Channel> prevChannels) {
+        if (!config.isRpcChannelEnabled() || !endpoint.isChannelSupported()) {
+            // Older nodes do not understand batches, they have to be sent individual requests
+            final Channel existing = channels.remove(address);
+            if (existing != null) {
+                prevChannels.add(existing);
+            }
+            return null;
+        }
+
+        final ActorRef remoteInvoker = endpoint.getRouter();
+        final Channel existing = channels.get(address);
+        if (existing != null) {
+            if (existing.remoteInvoker.equals(remoteInvoker) && existing.dictionary == dictionary) {
+                return existing.actor;
+            }
+            prevChannels.add(existing);
+        }
+
+        final ActorRef actor = getContext().actorOf(RemoteRpcChannel.props(remoteInvoker, dictionary, config));
+        LOG.debug("Created channel {} to {}", actor, remoteInvoker);
+        channels.put(address, new Channel(remoteInvoker, dictionary, actor));
+        return actor;
     }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import akka.actor.ActorRef;
+import com.google.common.base.Preconditions;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
+import org.opendaylight.controller.remote.rpc.registry.RpcRegistry;
+import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateLocalDictionary;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SchemaContextListener} deriving a {@link QNameDictionary} from each global {@link SchemaContext}. The
+ * dictionary is forwarded to {@link RpcRegistry}, which advertises its fingerprint to other nodes, so that they can use
+ * it to encode requests sent to this node.
+ */
+final class SchemaListener implements SchemaContextListener {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaListener.class);
+
+    private final ActorRef rpcRegistry;
+
+    SchemaListener(final ActorRef rpcRegistry) {
+        this.rpcRegistry = Preconditions.checkNotNull(rpcRegistry);
+    }
+
+    @Override
+    public void onGlobalContextUpdated(final SchemaContext context) {
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(context);
+        LOG.debug("Schema context updated, using dictionary {}", dictionary);
+        rpcRegistry.tell(new UpdateLocalDictionary(dictionary), ActorRef.noSender());
+    }
+}
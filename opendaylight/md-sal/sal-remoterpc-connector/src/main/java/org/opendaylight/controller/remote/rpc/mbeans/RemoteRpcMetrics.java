@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.mbeans;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records remote RPC invocation metrics. Each RPC has a latency {@link Timer}, which also tracks the invocation rate,
+ * a payload size {@link Histogram} and failure and timeout {@link Meter}s, kept separately for the caller and invoker
+ * sides. Callers additionally track latency for each peer. These are reported through {@link MetricsReporter} in the
+ * {@value #METRICS_DOMAIN} domain.
+ *
+ * <p>
+ * The slowest invocations are tracked individually and are available via {@link RemoteRpcMetricsMXBean}.
+ */
+public final class RemoteRpcMetrics {
+    /**
+     * Side of the invocation being recorded.
+     */
+    public enum Side {
+        /**
+         * The node which invoked a remote implementation. Latency includes transport and queueing.
+         */
+        CALLER("caller"),
+        /**
+         * The node which executed the RPC on behalf of a remote caller.
+         */
+        INVOKER("invoker");
+
+        private final String str;
+
+        Side(final String str) {
+            this.str = str;
+        }
+
+        @Override
+        public String toString() {
+            return str;
+        }
+    }
+
+    /**
+     * Outcome of an invocation.
+     */
+    public enum Outcome {
+        SUCCESS,
+        FAILURE,
+        TIMEOUT,
+    }
+
+    public static final String METRICS_DOMAIN = "org.opendaylight.controller.remote.rpc";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteRpcMetrics.class);
+    private static final String METRIC_PREFIX = "remote-rpc";
+    private static final Comparator<SlowRpcCall> BY_DURATION = Comparator.comparingLong(SlowRpcCall::getDurationNanos);
+    private static final RemoteRpcMetrics INSTANCE = new RemoteRpcMetrics(
+        MetricsReporter.getInstance(METRICS_DOMAIN).getMetricsRegistry());
+
+    // Number of slowest invocations retained for inspection
+    private static final int SLOW_CALL_COUNT = 16;
+
+    private final ConcurrentMap<QName, RpcMetrics> callerMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<QName, RpcMetrics> invokerMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> peerTimers = new ConcurrentHashMap<>();
+    private final MetricRegistry registry;
+
+    @GuardedBy("slowCalls")
+    private final PriorityQueue<SlowRpcCall> slowCalls = new PriorityQueue<>(SLOW_CALL_COUNT, BY_DURATION);
+
+    // Fast-path check, invocations faster than this cannot enter slowCalls
+    private volatile long slowThresholdNanos;
+
+    RemoteRpcMetrics(final MetricRegistry registry) {
+        this.registry = Preconditions.checkNotNull(registry);
+    }
+
+    public static RemoteRpcMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record a completed invocation.
+     *
+     * @param side Side of the invocation
+     * @param rpc Invoked RPC
+     * @param peer Address of the remote node
+     * @param elapsedNanos Invocation duration in nanoseconds
+     * @param payloadSize Serialized size of the payload received from the peer, negative if not known
+     * @param outcome Outcome of the invocation
+     */
+    public void record(@Nonnull final Side side, @Nonnull final QName rpc, @Nonnull final String peer,
+            final long elapsedNanos, final long payloadSize, @Nonnull final Outcome outcome) {
+        final RpcMetrics metrics = (side == Side.CALLER ? callerMetrics : invokerMetrics).computeIfAbsent(rpc,
+            key -> new RpcMetrics(side, key));
+
+        metrics.latency.update(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (payloadSize >= 0) {
+            metrics.payloadSize.update(payloadSize);
+        }
+        switch (outcome) {
+            case FAILURE:
+                metrics.failures.mark();
+                break;
+            case TIMEOUT:
+                metrics.timeouts.mark();
+                break;
+            default:
+                break;
+        }
+
+        if (side == Side.CALLER) {
+            peerTimers.computeIfAbsent(peer, key -> registry.timer(MetricRegistry.name(METRIC_PREFIX, side.toString(),
+                "peer", key))).update(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (elapsedNanos > slowThresholdNanos) {
+            recordSlow(new SlowRpcCall(side, rpc, peer, elapsedNanos, outcome, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Return the slowest invocations recorded since the last reset.
+     *
+     * @return Slowest invocations, slowest first
+     */
+    public List<SlowRpcCall> getSlowestCalls() {
+        final List<SlowRpcCall> ret;
+        synchronized (slowCalls) {
+            ret = new ArrayList<>(slowCalls);
+        }
+        ret.sort(BY_DURATION.reversed());
+        return ImmutableList.copyOf(ret);
+    }
+
+    /**
+     * Forget all slow invocations recorded so far.
+     */
+    public void resetSlowestCalls() {
+        synchronized (slowCalls) {
+            slowCalls.clear();
+            slowThresholdNanos = 0;
+        }
+    }
+
+    private void recordSlow(final SlowRpcCall call) {
+        synchronized (slowCalls) {
+            if (slowCalls.size() >= SLOW_CALL_COUNT) {
+                if (call.getDurationNanos() <= slowCalls.peek().getDurationNanos()) {
+                    // Lost a race with another invocation
+                    return;
+                }
+                slowCalls.poll();
+            }
+
+            slowCalls.add(call);
+            if (slowCalls.size() >= SLOW_CALL_COUNT) {
+                slowThresholdNanos = slowCalls.peek().getDurationNanos();
+            }
+        }
+
+        LOG.debug("Recorded slow invocation {}", call);
+    }
+
+    private final class RpcMetrics {
+        final Timer latency;
+        final Histogram payloadSize;
+        final Meter failures;
+        final Meter timeouts;
+
+        RpcMetrics(final Side side, final QName rpc) {
+            final String prefix = MetricRegistry.name(METRIC_PREFIX, side.toString(), rpc.toString());
+            latency = registry.timer(MetricRegistry.name(prefix, "latency"));
+            payloadSize = registry.histogram(MetricRegistry.name(prefix, "payload-size"));
+            failures = registry.meter(MetricRegistry.name(prefix, "failures"));
+            timeouts = registry.meter(MetricRegistry.name(prefix, "timeouts"));
+        }
+    }
+}
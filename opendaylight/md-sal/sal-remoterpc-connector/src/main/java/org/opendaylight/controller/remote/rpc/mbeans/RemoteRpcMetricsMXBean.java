@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.mbeans;
+
+import java.util.List;
+
+/**
+ * JMX bean exposing the slowest remote RPC invocations. Per-RPC latency, rate and payload size histograms are
+ * reported separately, in the {@value RemoteRpcMetrics#METRICS_DOMAIN} domain.
+ */
+public interface RemoteRpcMetricsMXBean {
+
+    List<SlowRpcCall> getSlowestCalls();
+
+    void resetSlowestCalls();
+}
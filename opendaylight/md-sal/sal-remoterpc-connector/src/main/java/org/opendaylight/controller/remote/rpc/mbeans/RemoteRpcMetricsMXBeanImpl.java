@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.mbeans;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
+
+public class RemoteRpcMetricsMXBeanImpl extends AbstractMXBean implements RemoteRpcMetricsMXBean {
+    private final RemoteRpcMetrics metrics;
+
+    public RemoteRpcMetricsMXBeanImpl(final RemoteRpcMetrics metrics) {
+        super("RemoteRpcMetrics", "RemoteRpcBroker", null);
+        this.metrics = Preconditions.checkNotNull(metrics);
+        registerMBean();
+    }
+
+    @Override
+    public List<SlowRpcCall> getSlowestCalls() {
+        return metrics.getSlowestCalls();
+    }
+
+    @Override
+    public void resetSlowestCalls() {
+        metrics.resetSlowestCalls();
+    }
+}
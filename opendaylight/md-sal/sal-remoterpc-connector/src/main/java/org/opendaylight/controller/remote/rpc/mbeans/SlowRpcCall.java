@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.mbeans;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics.Outcome;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics.Side;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * A single slow remote RPC invocation, as reported by {@link RemoteRpcMetricsMXBean#getSlowestCalls()}.
+ */
+public final class SlowRpcCall {
+    private final Side side;
+    private final QName rpc;
+    private final String peer;
+    private final long durationNanos;
+    private final Outcome outcome;
+    private final long timestamp;
+
+    SlowRpcCall(final Side side, final QName rpc, final String peer, final long durationNanos,
+            final Outcome outcome, final long timestamp) {
+        this.side = Preconditions.checkNotNull(side);
+        this.rpc = Preconditions.checkNotNull(rpc);
+        this.peer = Preconditions.checkNotNull(peer);
+        this.durationNanos = durationNanos;
+        this.outcome = Preconditions.checkNotNull(outcome);
+        this.timestamp = timestamp;
+    }
+
+    public String getSide() {
+        return side.toString();
+    }
+
+    public String getRpc() {
+        return rpc.toString();
+    }
+
+    public String getPeer() {
+        return peer;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    public String getOutcome() {
+        return outcome.name();
+    }
+
+    /**
+     * Return the time at which the invocation completed.
+     *
+     * @return Completion time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("side", side).add("rpc", rpc).add("peer", peer)
+                .add("durationMillis", getDurationMillis()).add("outcome", outcome).toString();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Outcome of a single request from an {@link ExecuteRpcBatch}, identified by the request identifier. It carries
+ * either the result of the RPC, or the failure which prevented it from completing.
+ */
+public final class CorrelatedRpcResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final NormalizedNode<?, ?> result;
+    private final QNameDictionary dictionary;
+    private final Throwable failure;
+    private final long requestId;
+    private final long payloadSize;
+
+    private CorrelatedRpcResponse(final long requestId, final NormalizedNode<?, ?> result,
+            final QNameDictionary dictionary, final Throwable failure, final long payloadSize) {
+        this.requestId = requestId;
+        this.result = result;
+        this.dictionary = dictionary;
+        this.failure = failure;
+        this.payloadSize = payloadSize;
+    }
+
+    public static CorrelatedRpcResponse success(final long requestId, @Nullable final NormalizedNode<?, ?> result) {
+        return success(requestId, result, null);
+    }
+
+    /**
+     * Create a successful response whose result is encoded using a {@link QNameDictionary}. The dictionary must be
+     * known to the node receiving the response, which is the case when it was used to encode the request.
+     *
+     * @param requestId Request identifier
+     * @param result RPC result
+     * @param dictionary Optional dictionary shared with the receiving node
+     * @return A CorrelatedRpcResponse
+     */
+    public static CorrelatedRpcResponse success(final long requestId, @Nullable final NormalizedNode<?, ?> result,
+            @Nullable final QNameDictionary dictionary) {
+        return new CorrelatedRpcResponse(requestId, result, dictionary, null, -1);
+    }
+
+    /**
+     * Create a successful response whose result has been received from a remote node by other means, such as
+     * a sequence of {@link RpcPayloadSlice}s.
+     *
+     * @param requestId Request identifier
+     * @param result RPC result
+     * @param payloadSize Serialized result size in bytes
+     * @return A CorrelatedRpcResponse
+     */
+    public static CorrelatedRpcResponse successFromReceived(final long requestId,
+            @Nullable final NormalizedNode<?, ?> result, final long payloadSize) {
+        return new CorrelatedRpcResponse(requestId, result, null, null, payloadSize);
+    }
+
+    public static CorrelatedRpcResponse failure(final long requestId, @Nonnull final Throwable failure) {
+        return new CorrelatedRpcResponse(requestId, null, null, Preconditions.checkNotNull(failure), -1);
+    }
+
+    public long getRequestId() {
+        return requestId;
+    }
+
+    @Nullable
+    public NormalizedNode<?, ?> getResult() {
+        return result;
+    }
+
+    @Nullable
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Return the serialized size of the result, as observed when this message was received from a remote node.
+     *
+     * @return Serialized result size in bytes, or -1 if this message has not been received from a remote node
+     */
+    public long getPayloadSize() {
+        return payloadSize;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().add("requestId", requestId).add("result", result)
+                .add("failure", failure).toString();
+    }
+
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private CorrelatedRpcResponse response;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final CorrelatedRpcResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeLong(response.requestId);
+            if (response.failure != null) {
+                out.writeBoolean(false);
+                out.writeObject(response.failure);
+                return;
+            }
+
+            out.writeBoolean(true);
+            final NormalizedNodeDataOutput nnout = response.dictionary != null
+                    ? NormalizedNodeInputOutput.newCompactDataOutput(out, response.dictionary)
+                    : NormalizedNodeInputOutput.newCompactDataOutput(out);
+            if (response.result != null) {
+                nnout.writeBoolean(true);
+                nnout.writeNormalizedNode(response.result);
+            } else {
+                nnout.writeBoolean(false);
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final long requestId = in.readLong();
+            if (!in.readBoolean()) {
+                response = failure(requestId, (Throwable) in.readObject());
+                return;
+            }
+
+            final CountingDataInput counting = new CountingDataInput(in);
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(counting);
+            final NormalizedNode<?, ?> result = nnin.readBoolean() ? nnin.readNormalizedNode() : null;
+            response = new CorrelatedRpcResponse(requestId, result, null, null, counting.getCount());
+        }
+
+        private Object readResolve() {
+            return response;
+        }
+    }
+}
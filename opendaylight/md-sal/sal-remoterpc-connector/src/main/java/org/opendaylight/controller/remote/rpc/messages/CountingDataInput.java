@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.Preconditions;
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * A {@link DataInput} which keeps track of the number of bytes read from its delegate. Used to attribute
+ * the serialized size of a payload to the message carrying it.
+ */
+final class CountingDataInput implements DataInput {
+    private final DataInput delegate;
+    private long count;
+
+    CountingDataInput(final DataInput delegate) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public void readFully(final byte[] bytes) throws IOException {
+        delegate.readFully(bytes);
+        count += bytes.length;
+    }
+
+    @Override
+    public void readFully(final byte[] bytes, final int off, final int len) throws IOException {
+        delegate.readFully(bytes, off, len);
+        count += len;
+    }
+
+    @Override
+    public int skipBytes(final int num) throws IOException {
+        final int ret = delegate.skipBytes(num);
+        count += ret;
+        return ret;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        final boolean ret = delegate.readBoolean();
+        count += 1;
+        return ret;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        final byte ret = delegate.readByte();
+        count += Byte.BYTES;
+        return ret;
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        final int ret = delegate.readUnsignedByte();
+        count += Byte.BYTES;
+        return ret;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        final short ret = delegate.readShort();
+        count += Short.BYTES;
+        return ret;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        final int ret = delegate.readUnsignedShort();
+        count += Short.BYTES;
+        return ret;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        final char ret = delegate.readChar();
+        count += Character.BYTES;
+        return ret;
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        final int ret = delegate.readInt();
+        count += Integer.BYTES;
+        return ret;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        final long ret = delegate.readLong();
+        count += Long.BYTES;
+        return ret;
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        final float ret = delegate.readFloat();
+        count += Float.BYTES;
+        return ret;
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        final double ret = delegate.readDouble();
+        count += Double.BYTES;
+        return ret;
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        final String ret = delegate.readLine();
+        if (ret != null) {
+            // Line terminator length is not known, assume a single byte
+            count += ret.length() + 1;
+        }
+        return ret;
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        final String ret = delegate.readUTF();
+        // Length prefix plus the encoded size, which is equal to string length for ASCII text. Computing the exact
+        // modified UTF-8 length is not worth the cost here.
+        count += Short.BYTES + ret.length();
+        return ret;
+    }
+}
@@ -17,6 +17,9 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -29,15 +32,52 @@ public class ExecuteRpc implements Serializable {
             + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
             + "aren't serialized. FindBugs does not recognize this.")
     private final NormalizedNode<?, ?> inputNormalizedNode;
+    private final QNameDictionary dictionary;
     private final QName rpc;
+    private final long payloadSize;
 
-    private ExecuteRpc(@Nullable final NormalizedNode<?, ?> inputNormalizedNode, @Nonnull final QName rpc) {
+    ExecuteRpc(@Nullable final NormalizedNode<?, ?> inputNormalizedNode, @Nonnull final QName rpc) {
+        this(inputNormalizedNode, rpc, -1, null);
+    }
+
+    ExecuteRpc(@Nullable final NormalizedNode<?, ?> inputNormalizedNode, @Nonnull final QName rpc,
+            final long payloadSize, @Nullable final QNameDictionary dictionary) {
         this.rpc = Preconditions.checkNotNull(rpc, "rpc Qname should not be null");
         this.inputNormalizedNode = inputNormalizedNode;
+        this.payloadSize = payloadSize;
+        this.dictionary = dictionary;
     }
 
     public static ExecuteRpc from(@Nonnull final DOMRpcIdentifier rpc, @Nullable final NormalizedNode<?, ?> input) {
-        return new ExecuteRpc(input, rpc.getType().getLastComponent());
+        return from(rpc, input, null);
+    }
+
+    /**
+     * Create a request whose input is encoded using a {@link QNameDictionary}. The dictionary must have been
+     * advertised by the node receiving the request.
+     *
+     * @param rpc RPC being invoked
+     * @param input RPC input
+     * @param dictionary Optional dictionary shared with the receiving node
+     * @return An ExecuteRpc
+     */
+    public static ExecuteRpc from(@Nonnull final DOMRpcIdentifier rpc, @Nullable final NormalizedNode<?, ?> input,
+            @Nullable final QNameDictionary dictionary) {
+        return new ExecuteRpc(input, rpc.getType().getLastComponent(), -1, dictionary);
+    }
+
+    /**
+     * Create a request whose input has been received from a remote node by other means, such as a sequence of
+     * {@link RpcPayloadSlice}s.
+     *
+     * @param rpc RPC being invoked
+     * @param input RPC input
+     * @param payloadSize Serialized input size in bytes
+     * @return An ExecuteRpc
+     */
+    public static ExecuteRpc fromReceived(@Nonnull final QName rpc, @Nullable final NormalizedNode<?, ?> input,
+            final long payloadSize) {
+        return new ExecuteRpc(input, rpc, payloadSize, null);
     }
 
     @Nullable
@@ -50,6 +90,26 @@ public class ExecuteRpc implements Serializable {
         return rpc;
     }
 
+    /**
+     * Return the serialized size of the input, as observed when this message was received from a remote node.
+     *
+     * @return Serialized input size in bytes, or -1 if this message has not been received from a remote node
+     */
+    public long getPayloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * Return the {@link QNameDictionary} shared with the remote node. When this message has been received from
+     * a remote node, this is the dictionary its input was encoded with and the response can be encoded with it, too.
+     *
+     * @return Shared dictionary, or null if there is none
+     */
+    @Nullable
+    public QNameDictionary getDictionary() {
+        return dictionary;
+    }
+
     private Object writeReplace() {
         return new Proxy(this);
     }
@@ -80,13 +140,34 @@ public class ExecuteRpc implements Serializable {
         @Override
         public void writeExternal(ObjectOutput out) throws IOException {
             out.writeObject(executeRpc.getRpc());
-            SerializationUtils.serializeNormalizedNode(executeRpc.getInputNormalizedNode(), out);
+            if (executeRpc.dictionary != null) {
+                final NormalizedNode<?, ?> input = executeRpc.getInputNormalizedNode();
+                out.writeBoolean(input != null);
+                if (input != null) {
+                    NormalizedNodeInputOutput.newDataOutput(out, executeRpc.dictionary).writeNormalizedNode(input);
+                }
+            } else {
+                SerializationUtils.serializeNormalizedNode(executeRpc.getInputNormalizedNode(), out);
+            }
         }
 
         @Override
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             QName qname = (QName) in.readObject();
-            executeRpc = new ExecuteRpc(SerializationUtils.deserializeNormalizedNode(in), qname);
+            final CountingDataInput counting = new CountingDataInput(in);
+
+            // Same layout as SerializationUtils.serializeNormalizedNode(), but we need to know the dictionary
+            final NormalizedNode<?, ?> input;
+            final QNameDictionary dictionary;
+            if (counting.readBoolean()) {
+                final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(counting);
+                input = nnin.readNormalizedNode();
+                dictionary = nnin.getDictionary().orElse(null);
+            } else {
+                input = null;
+                dictionary = null;
+            }
+            executeRpc = new ExecuteRpc(input, qname, counting.getCount(), dictionary);
         }
 
         private Object readResolve() {
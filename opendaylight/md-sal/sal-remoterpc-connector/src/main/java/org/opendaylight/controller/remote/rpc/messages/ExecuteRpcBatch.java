@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * A batch of {@link ExecuteRpc} requests sent by a remote RPC channel. Each request is tagged with an identifier
+ * unique to the channel, which the receiver echoes back in the corresponding {@link CorrelatedRpcResponse}.
+ *
+ * <p>
+ * All requests are encoded in a single compact NormalizedNode stream, hence QNames shared by the requests are
+ * written only once. If the receiver has advertised a {@link QNameDictionary}, the stream uses it, too.
+ */
+public final class ExecuteRpcBatch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final Map<Long, ExecuteRpc> requests;
+    private final QNameDictionary dictionary;
+
+    public ExecuteRpcBatch(@Nonnull final Map<Long, ExecuteRpc> requests) {
+        this(requests, null);
+    }
+
+    public ExecuteRpcBatch(@Nonnull final Map<Long, ExecuteRpc> requests, @Nullable final QNameDictionary dictionary) {
+        this.requests = ImmutableMap.copyOf(requests);
+        Preconditions.checkArgument(!this.requests.isEmpty(), "Batch must not be empty");
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Return the requests in this batch, in the order in which they were issued.
+     *
+     * @return Requests indexed by their identifier
+     */
+    @Nonnull
+    public Map<Long, ExecuteRpc> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Return the {@link QNameDictionary} the requests are encoded with.
+     *
+     * @return Shared dictionary, or null if there is none
+     */
+    @Nullable
+    public QNameDictionary getDictionary() {
+        return dictionary;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("requests", requests.size()).toString();
+    }
+
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private ExecuteRpcBatch batch;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final ExecuteRpcBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            final NormalizedNodeDataOutput nnout = batch.dictionary != null
+                    ? NormalizedNodeInputOutput.newCompactDataOutput(out, batch.dictionary)
+                    : NormalizedNodeInputOutput.newCompactDataOutput(out);
+            nnout.writeInt(batch.requests.size());
+            for (Entry<Long, ExecuteRpc> e : batch.requests.entrySet()) {
+                final ExecuteRpc request = e.getValue();
+                nnout.writeLong(e.getKey());
+                nnout.writeSchemaPath(SchemaPath.create(true, request.getRpc()));
+
+                final NormalizedNode<?, ?> input = request.getInputNormalizedNode();
+                if (input != null) {
+                    nnout.writeBoolean(true);
+                    nnout.writeNormalizedNode(input);
+                } else {
+                    nnout.writeBoolean(false);
+                }
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            final CountingDataInput counting = new CountingDataInput(in);
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(counting);
+            final QNameDictionary dictionary = nnin.getDictionary().orElse(null);
+            final int size = nnin.readInt();
+            final ImmutableMap.Builder<Long, ExecuteRpc> builder = ImmutableMap.builder();
+            for (int i = 0; i < size; ++i) {
+                final long id = nnin.readLong();
+                final SchemaPath rpc = nnin.readSchemaPath();
+
+                // Attribute the size of each input to its request. Shared QNames are accounted to the first request
+                // which uses them.
+                final long start = counting.getCount();
+                final NormalizedNode<?, ?> input = nnin.readBoolean() ? nnin.readNormalizedNode() : null;
+                builder.put(id, new ExecuteRpc(input, rpc.getLastComponent(), counting.getCount() - start,
+                    dictionary));
+            }
+
+            batch = new ExecuteRpcBatch(builder.build(), dictionary);
+        }
+
+        private Object readResolve() {
+            return batch;
+        }
+    }
+}
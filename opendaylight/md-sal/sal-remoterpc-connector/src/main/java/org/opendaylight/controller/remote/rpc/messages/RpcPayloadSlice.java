@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * A slice of a serialized RPC input or result which is too large to be sent in a single message. Slices of a payload
+ * share the stream identifier, which is the identifier of the request the payload belongs to, and are sent one at
+ * a time, each of them being acknowledged by an {@link RpcPayloadSliceReply} before the next one is sent. Each slice
+ * carries the hash code of the previous slice, so the receiver can detect slices which were lost or reordered.
+ *
+ * <p>
+ * Slices of an RPC input also carry the RPC being invoked, slices of a result do not.
+ */
+public final class RpcPayloadSlice implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // The index of the first slice of a payload
+    public static final int FIRST_SLICE_INDEX = 1;
+
+    // The previous slice hash code sent along with the first slice
+    public static final int INITIAL_SLICE_HASH_CODE = -1;
+
+    private final long streamId;
+    private final int sliceIndex;
+    private final int totalSlices;
+    private final int previousSliceHashCode;
+    private final byte[] data;
+    private final QName rpc;
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Slices are handed over by their producer")
+    public RpcPayloadSlice(final long streamId, final int sliceIndex, final int totalSlices,
+            final int previousSliceHashCode, @Nonnull final byte[] data, @Nullable final QName rpc) {
+        Preconditions.checkArgument(sliceIndex >= FIRST_SLICE_INDEX && sliceIndex <= totalSlices,
+            "Invalid slice index %s of %s", sliceIndex, totalSlices);
+        this.streamId = streamId;
+        this.sliceIndex = sliceIndex;
+        this.totalSlices = totalSlices;
+        this.previousSliceHashCode = previousSliceHashCode;
+        this.data = Preconditions.checkNotNull(data);
+        this.rpc = rpc;
+    }
+
+    public long getStreamId() {
+        return streamId;
+    }
+
+    public int getSliceIndex() {
+        return sliceIndex;
+    }
+
+    public int getTotalSlices() {
+        return totalSlices;
+    }
+
+    public int getPreviousSliceHashCode() {
+        return previousSliceHashCode;
+    }
+
+    public boolean isLastSlice() {
+        return sliceIndex == totalSlices;
+    }
+
+    @Nonnull
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "Exposes a mutable object stored in a field but "
+            + "this is OK since this class is merely a DTO and does not process the byte[] internally. "
+            + "Also it would be inefficient to create a return copy as the byte[] could be large.")
+    public byte[] getData() {
+        return data;
+    }
+
+    @Nullable
+    public QName getRpc() {
+        return rpc;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().add("streamId", streamId)
+                .add("sliceIndex", sliceIndex).add("totalSlices", totalSlices).add("size", data.length)
+                .add("rpc", rpc).toString();
+    }
+
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private RpcPayloadSlice slice;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final RpcPayloadSlice slice) {
+            this.slice = slice;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeLong(slice.streamId);
+            out.writeInt(slice.sliceIndex);
+            out.writeInt(slice.totalSlices);
+            out.writeInt(slice.previousSliceHashCode);
+            out.writeObject(slice.rpc);
+            out.writeInt(slice.data.length);
+            out.write(slice.data);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final long streamId = in.readLong();
+            final int sliceIndex = in.readInt();
+            final int totalSlices = in.readInt();
+            final int previousSliceHashCode = in.readInt();
+            final QName rpc = (QName) in.readObject();
+            final byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            slice = new RpcPayloadSlice(streamId, sliceIndex, totalSlices, previousSliceHashCode, data, rpc);
+        }
+
+        private Object readResolve() {
+            return slice;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import java.io.Serializable;
+
+/**
+ * Acknowledgement of an {@link RpcPayloadSlice}. A successful reply allows the sender to send the next slice,
+ * an unsuccessful one instructs it to abandon the payload.
+ */
+public final class RpcPayloadSliceReply implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long streamId;
+    private final int sliceIndex;
+    private final boolean success;
+
+    public RpcPayloadSliceReply(final long streamId, final int sliceIndex, final boolean success) {
+        this.streamId = streamId;
+        this.sliceIndex = sliceIndex;
+        this.success = success;
+    }
+
+    public long getStreamId() {
+        return streamId;
+    }
+
+    public int getSliceIndex() {
+        return sliceIndex;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("streamId", streamId).add("sliceIndex", sliceIndex)
+                .add("success", success).toString();
+    }
+}
@@ -14,6 +14,8 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
 import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
@@ -24,9 +26,30 @@ public class RpcResponse implements Serializable {
             + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
             + "aren't serialized. FindBugs does not recognize this.")
     private final NormalizedNode<?, ?> resultNormalizedNode;
+    private final QNameDictionary dictionary;
+    private final long payloadSize;
 
     public RpcResponse(@Nullable final NormalizedNode<?, ?> inputNormalizedNode) {
+        this(inputNormalizedNode, null);
+    }
+
+    /**
+     * Create a response whose result is encoded using a {@link QNameDictionary}. The dictionary must be known to
+     * the node receiving the response, which is the case when it was used to encode the corresponding request.
+     *
+     * @param inputNormalizedNode RPC result
+     * @param dictionary Optional dictionary shared with the receiving node
+     */
+    public RpcResponse(@Nullable final NormalizedNode<?, ?> inputNormalizedNode,
+            @Nullable final QNameDictionary dictionary) {
+        this(inputNormalizedNode, dictionary, -1);
+    }
+
+    RpcResponse(@Nullable final NormalizedNode<?, ?> inputNormalizedNode, @Nullable final QNameDictionary dictionary,
+            final long payloadSize) {
         resultNormalizedNode = inputNormalizedNode;
+        this.dictionary = dictionary;
+        this.payloadSize = payloadSize;
     }
 
     @Nullable
@@ -34,6 +57,15 @@ public class RpcResponse implements Serializable {
         return resultNormalizedNode;
     }
 
+    /**
+     * Return the serialized size of the result, as observed when this message was received from a remote node.
+     *
+     * @return Serialized result size in bytes, or -1 if this message has not been received from a remote node
+     */
+    public long getPayloadSize() {
+        return payloadSize;
+    }
+
     private Object writeReplace() {
         return new Proxy(this);
     }
@@ -55,12 +87,22 @@ public class RpcResponse implements Serializable {
 
         @Override
         public void writeExternal(ObjectOutput out) throws IOException {
-            SerializationUtils.serializeNormalizedNode(rpcResponse.getResultNormalizedNode(), out);
+            if (rpcResponse.dictionary != null) {
+                final NormalizedNode<?, ?> result = rpcResponse.getResultNormalizedNode();
+                out.writeBoolean(result != null);
+                if (result != null) {
+                    NormalizedNodeInputOutput.newDataOutput(out, rpcResponse.dictionary).writeNormalizedNode(result);
+                }
+            } else {
+                SerializationUtils.serializeNormalizedNode(rpcResponse.getResultNormalizedNode(), out);
+            }
         }
 
         @Override
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            rpcResponse = new RpcResponse(SerializationUtils.deserializeNormalizedNode(in));
+            final CountingDataInput counting = new CountingDataInput(in);
+            final NormalizedNode<?, ?> result = SerializationUtils.deserializeNormalizedNode(counting);
+            rpcResponse = new RpcResponse(result, null, counting.getCount());
         }
 
         private Object readResolve() {
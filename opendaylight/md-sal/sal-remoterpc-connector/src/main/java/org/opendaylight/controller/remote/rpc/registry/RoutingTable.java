@@ -13,22 +13,27 @@ import akka.serialization.Serialization;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.OptionalDataException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.remote.rpc.registry.gossip.BucketData;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
 
 public final class RoutingTable implements BucketData<RoutingTable>, Serializable {
     private static final class Proxy implements Externalizable {
@@ -37,6 +42,8 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
         private Collection<DOMRpcIdentifier> rpcs;
         private ActorRef rpcInvoker;
+        private Long dictionaryFingerprint;
+        private boolean channelSupported;
 
         // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
         // be able to create instances via reflection.
@@ -48,6 +55,8 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         Proxy(final RoutingTable table) {
             rpcs = table.getRoutes();
             rpcInvoker = table.getRpcInvoker();
+            dictionaryFingerprint = table.dictionaryFingerprint;
+            channelSupported = table.channelSupported;
         }
 
         @Override
@@ -60,6 +69,10 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
                 nnout.writeSchemaPath(id.getType());
                 nnout.writeYangInstanceIdentifier(id.getContextReference());
             }
+
+            // Trailing optional data, skipped by older versions
+            out.writeObject(dictionaryFingerprint);
+            out.writeObject(channelSupported);
         }
 
         @Override
@@ -72,10 +85,26 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
             for (int i = 0; i < size; ++i) {
                 rpcs.add(DOMRpcIdentifier.create(nnin.readSchemaPath(), nnin.readYangInstanceIdentifier()));
             }
+
+            dictionaryFingerprint = (Long) readOptionalObject(in);
+            channelSupported = Boolean.TRUE.equals(readOptionalObject(in));
+        }
+
+        private static Object readOptionalObject(final ObjectInput in) throws IOException, ClassNotFoundException {
+            try {
+                return in.readObject();
+            } catch (OptionalDataException e) {
+                if (!e.eof) {
+                    throw e;
+                }
+
+                // Sent by an older version
+                return null;
+            }
         }
 
         private Object readResolve() {
-            return new RoutingTable(rpcInvoker, rpcs);
+            return new RoutingTable(rpcInvoker, rpcs, dictionaryFingerprint, channelSupported);
         }
     }
 
@@ -84,10 +113,19 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
     @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
     private final Set<DOMRpcIdentifier> rpcs;
     private final ActorRef rpcInvoker;
+    private final Long dictionaryFingerprint;
+    private final boolean channelSupported;
 
     RoutingTable(final ActorRef rpcInvoker, final Collection<DOMRpcIdentifier> table) {
+        this(rpcInvoker, table, null, false);
+    }
+
+    RoutingTable(final ActorRef rpcInvoker, final Collection<DOMRpcIdentifier> table,
+            @Nullable final Long dictionaryFingerprint, final boolean channelSupported) {
         this.rpcInvoker = Preconditions.checkNotNull(rpcInvoker);
         this.rpcs = ImmutableSet.copyOf(table);
+        this.dictionaryFingerprint = dictionaryFingerprint;
+        this.channelSupported = channelSupported;
     }
 
     @Override
@@ -95,6 +133,23 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         return Optional.of(rpcInvoker);
     }
 
+    @Override
+    public Optional<BucketDelta<RoutingTable>> deltaFrom(final RoutingTable previous) {
+        if (!rpcInvoker.equals(previous.rpcInvoker)
+                || !Objects.equals(dictionaryFingerprint, previous.dictionaryFingerprint)
+                || channelSupported != previous.channelSupported) {
+            return Optional.empty();
+        }
+
+        final Set<DOMRpcIdentifier> added = Sets.difference(rpcs, previous.rpcs);
+        final Set<DOMRpcIdentifier> removed = Sets.difference(previous.rpcs, rpcs);
+        if (added.size() + removed.size() >= rpcs.size()) {
+            // Not worth it, send the entire table
+            return Optional.empty();
+        }
+        return Optional.of(new RoutingTableDelta(added, removed));
+    }
+
     public Set<DOMRpcIdentifier> getRoutes() {
         return rpcs;
     }
@@ -103,16 +158,47 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         return rpcInvoker;
     }
 
+    /**
+     * Return the fingerprint of the {@code QNameDictionary} derived from the schema of the node owning this table.
+     * Other nodes can use that dictionary to encode RPC requests sent to it.
+     *
+     * @return Optional dictionary fingerprint, empty if the node does not advertise one
+     */
+    Optional<Long> getDictionaryFingerprint() {
+        return Optional.ofNullable(dictionaryFingerprint);
+    }
+
+    RoutingTable withDictionaryFingerprint(@Nullable final Long fingerprint) {
+        return new RoutingTable(rpcInvoker, rpcs, fingerprint, channelSupported);
+    }
+
+    /**
+     * Return whether the node owning this table accepts batched requests from a {@code RemoteRpcChannel}. Nodes which
+     * do not advertise this must be sent individual requests.
+     *
+     * @return True if the node supports RPC channels.
+     */
+    boolean isChannelSupported() {
+        return channelSupported;
+    }
+
     RoutingTable addRpcs(final Collection<DOMRpcIdentifier> toAdd) {
         final Set<DOMRpcIdentifier> newRpcs = new HashSet<>(rpcs);
         newRpcs.addAll(toAdd);
-        return new RoutingTable(rpcInvoker, newRpcs);
+        return new RoutingTable(rpcInvoker, newRpcs, dictionaryFingerprint, channelSupported);
     }
 
     RoutingTable removeRpcs(final Collection<DOMRpcIdentifier> toRemove) {
         final Set<DOMRpcIdentifier> newRpcs = new HashSet<>(rpcs);
         newRpcs.removeAll(toRemove);
-        return new RoutingTable(rpcInvoker, newRpcs);
+        return new RoutingTable(rpcInvoker, newRpcs, dictionaryFingerprint, channelSupported);
+    }
+
+    RoutingTable updateRpcs(final Collection<DOMRpcIdentifier> toAdd, final Collection<DOMRpcIdentifier> toRemove) {
+        final Set<DOMRpcIdentifier> newRpcs = new HashSet<>(rpcs);
+        newRpcs.removeAll(toRemove);
+        newRpcs.addAll(toAdd);
+        return new RoutingTable(rpcInvoker, newRpcs, dictionaryFingerprint, channelSupported);
     }
 
     private Object writeReplace() {
@@ -131,6 +217,7 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
 
     @Override
     public String toString() {
-        return "RoutingTable{" + "rpcs=" + rpcs + ", rpcInvoker=" + rpcInvoker + '}';
+        return "RoutingTable{" + "rpcs=" + rpcs + ", rpcInvoker=" + rpcInvoker + ", dictionaryFingerprint="
+                + dictionaryFingerprint + ", channelSupported=" + channelSupported + '}';
     }
 }
@@ -22,10 +22,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.AddOrUpdateRoutes;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.RemoveRoutes;
+import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateLocalDictionary;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateRemoteEndpoints;
 import org.opendaylight.controller.remote.rpc.registry.gossip.Bucket;
 import org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor;
@@ -41,7 +44,10 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
     private final ActorRef rpcRegistrar;
 
     public RpcRegistry(final RemoteRpcProviderConfig config, final ActorRef rpcInvoker, final ActorRef rpcRegistrar) {
-        super(config, config.getRpcRegistryPersistenceId(), new RoutingTable(rpcInvoker, ImmutableSet.of()));
+        // Our RpcInvoker always accepts batches, hence we advertise channel support regardless of whether we use
+        // channels ourselves
+        super(config, config.getRpcRegistryPersistenceId(),
+            new RoutingTable(rpcInvoker, ImmutableSet.of(), null, true));
         this.rpcRegistrar = Preconditions.checkNotNull(rpcRegistrar);
     }
 
@@ -64,6 +70,8 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
             receiveAddRoutes((AddOrUpdateRoutes) message);
         } else if (message instanceof RemoveRoutes) {
             receiveRemoveRoutes((RemoveRoutes) message);
+        } else if (message instanceof UpdateLocalDictionary) {
+            receiveUpdateLocalDictionary((UpdateLocalDictionary) message);
         } else {
             super.handleCommand(message);
         }
@@ -84,6 +92,14 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
         updateLocalBucket(getLocalData().removeRpcs(msg.getRouteIdentifiers()));
     }
 
+    private void receiveUpdateLocalDictionary(final UpdateLocalDictionary msg) {
+        final long fingerprint = msg.getDictionary().getFingerprint();
+        if (!getLocalData().getDictionaryFingerprint().equals(Optional.of(fingerprint))) {
+            LOG.debug("Advertising QName dictionary {}", msg.getDictionary());
+            updateLocalBucket(getLocalData().withDictionaryFingerprint(fingerprint));
+        }
+    }
+
     @Override
     protected void onBucketRemoved(final Address address, final Bucket<RoutingTable> bucket) {
         rpcRegistrar.tell(new UpdateRemoteEndpoints(ImmutableMap.of(address, Optional.empty())), ActorRef.noSender());
@@ -98,7 +114,8 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
 
             final Collection<DOMRpcIdentifier> rpcs = table.getRoutes();
             endpoints.put(e.getKey(), rpcs.isEmpty() ? Optional.empty()
-                    : Optional.of(new RemoteRpcEndpoint(table.getRpcInvoker(), rpcs)));
+                    : Optional.of(new RemoteRpcEndpoint(table.getRpcInvoker(), rpcs,
+                        table.getDictionaryFingerprint(), table.isChannelSupported())));
         }
 
         if (!endpoints.isEmpty()) {
@@ -108,12 +125,22 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
 
     public static final class RemoteRpcEndpoint {
         private final Set<DOMRpcIdentifier> rpcs;
+        private final Optional<Long> dictionaryFingerprint;
         private final ActorRef router;
+        private final boolean channelSupported;
 
         @VisibleForTesting
         public RemoteRpcEndpoint(final ActorRef router, final Collection<DOMRpcIdentifier> rpcs) {
+            this(router, rpcs, Optional.empty(), false);
+        }
+
+        @VisibleForTesting
+        public RemoteRpcEndpoint(final ActorRef router, final Collection<DOMRpcIdentifier> rpcs,
+                final Optional<Long> dictionaryFingerprint, final boolean channelSupported) {
             this.router = Preconditions.checkNotNull(router);
             this.rpcs = ImmutableSet.copyOf(rpcs);
+            this.dictionaryFingerprint = Preconditions.checkNotNull(dictionaryFingerprint);
+            this.channelSupported = channelSupported;
         }
 
         public ActorRef getRouter() {
@@ -123,6 +150,25 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
         public Set<DOMRpcIdentifier> getRpcs() {
             return rpcs;
         }
+
+        /**
+         * Return the fingerprint of the {@link QNameDictionary} the remote node has advertised. Requests to that node
+         * can be encoded using the dictionary, provided a dictionary with the same fingerprint is known locally.
+         *
+         * @return Optional dictionary fingerprint, empty if the remote node does not advertise one
+         */
+        public Optional<Long> getDictionaryFingerprint() {
+            return dictionaryFingerprint;
+        }
+
+        /**
+         * Return whether the remote node accepts batched requests, hence can be reached via a RemoteRpcChannel.
+         *
+         * @return True if the remote node supports RPC channels
+         */
+        public boolean isChannelSupported() {
+            return channelSupported;
+        }
     }
 
     /**
@@ -160,6 +206,27 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
             }
         }
 
+        /**
+         * Request to advertise the {@link QNameDictionary} derived from the local schema, so that remote nodes can use
+         * it to encode requests sent to this node.
+         */
+        public static final class UpdateLocalDictionary {
+            private final QNameDictionary dictionary;
+
+            public UpdateLocalDictionary(@Nonnull final QNameDictionary dictionary) {
+                this.dictionary = Preconditions.checkNotNull(dictionary);
+            }
+
+            public QNameDictionary getDictionary() {
+                return dictionary;
+            }
+
+            @Override
+            public String toString() {
+                return "UpdateLocalDictionary{" + "dictionary=" + dictionary + '}';
+            }
+        }
+
         public static final class UpdateRemoteEndpoints {
             private final Map<Address, Optional<RemoteRpcEndpoint>> endpoints;
 
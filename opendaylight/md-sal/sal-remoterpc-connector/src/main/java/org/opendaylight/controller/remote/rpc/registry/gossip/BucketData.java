@@ -26,4 +26,16 @@ public interface BucketData<T extends BucketData<T>> extends Immutable {
      * @return Optional ActorRef.
      */
     Optional<ActorRef> getWatchActor();
+
+    /**
+     * Compute a {@link BucketDelta} which transforms a previous version of this data into this data. Implementations
+     * which support deltas allow {@link Gossiper} to replicate changes incrementally instead of sending the entire
+     * bucket. The default implementation does not support deltas.
+     *
+     * @param previous Previous data
+     * @return Optional delta, empty if this data does not support deltas.
+     */
+    default Optional<BucketDelta<T>> deltaFrom(final T previous) {
+        return Optional.empty();
+    }
 }
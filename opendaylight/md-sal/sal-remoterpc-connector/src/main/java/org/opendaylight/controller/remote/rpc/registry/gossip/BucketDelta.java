@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.io.Serializable;
+import javax.annotation.Nonnull;
+
+/**
+ * A change to {@link BucketData}, as produced by {@link BucketData#deltaFrom(BucketData)}. Deltas are sent between
+ * nodes, hence implementations need to be serializable.
+ *
+ * @param <T> Concrete BucketData type
+ */
+public interface BucketDelta<T extends BucketData<T>> extends Serializable {
+    /**
+     * Apply this delta to the data it was computed against.
+     *
+     * @param data Data to which to apply this delta
+     * @return Updated data
+     */
+    @Nonnull T applyTo(@Nonnull T data);
+}
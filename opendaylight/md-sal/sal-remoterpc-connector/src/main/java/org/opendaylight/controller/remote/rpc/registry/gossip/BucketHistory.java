@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A bounded history of changes made to a bucket, used to construct {@link DeltaBucket}s for peers which are
+ * not too far behind. Changes are tracked as a contiguous chain of version ranges, ending at the current version
+ * of the bucket. Whenever the chain would be broken, for example because a change cannot be expressed as a delta,
+ * the history is discarded.
+ *
+ * @param <T> Concrete BucketData type
+ */
+final class BucketHistory<T extends BucketData<T>> {
+    private static final class Entry<T extends BucketData<T>> {
+        final List<BucketDelta<T>> deltas = new ArrayList<>(1);
+        final long fromVersion;
+        final long toVersion;
+
+        Entry(final long fromVersion, final long toVersion) {
+            this.fromVersion = fromVersion;
+            this.toVersion = toVersion;
+        }
+    }
+
+    private final Deque<Entry<T>> entries = new ArrayDeque<>();
+    private final int maxEntries;
+
+    BucketHistory(final int maxEntries) {
+        Preconditions.checkArgument(maxEntries >= 0);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Record a change from one version to another. If the versions are the same, the data has been updated without
+     * changing the version. This can only happen for the local bucket, if no peer has observed the previous data.
+     *
+     * @param fromVersion Version the change applies to
+     * @param toVersion Version the change results in
+     * @param delta Optional delta, absent if the change cannot be expressed as a delta
+     */
+    void record(final long fromVersion, final long toVersion, final Optional<BucketDelta<T>> delta) {
+        if (!delta.isPresent() || maxEntries == 0) {
+            entries.clear();
+            return;
+        }
+
+        final Entry<T> last = entries.peekLast();
+        if (fromVersion == toVersion) {
+            if (last != null && last.toVersion == toVersion) {
+                last.deltas.add(delta.get());
+            } else {
+                // Nobody can have observed the previous version through us, there is nothing to chain to
+                entries.clear();
+            }
+            return;
+        }
+
+        if (last != null && last.toVersion != fromVersion) {
+            entries.clear();
+        }
+
+        final Entry<T> entry = new Entry<>(fromVersion, toVersion);
+        entry.deltas.add(delta.get());
+        entries.addLast(entry);
+        if (entries.size() > maxEntries) {
+            entries.removeFirst();
+        }
+    }
+
+    /**
+     * Record changes received from a peer.
+     *
+     * @param delta Received changes
+     */
+    void record(final DeltaBucket<T> delta) {
+        final Entry<T> last = entries.peekLast();
+        if (last != null && last.toVersion != delta.getFromVersion()) {
+            entries.clear();
+        }
+        if (maxEntries == 0) {
+            return;
+        }
+
+        final Entry<T> entry = new Entry<>(delta.getFromVersion(), delta.getVersion());
+        entry.deltas.addAll(delta.getDeltas());
+        entries.addLast(entry);
+        if (entries.size() > maxEntries) {
+            entries.removeFirst();
+        }
+    }
+
+    /**
+     * Return the changes needed to bring a bucket at specified version to the latest recorded version.
+     *
+     * @param version Version known to the peer
+     * @return Optional DeltaBucket, empty if the version is not covered by this history.
+     */
+    Optional<DeltaBucket<T>> deltaSince(final long version) {
+        final Iterator<Entry<T>> it = entries.iterator();
+        while (it.hasNext()) {
+            final Entry<T> entry = it.next();
+            if (entry.fromVersion == version) {
+                final List<BucketDelta<T>> deltas = new ArrayList<>(entry.deltas);
+                long toVersion = entry.toVersion;
+                while (it.hasNext()) {
+                    final Entry<T> next = it.next();
+                    deltas.addAll(next.deltas);
+                    toVersion = next.toVersion;
+                }
+                return Optional.of(new DeltaBucket<>(version, toVersion, deltas));
+            }
+        }
+        return Optional.empty();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+}
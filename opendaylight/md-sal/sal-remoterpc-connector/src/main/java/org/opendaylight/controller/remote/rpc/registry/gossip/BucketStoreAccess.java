@@ -7,6 +7,8 @@
  */
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
+import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.applyRemoteDeltasMessage;
+import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.getBucketUpdatesMessage;
 import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.getBucketsByMembersMessage;
 import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.removeBucketMessage;
 import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.updateRemoteBucketsMessage;
@@ -54,6 +56,19 @@ public final class BucketStoreAccess {
             }, context.dispatcher());
     }
 
+    void getBucketUpdates(final Address to, final Collection<Address> members,
+            final Map<Address, Long> knownVersions, final Consumer<GossipEnvelope> callback) {
+        Patterns.ask(context.parent(), getBucketUpdatesMessage(to, members, knownVersions), timeout)
+            .onComplete(new OnComplete<Object>() {
+                @Override
+                public void onComplete(final Throwable failure, final Object success) {
+                    if (failure == null) {
+                        callback.accept((GossipEnvelope) success);
+                    }
+                }
+            }, context.dispatcher());
+    }
+
     void getBucketVersions(final Consumer<Map<Address, Long>> callback) {
         Patterns.ask(context.parent(), Singletons.GET_BUCKET_VERSIONS, timeout).onComplete(new OnComplete<Object>() {
             @SuppressWarnings("unchecked")
@@ -71,6 +86,11 @@ public final class BucketStoreAccess {
         context.parent().tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets), ActorRef.noSender());
     }
 
+    @SuppressWarnings("unchecked")
+    void applyRemoteDeltas(final Map<Address, ? extends DeltaBucket<?>> deltas) {
+        context.parent().tell(applyRemoteDeltasMessage((Map<Address, DeltaBucket<?>>) deltas), ActorRef.noSender());
+    }
+
     void removeRemoteBucket(final Address addr) {
         context.parent().tell(removeBucketMessage(addr), ActorRef.noSender());
     }
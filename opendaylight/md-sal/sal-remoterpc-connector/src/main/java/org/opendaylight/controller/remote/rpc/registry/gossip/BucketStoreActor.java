@@ -72,6 +72,11 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     private final SetMultimap<ActorRef, Address> watchedActors = HashMultimap.create(1, 1);
 
+    /**
+     * Recent changes to buckets, used to send only deltas to peers which are not too far behind.
+     */
+    private final Map<Address, BucketHistory<T>> histories = new HashMap<>();
+
     private final RemoteRpcProviderConfig config;
     private final String persistenceId;
 
@@ -80,6 +85,11 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     private Address selfAddress;
 
+    /**
+     * Gossiper syncing our buckets, null if we are not running in a cluster.
+     */
+    private ActorRef gossiper;
+
     /**
      * Bucket owned by the node. Initialized during recovery (due to incarnation number).
      */
@@ -98,6 +108,11 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         return actor -> actor.getBucketsByMembers(members);
     }
 
+    static ExecuteInActor getBucketUpdatesMessage(final Address to, final Collection<Address> members,
+            final Map<Address, Long> knownVersions) {
+        return actor -> actor.getBucketUpdates(to, members, knownVersions);
+    }
+
     static ExecuteInActor removeBucketMessage(final Address addr) {
         return actor -> actor.removeBucket(addr);
     }
@@ -106,6 +121,10 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         return actor -> actor.updateRemoteBuckets(buckets);
     }
 
+    static ExecuteInActor applyRemoteDeltasMessage(final Map<Address, DeltaBucket<?>> deltas) {
+        return actor -> actor.applyRemoteDeltas(deltas);
+    }
+
     public final T getLocalData() {
         return getLocalBucket().getData();
     }
@@ -129,7 +148,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         selfAddress = provider.getDefaultAddress();
 
         if (provider instanceof ClusterActorRefProvider) {
-            getContext().actorOf(Gossiper.props(config).withMailbox(config.getMailBoxName()), "gossiper");
+            gossiper = getContext().actorOf(Gossiper.props(config).withMailbox(config.getMailBoxName()), "gossiper");
         }
     }
 
@@ -210,8 +229,14 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
 
     protected final void updateLocalBucket(final T data) {
         final LocalBucket<T> local = getLocalBucket();
+        final T prevData = local.getData();
+        final long prevVersion = local.getVersion();
         final boolean bumpIncarnation = local.setData(data);
         versions.put(selfAddress, local.getVersion());
+        history(selfAddress).record(prevVersion, local.getVersion(), data.deltaFrom(prevData));
+        if (gossiper != null) {
+            gossiper.tell(new Gossiper.LocalBucketChanged(local.getVersion()), getSelf());
+        }
 
         if (bumpIncarnation) {
             LOG.debug("Version wrapped. incrementing incarnation");
@@ -279,7 +304,46 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         getSender().tell(buckets, getSelf());
     }
 
+    /**
+     * Helper to collect updates for requested members and send them to the requester as a {@link GossipEnvelope}.
+     * Members whose version is known to the receiver and covered by our history are sent as {@link DeltaBucket}s,
+     * others as full buckets.
+     *
+     * @param to Address of the receiver
+     * @param members requested members
+     * @param knownVersions Bucket versions known to the receiver
+     */
+    private void getBucketUpdates(final Address to, final Collection<Address> members,
+            final Map<Address, Long> knownVersions) {
+        final Map<Address, Bucket<T>> buckets = new HashMap<>();
+        final Map<Address, DeltaBucket<T>> deltas = new HashMap<>();
+
+        for (Address address : members) {
+            final Bucket<T> bucket = selfAddress.equals(address) ? getLocalBucket().snapshot()
+                    : remoteBuckets.get(address);
+            if (bucket == null) {
+                continue;
+            }
+
+            final Long knownVersion = knownVersions.get(address);
+            final BucketHistory<T> history = histories.get(address);
+            if (knownVersion != null && history != null) {
+                final Optional<DeltaBucket<T>> delta = history.deltaSince(knownVersion.longValue());
+                if (delta.isPresent() && delta.get().getVersion() == bucket.getVersion()) {
+                    deltas.put(address, delta.get());
+                    continue;
+                }
+            }
+
+            buckets.put(address, bucket);
+        }
+
+        LOG.trace("{}: sending {} full buckets and {} deltas to {}", selfAddress, buckets.size(), deltas.size(), to);
+        getSender().tell(new GossipEnvelope(selfAddress, to, buckets, deltas), getSelf());
+    }
+
     private void removeBucket(final Address addr) {
+        histories.remove(addr);
         final Bucket<T> bucket = remoteBuckets.remove(addr);
         if (bucket != null) {
             bucket.getWatchActor().ifPresent(ref -> removeWatch(addr, ref));
@@ -327,15 +391,12 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
                 continue;
             }
             newBuckets.put(addr, receivedBucket);
-            versions.put(addr, remoteVersion);
-            final Bucket<T> prevBucket = remoteBuckets.put(addr, receivedBucket);
-
-            // Deal with DeathWatch subscriptions
-            final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
-            final Optional<ActorRef> curRef = receivedBucket.getWatchActor();
-            if (!curRef.equals(prevRef)) {
-                prevRef.ifPresent(ref -> removeWatch(addr, ref));
-                curRef.ifPresent(ref -> addWatch(addr, ref));
+            final Bucket<T> prevBucket = putRemoteBucket(addr, receivedBucket);
+            if (prevBucket != null) {
+                history(addr).record(prevBucket.getVersion(), remoteVersion,
+                    receivedBucket.getData().deltaFrom(prevBucket.getData()));
+            } else {
+                history(addr).clear();
             }
 
             LOG.debug("Updating bucket from {} to version {}", entry.getKey(), remoteVersion);
@@ -346,6 +407,65 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         onBucketsUpdated(newBuckets);
     }
 
+    /**
+     * Apply deltas to local copies of remote buckets. Deltas which do not start at the version we have are ignored,
+     * as our next GossipStatus will cause the remote gossiper to send us the bucket again.
+     *
+     * @param receivedDeltas deltas sent by remote
+     *                       {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     */
+    @VisibleForTesting
+    void applyRemoteDeltas(final Map<Address, DeltaBucket<?>> receivedDeltas) {
+        LOG.debug("{}: applyRemoteDeltas: {}", selfAddress, receivedDeltas);
+
+        final Map<Address, Bucket<T>> newBuckets = new HashMap<>(receivedDeltas.size());
+        for (Entry<Address, DeltaBucket<?>> entry : receivedDeltas.entrySet()) {
+            final Address addr = entry.getKey();
+            if (selfAddress.equals(addr)) {
+                // Remote cannot update our bucket
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            final DeltaBucket<T> delta = (DeltaBucket<T>) entry.getValue();
+            final Bucket<T> prevBucket = remoteBuckets.get(addr);
+            if (prevBucket == null || prevBucket.getVersion() != delta.getFromVersion()) {
+                LOG.debug("Ignoring delta {} from {}, local bucket is {}", delta, addr, prevBucket);
+                continue;
+            }
+
+            final Bucket<T> bucket = new BucketImpl<>(delta.getVersion(), delta.applyTo(prevBucket.getData()));
+            newBuckets.put(addr, bucket);
+            putRemoteBucket(addr, bucket);
+            history(addr).record(delta);
+
+            LOG.debug("Updating bucket from {} to version {} using delta", addr, delta.getVersion());
+        }
+
+        if (!newBuckets.isEmpty()) {
+            onBucketsUpdated(newBuckets);
+        }
+    }
+
+    private Bucket<T> putRemoteBucket(final Address addr, final Bucket<T> bucket) {
+        versions.put(addr, bucket.getVersion());
+        final Bucket<T> prevBucket = remoteBuckets.put(addr, bucket);
+
+        // Deal with DeathWatch subscriptions
+        final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
+        final Optional<ActorRef> curRef = bucket.getWatchActor();
+        if (!curRef.equals(prevRef)) {
+            prevRef.ifPresent(ref -> removeWatch(addr, ref));
+            curRef.ifPresent(ref -> addWatch(addr, ref));
+        }
+
+        return prevBucket;
+    }
+
+    private BucketHistory<T> history(final Address addr) {
+        return histories.computeIfAbsent(addr, key -> new BucketHistory<>(config.getGossipDeltaHistorySize()));
+    }
+
     private void addWatch(final Address addr, final ActorRef ref) {
         if (!watchedActors.containsKey(ref)) {
             getContext().watch(ref);
@@ -367,6 +487,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
 
         for (Address addr : watchedActors.removeAll(message.getActor())) {
             versions.remove(addr);
+            histories.remove(addr);
             final Bucket<T> bucket = remoteBuckets.remove(addr);
             if (bucket != null) {
                 LOG.debug("Source actor dead, removing bucket {} from ", bucket, addr);
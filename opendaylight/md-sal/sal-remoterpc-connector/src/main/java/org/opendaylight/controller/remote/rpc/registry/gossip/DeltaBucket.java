@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A sequence of {@link BucketDelta}s which bring a bucket from one version to a newer one. It is sent instead of the
+ * full {@link Bucket} if the receiver is known to hold the starting version.
+ *
+ * @param <T> Concrete BucketData type
+ */
+final class DeltaBucket<T extends BucketData<T>> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<BucketDelta<T>> deltas;
+    private final long fromVersion;
+    private final long version;
+
+    DeltaBucket(final long fromVersion, final long version, final List<BucketDelta<T>> deltas) {
+        Preconditions.checkArgument(fromVersion < version, "Invalid version range %s-%s", fromVersion, version);
+        this.fromVersion = fromVersion;
+        this.version = version;
+        this.deltas = ImmutableList.copyOf(deltas);
+    }
+
+    long getFromVersion() {
+        return fromVersion;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    List<BucketDelta<T>> getDeltas() {
+        return deltas;
+    }
+
+    T applyTo(final T data) {
+        T ret = data;
+        for (BucketDelta<T> delta : deltas) {
+            ret = delta.applyTo(ret);
+        }
+        return ret;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("fromVersion", fromVersion).add("version", version)
+                .add("deltas", deltas.size()).toString();
+    }
+}
@@ -16,13 +16,20 @@ import java.util.Map;
 final class GossipEnvelope implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    private final Map<Address, DeltaBucket<?>> deltas;
     private final Map<Address, Bucket<?>> buckets;
     private final Address from;
     private final Address to;
 
     GossipEnvelope(final Address from, final Address to, final Map<Address, ? extends Bucket<?>> buckets) {
+        this(from, to, buckets, ImmutableMap.of());
+    }
+
+    GossipEnvelope(final Address from, final Address to, final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends DeltaBucket<?>> deltas) {
         this.to = Preconditions.checkNotNull(to);
         this.buckets = ImmutableMap.copyOf(buckets);
+        this.deltas = ImmutableMap.copyOf(deltas);
         this.from = from;
     }
 
@@ -30,6 +37,11 @@ final class GossipEnvelope implements Serializable {
         return buckets;
     }
 
+    Map<Address, DeltaBucket<?>> deltas() {
+        // Envelopes sent by older versions do not have this field
+        return deltas != null ? deltas : ImmutableMap.of();
+    }
+
     Address from() {
         return from;
     }
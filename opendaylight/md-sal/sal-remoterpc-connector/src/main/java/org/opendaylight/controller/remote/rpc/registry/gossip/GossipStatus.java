@@ -18,9 +18,13 @@ final class GossipStatus implements Serializable {
     private final Map<Address, Long> versions;
     private final Address from;
 
+    // Not set by older versions, which do not understand DeltaBuckets
+    private final boolean acceptsDeltas;
+
     GossipStatus(final Address from, final Map<Address, Long> versions) {
         this.versions = ImmutableMap.copyOf(versions);
         this.from = from;
+        this.acceptsDeltas = true;
     }
 
     Address from() {
@@ -30,4 +34,8 @@ final class GossipStatus implements Serializable {
     Map<Address, Long> versions() {
         return versions;
     }
+
+    boolean acceptsDeltas() {
+        return acceptsDeltas;
+    }
 }
\ No newline at end of file
@@ -17,10 +17,15 @@ import akka.cluster.Cluster;
 import akka.cluster.ClusterActorRefProvider;
 import akka.cluster.ClusterEvent;
 import akka.cluster.Member;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -30,7 +35,9 @@ import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActorWithMetering;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics;
 import scala.concurrent.duration.FiniteDuration;
 
 /**
@@ -39,7 +46,15 @@ import scala.concurrent.duration.FiniteDuration;
  * <p>
  * It keeps a local scheduler that periodically sends Gossip ticks to
  * itself to send bucket store's bucket versions to a randomly selected remote
- * gossiper.
+ * gossiper. While nothing changes, the interval between ticks doubles up to
+ * {@link RemoteRpcProviderConfig#getGossipMaxTickInterval()}, so an idle cluster
+ * gossips rarely.
+ *
+ * <p>
+ * Changes are not left to the periodic ticks: when the local bucket changes, or
+ * newer buckets are received from a remote gossiper, bucket versions are pushed
+ * to {@link RemoteRpcProviderConfig#getGossipFanOut()} randomly selected remote
+ * gossipers right away and the tick interval is reset.
  *
  * <p>
  * When bucket versions are received from a remote gossiper, it is compared
@@ -58,9 +73,38 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             return "gossip tick";
         }
     };
+    private static final Object GOSSIP_PUSH = new Object() {
+        @Override
+        public String toString() {
+            return "gossip push";
+        }
+    };
+
+    /**
+     * Sent by the bucket store when the local bucket has been updated.
+     */
+    static final class LocalBucketChanged {
+        private final long version;
+
+        LocalBucketChanged(final long version) {
+            this.version = version;
+        }
+
+        long getVersion() {
+            return version;
+        }
+
+        @Override
+        public String toString() {
+            return "LocalBucketChanged [version=" + version + "]";
+        }
+    }
 
     private final boolean autoStartGossipTicks;
     private final RemoteRpcProviderConfig config;
+    private final FiniteDuration minTickInterval;
+    private final FiniteDuration maxTickInterval;
+    private final int fanOut;
 
     /**
      * All known cluster members.
@@ -72,6 +116,11 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
      */
     private final Map<Address, ActorSelection> peers = new HashMap<>();
 
+    /**
+     * Versions of the local bucket last reported by remote peers, used to measure convergence.
+     */
+    private final Map<Address, Long> peerLocalVersions = new HashMap<>();
+
     /**
      * ActorSystem's address for the current cluster node.
      */
@@ -83,9 +132,27 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
 
     private BucketStoreAccess bucketStore;
 
+    private FiniteDuration tickInterval;
+    private boolean changedSinceLastTick;
+    private boolean pushPending;
+
+    /**
+     * Latest version of the local bucket and the time since which it has not been known to all peers.
+     */
+    private long localVersion;
+    private long convergenceStartNanos;
+    private boolean converging;
+
+    private Timer convergenceTimer;
+    private Meter statusMeter;
+
     Gossiper(final RemoteRpcProviderConfig config, final Boolean autoStartGossipTicks) {
         this.config = Preconditions.checkNotNull(config);
         this.autoStartGossipTicks = autoStartGossipTicks.booleanValue();
+        this.minTickInterval = config.getGossipTickInterval();
+        this.maxTickInterval = config.getGossipMaxTickInterval();
+        this.fanOut = config.getGossipFanOut();
+        this.tickInterval = minTickInterval;
     }
 
     Gossiper(final RemoteRpcProviderConfig config) {
@@ -107,6 +174,12 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
 
         bucketStore = new BucketStoreAccess(getContext(), config.getAskDuration());
 
+        final MetricRegistry registry = MetricsReporter.getInstance(RemoteRpcMetrics.METRICS_DOMAIN)
+                .getMetricsRegistry();
+        final String prefix = MetricRegistry.name("remote-rpc", "gossip", getContext().parent().path().name());
+        convergenceTimer = registry.timer(MetricRegistry.name(prefix, "convergence"));
+        statusMeter = registry.meter(MetricRegistry.name(prefix, "status-sent"));
+
         if (provider instanceof ClusterActorRefProvider) {
             cluster = Cluster.get(getContext().system());
             cluster.subscribe(getSelf(),
@@ -116,16 +189,20 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
                     ClusterEvent.UnreachableMember.class);
         }
 
-        if (autoStartGossipTicks) {
-            gossipTask = getContext().system().scheduler().schedule(
-                    new FiniteDuration(1, TimeUnit.SECONDS),        //initial delay
-                    config.getGossipTickInterval(),                 //interval
-                    getSelf(),                                      //target
-                    GOSSIP_TICK,                                    //message
-                    getContext().dispatcher(),                      //execution context
-                    getSelf()                                       //sender
-            );
+        scheduleTick(new FiniteDuration(1, TimeUnit.SECONDS));
+    }
+
+    private void scheduleTick(final FiniteDuration delay) {
+        if (!autoStartGossipTicks) {
+            return;
+        }
+        if (gossipTask != null) {
+            gossipTask.cancel();
         }
+
+        // Ticks are scheduled one at a time, as the interval between them changes
+        gossipTask = getContext().system().scheduler().scheduleOnce(delay, getSelf(), GOSSIP_TICK,
+            getContext().dispatcher(), getSelf());
     }
 
     @Override
@@ -144,6 +221,11 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         //These ticks can be sent by another actor as well which is esp. useful while testing
         if (GOSSIP_TICK.equals(message)) {
             receiveGossipTick();
+            scheduleTick(nextTickInterval());
+        } else if (GOSSIP_PUSH.equals(message)) {
+            receiveGossipPush();
+        } else if (message instanceof LocalBucketChanged) {
+            receiveLocalBucketChanged((LocalBucketChanged) message);
         } else if (message instanceof GossipStatus) {
             // Message from remote gossiper with its bucket versions
             receiveGossipStatus((GossipStatus) message);
@@ -182,7 +264,9 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         }
 
         removePeer(member.address());
+        changedSinceLastTick = true;
         LOG.debug("Removed member [{}], Active member list [{}]", member.address(), clusterMembers);
+        checkConvergence();
     }
 
     private void addPeer(final Address address) {
@@ -196,6 +280,7 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
     private void removePeer(final Address address) {
         clusterMembers.remove(address);
         peers.remove(address);
+        peerLocalVersions.remove(address);
         bucketStore.removeRemoteBucket(address);
     }
 
@@ -211,6 +296,7 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         }
 
         addPeer(member.address());
+        changedSinceLastTick = true;
         LOG.debug("Added member [{}], Active member list [{}]", member.address(), clusterMembers);
     }
 
@@ -241,6 +327,102 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         getLocalStatusAndSendTo(Verify.verifyNotNull(peers.get(address)));
     }
 
+    /**
+     * Compute the delay of the next gossip tick. If anything has changed since the last tick, the delay is reset
+     * to the configured tick interval, otherwise it is doubled, up to the configured maximum.
+     *
+     * @return Delay of the next tick
+     */
+    @VisibleForTesting
+    FiniteDuration nextTickInterval() {
+        if (changedSinceLastTick) {
+            changedSinceLastTick = false;
+            tickInterval = minTickInterval;
+        } else {
+            tickInterval = tickInterval.mul(2).min(maxTickInterval);
+        }
+        return tickInterval;
+    }
+
+    /**
+     * Request gossip status to be pushed to peers. Multiple requests are coalesced into a single push.
+     */
+    private void requestPush() {
+        changedSinceLastTick = true;
+        if (!pushPending) {
+            pushPending = true;
+            getSelf().tell(GOSSIP_PUSH, getSelf());
+        }
+    }
+
+    /**
+     * Sends gossip status to up to {@link RemoteRpcProviderConfig#getGossipFanOut()} randomly selected members and
+     * restarts the tick interval.
+     */
+    @VisibleForTesting
+    void receiveGossipPush() {
+        pushPending = false;
+
+        final List<Address> selected;
+        if (clusterMembers.size() <= fanOut) {
+            selected = clusterMembers;
+        } else {
+            final List<Address> shuffled = new ArrayList<>(clusterMembers);
+            Collections.shuffle(shuffled, ThreadLocalRandom.current());
+            selected = shuffled.subList(0, fanOut);
+        }
+
+        for (Address address : selected) {
+            LOG.trace("Pushing gossip to [{}]", address);
+            getLocalStatusAndSendTo(Verify.verifyNotNull(peers.get(address)));
+        }
+
+        scheduleTick(nextTickInterval());
+    }
+
+    private void receiveLocalBucketChanged(final LocalBucketChanged message) {
+        localVersion = message.getVersion();
+        if (!converging) {
+            converging = true;
+            convergenceStartNanos = System.nanoTime();
+        }
+
+        requestPush();
+    }
+
+    /**
+     * Record the version of the local bucket known to a peer and check whether all peers have caught up with
+     * the latest local change.
+     */
+    private void updatePeerLocalVersion(final Address peer, final Map<Address, Long> versions) {
+        final Long version = versions.get(selfAddress);
+        if (version != null) {
+            peerLocalVersions.put(peer, version);
+            checkConvergence();
+        }
+    }
+
+    private void checkConvergence() {
+        if (!converging) {
+            return;
+        }
+
+        for (Address member : clusterMembers) {
+            final Long version = peerLocalVersions.get(member);
+            if (version == null || version.longValue() < localVersion) {
+                return;
+            }
+        }
+
+        converging = false;
+        final long elapsed = System.nanoTime() - convergenceStartNanos;
+        if (convergenceTimer != null) {
+            convergenceTimer.update(elapsed, TimeUnit.NANOSECONDS);
+        }
+        LOG.debug("Local bucket version {} known to all {} peers after {}ms", localVersion, clusterMembers.size(),
+            TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
     /**
      * Process gossip status received from a remote gossiper. Remote versions are compared with
      * the local copy.
@@ -258,6 +440,8 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
     void receiveGossipStatus(final GossipStatus status) {
         // Don't accept messages from non-members
         if (peers.containsKey(status.from())) {
+            updatePeerLocalVersion(status.from(), status.versions());
+
             // FIXME: sender should be part of GossipStatus
             final ActorRef sender = getSender();
             bucketStore.getBucketVersions(versions ->  processRemoteStatus(sender, status, versions));
@@ -295,13 +479,16 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
 
         if (!localIsOlder.isEmpty()) {
             remote.tell(new GossipStatus(selfAddress, localVersions), getSelf());
+            statusMeter.mark();
         }
 
         if (!localIsNewer.isEmpty()) {
-            //send newer buckets to remote
-            bucketStore.getBucketsByMembers(localIsNewer, buckets -> {
-                LOG.trace("Buckets to send from {}: {}", selfAddress, buckets);
-                remote.tell(new GossipEnvelope(selfAddress, remote.path().address(), buckets), getSelf());
+            //send newer buckets to remote, as deltas where the remote supports them
+            final Map<Address, Long> knownVersions = status.acceptsDeltas() ? remoteVersions : ImmutableMap.of();
+            bucketStore.getBucketUpdates(remote.path().address(), localIsNewer, knownVersions, envelope -> {
+                LOG.trace("Buckets to send from {}: {} deltas: {}", selfAddress, envelope.buckets(),
+                    envelope.deltas());
+                remote.tell(envelope, getSelf());
             });
         }
     }
@@ -320,6 +507,14 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         }
 
         updateRemoteBuckets(envelope.buckets());
+        if (!envelope.deltas().isEmpty()) {
+            applyRemoteDeltas(envelope.deltas());
+        }
+
+        // Spread newly-learned buckets further, peers which already have them will not respond
+        if (!envelope.buckets().isEmpty() || !envelope.deltas().isEmpty()) {
+            requestPush();
+        }
     }
 
     /**
@@ -332,6 +527,16 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         bucketStore.updateRemoteBuckets(buckets);
     }
 
+    /**
+     * Helper to send received deltas to bucket store.
+     *
+     * @param deltas map of DeltaBuckets to apply
+     */
+    @VisibleForTesting
+    void applyRemoteDeltas(final Map<Address, ? extends DeltaBucket<?>> deltas) {
+        bucketStore.applyRemoteDeltas(deltas);
+    }
+
     /**
      * Gets bucket versions from bucket store and sends to the supplied address.
      *
@@ -346,6 +551,7 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
              *      but can we identify which bucket is the local one?
              */
             remoteGossiper.tell(new GossipStatus(selfAddress, versions), getSelf());
+            statusMeter.mark();
         });
     }
 
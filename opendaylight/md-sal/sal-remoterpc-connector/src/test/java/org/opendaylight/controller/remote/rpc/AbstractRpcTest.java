@@ -103,9 +103,9 @@ public class AbstractRpcTest {
         MockitoAnnotations.initMocks(this);
 
         rpcRegistry1Probe = new JavaTestKit(node1);
-        rpcInvoker1 = node1.actorOf(RpcInvoker.props(domRpcService1));
+        rpcInvoker1 = node1.actorOf(RpcInvoker.props(domRpcService1, config1));
         rpcRegistry2Probe = new JavaTestKit(node2);
-        rpcInvoker2 = node2.actorOf(RpcInvoker.props(domRpcService2));
+        rpcInvoker2 = node2.actorOf(RpcInvoker.props(domRpcService2, config2));
         remoteRpcImpl1 = new RemoteRpcImplementation(rpcInvoker2, config1);
         remoteRpcImpl2 = new RemoteRpcImplementation(rpcInvoker1, config2);
     }
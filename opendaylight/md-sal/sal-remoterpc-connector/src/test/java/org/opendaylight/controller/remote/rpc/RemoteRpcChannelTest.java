@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import akka.actor.ActorRef;
+import akka.pattern.AskTimeoutException;
+import akka.testkit.JavaTestKit;
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import com.typesafe.config.ConfigFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+
+public class RemoteRpcChannelTest extends AbstractRpcTest {
+
+    @Test
+    public void testInvokeRpcs() throws Exception {
+        final ContainerNode rpcOutput = makeRPCOutput("bar");
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), any())).thenReturn(
+            Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(new DefaultDOMRpcResult(rpcOutput)));
+
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(rpcInvoker2, null, config1));
+        final RemoteRpcImplementation impl = new RemoteRpcImplementation(rpcInvoker2, config1, channel, null);
+
+        final List<CheckedFuture<DOMRpcResult, DOMRpcException>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            futures.add(impl.invokeRpc(TEST_RPC_ID, makeRPCInput("foo" + i)));
+        }
+        for (CheckedFuture<DOMRpcResult, DOMRpcException> f : futures) {
+            assertEquals(rpcOutput, f.checkedGet(5, TimeUnit.SECONDS).getResult());
+        }
+    }
+
+    @Test
+    public void testInvokeRpcWithSlicedPayloads() throws Exception {
+        final ContainerNode rpcInput = makeRPCInput(Strings.repeat("foo", 1000));
+        final ContainerNode rpcOutput = makeRPCOutput(Strings.repeat("bar", 1000));
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), any())).thenReturn(
+            Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(new DefaultDOMRpcResult(rpcOutput)));
+
+        final RemoteRpcProviderConfig config = new RemoteRpcProviderConfig(
+            ConfigFactory.parseString("rpc-payload-slice-size = 64").withFallback(config1.get()));
+        final ActorRef invoker = node2.actorOf(RpcInvoker.props(domRpcService2, config));
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(invoker, null, config));
+        final RemoteRpcImplementation impl = new RemoteRpcImplementation(invoker, config, channel, null);
+
+        final List<CheckedFuture<DOMRpcResult, DOMRpcException>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            futures.add(impl.invokeRpc(TEST_RPC_ID, rpcInput));
+        }
+        for (CheckedFuture<DOMRpcResult, DOMRpcException> f : futures) {
+            assertEquals(rpcOutput, f.checkedGet(5, TimeUnit.SECONDS).getResult());
+        }
+        verify(domRpcService2, times(3)).invokeRpc(TEST_RPC_TYPE, rpcInput);
+    }
+
+    @Test
+    public void testBatchSizeBoundedBySliceSize() throws Exception {
+        final RemoteRpcProviderConfig config = new RemoteRpcProviderConfig(
+            ConfigFactory.parseString("rpc-payload-slice-size = 256").withFallback(config1.get()));
+        final JavaTestKit invoker = new JavaTestKit(node1);
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(invoker.getRef(), null, config));
+        final RemoteRpcImplementation impl = new RemoteRpcImplementation(invoker.getRef(), config, channel, null);
+
+        // Each input is estimated at over a third of the slice size, hence at most two fit into a batch
+        for (int i = 0; i < 5; ++i) {
+            impl.invokeRpc(TEST_RPC_ID, makeRPCInput(Strings.repeat("x", 100)));
+        }
+
+        int received = 0;
+        while (received < 5) {
+            final ExecuteRpcBatch batch = invoker.expectMsgClass(invoker.duration("5 seconds"), ExecuteRpcBatch.class);
+            assertTrue("Batch too large: " + batch.getRequests().size(), batch.getRequests().size() <= 2);
+            received += batch.getRequests().size();
+        }
+        assertEquals(5, received);
+    }
+
+    @Test(expected = DOMRpcException.class)
+    public void testInvokeRpcWithRemoteFailedFuture() throws Exception {
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), any())).thenReturn(
+            Futures.<DOMRpcResult, DOMRpcException>immediateFailedCheckedFuture(
+                new RemoteDOMRpcException("Test Exception", null)));
+
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(rpcInvoker2, null, config1));
+        final RemoteRpcImplementation impl = new RemoteRpcImplementation(rpcInvoker2, config1, channel, null);
+        impl.invokeRpc(TEST_RPC_ID, makeRPCInput("foo")).checkedGet(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testInvokeRpcTimeout() throws Exception {
+        final SettableFuture<DOMRpcResult> never = SettableFuture.create();
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), any())).thenReturn(
+            Futures.makeChecked(never, e -> new RemoteDOMRpcException("Unexpected", e)));
+
+        final RemoteRpcProviderConfig config = new RemoteRpcProviderConfig(
+            ConfigFactory.parseString("ask-duration = 200ms").withFallback(config1.get()));
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(rpcInvoker2, null, config));
+        final RemoteRpcImplementation impl = new RemoteRpcImplementation(rpcInvoker2, config, channel, null);
+
+        try {
+            impl.invokeRpc(TEST_RPC_ID, makeRPCInput("foo")).get(5, TimeUnit.SECONDS);
+            fail("Expected a timeout");
+        } catch (ExecutionException e) {
+            assertEquals(AskTimeoutException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test(expected = RemoteDOMRpcException.class)
+    public void testInvokeRpcAfterClose() throws Exception {
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(rpcInvoker2, null, config1));
+        channel.tell(RemoteRpcChannel.CLOSE, ActorRef.noSender());
+
+        final RemoteRpcImplementation impl = new RemoteRpcImplementation(rpcInvoker2, config1, channel, null);
+        impl.invokeRpc(TEST_RPC_ID, makeRPCInput("foo")).checkedGet(5, TimeUnit.SECONDS);
+    }
+}
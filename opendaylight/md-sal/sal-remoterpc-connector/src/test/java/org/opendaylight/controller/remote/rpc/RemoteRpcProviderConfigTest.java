@@ -41,6 +41,16 @@ public class RemoteRpcProviderConfigTest {
         Assert.assertNotNull(config.getRpcRegistryPath());
         Assert.assertNotNull(config.getAskDuration());
         Assert.assertNotNull(config.getGossipTickInterval());
+        Assert.assertTrue(config.getGossipMaxTickInterval().compareTo(config.getGossipTickInterval()) >= 0);
+        Assert.assertEquals(2, config.getGossipFanOut());
+    }
+
+    @Test
+    public void testGossipMaxTickIntervalNotShorterThanTickInterval() {
+        RemoteRpcProviderConfig config = new RemoteRpcProviderConfig.Builder("unit-test")
+                .gossipTickInterval("2s").gossipMaxTickInterval("1s").build();
+
+        Assert.assertEquals(config.getGossipTickInterval(), config.getGossipMaxTickInterval());
     }
 
     @Test
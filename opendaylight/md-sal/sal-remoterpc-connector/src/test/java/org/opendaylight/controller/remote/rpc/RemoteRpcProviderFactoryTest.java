@@ -16,6 +16,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.sal.core.api.model.SchemaService;
 
 public class RemoteRpcProviderFactoryTest {
 
@@ -24,6 +25,8 @@ public class RemoteRpcProviderFactoryTest {
     @Mock
     private DOMRpcService rpcService;
     @Mock
+    private SchemaService schemaService;
+    @Mock
     private ActorSystem actorSystem;
     @Mock
     private RemoteRpcProviderConfig providerConfig;
@@ -36,26 +39,31 @@ public class RemoteRpcProviderFactoryTest {
     @Test
     public void testCreateInstance() throws Exception {
         Assert.assertNotNull(RemoteRpcProviderFactory
-                .createInstance(providerService, rpcService, actorSystem, providerConfig));
+                .createInstance(providerService, rpcService, schemaService, actorSystem, providerConfig));
     }
 
     @Test(expected = NullPointerException.class)
     public void testCreateInstanceMissingProvideService() throws Exception {
-        RemoteRpcProviderFactory.createInstance(null, rpcService, actorSystem, providerConfig);
+        RemoteRpcProviderFactory.createInstance(null, rpcService, schemaService, actorSystem, providerConfig);
     }
 
     @Test(expected = NullPointerException.class)
     public void testCreateInstanceMissingRpcService() throws Exception {
-        RemoteRpcProviderFactory.createInstance(providerService, null, actorSystem, providerConfig);
+        RemoteRpcProviderFactory.createInstance(providerService, null, schemaService, actorSystem, providerConfig);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testCreateInstanceMissingSchemaService() throws Exception {
+        RemoteRpcProviderFactory.createInstance(providerService, rpcService, null, actorSystem, providerConfig);
     }
 
     @Test(expected = NullPointerException.class)
     public void testCreateInstanceMissingActorSystem() throws Exception {
-        RemoteRpcProviderFactory.createInstance(providerService, rpcService, null, providerConfig);
+        RemoteRpcProviderFactory.createInstance(providerService, rpcService, schemaService, null, providerConfig);
     }
 
     @Test(expected = NullPointerException.class)
     public void testCreateInstanceMissingProviderConfig() throws Exception {
-        RemoteRpcProviderFactory.createInstance(providerService, rpcService, actorSystem, null);
+        RemoteRpcProviderFactory.createInstance(providerService, rpcService, schemaService, actorSystem, null);
     }
 }
\ No newline at end of file
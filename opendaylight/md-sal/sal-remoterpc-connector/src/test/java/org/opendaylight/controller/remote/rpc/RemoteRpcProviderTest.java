@@ -22,6 +22,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import scala.concurrent.Await;
 import scala.concurrent.duration.Duration;
 
@@ -47,7 +48,8 @@ public class RemoteRpcProviderTest {
     @Test
     public void testRemoteRpcProvider() throws Exception {
         try (RemoteRpcProvider rpcProvider = new RemoteRpcProvider(system, mock(DOMRpcProviderService.class),
-            mock(DOMRpcService.class), new RemoteRpcProviderConfig(system.settings().config()))) {
+            mock(DOMRpcService.class), mock(SchemaService.class),
+            new RemoteRpcProviderConfig(system.settings().config()))) {
 
             rpcProvider.start();
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.base.Strings;
+import java.io.IOException;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSlice;
+import org.opendaylight.controller.remote.rpc.messages.RpcPayloadSliceReply;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+
+/**
+ * Unit tests for RpcPayloadSlicer, OutboundRpcPayload and InboundRpcPayload.
+ */
+public class RpcPayloadSlicerTest {
+    private static final ContainerNode LARGE_INPUT = AbstractRpcTest.makeRPCInput(Strings.repeat("foo", 100));
+
+    private final RpcPayloadSlicer slicer = new RpcPayloadSlicer(64);
+
+    @Test
+    public void testShouldSlice() {
+        assertFalse(slicer.shouldSlice(null));
+        assertFalse(slicer.shouldSlice(AbstractRpcTest.makeRPCInput("foo")));
+        assertTrue(slicer.shouldSlice(LARGE_INPUT));
+        assertFalse(new RpcPayloadSlicer(0).shouldSlice(LARGE_INPUT));
+    }
+
+    @Test
+    public void testEstimateSize() {
+        final long size = slicer.estimateSize(AbstractRpcTest.makeRPCInput("foo"));
+        assertTrue(size > 0);
+        assertFalse(slicer.exceedsSliceSize(size));
+        assertTrue(slicer.exceedsSliceSize(slicer.estimateSize(LARGE_INPUT)));
+        assertEquals(0, slicer.estimateSize(null));
+        assertEquals(0, new RpcPayloadSlicer(0).estimateSize(LARGE_INPUT));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSliceSize() {
+        new RpcPayloadSlicer(16);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final OutboundRpcPayload outbound = slicer.slice(7, AbstractRpcTest.TEST_RPC, LARGE_INPUT);
+
+        RpcPayloadSlice slice = outbound.firstSlice();
+        assertEquals(AbstractRpcTest.TEST_RPC, slice.getRpc());
+        assertTrue("Expected multiple slices", slice.getTotalSlices() > 1);
+
+        final InboundRpcPayload inbound = new InboundRpcPayload(slice);
+        int received = 0;
+        while (slice != null) {
+            received++;
+            final boolean last = inbound.addSlice(slice);
+            assertEquals(slice.isLastSlice(), last);
+            slice = outbound.handleReply(new RpcPayloadSliceReply(7, slice.getSliceIndex(), true));
+        }
+
+        assertEquals(outbound.getSize(), inbound.getSize());
+        assertEquals(AbstractRpcTest.TEST_RPC, inbound.getRpc());
+        assertTrue(received > 1);
+        assertEquals(LARGE_INPUT, inbound.read());
+    }
+
+    @Test
+    public void testOutOfOrderSlice() throws IOException {
+        final OutboundRpcPayload outbound = slicer.slice(7, null, LARGE_INPUT);
+        final RpcPayloadSlice first = outbound.firstSlice();
+        final RpcPayloadSlice second = outbound.handleReply(new RpcPayloadSliceReply(7, 1, true));
+        final RpcPayloadSlice third = outbound.handleReply(new RpcPayloadSliceReply(7, 2, true));
+
+        final InboundRpcPayload inbound = new InboundRpcPayload(first);
+        assertFalse(inbound.addSlice(first));
+        try {
+            inbound.addSlice(third);
+            fail("Expected an exception");
+        } catch (InboundRpcPayload.InvalidSliceException e) {
+            assertTrue(e.getMessage().contains("Expected slice 2"));
+        }
+        assertNull(inbound.getRpc());
+        assertFalse(inbound.addSlice(second));
+    }
+
+    @Test
+    public void testCorruptedSlice() throws IOException {
+        final OutboundRpcPayload outbound = slicer.slice(7, null, LARGE_INPUT);
+        final RpcPayloadSlice first = outbound.firstSlice();
+        final RpcPayloadSlice second = outbound.handleReply(new RpcPayloadSliceReply(7, 1, true));
+
+        final InboundRpcPayload inbound = new InboundRpcPayload(first);
+        inbound.addSlice(new RpcPayloadSlice(7, 1, first.getTotalSlices(), first.getPreviousSliceHashCode(),
+            new byte[first.getData().length], null));
+        try {
+            inbound.addSlice(second);
+            fail("Expected an exception");
+        } catch (InboundRpcPayload.InvalidSliceException e) {
+            assertTrue(e.getMessage().contains("does not match"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectedSlice() throws IOException {
+        final OutboundRpcPayload outbound = slicer.slice(7, null, LARGE_INPUT);
+        outbound.firstSlice();
+        outbound.handleReply(new RpcPayloadSliceReply(7, 1, false));
+    }
+}
@@ -14,10 +14,12 @@ import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -136,4 +138,17 @@ public class RpcRegistrarTest {
 
         Mockito.verifyNoMoreInteractions(service, oldReg, newReg);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testChannelOnlyForSupportingEndpoint() throws Exception {
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress, Optional.of(firstEndpoint))),
+                ActorRef.noSender());
+        Assert.assertEquals(0, Iterables.size(rpcRegistrar.getContext().getChildren()));
+
+        final RemoteRpcEndpoint supporting = new RemoteRpcEndpoint(firstEndpoint.getRouter(),
+            secondEndpoint.getRpcs(), Optional.empty(), true);
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress, Optional.of(supporting))),
+                ActorRef.noSender());
+        Assert.assertEquals(1, Iterables.size(rpcRegistrar.getContext().getChildren()));
+    }
+}
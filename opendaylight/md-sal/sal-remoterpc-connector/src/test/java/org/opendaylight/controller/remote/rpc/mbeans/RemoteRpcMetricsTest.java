@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.mbeans;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics.Outcome;
+import org.opendaylight.controller.remote.rpc.mbeans.RemoteRpcMetrics.Side;
+import org.opendaylight.yangtools.yang.common.QName;
+
+public class RemoteRpcMetricsTest {
+    private static final QName RPC = QName.create("urn:test", "2017-01-01", "rpc");
+    private static final String PEER = "akka.tcp://opendaylight-rpc@127.0.0.1:2550";
+    private static final String PREFIX = MetricRegistry.name("remote-rpc", "caller", RPC.toString());
+
+    private MetricRegistry registry;
+    private RemoteRpcMetrics metrics;
+
+    @Before
+    public void setUp() {
+        registry = new MetricRegistry();
+        metrics = new RemoteRpcMetrics(registry);
+    }
+
+    @Test
+    public void testRecord() {
+        metrics.record(Side.CALLER, RPC, PEER, 1000, 100, Outcome.SUCCESS);
+        metrics.record(Side.CALLER, RPC, PEER, 2000, -1, Outcome.TIMEOUT);
+        metrics.record(Side.INVOKER, RPC, PEER, 500, 100, Outcome.FAILURE);
+
+        assertEquals(2, registry.timer(MetricRegistry.name(PREFIX, "latency")).getCount());
+        assertEquals(1, registry.histogram(MetricRegistry.name(PREFIX, "payload-size")).getCount());
+        assertEquals(1, registry.meter(MetricRegistry.name(PREFIX, "timeouts")).getCount());
+        assertEquals(0, registry.meter(MetricRegistry.name(PREFIX, "failures")).getCount());
+        assertEquals(2, registry.timer(MetricRegistry.name("remote-rpc", "caller", "peer", PEER)).getCount());
+        assertEquals(1, registry.meter(MetricRegistry.name("remote-rpc", "invoker", RPC.toString(), "failures"))
+            .getCount());
+    }
+
+    @Test
+    public void testSlowestCalls() {
+        for (int i = 1; i <= 100; ++i) {
+            metrics.record(Side.INVOKER, RPC, PEER, i, -1, Outcome.SUCCESS);
+        }
+
+        final List<SlowRpcCall> slowest = metrics.getSlowestCalls();
+        assertTrue(slowest.size() < 100);
+        assertEquals(100, slowest.get(0).getDurationNanos());
+        for (int i = 1; i < slowest.size(); ++i) {
+            assertEquals(slowest.get(i - 1).getDurationNanos() - 1, slowest.get(i).getDurationNanos());
+        }
+
+        metrics.resetSlowestCalls();
+        assertTrue(metrics.getSlowestCalls().isEmpty());
+        metrics.record(Side.INVOKER, RPC, PEER, 1, -1, Outcome.SUCCESS);
+        assertEquals(1, metrics.getSlowestCalls().size());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
+import org.opendaylight.controller.remote.rpc.AbstractRpcTest;
+import org.opendaylight.controller.remote.rpc.RpcErrorsException;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class ExecuteRpcBatchTest {
+
+    @Test
+    public void testSerialization() {
+        final ExecuteRpc first = ExecuteRpc.from(AbstractRpcTest.TEST_RPC_ID,
+            AbstractRpcTest.makeRPCInput("first"));
+        final ExecuteRpc second = ExecuteRpc.from(AbstractRpcTest.TEST_RPC_ID, null);
+        final ExecuteRpcBatch expected = new ExecuteRpcBatch(ImmutableMap.of(5L, first, 3L, second));
+
+        final ExecuteRpcBatch actual = (ExecuteRpcBatch) SerializationUtils.clone(expected);
+
+        final Iterator<Entry<Long, ExecuteRpc>> it = actual.getRequests().entrySet().iterator();
+        Entry<Long, ExecuteRpc> entry = it.next();
+        assertEquals(Long.valueOf(5), entry.getKey());
+        assertEquals(first.getRpc(), entry.getValue().getRpc());
+        assertEquals(first.getInputNormalizedNode(), entry.getValue().getInputNormalizedNode());
+
+        entry = it.next();
+        assertEquals(Long.valueOf(3), entry.getKey());
+        assertEquals(second.getRpc(), entry.getValue().getRpc());
+        assertNull(entry.getValue().getInputNormalizedNode());
+    }
+
+    @Test
+    public void testSerializationWithDictionary() throws Exception {
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(
+            YangParserTestUtils.parseYangResources(ExecuteRpcBatchTest.class, "/test-rpc.yang"));
+        final ExecuteRpc request = ExecuteRpc.from(AbstractRpcTest.TEST_RPC_ID,
+            AbstractRpcTest.makeRPCInput("first"));
+
+        final ExecuteRpcBatch actual = (ExecuteRpcBatch) SerializationUtils.clone(
+            new ExecuteRpcBatch(ImmutableMap.of(1L, request), dictionary));
+        assertSame(dictionary, actual.getDictionary());
+
+        final ExecuteRpc actualRequest = actual.getRequests().get(1L);
+        assertEquals(request.getInputNormalizedNode(), actualRequest.getInputNormalizedNode());
+        assertSame(dictionary, actualRequest.getDictionary());
+
+        final CorrelatedRpcResponse response = CorrelatedRpcResponse.success(1,
+            AbstractRpcTest.makeRPCOutput("serialization-test"), actualRequest.getDictionary());
+        final CorrelatedRpcResponse clonedResponse = (CorrelatedRpcResponse) SerializationUtils.clone(response);
+        assertEquals(response.getResult(), clonedResponse.getResult());
+    }
+
+    @Test
+    public void testResponseSerialization() {
+        final CorrelatedRpcResponse success = CorrelatedRpcResponse.success(1,
+            AbstractRpcTest.makeRPCOutput("serialization-test"));
+        final CorrelatedRpcResponse clonedSuccess = (CorrelatedRpcResponse) SerializationUtils.clone(success);
+        assertEquals(1, clonedSuccess.getRequestId());
+        assertEquals(success.getResult(), clonedSuccess.getResult());
+        assertNull(clonedSuccess.getFailure());
+
+        final CorrelatedRpcResponse failure = CorrelatedRpcResponse.failure(2,
+            new RpcErrorsException("test", ImmutableList.of()));
+        final CorrelatedRpcResponse clonedFailure = (CorrelatedRpcResponse) SerializationUtils.clone(failure);
+        assertEquals(2, clonedFailure.getRequestId());
+        assertNull(clonedFailure.getResult());
+        assertEquals("test", clonedFailure.getFailure().getMessage());
+    }
+}
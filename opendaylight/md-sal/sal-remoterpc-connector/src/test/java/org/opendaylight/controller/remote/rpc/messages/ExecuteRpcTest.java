@@ -8,10 +8,15 @@
 package org.opendaylight.controller.remote.rpc.messages;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.remote.rpc.AbstractRpcTest;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
 
 /**
  * Unit tests for ExecuteRpc.
@@ -29,5 +34,26 @@ public class ExecuteRpcTest {
 
         assertEquals("getRpc", expected.getRpc(), actual.getRpc());
         assertEquals("getInputNormalizedNode", expected.getInputNormalizedNode(), actual.getInputNormalizedNode());
+        assertEquals("getPayloadSize", -1, expected.getPayloadSize());
+        assertTrue("getPayloadSize", actual.getPayloadSize() > 0);
+        assertNull("getDictionary", actual.getDictionary());
+    }
+
+    @Test
+    public void testSerializationWithDictionary() throws Exception {
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(
+            YangParserTestUtils.parseYangResources(ExecuteRpcTest.class, "/test-rpc.yang"));
+        final ExecuteRpc plain = ExecuteRpc.from(AbstractRpcTest.TEST_RPC_ID,
+                AbstractRpcTest.makeRPCInput("serialization-test"));
+        final ExecuteRpc expected = ExecuteRpc.from(AbstractRpcTest.TEST_RPC_ID,
+                AbstractRpcTest.makeRPCInput("serialization-test"), dictionary);
+
+        final ExecuteRpc actual = (ExecuteRpc) SerializationUtils.clone(expected);
+
+        assertEquals("getRpc", expected.getRpc(), actual.getRpc());
+        assertEquals("getInputNormalizedNode", expected.getInputNormalizedNode(), actual.getInputNormalizedNode());
+        assertSame("getDictionary", dictionary, actual.getDictionary());
+        assertTrue("getPayloadSize", actual.getPayloadSize()
+            < ((ExecuteRpc) SerializationUtils.clone(plain)).getPayloadSize());
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.AbstractRpcTest;
+
+/**
+ * Unit tests for RpcPayloadSlice.
+ */
+public class RpcPayloadSliceTest {
+
+    @Test
+    public void testSerialization() {
+        RpcPayloadSlice expected = new RpcPayloadSlice(5, 2, 3, 1234, new byte[] { 1, 2, 3 },
+            AbstractRpcTest.TEST_RPC);
+
+        RpcPayloadSlice actual = (RpcPayloadSlice) SerializationUtils.clone(expected);
+
+        assertEquals("getStreamId", 5, actual.getStreamId());
+        assertEquals("getSliceIndex", 2, actual.getSliceIndex());
+        assertEquals("getTotalSlices", 3, actual.getTotalSlices());
+        assertEquals("getPreviousSliceHashCode", 1234, actual.getPreviousSliceHashCode());
+        assertArrayEquals("getData", expected.getData(), actual.getData());
+        assertEquals("getRpc", AbstractRpcTest.TEST_RPC, actual.getRpc());
+        assertFalse("isLastSlice", actual.isLastSlice());
+    }
+
+    @Test
+    public void testSerializationWithoutRpc() {
+        RpcPayloadSlice expected = new RpcPayloadSlice(5, 1, 1, RpcPayloadSlice.INITIAL_SLICE_HASH_CODE,
+            new byte[] { 1 }, null);
+
+        RpcPayloadSlice actual = (RpcPayloadSlice) SerializationUtils.clone(expected);
+
+        assertNull("getRpc", actual.getRpc());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSliceIndex() {
+        new RpcPayloadSlice(5, 0, 1, RpcPayloadSlice.INITIAL_SLICE_HASH_CODE, new byte[] { 1 }, null);
+    }
+}
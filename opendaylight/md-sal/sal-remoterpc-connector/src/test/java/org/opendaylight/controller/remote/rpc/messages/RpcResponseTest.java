@@ -11,7 +11,9 @@ import static org.junit.Assert.assertEquals;
 
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.remote.rpc.AbstractRpcTest;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
 
 /**
  * Unit tests for RpcResponse.
@@ -28,4 +30,15 @@ public class RpcResponseTest {
 
         assertEquals("getResultNormalizedNode", expected.getResultNormalizedNode(), actual.getResultNormalizedNode());
     }
+
+    @Test
+    public void testSerializationWithDictionary() throws Exception {
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(
+            YangParserTestUtils.parseYangResources(RpcResponseTest.class, "/test-rpc.yang"));
+        RpcResponse expected = new RpcResponse(AbstractRpcTest.makeRPCOutput("serialization-test"), dictionary);
+
+        RpcResponse actual = (RpcResponse) SerializationUtils.clone(expected);
+
+        assertEquals("getResultNormalizedNode", expected.getResultNormalizedNode(), actual.getResultNormalizedNode());
+    }
 }
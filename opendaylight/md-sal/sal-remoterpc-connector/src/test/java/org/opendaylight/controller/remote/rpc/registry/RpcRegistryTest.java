@@ -43,15 +43,18 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.common.actor.AkkaConfigurationReader;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.QNameDictionary;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.AddOrUpdateRoutes;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.RemoveRoutes;
+import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateLocalDictionary;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateRemoteEndpoints;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndpoint;
 import org.opendaylight.controller.remote.rpc.registry.gossip.Bucket;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.duration.Duration;
@@ -239,6 +242,38 @@ public class RpcRegistryTest {
         LOG.info("testRpcAddRemoveInCluster ending");
     }
 
+    /**
+     * Three node cluster. Advertise a dictionary on 1 node, ensure 2nd node learns its fingerprint along with the rpcs.
+     */
+    @Test
+    public void testDictionaryAdvertisedInCluster() throws Exception {
+        final QNameDictionary dictionary = QNameDictionary.forSchemaContext(
+            YangParserTestUtils.parseYangResources(RpcRegistryTest.class, "/test-rpc.yang"));
+        final List<DOMRpcIdentifier> addedRouteIds = createRouteIds();
+        final Address node1Address = node1.provider().getDefaultAddress();
+
+        registry1.tell(new AddOrUpdateRoutes(addedRouteIds), ActorRef.noSender());
+        registry1.tell(new UpdateLocalDictionary(dictionary), ActorRef.noSender());
+
+        final JavaTestKit testKit = new JavaTestKit(node2);
+        int numTries = 0;
+        while (true) {
+            final RoutingTable table = retrieveBuckets(registry2, testKit, node1Address).get(node1Address).getData();
+            if (table.getDictionaryFingerprint().isPresent()) {
+                Assert.assertEquals(dictionary.getFingerprint(), table.getDictionaryFingerprint().get().longValue());
+                Assert.assertTrue("Channel support not advertised", table.isChannelSupported());
+                verifyBucket(retrieveBuckets(registry2, testKit, node1Address).get(node1Address), addedRouteIds);
+                break;
+            }
+
+            if (++numTries >= 50) {
+                Assert.fail("Dictionary fingerprint not propagated, actual: " + table);
+            }
+
+            Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS);
+        }
+    }
+
     private void verifyEmptyBucket(final JavaTestKit testKit, final ActorRef registry, final Address address)
             throws AssertionError {
         Map<Address, Bucket<RoutingTable>> buckets;
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorRef;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.Test;
+
+public class BucketHistoryTest {
+    private static final class Counter implements BucketData<Counter> {
+        final int value;
+
+        Counter(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Optional<ActorRef> getWatchActor() {
+            return Optional.empty();
+        }
+    }
+
+    private static final class Increment implements BucketDelta<Counter> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Counter applyTo(final Counter data) {
+            return new Counter(data.value + 1);
+        }
+    }
+
+    private static final Optional<BucketDelta<Counter>> INCREMENT = Optional.of(new Increment());
+
+    @Test
+    public void testDeltaSince() {
+        final BucketHistory<Counter> history = new BucketHistory<>(4);
+        history.record(1, 2, INCREMENT);
+        history.record(2, 3, INCREMENT);
+        history.record(3, 3, INCREMENT);
+
+        final DeltaBucket<Counter> delta = history.deltaSince(1).get();
+        assertEquals(1, delta.getFromVersion());
+        assertEquals(3, delta.getVersion());
+        assertEquals(3, delta.applyTo(new Counter(0)).value);
+
+        assertEquals(2, history.deltaSince(2).get().applyTo(new Counter(0)).value);
+        assertFalse(history.deltaSince(0).isPresent());
+        assertFalse(history.deltaSince(3).isPresent());
+    }
+
+    @Test
+    public void testEviction() {
+        final BucketHistory<Counter> history = new BucketHistory<>(2);
+        history.record(1, 2, INCREMENT);
+        history.record(2, 3, INCREMENT);
+        history.record(3, 4, INCREMENT);
+
+        assertFalse(history.deltaSince(1).isPresent());
+        assertEquals(4, history.deltaSince(2).get().getVersion());
+    }
+
+    @Test
+    public void testChainBroken() {
+        final BucketHistory<Counter> history = new BucketHistory<>(4);
+        history.record(1, 2, INCREMENT);
+        history.record(2, 3, Optional.empty());
+        assertFalse(history.deltaSince(1).isPresent());
+
+        history.record(3, 4, INCREMENT);
+        history.record(5, 6, INCREMENT);
+        assertFalse(history.deltaSince(3).isPresent());
+        assertTrue(history.deltaSince(5).isPresent());
+    }
+
+    @Test
+    public void testRecordReceived() {
+        final BucketHistory<Counter> history = new BucketHistory<>(4);
+        history.record(increments(1, 2, 1));
+        history.record(increments(2, 5, 2));
+
+        final DeltaBucket<Counter> delta = history.deltaSince(1).get();
+        assertEquals(5, delta.getVersion());
+        assertEquals(3, delta.applyTo(new Counter(0)).value);
+
+        // A gap discards previous entries
+        history.record(increments(6, 7, 1));
+        assertFalse(history.deltaSince(1).isPresent());
+        assertTrue(history.deltaSince(6).isPresent());
+    }
+
+    private static DeltaBucket<Counter> increments(final long fromVersion, final long version, final int count) {
+        return new DeltaBucket<>(fromVersion, version,
+            Collections.<BucketDelta<Counter>>nCopies(count, new Increment()));
+    }
+}
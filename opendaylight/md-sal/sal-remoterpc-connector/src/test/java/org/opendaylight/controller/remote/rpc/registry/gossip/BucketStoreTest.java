@@ -14,8 +14,11 @@ import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.typesafe.config.ConfigFactory;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.AfterClass;
@@ -34,10 +37,40 @@ public class BucketStoreTest {
      *
      */
     private static class T implements BucketData<T> {
+        final int value;
+
+        T() {
+            this(0);
+        }
+
+        T(final int value) {
+            this.value = value;
+        }
+
         @Override
         public Optional<ActorRef> getWatchActor() {
             return Optional.empty();
         }
+
+        @Override
+        public Optional<BucketDelta<T>> deltaFrom(final T previous) {
+            return Optional.of(new Add(value - previous.value));
+        }
+    }
+
+    private static final class Add implements BucketDelta<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final int amount;
+
+        Add(final int amount) {
+            this.amount = amount;
+        }
+
+        @Override
+        public T applyTo(final T data) {
+            return new T(data.value + amount);
+        }
     }
 
     private static ActorSystem system;
@@ -59,7 +92,7 @@ public class BucketStoreTest {
     @Test
     public void testReceiveUpdateRemoteBuckets() {
 
-        final BucketStoreActor<T> store = createStore();
+        final BucketStoreActor<T> store = createStore("testStore").underlyingActor();
 
         Address localAddress = system.provider().getDefaultAddress();
         Bucket<T> localBucket = new BucketImpl<>(0L, new T());
@@ -134,14 +167,104 @@ public class BucketStoreTest {
     }
 
     /**
-     * Create BucketStore actor and returns the underlying instance of BucketStore class.
+     * Given a delta starting at the local version of a remote bucket, should apply it.
+     */
+    @Test
+    public void testApplyRemoteDeltas() {
+        final BucketStoreActor<T> store = createStore("testApplyStore").underlyingActor();
+        final Address a1 = new Address("tcp", "system1");
+        store.updateRemoteBuckets(ImmutableMap.of(a1, new BucketImpl<>(1L, new T(1))));
+
+        store.applyRemoteDeltas(ImmutableMap.of(a1, delta(1L, 3L, 2, 3)));
+
+        final Bucket<T> bucket = store.getRemoteBuckets().get(a1);
+        Assert.assertEquals(3L, bucket.getVersion());
+        Assert.assertEquals(6, bucket.getData().value);
+        Assert.assertEquals(Long.valueOf(3L), store.getVersions().get(a1));
+    }
+
+    /**
+     * Given a delta which does not start at the local version of a remote bucket, should ignore it.
+     */
+    @Test
+    public void testApplyRemoteDeltasIgnoresMismatchedVersion() {
+        final BucketStoreActor<T> store = createStore("testMismatchStore").underlyingActor();
+        final Address a1 = new Address("tcp", "system1");
+        final Address a2 = new Address("tcp", "system2");
+        store.updateRemoteBuckets(ImmutableMap.of(a1, new BucketImpl<>(1L, new T(1))));
+
+        store.applyRemoteDeltas(ImmutableMap.of(a1, delta(2L, 3L, 2), a2, delta(1L, 2L, 2)));
+
+        final Bucket<T> bucket = store.getRemoteBuckets().get(a1);
+        Assert.assertEquals(1L, bucket.getVersion());
+        Assert.assertEquals(1, bucket.getData().value);
+        Assert.assertEquals(Long.valueOf(1L), store.getVersions().get(a1));
+        Assert.assertFalse(store.getRemoteBuckets().containsKey(a2));
+        Assert.assertFalse(store.getVersions().containsKey(a2));
+    }
+
+    /**
+     * Given a receiver whose version is covered by our history, should send a delta, otherwise the full bucket.
+     */
+    @Test
+    public void testGetBucketUpdates() {
+        new JavaTestKit(system) {
+            {
+                final TestActorRef<BucketStoreActor<T>> ref = createStore("testUpdatesStore");
+                final Address a1 = new Address("tcp", "system1");
+                final Address to = new Address("tcp", "receiver");
+                final Bucket<T> b1 = new BucketImpl<>(1L, new T(1));
+                final Bucket<T> b2 = new BucketImpl<>(2L, new T(3));
+                ref.underlyingActor().updateRemoteBuckets(ImmutableMap.of(a1, b1));
+                ref.underlyingActor().updateRemoteBuckets(ImmutableMap.of(a1, b2));
+
+                // Receiver knows a version covered by history
+                ref.tell(BucketStoreActor.getBucketUpdatesMessage(to, ImmutableSet.of(a1), ImmutableMap.of(a1, 1L)),
+                    getRef());
+                GossipEnvelope envelope = expectMsgClass(GossipEnvelope.class);
+                Assert.assertEquals(to, envelope.to());
+                Assert.assertTrue(envelope.buckets().isEmpty());
+                @SuppressWarnings("unchecked")
+                final DeltaBucket<T> delta = (DeltaBucket<T>) envelope.deltas().get(a1);
+                Assert.assertEquals(1L, delta.getFromVersion());
+                Assert.assertEquals(2L, delta.getVersion());
+                Assert.assertEquals(3, delta.applyTo(new T(1)).value);
+
+                // Receiver knows a version not covered by history
+                ref.tell(BucketStoreActor.getBucketUpdatesMessage(to, ImmutableSet.of(a1), ImmutableMap.of(a1, 0L)),
+                    getRef());
+                envelope = expectMsgClass(GossipEnvelope.class);
+                Assert.assertTrue(envelope.deltas().isEmpty());
+                Assert.assertEquals(2L, envelope.buckets().get(a1).getVersion());
+
+                // Receiver does not accept deltas
+                ref.tell(BucketStoreActor.getBucketUpdatesMessage(to, ImmutableSet.of(a1), ImmutableMap.of()),
+                    getRef());
+                envelope = expectMsgClass(GossipEnvelope.class);
+                Assert.assertTrue(envelope.deltas().isEmpty());
+                Assert.assertEquals(2L, envelope.buckets().get(a1).getVersion());
+            }
+        };
+    }
+
+    private static DeltaBucket<T> delta(final long fromVersion, final long version, final int... amounts) {
+        final List<BucketDelta<T>> deltas = new ArrayList<>(amounts.length);
+        for (int amount : amounts) {
+            deltas.add(new Add(amount));
+        }
+        return new DeltaBucket<>(fromVersion, version, deltas);
+    }
+
+    /**
+     * Create BucketStore actor and returns the TestActorRef wrapping it.
      *
-     * @return instance of BucketStore class
+     * @param name name of the actor
+     * @return TestActorRef of the BucketStore actor
      */
-    private static BucketStoreActor<T> createStore() {
+    private static TestActorRef<BucketStoreActor<T>> createStore(final String name) {
         final Props props = Props.create(TestingBucketStoreActor.class,
-                new RemoteRpcProviderConfig(system.settings().config()), "testing-store",new T());
-        return TestActorRef.<BucketStoreActor<T>>create(system, props, "testStore").underlyingActor();
+                new RemoteRpcProviderConfig(system.settings().config()), name, new T());
+        return TestActorRef.create(system, props, name);
     }
 
     private static final class TestingBucketStoreActor extends BucketStoreActor<T> {
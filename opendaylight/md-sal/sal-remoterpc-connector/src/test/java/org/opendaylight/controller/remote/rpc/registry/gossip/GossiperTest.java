@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Mockito.doNothing;
@@ -22,6 +23,8 @@ import akka.actor.Address;
 import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.typesafe.config.ConfigFactory;
 import java.util.Map;
 import org.junit.After;
@@ -31,11 +34,14 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
 import org.opendaylight.controller.remote.rpc.TerminationMonitor;
+import org.opendaylight.controller.remote.rpc.registry.RoutingTable;
+import scala.concurrent.duration.FiniteDuration;
 
 
 public class GossiperTest {
 
     private static ActorSystem system;
+    private static RemoteRpcProviderConfig config;
     private static Gossiper gossiper;
 
     private Gossiper mockGossiper;
@@ -79,6 +85,32 @@ public class GossiperTest {
         verify(mockGossiper, times(1)).getLocalStatusAndSendTo(any(ActorSelection.class));
     }
 
+    @Test
+    public void testReceiveGossipPushSendsStatusToFanOutMembers() {
+        mockGossiper.setClusterMembers(new Address("tcp", "member-1"), new Address("tcp", "member-2"),
+            new Address("tcp", "member-3"));
+        doNothing().when(mockGossiper).getLocalStatusAndSendTo(any(ActorSelection.class));
+        mockGossiper.receiveGossipPush();
+        verify(mockGossiper, times(config.getGossipFanOut())).getLocalStatusAndSendTo(any(ActorSelection.class));
+    }
+
+    @Test
+    public void testTickIntervalBacksOffWhileIdle() throws Exception {
+        final FiniteDuration min = config.getGossipTickInterval();
+        final FiniteDuration max = config.getGossipMaxTickInterval();
+
+        FiniteDuration interval = mockGossiper.nextTickInterval();
+        for (int i = 0; i < 64; ++i) {
+            final FiniteDuration next = mockGossiper.nextTickInterval();
+            assertEquals(interval.mul(2).min(max), next);
+            interval = next;
+        }
+        assertEquals(max, interval);
+
+        mockGossiper.handleReceive(new Gossiper.LocalBucketChanged(1));
+        assertEquals(min, mockGossiper.nextTickInterval());
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testReceiveGossipStatus_WhenSenderIsNonMemberShouldIgnore() {
@@ -100,15 +132,37 @@ public class GossiperTest {
         verify(mockGossiper, times(0)).updateRemoteBuckets(anyMap());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testReceiveGossipAppliesDeltas() {
+        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap());
+        doNothing().when(mockGossiper).applyRemoteDeltas(anyMap());
+        final Address self = system.provider().getDefaultAddress();
+
+        final Map<Address, DeltaBucket<?>> deltas = ImmutableMap.of(new Address("tcp", "member"),
+            new DeltaBucket<RoutingTable>(1, 2, ImmutableList.of()));
+        mockGossiper.receiveGossip(new GossipEnvelope(self, self, ImmutableMap.of(), deltas));
+        verify(mockGossiper).applyRemoteDeltas(deltas);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testReceiveGossipWithoutDeltasShouldNotApplyDeltas() {
+        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap());
+        doNothing().when(mockGossiper).applyRemoteDeltas(anyMap());
+        final Address self = system.provider().getDefaultAddress();
+
+        mockGossiper.receiveGossip(new GossipEnvelope(self, self, ImmutableMap.of()));
+        verify(mockGossiper, times(0)).applyRemoteDeltas(anyMap());
+    }
+
     /**
      * Create Gossiper actor and return the underlying instance of Gossiper class.
      *
      * @return instance of Gossiper class
      */
     private static Gossiper createGossiper() {
-        final RemoteRpcProviderConfig config =
-                new RemoteRpcProviderConfig.Builder("unit-test")
-                        .withConfigReader(ConfigFactory::load).build();
+        config = new RemoteRpcProviderConfig.Builder("unit-test").withConfigReader(ConfigFactory::load).build();
         final Props props = Gossiper.testProps(config);
         final TestActorRef<Gossiper> testRef = TestActorRef.create(system, props, "testGossiper");
 